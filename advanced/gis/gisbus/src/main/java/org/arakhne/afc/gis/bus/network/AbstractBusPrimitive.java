@@ -78,6 +78,12 @@ public abstract class AbstractBusPrimitive<CONTAINER extends BusContainer<?>>
 	 */
 	private int flag;
 
+	/** Reason of the invalidity that is replied when the validity cannot be computed
+	 * without side effect.
+	 */
+	private static final BusPrimitiveInvalidity NOT_CHECKED_INVALIDITY =
+			new BusPrimitiveInvalidity(BusPrimitiveInvalidityType.VALIDITY_NOT_CHECKED, null);
+
 	/** Reason of the invalidity.
 	 */
 	private BusPrimitiveInvalidity invalidityReason =
@@ -530,18 +536,41 @@ public abstract class AbstractBusPrimitive<CONTAINER extends BusContainer<?>>
 	 * @param invalidityReason is the reason of the invalidity;
 	 *     if {@code null} the primitive is valid.
 	 */
-	@SuppressWarnings("unlikely-arg-type")
 	protected final void setPrimitiveValidity(BusPrimitiveInvalidity invalidityReason) {
-		if (invalidityReason == null && this.invalidityReason != null
-				|| invalidityReason != null
-				&& !invalidityReason.equals(BusPrimitiveInvalidityType.VALIDITY_NOT_CHECKED)
-				&& !invalidityReason.equals(this.invalidityReason)) {
+		if (isValidityChange(this.invalidityReason, invalidityReason)) {
 			final var old = this.invalidityReason;
 			this.invalidityReason = invalidityReason;
 			fireValidityChanged(old, this.invalidityReason);
 		}
 	}
 
+	/** Set the validity of this primitive without firing any event.
+	 * The event firing is deferred to the caller, which may run the
+	 * replied notifier when all the primitives of the network are updated.
+	 *
+	 * @param invalidityReason is the reason of the invalidity;
+	 *     if {@code null} the primitive is valid.
+	 * @return the notifier of the validity change; or {@code null} if the
+	 *     validity has not changed.
+	 * @since 18.0
+	 */
+	Runnable setPrimitiveValiditySilently(BusPrimitiveInvalidity invalidityReason) {
+		if (isValidityChange(this.invalidityReason, invalidityReason)) {
+			final var old = this.invalidityReason;
+			this.invalidityReason = invalidityReason;
+			return () -> fireValidityChanged(old, invalidityReason);
+		}
+		return null;
+	}
+
+	@SuppressWarnings("unlikely-arg-type")
+	private static boolean isValidityChange(BusPrimitiveInvalidity oldReason, BusPrimitiveInvalidity newReason) {
+		return newReason == null && oldReason != null
+				|| newReason != null
+				&& !newReason.equals(BusPrimitiveInvalidityType.VALIDITY_NOT_CHECKED)
+				&& !newReason.equals(oldReason);
+	}
+
 	@SuppressWarnings("unlikely-arg-type")
 	@Override
 	@Pure
@@ -566,6 +595,26 @@ public abstract class AbstractBusPrimitive<CONTAINER extends BusContainer<?>>
 	 */
 	protected abstract void checkPrimitiveValidity();
 
+	/** Compute the reason of the invalidity of this primitive from
+	 * its current state. This function DO NOT change the validity
+	 * flag of this primitive, and it DO NOT fire any event, so that
+	 * it may be invoked by {@link BusNetwork#revalidateInParallel()}.
+	 *
+	 * <p>The default implementation replies an invalidity of type
+	 * {@link BusPrimitiveInvalidityType#VALIDITY_NOT_CHECKED}, meaning that
+	 * the validity cannot be computed without side effect; the primitive is
+	 * then revalidated by {@link #checkPrimitiveValidity()} in the calling thread.
+	 *
+	 * @return the reason of the invalidity; or {@code null} if the
+	 *     primitive is valid.
+	 * @since 18.0
+	 * @see #checkPrimitiveValidity()
+	 */
+	@Pure
+	protected BusPrimitiveInvalidity computeInvalidityReason() {
+		return NOT_CHECKED_INVALIDITY;
+	}
+
 	@Override
 	public final void rebuild() {
 		rebuild(false);
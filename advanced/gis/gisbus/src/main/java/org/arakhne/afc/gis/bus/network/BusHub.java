@@ -136,6 +136,11 @@ public class BusHub extends AbstractBusPrimitive<BusNetwork> implements Iterable
 
 	@Override
 	protected void checkPrimitiveValidity() {
+		setPrimitiveValidity(computeInvalidityReason());
+	}
+
+	@Override
+	protected BusPrimitiveInvalidity computeInvalidityReason() {
 		BusPrimitiveInvalidity invalidityReason = null;
 		if (this.busStops.isEmpty()) {
 			invalidityReason = new BusPrimitiveInvalidity(
@@ -159,7 +164,7 @@ public class BusHub extends AbstractBusPrimitive<BusNetwork> implements Iterable
 				}
 			}
 		}
-		setPrimitiveValidity(invalidityReason);
+		return invalidityReason;
 	}
 
 	//------------------------------------------------------------------
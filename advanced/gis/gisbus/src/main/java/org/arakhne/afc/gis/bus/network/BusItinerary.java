@@ -363,6 +363,11 @@ public class BusItinerary extends AbstractBusContainer<BusLine, BusItineraryHalt
 		checkPrimitiveValidity();
 	}
 
+	@Override
+	protected void checkPrimitiveValidity() {
+		setPrimitiveValidity(computeInvalidityReason());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 *
@@ -381,7 +386,7 @@ public class BusItinerary extends AbstractBusContainer<BusLine, BusItineraryHalt
 	 */
 	@Override
 	@SuppressWarnings({"checkstyle:cyclomaticcomplexity", "checkstyle:npathcomplexity", "checkstyle:nestedifdepth"})
-	protected void checkPrimitiveValidity() {
+	protected BusPrimitiveInvalidity computeInvalidityReason() {
 		BusPrimitiveInvalidity invalidityReason = null;
 		if (this.roadSegments.getRoadSegmentCount() <= 0) {
 			invalidityReason = new BusPrimitiveInvalidity(
@@ -477,7 +482,7 @@ public class BusItinerary extends AbstractBusContainer<BusLine, BusItineraryHalt
 		}
 
 
-		setPrimitiveValidity(invalidityReason);
+		return invalidityReason;
 	}
 
 	//------------------------------------------------------------------
@@ -844,7 +849,7 @@ public class BusItinerary extends AbstractBusContainer<BusLine, BusItineraryHalt
 	 * @param binding are the pairs containing the index of the road segment and the
 	 *     curviline position of each bus itinerary halt.
 	 */
-	public void setBusHaltBinding(Map<BusItineraryHalt, Pair<Integer, Float>> binding) {
+	public void setBusHaltBinding(Map<BusItineraryHalt, ? extends Pair<Integer, ? extends Number>> binding) {
 		if (binding != null) {
 			var shapeChanged = false;
 			for (final var entry : binding.entrySet()) {
@@ -2485,6 +2490,20 @@ public class BusItinerary extends AbstractBusContainer<BusLine, BusItineraryHalt
 	//----------------------------------------------
 
 	private void onBusHaltChanged(BusItineraryHalt halt) {
+		if (updateHaltValidityLists(halt)) {
+			checkPrimitiveValidity();
+		}
+	}
+
+	/** Move the given halt into the list of valid halts or into the list of invalid halts,
+	 * according to its current validity. This function does not check the validity
+	 * of this itinerary, and it does not fire any event.
+	 *
+	 * @param halt the halt to move.
+	 * @return {@code true} if the halt has changed of list; otherwise {@code false}.
+	 * @since 18.0
+	 */
+	boolean updateHaltValidityLists(BusItineraryHalt halt) {
 		if (halt.getContainer() == this) {
 			final var oldValidity = !ListUtil.contains(this.invalidHalts, INVALID_HALT_COMPARATOR, halt);
 			final var currentValidity = halt.isValidPrimitive();
@@ -2496,9 +2515,10 @@ public class BusItinerary extends AbstractBusContainer<BusLine, BusItineraryHalt
 					this.validHalts.remove(halt);
 					ListUtil.addIfAbsent(this.invalidHalts, INVALID_HALT_COMPARATOR, halt);
 				}
-				checkPrimitiveValidity();
+				return true;
 			}
 		}
+		return false;
 	}
 
 	@Override
@@ -232,6 +232,11 @@ public class BusItineraryHalt extends AbstractBusPrimitive<BusItinerary> {
 
 	@Override
 	protected void checkPrimitiveValidity() {
+		setPrimitiveValidity(computeInvalidityReason());
+	}
+
+	@Override
+	protected BusPrimitiveInvalidity computeInvalidityReason() {
 		final var itinerary = getContainer();
 		BusPrimitiveInvalidity invalidityReason = null;
 		if (itinerary == null) {
@@ -267,7 +272,7 @@ public class BusItineraryHalt extends AbstractBusPrimitive<BusItinerary> {
 				}
 			}
 		}
-		setPrimitiveValidity(invalidityReason);
+		return invalidityReason;
 	}
 
 	@Override
@@ -268,6 +268,11 @@ public class BusLine extends AbstractBusContainer<BusNetwork, BusItinerary> {
 
 	@Override
 	protected void checkPrimitiveValidity() {
+		setPrimitiveValidity(computeInvalidityReason());
+	}
+
+	@Override
+	protected BusPrimitiveInvalidity computeInvalidityReason() {
 		BusPrimitiveInvalidity invalidityReason = null;
 		if (this.itineraries.isEmpty()) {
 			invalidityReason = new BusPrimitiveInvalidity(
@@ -284,7 +289,7 @@ public class BusLine extends AbstractBusContainer<BusNetwork, BusItinerary> {
 				}
 			}
 		}
-		setPrimitiveValidity(invalidityReason);
+		return invalidityReason;
 	}
 
 	//------------------------------------------------------------------
@@ -402,8 +402,49 @@ public class BusNetwork extends AbstractBusContainer<BusContainer<?>, BusLine> {
 		checkPrimitiveValidity();
 	}
 
+	/** Revalidate this bus network and all its primitives with a fork/join pool,
+	 * which has as many threads as available processors.
+	 *
+	 * <p>The result is the same as the one of {@link #revalidate()}. But the invalidity
+	 * reasons of the primitives are computed in parallel; and the validity events are
+	 * fired when all the primitives are updated.
+	 *
+	 * <p>The bus network must not be changed during the revalidation.
+	 *
+	 * @since 18.0
+	 * @see #revalidate()
+	 * @see #revalidateInParallel(int)
+	 */
+	public void revalidateInParallel() {
+		revalidateInParallel(Runtime.getRuntime().availableProcessors());
+	}
+
+	/** Revalidate this bus network and all its primitives with a fork/join pool.
+	 *
+	 * <p>The result is the same as the one of {@link #revalidate()}. But the invalidity
+	 * reasons of the primitives are computed in parallel; and the validity events are
+	 * fired when all the primitives are updated.
+	 *
+	 * <p>The bus network must not be changed during the revalidation.
+	 *
+	 * @param parallelism the maximal number of threads to use. It must be strictly positive.
+	 * @since 18.0
+	 * @see #revalidate()
+	 */
+	public void revalidateInParallel(int parallelism) {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException();
+		}
+		new BusNetworkParallelValidator(this, parallelism).revalidate();
+	}
+
 	@Override
 	protected void checkPrimitiveValidity() {
+		setPrimitiveValidity(computeInvalidityReason());
+	}
+
+	@Override
+	protected BusPrimitiveInvalidity computeInvalidityReason() {
 		BusPrimitiveInvalidity invalidityReason = null;
 		if (this.validBusStops.size() < 2) {
 			invalidityReason = new BusPrimitiveInvalidity(
@@ -432,7 +473,7 @@ public class BusNetwork extends AbstractBusContainer<BusContainer<?>, BusLine> {
 				}
 			}
 		}
-		setPrimitiveValidity(invalidityReason);
+		return invalidityReason;
 	}
 
 	//------------------------------------------------------------------
@@ -1377,7 +1418,15 @@ public class BusNetwork extends AbstractBusContainer<BusContainer<?>, BusLine> {
 	// Event Management
 	//----------------------------------------------
 
-	private void onBusStopChanged(BusStop stop) {
+	/** Move the given bus stop into the list of valid bus stops or into the list of invalid bus stops,
+	 * according to its current validity. This function does not check the validity
+	 * of this network, and it does not fire any event.
+	 *
+	 * @param stop the bus stop to move.
+	 * @return {@code true} if the bus stop has changed of list; otherwise {@code false}.
+	 * @since 18.0
+	 */
+	boolean updateBusStopValidityLists(BusStop stop) {
 		if (stop.getContainer() == this) {
 			final var oldValidity = !ListUtil.contains(this.invalidBusStops, INVALID_STOP_COMPARATOR, stop);
 			final var currentValidity = stop.isValidPrimitive();
@@ -1389,11 +1438,21 @@ public class BusNetwork extends AbstractBusContainer<BusContainer<?>, BusLine> {
 					this.validBusStops.remove(stop);
 					ListUtil.addIfAbsent(this.invalidBusStops, INVALID_STOP_COMPARATOR, stop);
 				}
+				return true;
 			}
 		}
+		return false;
 	}
 
-	private void onBusHubChanged(BusHub hub) {
+	/** Move the given bus hub into the list of valid bus hubs or into the list of invalid bus hubs,
+	 * according to its current validity. This function does not check the validity
+	 * of this network, and it does not fire any event.
+	 *
+	 * @param hub the bus hub to move.
+	 * @return {@code true} if the bus hub has changed of list; otherwise {@code false}.
+	 * @since 18.0
+	 */
+	boolean updateBusHubValidityLists(BusHub hub) {
 		if (hub.getContainer() == this) {
 			final var oldValidity = !ListUtil.contains(this.invalidBusHubs, INVALID_HUB_COMPARATOR, hub);
 			final var currentValidity = hub.isValidPrimitive();
@@ -1405,17 +1464,19 @@ public class BusNetwork extends AbstractBusContainer<BusContainer<?>, BusLine> {
 					this.validBusHubs.remove(hub);
 					ListUtil.addIfAbsent(this.invalidBusHubs, INVALID_HUB_COMPARATOR, hub);
 				}
+				return true;
 			}
 		}
+		return false;
 	}
 
 	@Override
 	public void onBusPrimitiveChanged(BusChangeEvent event) {
 		final var source = event.getSource();
 		if (source instanceof BusStop stop) {
-			onBusStopChanged(stop);
+			updateBusStopValidityLists(stop);
 		} else if (source instanceof BusHub hub) {
-			onBusHubChanged(hub);
+			updateBusHubValidityLists(hub);
 		}
 		super.onBusPrimitiveChanged(event);
 	}
@@ -0,0 +1,295 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.bus.network;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/** Revalidate the primitives of a bus network with a fork/join pool.
+ *
+ * <p>The invalidity reasons of the bus stops, the bus hubs and the bus itineraries
+ * (with their halts) are computed in parallel. Each level of the network is
+ * computed after the levels on which it depends: stops, hubs, itineraries and halts,
+ * lines, and finally the network itself.
+ *
+ * <p>The new invalidity reasons are applied without firing any event. When
+ * the whole network is updated, the validity events are fired in one batch.
+ * In this way, the listeners never see a partially revalidated network.
+ *
+ * <p>This validator must not run concurrently to a modification of the bus network.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+final class BusNetworkParallelValidator {
+
+	/** Number of primitives below which the computation is not split anymore.
+	 */
+	private static final int SPLIT_THRESHOLD = 16;
+
+	private final BusNetwork network;
+
+	private final int parallelism;
+
+	private final List<Runnable> notifiers = new ArrayList<>();
+
+	/** Constructor.
+	 *
+	 * @param network the network to revalidate.
+	 * @param parallelism the maximal number of threads to use.
+	 */
+	BusNetworkParallelValidator(BusNetwork network, int parallelism) {
+		assert network != null;
+		assert parallelism > 0;
+		this.network = network;
+		this.parallelism = parallelism;
+	}
+
+	/** Revalidate the bus network.
+	 */
+	void revalidate() {
+		// The bounds of the road network are lazily computed; compute them
+		// before the stops are read from several threads.
+		final var roadNetwork = this.network.getRoadNetwork();
+		if (roadNetwork != null) {
+			roadNetwork.getBoundingBox();
+		}
+
+		final var stops = toArray(this.network.busStops(), new BusStop[this.network.getBusStopCount()]);
+		final var hubs = toArray(this.network.busHubs(), new BusHub[this.network.getBusHubCount()]);
+		final var itineraries = new ArrayList<BusItinerary>();
+		for (final var line : this.network.busLines()) {
+			for (final var itinerary : line.busItineraries()) {
+				itineraries.add(itinerary);
+			}
+		}
+
+		final var pool = new ForkJoinPool(this.parallelism);
+		try {
+			applyAll(stops, compute(pool, stops));
+			applyAll(hubs, compute(pool, hubs));
+			validateItineraries(pool, itineraries.toArray(new BusItinerary[itineraries.size()]));
+		} finally {
+			pool.shutdown();
+		}
+
+		for (final var line : this.network.busLines()) {
+			apply(line, line.computeInvalidityReason());
+		}
+
+		for (final var stop : stops) {
+			this.network.updateBusStopValidityLists(stop);
+		}
+		for (final var hub : hubs) {
+			this.network.updateBusHubValidityLists(hub);
+		}
+		apply(this.network, this.network.computeInvalidityReason());
+
+		for (final var notifier : this.notifiers) {
+			notifier.run();
+		}
+	}
+
+	private static <T> T[] toArray(Iterable<? extends T> elements, T[] array) {
+		var i = 0;
+		for (final var element : elements) {
+			array[i] = element;
+			++i;
+		}
+		assert i == array.length;
+		return array;
+	}
+
+	private static BusPrimitiveInvalidity[] compute(ForkJoinPool pool, AbstractBusPrimitive<?>[] primitives) {
+		final var reasons = new BusPrimitiveInvalidity[primitives.length];
+		pool.invoke(new ComputeTask(primitives, reasons, 0, primitives.length));
+		return reasons;
+	}
+
+	private void validateItineraries(ForkJoinPool pool, BusItinerary[] itineraries) {
+		final var reasons = new BusPrimitiveInvalidity[itineraries.length];
+		@SuppressWarnings("unchecked")
+		final List<Runnable>[] haltNotifiers = new List[itineraries.length];
+		pool.invoke(new ItineraryTask(itineraries, reasons, haltNotifiers, 0, itineraries.length));
+		for (final var notifiers : haltNotifiers) {
+			this.notifiers.addAll(notifiers);
+		}
+		applyAll(itineraries, reasons);
+	}
+
+	private void applyAll(AbstractBusPrimitive<?>[] primitives, BusPrimitiveInvalidity[] reasons) {
+		for (var i = 0; i < primitives.length; ++i) {
+			apply(primitives[i], reasons[i]);
+		}
+	}
+
+	private void apply(AbstractBusPrimitive<?> primitive, BusPrimitiveInvalidity reason) {
+		final var notifier = applySilently(primitive, reason);
+		if (notifier != null) {
+			this.notifiers.add(notifier);
+		}
+	}
+
+	/** Apply the invalidity reason without firing events.
+	 *
+	 * <p>If the primitive is not able to compute its invalidity reason without side effect,
+	 * its revalidation is deferred to the notification phase.
+	 *
+	 * @param primitive the primitive.
+	 * @param reason the invalidity reason replied by {@link AbstractBusPrimitive#computeInvalidityReason()}.
+	 * @return the notifier of the validity change; or {@code null} if the validity has not changed.
+	 */
+	@SuppressWarnings("unlikely-arg-type")
+	private static Runnable applySilently(AbstractBusPrimitive<?> primitive, BusPrimitiveInvalidity reason) {
+		if (reason != null && reason.equals(BusPrimitiveInvalidityType.VALIDITY_NOT_CHECKED)) {
+			return primitive::checkPrimitiveValidity;
+		}
+		return primitive.setPrimitiveValiditySilently(reason);
+	}
+
+	/** Compute the invalidity reasons of a range of primitives.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private static class ComputeTask extends RecursiveAction {
+
+		private static final long serialVersionUID = -2869186069211452371L;
+
+		private final transient AbstractBusPrimitive<?>[] primitives;
+
+		private final transient BusPrimitiveInvalidity[] reasons;
+
+		private final int start;
+
+		private final int end;
+
+		/** Constructor.
+		 *
+		 * @param primitives the primitives.
+		 * @param reasons the array to fill with the invalidity reasons.
+		 * @param start the index of the first primitive to compute.
+		 * @param end the index after the last primitive to compute.
+		 */
+		ComputeTask(AbstractBusPrimitive<?>[] primitives, BusPrimitiveInvalidity[] reasons, int start, int end) {
+			this.primitives = primitives;
+			this.reasons = reasons;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.end - this.start <= SPLIT_THRESHOLD) {
+				for (var i = this.start; i < this.end; ++i) {
+					this.reasons[i] = this.primitives[i].computeInvalidityReason();
+				}
+			} else {
+				final var middle = (this.start + this.end) >>> 1;
+				invokeAll(
+						new ComputeTask(this.primitives, this.reasons, this.start, middle),
+						new ComputeTask(this.primitives, this.reasons, middle, this.end));
+			}
+		}
+
+	}
+
+	/** Revalidate the halts of a range of itineraries, and compute the invalidity
+	 * reasons of these itineraries.
+	 *
+	 * <p>The halts of an itinerary are only read by this itinerary; so that they
+	 * are updated by the task in charge of the itinerary. The events are deferred.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private static class ItineraryTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 4410370207359612624L;
+
+		private final transient BusItinerary[] itineraries;
+
+		private final transient BusPrimitiveInvalidity[] reasons;
+
+		private final transient List<Runnable>[] haltNotifiers;
+
+		private final int start;
+
+		private final int end;
+
+		/** Constructor.
+		 *
+		 * @param itineraries the itineraries.
+		 * @param reasons the array to fill with the invalidity reasons of the itineraries.
+		 * @param haltNotifiers the array to fill with the deferred events of the halts.
+		 * @param start the index of the first itinerary to compute.
+		 * @param end the index after the last itinerary to compute.
+		 */
+		ItineraryTask(BusItinerary[] itineraries, BusPrimitiveInvalidity[] reasons, List<Runnable>[] haltNotifiers,
+				int start, int end) {
+			this.itineraries = itineraries;
+			this.reasons = reasons;
+			this.haltNotifiers = haltNotifiers;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.end - this.start <= 1) {
+				for (var i = this.start; i < this.end; ++i) {
+					final var itinerary = this.itineraries[i];
+					final var halts = itinerary.toBusHaltArray();
+					final var notifiers = new ArrayList<Runnable>();
+					for (final var halt : halts) {
+						final var notifier = applySilently(halt, halt.computeInvalidityReason());
+						if (notifier != null) {
+							notifiers.add(notifier);
+						}
+					}
+					for (final var halt : halts) {
+						itinerary.updateHaltValidityLists(halt);
+					}
+					this.haltNotifiers[i] = notifiers;
+					this.reasons[i] = itinerary.computeInvalidityReason();
+				}
+			} else {
+				final var middle = (this.start + this.end) >>> 1;
+				invokeAll(
+						new ItineraryTask(this.itineraries, this.reasons, this.haltNotifiers, this.start, middle),
+						new ItineraryTask(this.itineraries, this.reasons, this.haltNotifiers, middle, this.end));
+			}
+		}
+
+	}
+
+}
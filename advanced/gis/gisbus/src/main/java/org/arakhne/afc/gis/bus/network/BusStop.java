@@ -198,6 +198,11 @@ public class BusStop extends AbstractBusPrimitive<BusNetwork> {
 
 	@Override
 	protected void checkPrimitiveValidity() {
+		setPrimitiveValidity(computeInvalidityReason());
+	}
+
+	@Override
+	protected BusPrimitiveInvalidity computeInvalidityReason() {
 		BusPrimitiveInvalidity invalidityReason = null;
 		if (this.position == null) {
 			invalidityReason =
@@ -226,7 +231,7 @@ public class BusStop extends AbstractBusPrimitive<BusNetwork> {
 				}
 			}
 		}
-		setPrimitiveValidity(invalidityReason);
+		return invalidityReason;
 	}
 
 	/** Notifies any dependent object about a validation change from
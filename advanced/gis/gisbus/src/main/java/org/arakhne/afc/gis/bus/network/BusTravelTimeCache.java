@@ -0,0 +1,554 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.bus.network;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.gis.road.path.RoadPath;
+import org.arakhne.afc.gis.road.path.astar.RoadAStar;
+import org.arakhne.afc.gis.road.primitive.RoadNetwork;
+import org.arakhne.afc.gis.road.primitive.RoadNetworkListener;
+import org.arakhne.afc.gis.road.primitive.RoadSegment;
+import org.arakhne.afc.math.geometry.d2.d.Point2d;
+
+/** Cache of the road paths and travel times between bus halts and between bus hubs.
+ *
+ * <p>The paths are computed with {@link RoadAStar} on the road network of the bus network,
+ * from the position of the first primitive to the position of the second primitive.
+ * The travel time is the length of the path divided by the average speed of the buses.
+ *
+ * <p>The cache contains at most {@link #getCapacity()} entries. When it is full, the least
+ * recently used entry is removed. The entries are invalidated when the bus network
+ * or the road network is changed:<ul>
+ * <li>a change of a bus halt, a bus stop, a bus hub or a bus itinerary invalidates the entries that
+ *     start or end at the changed halts or hubs;</li>
+ * <li>a removal of a road segment invalidates the entries with a path that contains
+ *     this segment, the entries that start or end on this segment, the entries that start
+ *     or end at a bus hub, and the entries without path;</li>
+ * <li>an addition or a change of a road segment, or a change of the whole bus network, clears the cache.</li>
+ * </ul>
+ *
+ * <p>The cache is thread-safe. The paths are computed outside the lock of the cache; so that
+ * two threads may compute the same path at the same time.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+public class BusTravelTimeCache {
+
+	/** Default number of entries in the cache.
+	 */
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	private final BusNetwork network;
+
+	private final RoadNetwork roadNetwork;
+
+	private final double speed;
+
+	private final int capacity;
+
+	private final Map<Key, Entry> entries;
+
+	private final Listener listener = new Listener();
+
+	private long hits;
+
+	private long misses;
+
+	private long evictions;
+
+	private long invalidations;
+
+	/** Incremented each time entries are invalidated, in order to not cache a path
+	 * that was computed before the invalidation.
+	 */
+	private long generation;
+
+	/** Constructor with the {@link #DEFAULT_CAPACITY default capacity}.
+	 *
+	 * @param network the bus network.
+	 * @param speed the average speed of the buses in meters per second.
+	 */
+	public BusTravelTimeCache(BusNetwork network, double speed) {
+		this(network, speed, DEFAULT_CAPACITY);
+	}
+
+	/** Constructor.
+	 *
+	 * @param network the bus network.
+	 * @param speed the average speed of the buses in meters per second.
+	 * @param capacity the maximal number of entries in the cache.
+	 */
+	public BusTravelTimeCache(BusNetwork network, double speed, int capacity) {
+		assert network != null;
+		if (speed <= 0. || capacity <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.network = network;
+		this.roadNetwork = network.getRoadNetwork();
+		this.speed = speed;
+		this.capacity = capacity;
+		this.entries = new LinkedHashMap<>(Math.min(capacity, DEFAULT_CAPACITY), .75f, true) {
+			private static final long serialVersionUID = -4518349829406478231L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				if (size() > BusTravelTimeCache.this.capacity) {
+					++BusTravelTimeCache.this.evictions;
+					return true;
+				}
+				return false;
+			}
+		};
+		this.network.addBusChangeListener(this.listener);
+		if (this.roadNetwork != null) {
+			this.roadNetwork.addRoadNetworkListener(this.listener);
+		}
+	}
+
+	/** Unregister this cache from the bus network and the road network, and clear it.
+	 * The cache is not updated anymore after a call to this function.
+	 */
+	public void dispose() {
+		this.network.removeBusChangeListener(this.listener);
+		if (this.roadNetwork != null) {
+			this.roadNetwork.removeRoadNetworkListener(this.listener);
+		}
+		clear();
+	}
+
+	/** Replies the bus network.
+	 *
+	 * @return the bus network.
+	 */
+	@Pure
+	public BusNetwork getBusNetwork() {
+		return this.network;
+	}
+
+	/** Replies the average speed of the buses.
+	 *
+	 * @return the speed in meters per second.
+	 */
+	@Pure
+	public double getSpeed() {
+		return this.speed;
+	}
+
+	/** Replies the maximal number of entries in the cache.
+	 *
+	 * @return the capacity of the cache.
+	 */
+	@Pure
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	/** Replies the number of entries in the cache.
+	 *
+	 * @return the number of entries.
+	 */
+	@Pure
+	public synchronized int size() {
+		return this.entries.size();
+	}
+
+	/** Remove all the entries from the cache. The statistics are not reset.
+	 */
+	public synchronized void clear() {
+		++this.generation;
+		this.invalidations += this.entries.size();
+		this.entries.clear();
+	}
+
+	/** Replies the number of requests that were answered from the cache.
+	 *
+	 * @return the number of cache hits.
+	 */
+	@Pure
+	public synchronized long getHitCount() {
+		return this.hits;
+	}
+
+	/** Replies the number of requests that needed to compute a path.
+	 *
+	 * @return the number of cache misses.
+	 */
+	@Pure
+	public synchronized long getMissCount() {
+		return this.misses;
+	}
+
+	/** Replies the ratio of the requests that were answered from the cache.
+	 *
+	 * @return the hit rate in {@code [0;1]}, or {@code NaN} if there was no request.
+	 */
+	@Pure
+	public synchronized double getHitRate() {
+		final var total = this.hits + this.misses;
+		if (total == 0) {
+			return Double.NaN;
+		}
+		return (double) this.hits / (double) total;
+	}
+
+	/** Replies the number of entries that were removed because the cache was full.
+	 *
+	 * @return the number of evictions.
+	 */
+	@Pure
+	public synchronized long getEvictionCount() {
+		return this.evictions;
+	}
+
+	/** Replies the number of entries that were removed because of a change in the networks,
+	 * or because of a call to {@link #clear()}.
+	 *
+	 * @return the number of invalidations.
+	 */
+	@Pure
+	public synchronized long getInvalidationCount() {
+		return this.invalidations;
+	}
+
+	/** Reset the hit, miss, eviction and invalidation counters.
+	 */
+	public synchronized void resetStatistics() {
+		this.hits = 0;
+		this.misses = 0;
+		this.evictions = 0;
+		this.invalidations = 0;
+	}
+
+	/** Replies the road path between the two bus halts.
+	 *
+	 * <p>The replied path is shared by the cache and must not be changed.
+	 *
+	 * @param from the start halt.
+	 * @param to the end halt.
+	 * @return the path, or {@code null} if there is no path between the halts.
+	 */
+	public RoadPath getPath(BusItineraryHalt from, BusItineraryHalt to) {
+		return getEntry(from, to).path;
+	}
+
+	/** Replies the travel time between the two bus halts.
+	 *
+	 * @param from the start halt.
+	 * @param to the end halt.
+	 * @return the travel time in seconds, or {@link Double#POSITIVE_INFINITY} if there is no
+	 *     path between the halts.
+	 */
+	public double getTravelTime(BusItineraryHalt from, BusItineraryHalt to) {
+		return getEntry(from, to).travelTime;
+	}
+
+	/** Replies the road path between the two bus hubs.
+	 *
+	 * <p>The replied path is shared by the cache and must not be changed.
+	 *
+	 * @param from the start hub.
+	 * @param to the end hub.
+	 * @return the path, or {@code null} if there is no path between the hubs.
+	 */
+	public RoadPath getPath(BusHub from, BusHub to) {
+		return getEntry(from, to).path;
+	}
+
+	/** Replies the travel time between the two bus hubs.
+	 *
+	 * @param from the start hub.
+	 * @param to the end hub.
+	 * @return the travel time in seconds, or {@link Double#POSITIVE_INFINITY} if there is no
+	 *     path between the hubs.
+	 */
+	public double getTravelTime(BusHub from, BusHub to) {
+		return getEntry(from, to).travelTime;
+	}
+
+	private Entry getEntry(BusPrimitive<?> from, BusPrimitive<?> to) {
+		assert from != null && to != null;
+		final var key = new Key(from, to);
+		final long startGeneration;
+		synchronized (this) {
+			final var entry = this.entries.get(key);
+			if (entry != null) {
+				++this.hits;
+				return entry;
+			}
+			++this.misses;
+			startGeneration = this.generation;
+		}
+		final var startPoint = position(from);
+		final var endPoint = position(to);
+		if (startPoint == null || endPoint == null || this.roadNetwork == null) {
+			// The positions are not known yet; nothing could be cached.
+			return Entry.NO_PATH;
+		}
+		final var path = new RoadAStar().solve(startPoint, endPoint, this.roadNetwork);
+		final var entry = path == null ? Entry.NO_PATH : new Entry(path, path.getLength() / this.speed);
+		synchronized (this) {
+			if (startGeneration == this.generation) {
+				this.entries.put(key, entry);
+			}
+		}
+		return entry;
+	}
+
+	private static Point2d position(BusPrimitive<?> primitive) {
+		if (primitive instanceof BusItineraryHalt halt) {
+			return halt.getPosition2D();
+		}
+		return ((BusHub) primitive).getPosition2D();
+	}
+
+	/** Remove the entries that match the given predicate.
+	 *
+	 * @param predicate the predicate on the entries to remove.
+	 */
+	private synchronized void invalidate(Predicate<Map.Entry<Key, Entry>> predicate) {
+		++this.generation;
+		final var iterator = this.entries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			if (predicate.test(iterator.next())) {
+				iterator.remove();
+				++this.invalidations;
+			}
+		}
+	}
+
+	private void invalidate(BusPrimitive<?> primitive) {
+		invalidate(entry -> entry.getKey().from == primitive || entry.getKey().to == primitive);
+	}
+
+	private void invalidate(BusStop stop) {
+		invalidate(entry -> isBoundTo(entry.getKey().from, stop) || isBoundTo(entry.getKey().to, stop));
+	}
+
+	private void invalidate(BusItinerary itinerary) {
+		invalidate(entry -> isInside(entry.getKey().from, itinerary) || isInside(entry.getKey().to, itinerary));
+	}
+
+	private void invalidate(RoadSegment segment) {
+		invalidate(entry -> {
+			final var path = entry.getValue().path;
+			return path == null || path.contains(segment)
+					|| isOnSegment(entry.getKey().from, segment)
+					|| isOnSegment(entry.getKey().to, segment);
+		});
+	}
+
+	private static boolean isBoundTo(BusPrimitive<?> primitive, BusStop stop) {
+		if (primitive instanceof BusItineraryHalt halt) {
+			return halt.getBusStop() == stop;
+		}
+		return ((BusHub) primitive).contains(stop);
+	}
+
+	private static boolean isInside(BusPrimitive<?> primitive, BusItinerary itinerary) {
+		return primitive instanceof BusItineraryHalt halt && halt.getContainer() == itinerary;
+	}
+
+	/** Replies if the primitive is on the given segment. Because the nearest segment
+	 * to a bus hub may change with the road network, the bus hubs are assumed to be on all
+	 * the segments.
+	 */
+	private static boolean isOnSegment(BusPrimitive<?> primitive, RoadSegment segment) {
+		if (primitive instanceof BusItineraryHalt halt) {
+			return halt.getRoadSegment() == segment;
+		}
+		return true;
+	}
+
+	/** Key of the cache.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private static final class Key {
+
+		final BusPrimitive<?> from;
+
+		final BusPrimitive<?> to;
+
+		/** Constructor.
+		 *
+		 * @param from the start primitive.
+		 * @param to the end primitive.
+		 */
+		Key(BusPrimitive<?> from, BusPrimitive<?> to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj instanceof Key key) {
+				return this.from == key.from && this.to == key.to;
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(this.from) * 31 + System.identityHashCode(this.to);
+		}
+
+	}
+
+	/** Entry of the cache.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private static final class Entry {
+
+		/** Entry for the primitives that are not connected.
+		 */
+		static final Entry NO_PATH = new Entry(null, Double.POSITIVE_INFINITY);
+
+		final RoadPath path;
+
+		final double travelTime;
+
+		/** Constructor.
+		 *
+		 * @param path the road path.
+		 * @param travelTime the travel time in seconds.
+		 */
+		Entry(RoadPath path, double travelTime) {
+			this.path = path;
+			this.travelTime = travelTime;
+		}
+
+	}
+
+	/** Listener on the bus network and on the road network that invalidates the entries of the cache.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private final class Listener implements BusChangeListener, RoadNetworkListener {
+
+		/** Constructor.
+		 */
+		Listener() {
+			//
+		}
+
+		@Override
+		public void onBusPrimitiveShapeChanged(BusChangeEvent event) {
+			invalidateFor(event.getChangedObject());
+		}
+
+		@Override
+		public void onBusPrimitiveGraphicalAttributeChanged(BusChangeEvent event) {
+			//
+		}
+
+		@Override
+		public void onBusPrimitiveChanged(BusChangeEvent event) {
+			switch (event.getEventType()) {
+			case VALIDITY:
+			case PRIMITIVE_ADDED:
+			case LINE_ADDED:
+			case LINE_CHANGED:
+			case ITINERARY_ADDED:
+			case ITINERARY_HALT_ADDED:
+			case HUB_ADDED:
+			case STOP_ADDED:
+				// No cached path is changed by these events.
+				break;
+			case ITINERARY_HALT_CHANGED:
+			case ITINERARY_HALT_REMOVED:
+			case HUB_CHANGED:
+			case HUB_REMOVED:
+			case STOP_CHANGED:
+			case STOP_REMOVED:
+			case ITINERARY_CHANGED:
+			case ITINERARY_REMOVED:
+			case ITINERARY_INVERTED:
+				invalidateFor(event.getChangedObject());
+				break;
+			case SEGMENT_ADDED:
+			case SEGMENT_REMOVED:
+			case ALL_ITINERARY_HALTS_REMOVED:
+			case ALL_SEGMENTS_REMOVED:
+				// The changed object is not the itinerary
+				invalidateFor(event.getBusItinerary());
+				break;
+			default:
+				clear();
+				break;
+			}
+		}
+
+		private void invalidateFor(Object changedObject) {
+			if (changedObject instanceof BusItineraryHalt halt) {
+				invalidate(halt);
+			} else if (changedObject instanceof BusHub hub) {
+				invalidate(hub);
+			} else if (changedObject instanceof BusStop stop) {
+				invalidate(stop);
+			} else if (changedObject instanceof BusItinerary itinerary) {
+				invalidate(itinerary);
+			} else {
+				clear();
+			}
+		}
+
+		@Override
+		public void onRoadSegmentAdded(RoadNetwork network, RoadSegment newSegment) {
+			// A new segment may provide a shorter path between any pair of primitives.
+			clear();
+		}
+
+		@Override
+		public void onRoadSegmentChanged(RoadNetwork network, RoadSegment changedSegment) {
+			// A shorter or reconnected segment may provide a shorter path between any pair of primitives.
+			clear();
+		}
+
+		@Override
+		public void onRoadSegmentRemoved(RoadNetwork network, RoadSegment oldSegment) {
+			invalidate(oldSegment);
+		}
+
+	}
+
+}
@@ -0,0 +1,336 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.bus.network;
+
+import java.util.Arrays;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.math.geometry.base.d2.Point2D;
+
+/** Kernel that moves bus vehicles along a bus itinerary.
+ *
+ * <p>The geometry of the itinerary is copied into primitive arrays when the
+ * kernel is created: the points of the road segments are stored in the
+ * direction of the itinerary, with their curvilinear coordinates from the
+ * start of the first road segment. If the itinerary is changed, a new
+ * kernel must be created.
+ *
+ * <p>Each vehicle has a cursor, which is the index of the part of the
+ * itinerary's polyline on which the vehicle is located. When a vehicle
+ * moves, its cursor is moved from its previous value; so that
+ * the cost of a move is proportional to the count of polyline points
+ * that are passed by the vehicle, and not to the count of points
+ * from the start of the itinerary as for
+ * {@link org.arakhne.afc.gis.road.primitive.RoadSegment#getGeoLocationForDistance(double)}.
+ *
+ * <p>This kernel is not thread-safe.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+public class BusVehicleKernel {
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private final double[] xs;
+
+	private final double[] ys;
+
+	private final double[] distances;
+
+	private double[] vehicleDistances;
+
+	private int[] vehicleCursors;
+
+	private int vehicleCount;
+
+	/** Constructor.
+	 *
+	 * @param itinerary the itinerary followed by the vehicles.
+	 */
+	public BusVehicleKernel(BusItinerary itinerary) {
+		assert itinerary != null;
+		var count = 0;
+		for (final var segment : itinerary.roadSegments()) {
+			count += segment.getPointCount();
+		}
+		final var x = new double[count];
+		final var y = new double[count];
+		final var d = new double[count];
+		var n = 0;
+		final var segmentCount = itinerary.getRoadSegmentCount();
+		for (var i = 0; i < segmentCount; ++i) {
+			final var segment = itinerary.getRoadSegmentAt(i);
+			final var pointCount = segment.getPointCount();
+			final var reverted = itinerary.getRoadSegmentDirection(i).isRevertedSegmentDirection();
+			for (var j = 0; j < pointCount; ++j) {
+				final var pt = segment.getPointAt(reverted ? pointCount - j - 1 : j);
+				final var px = pt.getX();
+				final var py = pt.getY();
+				// Skip the point that is shared by two consecutive road segments
+				if (n == 0 || px != x[n - 1] || py != y[n - 1]) {
+					x[n] = px;
+					y[n] = py;
+					d[n] = n == 0 ? 0. : d[n - 1] + Math.hypot(px - x[n - 1], py - y[n - 1]);
+					++n;
+				}
+			}
+		}
+		this.xs = Arrays.copyOf(x, n);
+		this.ys = Arrays.copyOf(y, n);
+		this.distances = Arrays.copyOf(d, n);
+		this.vehicleDistances = new double[DEFAULT_CAPACITY];
+		this.vehicleCursors = new int[DEFAULT_CAPACITY];
+	}
+
+	/** Replies the length of the path followed by the vehicles.
+	 *
+	 * @return the length of the path.
+	 */
+	@Pure
+	public double getLength() {
+		return this.distances.length == 0 ? 0. : this.distances[this.distances.length - 1];
+	}
+
+	/** Replies the number of vehicles in this kernel.
+	 *
+	 * @return the number of vehicles.
+	 */
+	@Pure
+	public int getVehicleCount() {
+		return this.vehicleCount;
+	}
+
+	/** Add a vehicle at the start of the path.
+	 *
+	 * @return the index of the new vehicle.
+	 */
+	public int addVehicle() {
+		return addVehicle(0.);
+	}
+
+	/** Add a vehicle at the given position on the path.
+	 *
+	 * @param distance the curvilinear coordinate of the vehicle from the start of the path.
+	 *     It is clamped to the bounds of the path.
+	 * @return the index of the new vehicle.
+	 */
+	public int addVehicle(double distance) {
+		if (this.vehicleCount == this.vehicleDistances.length) {
+			final var capacity = this.vehicleCount + (this.vehicleCount >> 1) + 1;
+			this.vehicleDistances = Arrays.copyOf(this.vehicleDistances, capacity);
+			this.vehicleCursors = Arrays.copyOf(this.vehicleCursors, capacity);
+		}
+		final var index = this.vehicleCount;
+		++this.vehicleCount;
+		this.vehicleDistances[index] = 0.;
+		this.vehicleCursors[index] = 0;
+		moveTo(index, distance);
+		return index;
+	}
+
+	/** Remove all the vehicles.
+	 */
+	public void clear() {
+		this.vehicleCount = 0;
+	}
+
+	/** Replies the curvilinear coordinate of the vehicle from the start of the path.
+	 *
+	 * @param vehicle the index of the vehicle.
+	 * @return the curvilinear coordinate of the vehicle.
+	 */
+	@Pure
+	public double getDistance(int vehicle) {
+		checkVehicle(vehicle);
+		return this.vehicleDistances[vehicle];
+	}
+
+	/** Replies if the vehicle has reached the end of the path.
+	 *
+	 * @param vehicle the index of the vehicle.
+	 * @return {@code true} if the vehicle is at the end of the path.
+	 */
+	@Pure
+	public boolean isArrived(int vehicle) {
+		return getDistance(vehicle) >= getLength();
+	}
+
+	/** Move the vehicle at the given curvilinear coordinate.
+	 *
+	 * @param vehicle the index of the vehicle.
+	 * @param distance the curvilinear coordinate of the vehicle from the start of the path.
+	 *     It is clamped to the bounds of the path.
+	 */
+	public void moveTo(int vehicle, double distance) {
+		checkVehicle(vehicle);
+		updateCursor(vehicle, distance);
+	}
+
+	/** Move the vehicle along the path.
+	 *
+	 * @param vehicle the index of the vehicle.
+	 * @param delta the distance to travel. It may be negative for moving backward.
+	 */
+	public void advance(int vehicle, double delta) {
+		checkVehicle(vehicle);
+		updateCursor(vehicle, this.vehicleDistances[vehicle] + delta);
+	}
+
+	/** Move all the vehicles along the path with the same distance.
+	 *
+	 * @param delta the distance to travel. It may be negative for moving backward.
+	 */
+	public void advanceAll(double delta) {
+		for (var i = 0; i < this.vehicleCount; ++i) {
+			updateCursor(i, this.vehicleDistances[i] + delta);
+		}
+	}
+
+	/** Move all the vehicles along the path.
+	 *
+	 * @param deltas the distance to travel by each vehicle. The size of the
+	 *     array must be at least the number of vehicles.
+	 */
+	public void advanceAll(double[] deltas) {
+		if (deltas.length < this.vehicleCount) {
+			throw new IllegalArgumentException();
+		}
+		for (var i = 0; i < this.vehicleCount; ++i) {
+			updateCursor(i, this.vehicleDistances[i] + deltas[i]);
+		}
+	}
+
+	/** Replies the position of the vehicle.
+	 *
+	 * @param vehicle the index of the vehicle.
+	 * @param position the position to set.
+	 */
+	public void getPosition(int vehicle, Point2D<?, ?> position) {
+		checkVehicle(vehicle);
+		final var n = this.distances.length;
+		if (n == 0) {
+			position.set(Double.NaN, Double.NaN);
+		} else if (n == 1) {
+			position.set(this.xs[0], this.ys[0]);
+		} else {
+			final var cursor = this.vehicleCursors[vehicle];
+			final var ratio = ratio(vehicle, cursor);
+			position.set(
+					this.xs[cursor] + ratio * (this.xs[cursor + 1] - this.xs[cursor]),
+					this.ys[cursor] + ratio * (this.ys[cursor + 1] - this.ys[cursor]));
+		}
+	}
+
+	/** Write the positions of all the vehicles into the given buffer.
+	 * The coordinates are interleaved: {@code x0, y0, x1, y1...}.
+	 *
+	 * @param buffer the buffer to fill, or {@code null} for creating a new buffer.
+	 *     If the given buffer is too small, a new buffer is created.
+	 * @return the buffer that contains the coordinates.
+	 */
+	public double[] getPositions(double[] buffer) {
+		final var size = this.vehicleCount * 2;
+		final double[] output;
+		if (buffer == null || buffer.length < size) {
+			output = new double[size];
+		} else {
+			output = buffer;
+		}
+		final var n = this.distances.length;
+		if (n < 2) {
+			final var x = n == 0 ? Double.NaN : this.xs[0];
+			final var y = n == 0 ? Double.NaN : this.ys[0];
+			for (var i = 0; i < size; i += 2) {
+				output[i] = x;
+				output[i + 1] = y;
+			}
+		} else {
+			for (var i = 0; i < this.vehicleCount; ++i) {
+				final var cursor = this.vehicleCursors[i];
+				final var ratio = ratio(i, cursor);
+				output[i * 2] = this.xs[cursor] + ratio * (this.xs[cursor + 1] - this.xs[cursor]);
+				output[i * 2 + 1] = this.ys[cursor] + ratio * (this.ys[cursor + 1] - this.ys[cursor]);
+			}
+		}
+		return output;
+	}
+
+	/** Move all the vehicles along the path with the same distance, and write their
+	 * new positions into the given buffer.
+	 *
+	 * @param delta the distance to travel. It may be negative for moving backward.
+	 * @param buffer the buffer to fill, or {@code null} for creating a new buffer.
+	 *     If the given buffer is too small, a new buffer is created.
+	 * @return the buffer that contains the coordinates.
+	 * @see #getPositions(double[])
+	 */
+	public double[] advanceAll(double delta, double[] buffer) {
+		advanceAll(delta);
+		return getPositions(buffer);
+	}
+
+	private double ratio(int vehicle, int cursor) {
+		final var start = this.distances[cursor];
+		final var length = this.distances[cursor + 1] - start;
+		return (this.vehicleDistances[vehicle] - start) / length;
+	}
+
+	private void checkVehicle(int vehicle) {
+		if (vehicle < 0 || vehicle >= this.vehicleCount) {
+			throw new IndexOutOfBoundsException(vehicle);
+		}
+	}
+
+	/** Set the curvilinear coordinate of the vehicle, and move its cursor
+	 * on the part of the polyline that contains the new coordinate.
+	 */
+	private void updateCursor(int vehicle, double distance) {
+		final var n = this.distances.length;
+		if (n < 2) {
+			this.vehicleDistances[vehicle] = 0.;
+			return;
+		}
+		final var length = this.distances[n - 1];
+		final double dist;
+		if (distance <= 0. || Double.isNaN(distance)) {
+			dist = 0.;
+		} else if (distance >= length) {
+			dist = length;
+		} else {
+			dist = distance;
+		}
+		this.vehicleDistances[vehicle] = dist;
+		var cursor = this.vehicleCursors[vehicle];
+		while (cursor < n - 2 && this.distances[cursor + 1] <= dist) {
+			++cursor;
+		}
+		while (cursor > 0 && this.distances[cursor] > dist) {
+			--cursor;
+		}
+		this.vehicleCursors[vehicle] = cursor;
+	}
+
+}
@@ -1083,4 +1083,32 @@ public class BusNetworkTest extends AbstractTestCase {
 		assertSame(hub1, this.network.getNearestBusHub(100, 0));
 	}
 
+	@Test
+	public void testRevalidateInParallel() {
+		initTest();
+		assertTrue(this.network.isValidPrimitive());
+
+		final BusStop stop5 = new BusStop("STOP5", new GeoLocationPoint(500., 500.)); //$NON-NLS-1$
+		this.network.addBusStop(stop5);
+		assertFalse(stop5.isValidPrimitive());
+		assertFalse(this.network.isValidPrimitive());
+		assertFalse(this.network.isValidBusStops());
+
+		final RoadPolyline segment4 = new RoadPolyline();
+		segment4.addPoint(200., 100.);
+		segment4.addPoint(600., 600.);
+		this.roadNetwork.addRoadSegment(segment4);
+		assertFalse(stop5.isValidPrimitive());
+
+		this.eventHandler.clear();
+		this.network.revalidateInParallel(2);
+		assertTrue(stop5.isValidPrimitive());
+		assertTrue(this.network.isValidBusStops());
+		assertTrue(this.network.isValidPrimitive());
+		assertTrue(this.halt1.isValidPrimitive());
+		assertTrue(this.itinerary2.isValidPrimitive());
+		assertTrue(this.line1.isValidPrimitive());
+		this.eventHandler.assertBusChangedEvent(BusChangeEventType.VALIDITY, this.network);
+	}
+
 }
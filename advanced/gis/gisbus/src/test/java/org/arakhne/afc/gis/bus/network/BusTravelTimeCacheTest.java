@@ -0,0 +1,188 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.bus.network;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.arakhne.afc.gis.bus.network.BusItineraryHalt.BusItineraryHaltType;
+import org.arakhne.afc.gis.location.GeoLocationPoint;
+import org.arakhne.afc.gis.road.RoadPolyline;
+import org.arakhne.afc.gis.road.StandardRoadNetwork;
+import org.arakhne.afc.gis.road.path.RoadPath;
+import org.arakhne.afc.math.geometry.d2.d.Point2d;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.arakhne.afc.testtools.AbstractTestCase;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+@SuppressWarnings("all")
+public class BusTravelTimeCacheTest extends AbstractTestCase {
+
+	private StandardRoadNetwork roadNetwork;
+	private RoadPolyline segment1;
+	private BusNetwork network;
+	private BusStop stop1;
+	private BusItineraryHalt halt1;
+	private BusItineraryHalt halt2;
+	private BusItineraryHalt halt3;
+	private BusTravelTimeCache cache;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		this.segment1 = new RoadPolyline();
+		this.segment1.addPoint(0., 0.);
+		this.segment1.addPoint(100., 0.);
+		final RoadPolyline segment2 = new RoadPolyline();
+		segment2.addPoint(100., 0.);
+		segment2.addPoint(100., 100.);
+		this.roadNetwork = new StandardRoadNetwork(new Rectangle2d(-500, -500, 1000, 1000));
+		this.roadNetwork.addRoadSegment(this.segment1);
+		this.roadNetwork.addRoadSegment(segment2);
+
+		this.network = new BusNetwork(this.roadNetwork);
+		this.stop1 = new BusStop("STOP1"); //$NON-NLS-1$
+		this.stop1.setPosition(new GeoLocationPoint(10., 0.));
+		this.network.addBusStop(this.stop1);
+		final BusStop stop2 = new BusStop("STOP2"); //$NON-NLS-1$
+		stop2.setPosition(new GeoLocationPoint(100., 50.));
+		this.network.addBusStop(stop2);
+		final BusStop stop3 = new BusStop("STOP3"); //$NON-NLS-1$
+		stop3.setPosition(new GeoLocationPoint(100., 90.));
+		this.network.addBusStop(stop3);
+
+		final BusLine line = new BusLine("LINE"); //$NON-NLS-1$
+		this.network.addBusLine(line);
+		final BusItinerary itinerary = new BusItinerary("ITINERARY"); //$NON-NLS-1$
+		line.addBusItinerary(itinerary);
+		itinerary.addRoadSegment(this.segment1);
+		itinerary.addRoadSegment(segment2);
+		this.halt1 = itinerary.addBusHalt("HALT1", BusItineraryHaltType.STOP_ON_DEMAND); //$NON-NLS-1$
+		this.halt1.setBusStop(this.stop1);
+		itinerary.putHaltOnRoad(this.halt1, this.segment1);
+		this.halt2 = itinerary.addBusHalt("HALT2", BusItineraryHaltType.STOP_ON_DEMAND); //$NON-NLS-1$
+		this.halt2.setBusStop(stop2);
+		itinerary.putHaltOnRoad(this.halt2, segment2);
+		this.halt3 = itinerary.addBusHalt("HALT3", BusItineraryHaltType.STOP_ON_DEMAND); //$NON-NLS-1$
+		this.halt3.setBusStop(stop3);
+		itinerary.putHaltOnRoad(this.halt3, segment2);
+
+		this.cache = new BusTravelTimeCache(this.network, 10., 2);
+	}
+
+	@AfterEach
+	public void tearDown() throws Exception {
+		this.cache.dispose();
+		this.cache = null;
+		this.halt1 = this.halt2 = this.halt3 = null;
+		this.stop1 = null;
+		this.network = null;
+		this.segment1 = null;
+		this.roadNetwork = null;
+	}
+
+	@Test
+	public void getTravelTime() {
+		final double time = this.cache.getTravelTime(this.halt1, this.halt2);
+		final RoadPath path = this.cache.getPath(this.halt1, this.halt2);
+		assertNotNull(path);
+		assertEpsilonEquals(path.getLength() / 10., time);
+		assertTrue(time > 0.);
+		assertEquals(1, this.cache.getMissCount());
+		assertEquals(1, this.cache.getHitCount());
+		assertEpsilonEquals(.5, this.cache.getHitRate());
+		assertEquals(1, this.cache.size());
+	}
+
+	@Test
+	public void eviction() {
+		this.cache.getTravelTime(this.halt1, this.halt2);
+		this.cache.getTravelTime(this.halt2, this.halt3);
+		this.cache.getTravelTime(this.halt1, this.halt2);
+		this.cache.getTravelTime(this.halt1, this.halt3);
+		assertEquals(2, this.cache.size());
+		assertEquals(1, this.cache.getEvictionCount());
+		// The least recently used entry (halt2, halt3) was evicted
+		this.cache.getTravelTime(this.halt1, this.halt2);
+		assertEquals(2, this.cache.getHitCount());
+		this.cache.getTravelTime(this.halt2, this.halt3);
+		assertEquals(4, this.cache.getMissCount());
+	}
+
+	@Test
+	public void invalidationOnBusStopChange() {
+		this.cache.getPath(this.halt1, this.halt2);
+		this.cache.getPath(this.halt2, this.halt3);
+		this.stop1.setPosition(new GeoLocationPoint(20., 0.));
+		assertEquals(1, this.cache.size());
+		assertEquals(1, this.cache.getInvalidationCount());
+		this.cache.getPath(this.halt2, this.halt3);
+		assertEquals(1, this.cache.getHitCount());
+	}
+
+	@Test
+	public void invalidationOnRoadSegmentAdded() {
+		this.cache.getPath(this.halt1, this.halt2);
+		final RoadPolyline segment = new RoadPolyline();
+		segment.addPoint(0., 0.);
+		segment.addPoint(100., 100.);
+		this.roadNetwork.addRoadSegment(segment);
+		assertEquals(0, this.cache.size());
+		assertEquals(1, this.cache.getInvalidationCount());
+	}
+
+	@Test
+	public void invalidationOnRoadSegmentShortened() {
+		this.cache.getPath(this.halt2, this.halt3);
+		assertEquals(1, this.cache.size());
+		final double length = this.segment1.getLength();
+		this.roadNetwork.connectSegmentStartPoint(null, this.segment1, new Point2d(50., 0.));
+		assertTrue(this.segment1.getLength() < length);
+		assertEquals(0, this.cache.size());
+		assertEquals(1, this.cache.getInvalidationCount());
+	}
+
+	@Test
+	public void dispose() {
+		this.cache.getPath(this.halt1, this.halt2);
+		this.cache.dispose();
+		assertEquals(0, this.cache.size());
+		final RoadPolyline segment = new RoadPolyline();
+		segment.addPoint(0., 0.);
+		segment.addPoint(100., 100.);
+		this.roadNetwork.addRoadSegment(segment);
+		this.cache.getPath(this.halt1, this.halt2);
+		this.cache.getPath(this.halt1, this.halt2);
+		assertEquals(1, this.cache.size());
+		assertEquals(1, this.cache.getHitCount());
+	}
+
+}
@@ -0,0 +1,142 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.bus.network;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.arakhne.afc.gis.road.RoadPolyline;
+import org.arakhne.afc.gis.road.StandardRoadNetwork;
+import org.arakhne.afc.math.geometry.d2.d.Point2d;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.arakhne.afc.testtools.AbstractTestCase;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+@SuppressWarnings("all")
+public class BusVehicleKernelTest extends AbstractTestCase {
+
+	private RoadPolyline segment1;
+	private RoadPolyline segment2;
+	private BusItinerary itinerary;
+	private BusVehicleKernel kernel;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		this.segment1 = new RoadPolyline();
+		this.segment1.addPoint(0., 0.);
+		this.segment1.addPoint(100., 0.);
+		this.segment1.addPoint(100., 50.);
+		this.segment2 = new RoadPolyline();
+		this.segment2.addPoint(200., 50.);
+		this.segment2.addPoint(100., 50.);
+		final StandardRoadNetwork roadNetwork = new StandardRoadNetwork(new Rectangle2d(-500, -500, 1000, 1000));
+		roadNetwork.addRoadSegment(this.segment1);
+		roadNetwork.addRoadSegment(this.segment2);
+		this.itinerary = new BusItinerary("ITINERARY"); //$NON-NLS-1$
+		this.itinerary.addRoadSegment(this.segment1);
+		this.itinerary.addRoadSegment(this.segment2);
+		this.kernel = new BusVehicleKernel(this.itinerary);
+	}
+
+	@AfterEach
+	public void tearDown() throws Exception {
+		this.kernel = null;
+		this.itinerary = null;
+		this.segment1 = this.segment2 = null;
+	}
+
+	@Test
+	public void getLength() {
+		assertEpsilonEquals(250., this.kernel.getLength());
+	}
+
+	@Test
+	public void addVehicle() {
+		assertEquals(0, this.kernel.getVehicleCount());
+		for (int i = 0; i < 40; ++i) {
+			assertEquals(i, this.kernel.addVehicle(i * 10.));
+		}
+		assertEquals(40, this.kernel.getVehicleCount());
+		assertEpsilonEquals(0., this.kernel.getDistance(0));
+		assertEpsilonEquals(120., this.kernel.getDistance(12));
+		assertEpsilonEquals(250., this.kernel.getDistance(39));
+	}
+
+	@Test
+	public void getPosition() {
+		final int vehicle = this.kernel.addVehicle();
+		final Point2d position = new Point2d();
+		this.kernel.getPosition(vehicle, position);
+		assertEpsilonEquals(0., position.getX());
+		assertEpsilonEquals(0., position.getY());
+
+		this.kernel.advance(vehicle, 120.);
+		this.kernel.getPosition(vehicle, position);
+		assertEpsilonEquals(100., position.getX());
+		assertEpsilonEquals(20., position.getY());
+
+		this.kernel.advance(vehicle, 100.);
+		this.kernel.getPosition(vehicle, position);
+		assertEpsilonEquals(170., position.getX());
+		assertEpsilonEquals(50., position.getY());
+
+		this.kernel.advance(vehicle, -190.);
+		this.kernel.getPosition(vehicle, position);
+		assertEpsilonEquals(30., position.getX());
+		assertEpsilonEquals(0., position.getY());
+	}
+
+	@Test
+	public void isArrived() {
+		final int vehicle = this.kernel.addVehicle(200.);
+		assertFalse(this.kernel.isArrived(vehicle));
+		this.kernel.advance(vehicle, 1000.);
+		assertTrue(this.kernel.isArrived(vehicle));
+		assertEpsilonEquals(250., this.kernel.getDistance(vehicle));
+	}
+
+	@Test
+	public void advanceAllDoubleDoubleArray() {
+		this.kernel.addVehicle(0.);
+		this.kernel.addVehicle(100.);
+		this.kernel.addVehicle(240.);
+		final double[] buffer = this.kernel.advanceAll(25., null);
+		assertEquals(6, buffer.length);
+		assertEpsilonEquals(25., buffer[0]);
+		assertEpsilonEquals(0., buffer[1]);
+		assertEpsilonEquals(100., buffer[2]);
+		assertEpsilonEquals(25., buffer[3]);
+		assertEpsilonEquals(200., buffer[4]);
+		assertEpsilonEquals(50., buffer[5]);
+	}
+
+}
@@ -28,12 +28,15 @@
  */
 open module org.arakhne.afc.gis.gisbusinputoutput {
 	requires org.eclipse.xtext.xbase.lib;
+	requires java.xml;
 	requires jdk.xml.dom;
+	requires org.arakhne.afc.core.util;
 	requires transitive org.arakhne.afc.gis.giscore;
 	requires transitive org.arakhne.afc.gis.gisbus;
 	requires org.arakhne.afc.core.inputoutput;
 	requires org.arakhne.afc.gis.gisinputoutput;
 	requires transitive org.arakhne.afc.gis.gisroadinputoutput;
 
+	exports org.arakhne.afc.gis.bus.io.binary;
 	exports org.arakhne.afc.gis.bus.io.xml;
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.bus.io.binary;
+
+/** Constants of the binary snapshot format of a bus network and its road network.
+ *
+ * <p>A snapshot is a big-endian binary file with the following layout:
+ * <ol>
+ * <li>the header: the magic number {@link #MAGIC_NUMBER} and the version {@link #VERSION};</li>
+ * <li>the road network: its UUID, name, bounds and attributes, followed by the road segments.
+ *     Each road segment is described by its UUID, name, color, wide flag, the indexes of
+ *     the first points of its groups, the flat array of its point coordinates, and its attributes;</li>
+ * <li>the bus network: its UUID, name, color and attributes, followed by the bus stops, the
+ *     bus hubs and the bus lines. The bus hubs refer to the bus stops by their index in the snapshot.
+ *     The bus itineraries refer to the road segments by their index in the snapshot; and the bus halts
+ *     refer to the bus stops by their index in the snapshot, and to the road segments by their index
+ *     in the itinerary;</li>
+ * <li>the table of the strings, which are referred by their index in the rest of the snapshot;</li>
+ * <li>the trailer: the position of the string table in the snapshot.</li>
+ * </ol>
+ *
+ * <p>The string table is written at the end of the snapshot for enabling its writing in one pass
+ * on a stream. It is read first thanks to the trailer.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+public final class BusNetworkSnapshotConstants {
+
+	/** Magic number at the beginning of the snapshots: {@code AFCB}.
+	 */
+	public static final int MAGIC_NUMBER = 0x41464342;
+
+	/** Current version of the snapshot format.
+	 */
+	public static final int VERSION = 1;
+
+	/** Index of a string that is {@code null}, or of a primitive that is not defined.
+	 */
+	static final int NO_INDEX = -1;
+
+	/** Size of the trailer in bytes.
+	 */
+	static final int TRAILER_SIZE = Long.BYTES;
+
+	private BusNetworkSnapshotConstants() {
+		//
+	}
+
+}
@@ -0,0 +1,456 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.bus.io.binary;
+
+import static org.arakhne.afc.gis.bus.io.binary.BusNetworkSnapshotConstants.MAGIC_NUMBER;
+import static org.arakhne.afc.gis.bus.io.binary.BusNetworkSnapshotConstants.NO_INDEX;
+import static org.arakhne.afc.gis.bus.io.binary.BusNetworkSnapshotConstants.TRAILER_SIZE;
+import static org.arakhne.afc.gis.bus.io.binary.BusNetworkSnapshotConstants.VERSION;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.UUID;
+
+import org.eclipse.xtext.xbase.lib.Pair;
+import org.eclipse.xtext.xbase.lib.Pure;
+
+import org.arakhne.afc.attrs.attr.AttributeException;
+import org.arakhne.afc.attrs.attr.AttributeImpl;
+import org.arakhne.afc.attrs.attr.AttributeType;
+import org.arakhne.afc.attrs.collection.AttributeCollection;
+import org.arakhne.afc.gis.bus.network.BusItinerary;
+import org.arakhne.afc.gis.bus.network.BusItineraryHalt;
+import org.arakhne.afc.gis.bus.network.BusItineraryHalt.BusItineraryHaltType;
+import org.arakhne.afc.gis.bus.network.BusLine;
+import org.arakhne.afc.gis.bus.network.BusNetwork;
+import org.arakhne.afc.gis.bus.network.BusStop;
+import org.arakhne.afc.gis.location.GeoLocationPoint;
+import org.arakhne.afc.gis.primitive.GISEditable;
+import org.arakhne.afc.gis.road.RoadPolyline;
+import org.arakhne.afc.gis.road.StandardRoadNetwork;
+import org.arakhne.afc.gis.road.primitive.RoadNetworkException;
+import org.arakhne.afc.math.geometry.d2.d.Point2d;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.arakhne.afc.math.geometry.d3.d.Point3d;
+import org.arakhne.afc.progress.Progression;
+
+/** Reader of the binary snapshot of a bus network and its road network.
+ *
+ * <p>The format of the snapshot is described in {@link BusNetworkSnapshotConstants}.
+ * When the reader is created from a file, the file is mapped in memory; so that
+ * the size of the snapshot is limited to 2GB.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ * @see BusNetworkSnapshotWriter
+ */
+public class BusNetworkSnapshotReader implements AutoCloseable {
+
+	private ByteBuffer buffer;
+
+	private String[] strings;
+
+	private RoadPolyline[] roadSegments;
+
+	private Progression progression;
+
+	/**
+	 * Constructs a snapshot reader on a file. The file is mapped in memory.
+	 *
+	 * @param filename is the file to read.
+	 * @throws IOException in case of error.
+	 */
+	public BusNetworkSnapshotReader(File filename) throws IOException {
+		try (var channel = FileChannel.open(filename.toPath(), StandardOpenOption.READ)) {
+			this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+
+	/**
+	 * Constructs a snapshot reader on a buffer. The content of the buffer is read
+	 * from its position to its limit.
+	 *
+	 * @param buffer is the buffer to read.
+	 */
+	public BusNetworkSnapshotReader(ByteBuffer buffer) {
+		assert buffer != null;
+		this.buffer = buffer.slice();
+	}
+
+	/** Replies the task progression.
+	 *
+	 * @return the task progression object associated to this reader, or {@code null}
+	 */
+	@Pure
+	public Progression getProgression() {
+		return this.progression;
+	}
+
+	/** Set the task progression associated to this reader.
+	 *
+	 * <p>The progression is expressed in bytes of the snapshot.
+	 *
+	 * @param progressBar is the task progression object associated to this reader, or {@code null}
+	 */
+	public void setProgression(Progression progressBar) {
+		this.progression = progressBar;
+	}
+
+	/** Release the mapped snapshot.
+	 */
+	@Override
+	public void close() {
+		this.buffer = null;
+		this.strings = null;
+		this.roadSegments = null;
+	}
+
+	/** Read the bus network and its road network from the snapshot.
+	 *
+	 * @return the bus network; never {@code null}.
+	 * @throws IOException in case of error.
+	 */
+	public BusNetwork read() throws IOException {
+		if (this.buffer == null) {
+			throw new IOException("reader is closed"); //$NON-NLS-1$
+		}
+		final var input = this.buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+		try {
+			if (input.limit() < 2 * Integer.BYTES + TRAILER_SIZE
+					|| input.getInt(0) != MAGIC_NUMBER) {
+				throw new IOException("not a bus network snapshot"); //$NON-NLS-1$
+			}
+			final var version = input.getInt(Integer.BYTES);
+			if (version != VERSION) {
+				throw new IOException("unsupported version of bus network snapshot: " + version); //$NON-NLS-1$
+			}
+			readStringTable(input);
+			if (this.progression != null) {
+				this.progression.setProperties(0, 0, input.limit(), false);
+			}
+			input.position(2 * Integer.BYTES);
+			final var roadNetwork = readRoadNetwork(input);
+			return readBusNetwork(input, roadNetwork);
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+				| RoadNetworkException exception) {
+			throw new IOException("corrupted bus network snapshot", exception); //$NON-NLS-1$
+		} finally {
+			if (this.progression != null) {
+				this.progression.end();
+			}
+		}
+	}
+
+	private void readStringTable(ByteBuffer input) {
+		final var offset = input.getLong(input.limit() - TRAILER_SIZE);
+		if (offset < 0 || offset > input.limit() - TRAILER_SIZE) {
+			throw new IllegalArgumentException();
+		}
+		input.position((int) offset);
+		final var count = input.getInt();
+		this.strings = new String[count];
+		for (var i = 0; i < count; ++i) {
+			final var bytes = new byte[input.getInt()];
+			input.get(bytes);
+			this.strings[i] = new String(bytes, StandardCharsets.UTF_8);
+		}
+	}
+
+	private StandardRoadNetwork readRoadNetwork(ByteBuffer input) throws IOException {
+		final var id = readUUID(input);
+		final var name = readString(input);
+		final var bounds = new Rectangle2d(input.getDouble(), input.getDouble(), input.getDouble(), input.getDouble());
+		final var roadNetwork = new StandardRoadNetwork(id, bounds);
+		if (name != null) {
+			roadNetwork.setName(name);
+		}
+		readAttributes(input, roadNetwork);
+
+		final var segmentCount = input.getInt();
+		final var segments = new RoadPolyline[segmentCount];
+		for (var i = 0; i < segmentCount; ++i) {
+			final var segment = readRoadPolyline(input);
+			segments[i] = segment;
+			roadNetwork.addRoadSegment(segment);
+			notifyProgression(input);
+		}
+		this.roadSegments = segments;
+		return roadNetwork;
+	}
+
+	private RoadPolyline readRoadPolyline(ByteBuffer input) throws IOException {
+		final var segment = new RoadPolyline(readUUID(input));
+		final var name = readString(input);
+		if (name != null) {
+			segment.setName(name);
+		}
+		readColor(input, segment);
+		segment.setWidePolyline(input.get() != 0);
+		final var groupCount = input.getInt();
+		final var firstIndexes = new int[groupCount];
+		for (var i = 0; i < groupCount; ++i) {
+			firstIndexes[i] = input.getInt();
+		}
+		final var pointCount = input.getInt();
+		var group = 0;
+		for (var i = 0; i < pointCount; ++i) {
+			final var x = input.getDouble();
+			final var y = input.getDouble();
+			if (group < groupCount && firstIndexes[group] == i) {
+				segment.addGroup(x, y);
+				++group;
+			} else {
+				segment.addPoint(x, y);
+			}
+		}
+		readAttributes(input, segment);
+		return segment;
+	}
+
+	private BusNetwork readBusNetwork(ByteBuffer input, StandardRoadNetwork roadNetwork) throws IOException {
+		final var busNetwork = new BusNetwork(readUUID(input), roadNetwork);
+		final var networkName = readString(input);
+		if (networkName != null) {
+			busNetwork.setName(networkName);
+		}
+		readColor(input, busNetwork);
+		readAttributes(input, busNetwork);
+
+		final var stopCount = input.getInt();
+		final var stops = new BusStop[stopCount];
+		for (var i = 0; i < stopCount; ++i) {
+			final var id = readUUID(input);
+			final var stop = new BusStop(id, readString(input));
+			readColor(input, stop);
+			readAttributes(input, stop);
+			if (input.get() != 0) {
+				stop.setPosition(new GeoLocationPoint(input.getDouble(), input.getDouble()));
+			}
+			busNetwork.addBusStop(stop);
+			stops[i] = stop;
+		}
+
+		final var hubCount = input.getInt();
+		for (var i = 0; i < hubCount; ++i) {
+			final var id = readUUID(input);
+			final var name = readString(input);
+			final var hasColor = input.get() != 0;
+			final var color = hasColor ? input.getInt() : 0;
+			final var attributes = new ArrayList<AttributeImpl>();
+			readAttributes(input, attributes);
+			final var hubStops = new BusStop[input.getInt()];
+			for (var j = 0; j < hubStops.length; ++j) {
+				hubStops[j] = stops[input.getInt()];
+			}
+			// The hub cannot be created before its bus stops are known.
+			final var hub = name != null && !"".equals(name) //$NON-NLS-1$
+					? busNetwork.addBusHub(name, hubStops) : busNetwork.addBusHub(hubStops);
+			if (hub != null) {
+				hub.setUUID(id);
+				if (hasColor) {
+					hub.setColor(color);
+				}
+				setAttributes(hub, attributes);
+			}
+		}
+
+		final var lineCount = input.getInt();
+		for (var i = 0; i < lineCount; ++i) {
+			readBusLine(input, busNetwork, stops);
+		}
+
+		// Force the validity checking to be sure
+		// that all the primitives are valid or not
+		busNetwork.revalidate();
+
+		return busNetwork;
+	}
+
+	private void readBusLine(ByteBuffer input, BusNetwork busNetwork, BusStop[] stops) throws IOException {
+		final var line = new BusLine(readUUID(input), readString(input));
+		readColor(input, line);
+		readAttributes(input, line);
+
+		// The line is bound to the network as soon as it is known in order to
+		// attach its itineraries to the network when they are read.
+		busNetwork.addBusLine(line);
+
+		final var itineraryCount = input.getInt();
+		for (var i = 0; i < itineraryCount; ++i) {
+			final var itinerary = new BusItinerary(readUUID(input), readString(input));
+			readColor(input, itinerary);
+			readAttributes(input, itinerary);
+			final var segmentCount = input.getInt();
+			for (var j = 0; j < segmentCount; ++j) {
+				itinerary.addRoadSegment(this.roadSegments[input.getInt()], false);
+			}
+			final var haltCount = input.getInt();
+			final var binding = new HashMap<BusItineraryHalt, Pair<Integer, Double>>();
+			for (var j = 0; j < haltCount; ++j) {
+				final var id = readUUID(input);
+				final var name = readString(input);
+				final var hasColor = input.get() != 0;
+				final var color = hasColor ? input.getInt() : 0;
+				final var attributes = new ArrayList<AttributeImpl>();
+				readAttributes(input, attributes);
+				final var type = BusItineraryHaltType.valueOf(readString(input));
+				final var stopIndex = input.getInt();
+				final var segmentIndex = input.getInt();
+				final var position = input.getDouble();
+				final var halt = itinerary.addBusHalt(id, type);
+				if (halt != null) {
+					if (name != null) {
+						halt.setName(name);
+					}
+					if (hasColor) {
+						halt.setColor(color);
+					}
+					setAttributes(halt, attributes);
+					if (stopIndex != NO_INDEX) {
+						halt.setBusStop(stops[stopIndex]);
+					}
+					if (segmentIndex >= 0) {
+						binding.put(halt, new Pair<>(Integer.valueOf(segmentIndex), Double.valueOf(position)));
+					}
+				}
+			}
+			itinerary.setBusHaltBinding(binding);
+			line.addBusItinerary(itinerary);
+			notifyProgression(input);
+		}
+	}
+
+	private void notifyProgression(ByteBuffer input) {
+		if (this.progression != null) {
+			this.progression.setValue(input.position());
+		}
+	}
+
+	private static UUID readUUID(ByteBuffer input) {
+		return new UUID(input.getLong(), input.getLong());
+	}
+
+	private String readString(ByteBuffer input) {
+		final var index = input.getInt();
+		if (index == NO_INDEX) {
+			return null;
+		}
+		return this.strings[index];
+	}
+
+	private static void readColor(ByteBuffer input, GISEditable element) {
+		if (input.get() != 0) {
+			element.setColor(input.getInt());
+		}
+	}
+
+	private void readAttributes(ByteBuffer input, AttributeCollection element) throws IOException {
+		final var attributes = new ArrayList<AttributeImpl>();
+		readAttributes(input, attributes);
+		setAttributes(element, attributes);
+	}
+
+	private static void setAttributes(AttributeCollection element, Iterable<AttributeImpl> attributes)
+			throws IOException {
+		try {
+			for (final var attr : attributes) {
+				element.setAttribute(attr);
+			}
+		} catch (AttributeException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/** Read a block of attributes.
+	 *
+	 * @param input the input buffer.
+	 * @param attributes the list to fill.
+	 */
+	@SuppressWarnings("checkstyle:cyclomaticcomplexity")
+	private void readAttributes(ByteBuffer input, ArrayList<AttributeImpl> attributes) {
+		final var count = input.getInt();
+		for (var i = 0; i < count; ++i) {
+			final var name = readString(input);
+			final var type = AttributeType.valueOf(readString(input));
+			final AttributeImpl attr;
+			switch (type) {
+			case BOOLEAN:
+				attr = new AttributeImpl(name, input.get() != 0);
+				break;
+			case INTEGER:
+				attr = new AttributeImpl(name, input.getLong());
+				break;
+			case REAL:
+				attr = new AttributeImpl(name, input.getDouble());
+				break;
+			case TIMESTAMP:
+				attr = new AttributeImpl(name, input.getLong());
+				attr.cast(AttributeType.TIMESTAMP);
+				break;
+			case DATE:
+				attr = new AttributeImpl(name, new Date(input.getLong()));
+				break;
+			case UUID:
+				attr = new AttributeImpl(name, readUUID(input));
+				break;
+			case POINT:
+				attr = new AttributeImpl(name, input.getDouble(), input.getDouble());
+				break;
+			case POINT3D:
+				attr = new AttributeImpl(name, input.getDouble(), input.getDouble(), input.getDouble());
+				break;
+			case POLYLINE:
+				final var pts = new Point2d[input.getInt()];
+				for (var j = 0; j < pts.length; ++j) {
+					pts[j] = new Point2d(input.getDouble(), input.getDouble());
+				}
+				attr = new AttributeImpl(name, pts);
+				break;
+			case POLYLINE3D:
+				final var pts3 = new Point3d[input.getInt()];
+				for (var j = 0; j < pts3.length; ++j) {
+					pts3[j] = new Point3d(input.getDouble(), input.getDouble(), input.getDouble());
+				}
+				attr = new AttributeImpl(name, pts3);
+				break;
+				//$CASES-OMITTED$
+			default:
+				attr = new AttributeImpl(name, readString(input));
+				attr.cast(type);
+				break;
+			}
+			attributes.add(attr);
+		}
+	}
+
+}
@@ -0,0 +1,425 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.bus.io.binary;
+
+import static org.arakhne.afc.gis.bus.io.binary.BusNetworkSnapshotConstants.MAGIC_NUMBER;
+import static org.arakhne.afc.gis.bus.io.binary.BusNetworkSnapshotConstants.NO_INDEX;
+import static org.arakhne.afc.gis.bus.io.binary.BusNetworkSnapshotConstants.VERSION;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.arakhne.afc.attrs.attr.Attribute;
+import org.arakhne.afc.attrs.attr.AttributeException;
+import org.arakhne.afc.attrs.collection.AttributeCollection;
+import org.arakhne.afc.attrs.xml.XMLAttributeUtil;
+import org.arakhne.afc.gis.bus.network.BusItinerary;
+import org.arakhne.afc.gis.bus.network.BusLine;
+import org.arakhne.afc.gis.bus.network.BusNetwork;
+import org.arakhne.afc.gis.bus.network.BusPrimitive;
+import org.arakhne.afc.gis.bus.network.BusStop;
+import org.arakhne.afc.gis.road.RoadPolyline;
+import org.arakhne.afc.gis.road.primitive.RoadSegment;
+import org.arakhne.afc.inputoutput.xml.XMLUtil;
+import org.arakhne.afc.progress.Progression;
+import org.eclipse.xtext.xbase.lib.Pure;
+
+/** Writer of the binary snapshot of a bus network and its road network.
+ *
+ * <p>The format of the snapshot is described in {@link BusNetworkSnapshotConstants}.
+ * The road segments of the road network must be {@link RoadPolyline road polylines}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ * @see BusNetworkSnapshotReader
+ */
+public class BusNetworkSnapshotWriter implements AutoCloseable {
+
+	private final DataOutputStream output;
+
+	private final Map<String, Integer> strings = new HashMap<>();
+
+	private final List<String> stringTable = new ArrayList<>();
+
+	private Progression progression;
+
+	/**
+	 * Constructs a snapshot writer.
+	 *
+	 * @param filename is the file to write.
+	 * @throws IOException in case of error.
+	 */
+	@SuppressWarnings("resource")
+	public BusNetworkSnapshotWriter(File filename) throws IOException {
+		this(new FileOutputStream(filename));
+	}
+
+	/**
+	 * Constructs a snapshot writer.
+	 *
+	 * @param stream is the stream to write.
+	 */
+	public BusNetworkSnapshotWriter(OutputStream stream) {
+		assert stream != null;
+		this.output = new DataOutputStream(new BufferedOutputStream(stream));
+	}
+
+	/** Replies the task progression.
+	 *
+	 * @return the task progression object associated to this writer, or {@code null}
+	 */
+	@Pure
+	public Progression getProgression() {
+		return this.progression;
+	}
+
+	/** Set the task progression associated to this writer.
+	 *
+	 * <p>The progression is expressed in number of road segments and bus primitives.
+	 *
+	 * @param progressBar is the task progression object associated to this writer, or {@code null}
+	 */
+	public void setProgression(Progression progressBar) {
+		this.progression = progressBar;
+	}
+
+	/** Close the output stream.
+	 *
+	 * @throws IOException in case of error.
+	 */
+	@Override
+	public void close() throws IOException {
+		this.output.close();
+	}
+
+	/** Write the snapshot of the given bus network and of its road network.
+	 *
+	 * @param busNetwork the bus network to write.
+	 * @throws IOException in case of error.
+	 */
+	public void write(BusNetwork busNetwork) throws IOException {
+		assert busNetwork != null;
+		final var roadNetwork = busNetwork.getRoadNetwork();
+		if (roadNetwork == null) {
+			throw new IOException("no road network"); //$NON-NLS-1$
+		}
+		this.strings.clear();
+		this.stringTable.clear();
+		if (this.progression != null) {
+			var max = roadNetwork.getSegmentCount() + busNetwork.getBusStopCount() + busNetwork.getBusHubCount();
+			for (final var line : busNetwork.busLines()) {
+				max += line.getBusItineraryCount();
+			}
+			this.progression.setProperties(0, 0, max, false);
+		}
+		try {
+			this.output.writeInt(MAGIC_NUMBER);
+			this.output.writeInt(VERSION);
+
+			//
+			// Road network
+			//
+			writeUUID(roadNetwork.getUUID());
+			writeString(roadNetwork.getName());
+			final var bounds = roadNetwork.getBoundingBox();
+			if (bounds == null) {
+				throw new IOException("no bounds for the road network"); //$NON-NLS-1$
+			}
+			this.output.writeDouble(bounds.getMinX());
+			this.output.writeDouble(bounds.getMinY());
+			this.output.writeDouble(bounds.getWidth());
+			this.output.writeDouble(bounds.getHeight());
+			writeAttributes(roadNetwork);
+
+			final var roadIndexes = new IdentityHashMap<RoadSegment, Integer>();
+			this.output.writeInt(roadNetwork.getSegmentCount());
+			for (final var segment : roadNetwork) {
+				if (!(segment instanceof RoadPolyline)) {
+					throw new IOException("unsupported type of road segment: " + segment.getClass()); //$NON-NLS-1$
+				}
+				roadIndexes.put(segment, Integer.valueOf(roadIndexes.size()));
+				writeRoadPolyline((RoadPolyline) segment);
+				notifyProgression();
+			}
+
+			//
+			// Bus network
+			//
+			writeBusPrimitive(busNetwork);
+
+			final var stopIndexes = new IdentityHashMap<BusStop, Integer>();
+			this.output.writeInt(busNetwork.getBusStopCount());
+			for (final var stop : busNetwork.busStops()) {
+				stopIndexes.put(stop, Integer.valueOf(stopIndexes.size()));
+				writeBusPrimitive(stop);
+				final var position = stop.getPosition2D();
+				if (position != null) {
+					this.output.writeBoolean(true);
+					this.output.writeDouble(position.getX());
+					this.output.writeDouble(position.getY());
+				} else {
+					this.output.writeBoolean(false);
+				}
+				notifyProgression();
+			}
+
+			this.output.writeInt(busNetwork.getBusHubCount());
+			for (final var hub : busNetwork.busHubs()) {
+				writeBusPrimitive(hub);
+				this.output.writeInt(hub.getBusStopCount());
+				for (final var stop : hub.busStops()) {
+					this.output.writeInt(index(stopIndexes, stop));
+				}
+				notifyProgression();
+			}
+
+			this.output.writeInt(busNetwork.getBusLineCount());
+			for (final var line : busNetwork.busLines()) {
+				writeBusLine(line, roadIndexes, stopIndexes);
+			}
+
+			//
+			// String table
+			//
+			final var stringTableOffset = this.output.size();
+			this.output.writeInt(this.stringTable.size());
+			for (final var str : this.stringTable) {
+				final var bytes = str.getBytes(StandardCharsets.UTF_8);
+				this.output.writeInt(bytes.length);
+				this.output.write(bytes);
+			}
+			if (this.output.size() == Integer.MAX_VALUE) {
+				throw new IOException("snapshot is too big"); //$NON-NLS-1$
+			}
+			this.output.writeLong(stringTableOffset);
+			this.output.flush();
+		} finally {
+			if (this.progression != null) {
+				this.progression.end();
+			}
+		}
+	}
+
+	private void notifyProgression() {
+		if (this.progression != null) {
+			this.progression.increment();
+		}
+	}
+
+	private void writeBusLine(BusLine line, Map<RoadSegment, Integer> roadIndexes,
+			Map<BusStop, Integer> stopIndexes) throws IOException {
+		writeBusPrimitive(line);
+		this.output.writeInt(line.getBusItineraryCount());
+		for (final var itinerary : line.busItineraries()) {
+			writeBusItinerary(itinerary, roadIndexes, stopIndexes);
+			notifyProgression();
+		}
+	}
+
+	private void writeBusItinerary(BusItinerary itinerary, Map<RoadSegment, Integer> roadIndexes,
+			Map<BusStop, Integer> stopIndexes) throws IOException {
+		writeBusPrimitive(itinerary);
+		this.output.writeInt(itinerary.getRoadSegmentCount());
+		for (final var segment : itinerary.roadSegments()) {
+			final var index = roadIndexes.get(segment);
+			if (index == null) {
+				throw new IOException("road segment not in the road network: " + segment); //$NON-NLS-1$
+			}
+			this.output.writeInt(index.intValue());
+		}
+		this.output.writeInt(itinerary.size());
+		for (final var halt : itinerary.busHalts()) {
+			writeBusPrimitive(halt);
+			writeString(halt.getType().name());
+			final var stop = halt.getBusStop();
+			this.output.writeInt(stop == null ? NO_INDEX : index(stopIndexes, stop));
+			this.output.writeInt(halt.getRoadSegmentIndex());
+			this.output.writeDouble(halt.getPositionOnSegment());
+		}
+	}
+
+	private void writeRoadPolyline(RoadPolyline segment) throws IOException {
+		writeUUID(segment.getUUID());
+		writeString(segment.getName());
+		writeColor(segment.getRawColor());
+		this.output.writeBoolean(segment.isWidePolyline());
+		final var groupCount = segment.getGroupCount();
+		this.output.writeInt(groupCount);
+		for (var i = 0; i < groupCount; ++i) {
+			this.output.writeInt(segment.getFirstPointIndexInGroup(i));
+		}
+		final var pointCount = segment.getPointCount();
+		this.output.writeInt(pointCount);
+		for (var i = 0; i < pointCount; ++i) {
+			final var pt = segment.getPointAt(i);
+			this.output.writeDouble(pt.getX());
+			this.output.writeDouble(pt.getY());
+		}
+		writeAttributes(segment);
+	}
+
+	private void writeBusPrimitive(BusPrimitive<?> primitive) throws IOException {
+		writeUUID(primitive.getUUID());
+		writeString(primitive.getName());
+		writeColor(primitive.getRawColor());
+		writeAttributes(primitive);
+	}
+
+	private static int index(Map<BusStop, Integer> stopIndexes, BusStop stop) throws IOException {
+		final var index = stopIndexes.get(stop);
+		if (index == null) {
+			throw new IOException("bus stop not in the bus network: " + stop.getUUID()); //$NON-NLS-1$
+		}
+		return index.intValue();
+	}
+
+	private void writeUUID(UUID id) throws IOException {
+		this.output.writeLong(id.getMostSignificantBits());
+		this.output.writeLong(id.getLeastSignificantBits());
+	}
+
+	private void writeColor(Integer color) throws IOException {
+		if (color == null) {
+			this.output.writeBoolean(false);
+		} else {
+			this.output.writeBoolean(true);
+			this.output.writeInt(color.intValue());
+		}
+	}
+
+	/** Write the index of the given string in the string table.
+	 * The string is added into the table if it was not already inside.
+	 *
+	 * @param str the string.
+	 * @throws IOException in case of error.
+	 */
+	private void writeString(String str) throws IOException {
+		if (str == null) {
+			this.output.writeInt(NO_INDEX);
+		} else {
+			var index = this.strings.get(str);
+			if (index == null) {
+				index = Integer.valueOf(this.stringTable.size());
+				this.strings.put(str, index);
+				this.stringTable.add(str);
+			}
+			this.output.writeInt(index.intValue());
+		}
+	}
+
+	/** Write the attributes of the given element.
+	 * The attributes with the names "id", "name", "color" and "geoId" are not written,
+	 * as for the XML format.
+	 *
+	 * @param element the element.
+	 * @throws IOException in case of error.
+	 */
+	private void writeAttributes(AttributeCollection element) throws IOException {
+		final var attributes = new ArrayList<Attribute>();
+		for (final var attr : element.attributes()) {
+			final var name = attr.getName();
+			if (attr.isAssigned()
+					&& !XMLUtil.ATTR_ID.equalsIgnoreCase(name)
+					&& !XMLUtil.ATTR_NAME.equalsIgnoreCase(name)
+					&& !XMLUtil.ATTR_COLOR.equalsIgnoreCase(name)
+					&& !XMLAttributeUtil.ATTR_GEOID.equalsIgnoreCase(name)) {
+				attributes.add(attr);
+			}
+		}
+		this.output.writeInt(attributes.size());
+		for (final var attr : attributes) {
+			writeString(attr.getName());
+			final var type = attr.getType();
+			writeString(type.name());
+			try {
+				switch (type) {
+				case BOOLEAN:
+					this.output.writeBoolean(attr.getBoolean());
+					break;
+				case INTEGER:
+					this.output.writeLong(attr.getInteger());
+					break;
+				case REAL:
+					this.output.writeDouble(attr.getReal());
+					break;
+				case TIMESTAMP:
+					this.output.writeLong(attr.getTimestamp());
+					break;
+				case DATE:
+					this.output.writeLong(attr.getDate().getTime());
+					break;
+				case UUID:
+					writeUUID(attr.getUUID());
+					break;
+				case POINT:
+					final var pt = attr.getPoint();
+					this.output.writeDouble(pt.getX());
+					this.output.writeDouble(pt.getY());
+					break;
+				case POINT3D:
+					final var pt3 = attr.getPoint3D();
+					this.output.writeDouble(pt3.getX());
+					this.output.writeDouble(pt3.getY());
+					this.output.writeDouble(pt3.getZ());
+					break;
+				case POLYLINE:
+					final var pts = attr.getPolyline();
+					this.output.writeInt(pts.length);
+					for (final var p : pts) {
+						this.output.writeDouble(p.getX());
+						this.output.writeDouble(p.getY());
+					}
+					break;
+				case POLYLINE3D:
+					final var pts3 = attr.getPolyline3D();
+					this.output.writeInt(pts3.length);
+					for (final var p : pts3) {
+						this.output.writeDouble(p.getX());
+						this.output.writeDouble(p.getY());
+						this.output.writeDouble(p.getZ());
+					}
+					break;
+					//$CASES-OMITTED$
+				default:
+					writeString(attr.getString());
+					break;
+				}
+			} catch (AttributeException exception) {
+				throw new IOException(exception);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,779 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.bus.io.xml;
+
+import static org.arakhne.afc.attrs.xml.XMLAttributeUtil.ATTR_GEOID;
+import static org.arakhne.afc.attrs.xml.XMLAttributeUtil.ATTR_TYPE;
+import static org.arakhne.afc.attrs.xml.XMLAttributeUtil.ATTR_VALUE;
+import static org.arakhne.afc.attrs.xml.XMLAttributeUtil.NODE_ATTRIBUTE;
+import static org.arakhne.afc.attrs.xml.XMLAttributeUtil.NODE_ATTRIBUTES;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.ATTR_ROADID;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.ATTR_STOPID;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_BUSHALT;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_BUSHALTS;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_BUSHUB;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_BUSHUBS;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_BUSITINERARIES;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_BUSITINERARY;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_BUSLINE;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_BUSLINES;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_BUSNETWORK;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_BUSSTOP;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_BUSSTOPS;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_ROADS;
+import static org.arakhne.afc.gis.io.xml.XMLGISElementUtil.ATTR_X;
+import static org.arakhne.afc.gis.io.xml.XMLGISElementUtil.ATTR_Y;
+import static org.arakhne.afc.gis.road.io.XMLRoadUtil.NODE_ROAD;
+import static org.arakhne.afc.inputoutput.xml.XMLUtil.ATTR_COLOR;
+import static org.arakhne.afc.inputoutput.xml.XMLUtil.ATTR_ID;
+import static org.arakhne.afc.inputoutput.xml.XMLUtil.ATTR_NAME;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.arakhne.afc.attrs.attr.AttributeException;
+import org.arakhne.afc.attrs.attr.AttributeImpl;
+import org.arakhne.afc.attrs.attr.AttributeType;
+import org.arakhne.afc.gis.bus.network.BusItinerary;
+import org.arakhne.afc.gis.bus.network.BusItineraryHalt.BusItineraryHaltType;
+import org.arakhne.afc.gis.bus.network.BusLine;
+import org.arakhne.afc.gis.bus.network.BusNetwork;
+import org.arakhne.afc.gis.bus.network.BusStop;
+import org.arakhne.afc.gis.location.GeoId;
+import org.arakhne.afc.gis.location.GeoLocationPoint;
+import org.arakhne.afc.gis.primitive.GISElement;
+import org.arakhne.afc.gis.road.primitive.RoadNetwork;
+import org.arakhne.afc.gis.road.primitive.RoadSegment;
+import org.arakhne.afc.inputoutput.xml.ColorFormatException;
+import org.arakhne.afc.inputoutput.xml.DateFormatException;
+import org.arakhne.afc.inputoutput.xml.XMLResources;
+import org.arakhne.afc.inputoutput.xml.XMLUtil;
+import org.arakhne.afc.progress.Progression;
+import org.eclipse.xtext.xbase.lib.Pure;
+
+/** Streaming reader of a bus network from its XML representation.
+ *
+ * <p>This reader supports the same XML schema as {@link XMLBusNetworkUtil#readBusNetwork(
+ * org.w3c.dom.Element, RoadNetwork, org.arakhne.afc.inputoutput.path.PathBuilder, XMLResources)}, but it is based on the
+ * StAX API: the XML document is never loaded in memory as a whole. The bus stops, hubs,
+ * lines, itineraries and halts are created and bound to the road network as soon as
+ * their XML descriptions are read.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ * @see XMLBusNetworkStreamWriter
+ */
+public class XMLBusNetworkStreamReader implements AutoCloseable {
+
+	/** Number of bits to shift for passing from bytes to kilobytes.
+	 */
+	private static final int KILOBYTE_SHIFT = 10;
+
+	private final CountingInputStream input;
+
+	private final long inputSize;
+
+	private Progression progression;
+
+	/**
+	 * Constructs a bus network reader.
+	 *
+	 * @param filename is the file to read
+	 * @throws IOException in case of error.
+	 */
+	@SuppressWarnings("resource")
+	public XMLBusNetworkStreamReader(File filename) throws IOException {
+		this(new FileInputStream(filename), filename.length());
+	}
+
+	/**
+	 * Constructs a bus network reader.
+	 *
+	 * @param url is the URL of the file to read
+	 * @throws IOException in case of error.
+	 */
+	@SuppressWarnings("resource")
+	public XMLBusNetworkStreamReader(URL url) throws IOException {
+		this(url.openStream(), -1);
+	}
+
+	/**
+	 * Constructs a bus network reader.
+	 *
+	 * @param stream is is the stream to read
+	 */
+	public XMLBusNetworkStreamReader(InputStream stream) {
+		this(stream, -1);
+	}
+
+	/**
+	 * Constructs a bus network reader.
+	 *
+	 * @param stream is is the stream to read
+	 * @param size is the number of bytes in the stream, or a negative value if unknown.
+	 *     This size is used for notifying the task progression.
+	 */
+	public XMLBusNetworkStreamReader(InputStream stream, long size) {
+		assert stream != null;
+		this.input = new CountingInputStream(new BufferedInputStream(stream));
+		this.inputSize = size;
+	}
+
+	/** Replies the task progression.
+	 *
+	 * @return the task progression object associated to this reader, or {@code null}
+	 */
+	@Pure
+	public Progression getProgression() {
+		return this.progression;
+	}
+
+	/** Set the task progression associated to this reader.
+	 *
+	 * <p>If the size of the input is known, the progression is expressed in kilobytes
+	 * read from the input. Otherwise the progression is indeterminate.
+	 *
+	 * @param progressBar is the task progression object associated to this reader, or {@code null}
+	 */
+	public void setProgression(Progression progressBar) {
+		this.progression = progressBar;
+	}
+
+	/** Close the input stream.
+	 *
+	 * @throws IOException in case of error.
+	 */
+	@Override
+	public void close() throws IOException {
+		this.input.close();
+	}
+
+	/** Read the bus network from the input stream.
+	 *
+	 * <p>The first {@code &lt;busNetwork /&gt;} element in the input stream is read.
+	 * The enclosing elements, if any, are ignored.
+	 *
+	 * @param roadNetwork is the road network on which the bus network is mapped.
+	 * @param resources is the tool that permits to gather the resources.
+	 * @return the bus network, or {@code null} if the input does not contain a bus network.
+	 * @throws IOException in case of error.
+	 */
+	public BusNetwork read(RoadNetwork roadNetwork, XMLResources resources) throws IOException {
+		assert roadNetwork != null;
+		if (this.progression != null) {
+			if (this.inputSize >= 0) {
+				this.progression.setProperties(0, 0, (int) (this.inputSize >> KILOBYTE_SHIFT), false);
+			} else {
+				this.progression.setIndeterminate(true);
+			}
+		}
+		try {
+			final var factory = XMLInputFactory.newInstance();
+			factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+			factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+			final var reader = factory.createXMLStreamReader(this.input);
+			try {
+				BusNetwork busNetwork = null;
+				while (busNetwork == null && reader.hasNext()) {
+					if (reader.next() == XMLStreamConstants.START_ELEMENT
+							&& NODE_BUSNETWORK.equalsIgnoreCase(reader.getLocalName())) {
+						busNetwork = readBusNetwork(reader, roadNetwork, resources);
+					}
+				}
+				return busNetwork;
+			} finally {
+				reader.close();
+			}
+		} catch (XMLStreamException exception) {
+			throw new IOException(exception);
+		} finally {
+			if (this.progression != null) {
+				this.progression.end();
+			}
+		}
+	}
+
+	private void notifyProgression() {
+		if (this.progression != null && this.inputSize >= 0) {
+			this.progression.setValue((int) (this.input.getCount() >> KILOBYTE_SHIFT));
+		}
+	}
+
+	@SuppressWarnings("checkstyle:cyclomaticcomplexity")
+	private BusNetwork readBusNetwork(XMLStreamReader reader, RoadNetwork roadNetwork,
+			XMLResources resources) throws IOException, XMLStreamException {
+		final var id = parseUUID(getAttribute(reader, ATTR_ID));
+
+		final var busNetwork = new BusNetwork(id, roadNetwork);
+		busNetwork.setName(getAttribute(reader, ATTR_NAME));
+		final var color = parseColor(getAttribute(reader, ATTR_COLOR));
+		if (color != null) {
+			busNetwork.setColor(color.intValue());
+		}
+
+		while (nextChildElement(reader)) {
+			final var name = reader.getLocalName();
+			if (NODE_ATTRIBUTES.equalsIgnoreCase(name)) {
+				readAttributes(reader, busNetwork, resources);
+			} else if (NODE_BUSSTOPS.equalsIgnoreCase(name)) {
+				while (nextChildElement(reader)) {
+					if (NODE_BUSSTOP.equalsIgnoreCase(reader.getLocalName())) {
+						final var stop = readBusStop(reader, resources);
+						if (stop != null) {
+							busNetwork.addBusStop(stop);
+						}
+						notifyProgression();
+					} else {
+						skipElement(reader);
+					}
+				}
+			} else if (NODE_BUSHUBS.equalsIgnoreCase(name)) {
+				while (nextChildElement(reader)) {
+					if (NODE_BUSHUB.equalsIgnoreCase(reader.getLocalName())) {
+						readBusHub(reader, busNetwork, resources);
+						notifyProgression();
+					} else {
+						skipElement(reader);
+					}
+				}
+			} else if (NODE_BUSLINES.equalsIgnoreCase(name)) {
+				while (nextChildElement(reader)) {
+					if (NODE_BUSLINE.equalsIgnoreCase(reader.getLocalName())) {
+						readBusLine(reader, busNetwork, roadNetwork, resources);
+					} else {
+						skipElement(reader);
+					}
+				}
+			} else {
+				skipElement(reader);
+			}
+		}
+
+		// Force the validity checking to be sure
+		// that all the primitives are valid or not
+		busNetwork.revalidate();
+
+		return busNetwork;
+	}
+
+	private static BusStop readBusStop(XMLStreamReader reader, XMLResources resources)
+			throws IOException, XMLStreamException {
+		final var id = parseUUID(getAttribute(reader, ATTR_ID));
+		final var name = getAttribute(reader, ATTR_NAME);
+		final var stop = new BusStop(id, name);
+		final var x = parseDouble(getAttribute(reader, ATTR_X));
+		if (!Double.isNaN(x)) {
+			final var y = parseDouble(getAttribute(reader, ATTR_Y));
+			if (!Double.isNaN(y)) {
+				stop.setPosition(new GeoLocationPoint(x, y));
+			}
+		}
+		final var color = parseColor(getAttribute(reader, ATTR_COLOR));
+		if (color != null) {
+			stop.setColor(color.intValue());
+		}
+
+		while (nextChildElement(reader)) {
+			if (NODE_ATTRIBUTES.equalsIgnoreCase(reader.getLocalName())) {
+				readAttributes(reader, stop, resources);
+			} else {
+				skipElement(reader);
+			}
+		}
+		return stop;
+	}
+
+	private static void readBusHub(XMLStreamReader reader, BusNetwork busNetwork, XMLResources resources)
+			throws IOException, XMLStreamException {
+		final var id = parseUUID(getAttribute(reader, ATTR_ID));
+		final var name = getAttribute(reader, ATTR_NAME);
+		final var color = parseColor(getAttribute(reader, ATTR_COLOR));
+
+		// The hub cannot be created before its bus stops are known.
+		final var stops = new ArrayList<BusStop>();
+		final var attributes = new ArrayList<AttributeImpl>();
+		while (nextChildElement(reader)) {
+			final var nodeName = reader.getLocalName();
+			if (NODE_BUSSTOP.equalsIgnoreCase(nodeName)) {
+				final var stopId = parseUUID(getAttribute(reader, ATTR_ID));
+				if (stopId == null) {
+					throw new IOException("no UUID for bus stop in bus hub"); //$NON-NLS-1$
+				}
+				final var stop = busNetwork.getBusStop(stopId);
+				if (stop == null) {
+					throw new IOException("bus stop not found: " + stopId.toString()); //$NON-NLS-1$
+				}
+				stops.add(stop);
+				skipElement(reader);
+			} else if (NODE_ATTRIBUTES.equalsIgnoreCase(nodeName)) {
+				readAttributes(reader, attributes, resources);
+			} else {
+				skipElement(reader);
+			}
+		}
+
+		if (!stops.isEmpty()) {
+			final var array = new BusStop[stops.size()];
+			stops.toArray(array);
+			final var hub = name != null && !"".equals(name) //$NON-NLS-1$
+					? busNetwork.addBusHub(name, array) : busNetwork.addBusHub(array);
+			assert hub != null;
+			if (id != null) {
+				hub.setUUID(id);
+			}
+			setAttributes(hub, attributes);
+			if (color != null) {
+				hub.setColor(color.intValue());
+			}
+		}
+	}
+
+	private void readBusLine(XMLStreamReader reader, BusNetwork busNetwork, RoadNetwork roadNetwork,
+			XMLResources resources) throws IOException, XMLStreamException {
+		final var id = parseUUID(getAttribute(reader, ATTR_ID));
+		if (id == null) {
+			throw new IOException("id not found for a bus line"); //$NON-NLS-1$
+		}
+		final var line = new BusLine(id, getAttribute(reader, ATTR_NAME));
+		final var color = parseColor(getAttribute(reader, ATTR_COLOR));
+		if (color != null) {
+			line.setColor(color.intValue());
+		}
+
+		// The line is bound to the network as soon as it is known in order to
+		// attach its itineraries to the network when they are read.
+		busNetwork.addBusLine(line);
+
+		while (nextChildElement(reader)) {
+			final var nodeName = reader.getLocalName();
+			if (NODE_ATTRIBUTES.equalsIgnoreCase(nodeName)) {
+				readAttributes(reader, line, resources);
+			} else if (NODE_BUSITINERARIES.equalsIgnoreCase(nodeName)) {
+				while (nextChildElement(reader)) {
+					if (NODE_BUSITINERARY.equalsIgnoreCase(reader.getLocalName())) {
+						final var itinerary = readBusItinerary(reader, busNetwork, roadNetwork, resources);
+						line.addBusItinerary(itinerary);
+						notifyProgression();
+					} else {
+						skipElement(reader);
+					}
+				}
+			} else {
+				skipElement(reader);
+			}
+		}
+	}
+
+	private static BusItinerary readBusItinerary(XMLStreamReader reader, BusNetwork busNetwork,
+			RoadNetwork roadNetwork, XMLResources resources) throws IOException, XMLStreamException {
+		final var id = parseUUID(getAttribute(reader, ATTR_ID));
+		if (id == null) {
+			throw new IOException("id not found for a bus itinerary"); //$NON-NLS-1$
+		}
+		final var itinerary = new BusItinerary(id, getAttribute(reader, ATTR_NAME));
+		final var color = parseColor(getAttribute(reader, ATTR_COLOR));
+		if (color != null) {
+			itinerary.setColor(color.intValue());
+		}
+
+		final var roadMap = new TreeMap<UUID, RoadSegment>();
+
+		while (nextChildElement(reader)) {
+			final var nodeName = reader.getLocalName();
+			if (NODE_ATTRIBUTES.equalsIgnoreCase(nodeName)) {
+				readAttributes(reader, itinerary, resources);
+			} else if (NODE_ROADS.equalsIgnoreCase(nodeName)) {
+				while (nextChildElement(reader)) {
+					if (NODE_ROAD.equalsIgnoreCase(reader.getLocalName())) {
+						final var road = readItineraryRoad(reader, roadNetwork, roadMap);
+						if (road == null) {
+							throw new IOException("road segment not found for: " //$NON-NLS-1$
+									+ getAttribute(reader, ATTR_GEOID));
+						}
+						itinerary.addRoadSegment(road, false);
+					}
+					skipElement(reader);
+				}
+			} else if (NODE_BUSHALTS.equalsIgnoreCase(nodeName)) {
+				while (nextChildElement(reader)) {
+					if (NODE_BUSHALT.equalsIgnoreCase(reader.getLocalName())) {
+						readBusItineraryHalt(reader, itinerary, busNetwork, roadMap, resources);
+					} else {
+						skipElement(reader);
+					}
+				}
+			} else {
+				skipElement(reader);
+			}
+		}
+
+		return itinerary;
+	}
+
+	private static RoadSegment readItineraryRoad(XMLStreamReader reader, RoadNetwork roadNetwork,
+			Map<UUID, RoadSegment> roadMap) {
+		final var s = getAttribute(reader, ATTR_GEOID);
+		if (s == null || "".equals(s)) { //$NON-NLS-1$
+			return null;
+		}
+		final var gid = GeoId.valueOf(s);
+		if (gid == null) {
+			return null;
+		}
+		var road = roadNetwork.getRoadSegment(gid);
+		if (road == null) {
+			//Brutal Find segment
+			final var it = roadNetwork.iterator();
+			while (road == null && it.hasNext()) {
+				final var candidate = it.next();
+				if (candidate.getGeoId().equals(gid)) {
+					road = candidate;
+				}
+			}
+		}
+		if (road != null) {
+			final var uuid = parseUUID(getAttribute(reader, ATTR_ID));
+			if (uuid != null) {
+				roadMap.put(uuid, road);
+			}
+		}
+		return road;
+	}
+
+	private static void readBusItineraryHalt(XMLStreamReader reader, BusItinerary itinerary,
+			BusNetwork busNetwork, Map<UUID, RoadSegment> roadMap, XMLResources resources)
+			throws IOException, XMLStreamException {
+		final var typeName = getAttribute(reader, ATTR_TYPE);
+		var type = BusItineraryHaltType.STOP_ON_DEMAND;
+		if (typeName != null && !"".equals(typeName)) { //$NON-NLS-1$
+			try {
+				type = BusItineraryHaltType.valueOf(typeName.toUpperCase());
+			} catch (IllegalArgumentException exception) {
+				//
+			}
+		}
+		final var id = parseUUID(getAttribute(reader, ATTR_ID));
+		if (id == null) {
+			throw new IOException("id not found for a bus itinerary"); //$NON-NLS-1$
+		}
+		final var stopId = parseUUID(getAttribute(reader, ATTR_STOPID));
+		final var roadId = parseUUID(getAttribute(reader, ATTR_ROADID));
+		final var name = getAttribute(reader, ATTR_NAME);
+		final var color = parseColor(getAttribute(reader, ATTR_COLOR));
+
+		final var halt = itinerary.addBusHalt(id, type);
+		if (halt == null) {
+			skipElement(reader);
+			return;
+		}
+
+		halt.setName(name);
+		if (color != null) {
+			halt.setColor(color.intValue());
+		}
+
+		if (stopId != null) {
+			final var busStop = busNetwork.getBusStop(stopId);
+			if (busStop != null) {
+				halt.setBusStop(busStop);
+			} else {
+				throw new IOException("stop not found for id:" + stopId); //$NON-NLS-1$
+			}
+		}
+
+		if (roadId != null) {
+			final var road = roadMap.get(roadId);
+			if (road == null || !itinerary.putHaltOnRoad(halt, road)) {
+				throw new IOException("road not in itinerary:" + roadId); //$NON-NLS-1$
+			}
+		}
+
+		while (nextChildElement(reader)) {
+			if (NODE_ATTRIBUTES.equalsIgnoreCase(reader.getLocalName())) {
+				readAttributes(reader, halt, resources);
+			} else {
+				skipElement(reader);
+			}
+		}
+	}
+
+	/** Read the content of an {@code &lt;attributes /&gt;} element and put the attributes in the
+	 * given element.
+	 *
+	 * @param reader the XML reader that is on the start of the element.
+	 * @param element the element to fill.
+	 * @param resources the tool that permits to gather the resources.
+	 * @throws IOException in case of error.
+	 * @throws XMLStreamException in case of error.
+	 */
+	private static void readAttributes(XMLStreamReader reader, GISElement element, XMLResources resources)
+			throws IOException, XMLStreamException {
+		final var attributes = new ArrayList<AttributeImpl>();
+		readAttributes(reader, attributes, resources);
+		setAttributes(element, attributes);
+	}
+
+	private static void setAttributes(GISElement element, Iterable<AttributeImpl> attributes) throws IOException {
+		try {
+			for (final var attr : attributes) {
+				element.setAttribute(attr);
+			}
+		} catch (AttributeException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/** Read the content of an {@code &lt;attributes /&gt;} element.
+	 * The attributes with the names "id", "name", "color" and "geoId" are ignored, as
+	 * in {@link org.arakhne.afc.attrs.xml.XMLAttributeUtil#readAttributeContainer(
+	 * org.w3c.dom.Element, org.arakhne.afc.attrs.collection.AttributeCollection,
+	 * org.arakhne.afc.inputoutput.path.PathBuilder, XMLResources, boolean)}.
+	 *
+	 * @param reader the XML reader that is on the start of the element.
+	 * @param attributes the list to fill.
+	 * @param resources the tool that permits to gather the resources.
+	 * @throws IOException in case of error.
+	 * @throws XMLStreamException in case of error.
+	 */
+	@SuppressWarnings({"checkstyle:cyclomaticcomplexity", "checkstyle:nestedifdepth"})
+	private static void readAttributes(XMLStreamReader reader, ArrayList<AttributeImpl> attributes,
+			XMLResources resources) throws IOException, XMLStreamException {
+		while (nextChildElement(reader)) {
+			if (NODE_ATTRIBUTE.equalsIgnoreCase(reader.getLocalName())) {
+				final var name = getAttribute(reader, ATTR_NAME);
+				final var type = getAttribute(reader, ATTR_TYPE);
+				final var value = getAttribute(reader, ATTR_VALUE);
+				if (name != null && !"".equals(name) //$NON-NLS-1$
+						&& !ATTR_ID.equalsIgnoreCase(name)
+						&& !ATTR_NAME.equalsIgnoreCase(name)
+						&& !ATTR_COLOR.equalsIgnoreCase(name)
+						&& !ATTR_GEOID.equalsIgnoreCase(name)
+						&& type != null && !"".equals(type) //$NON-NLS-1$
+						&& value != null && !"".equals(value)) { //$NON-NLS-1$
+					AttributeType attrType;
+					try {
+						attrType = AttributeType.valueOf(type);
+					} catch (Throwable exception) {
+						attrType = null;
+					}
+					if (attrType != null) {
+						switch (attrType) {
+						case DATE:
+							try {
+								attributes.add(new AttributeImpl(name, XMLUtil.parseDate(value)));
+							} catch (DateFormatException e) {
+								throw new IOException(e);
+							}
+							break;
+						case URL:
+							try {
+								final var url = resources.getResourceURL(XMLResources.getNumericalIdentifier(value));
+								if (url != null) {
+									attributes.add(new AttributeImpl(name, url));
+								}
+							} catch (IllegalArgumentException e) {
+								throw new IOException(e);
+							}
+							break;
+							//$CASES-OMITTED$
+						default:
+							final var attr = new AttributeImpl(name, value);
+							attr.cast(attrType);
+							attributes.add(attr);
+							break;
+						}
+					}
+				}
+			}
+			skipElement(reader);
+		}
+	}
+
+	/** Move the reader to the start of the next child element of the current element.
+	 *
+	 * <p>The reader must be on the start of the parent element, or on the end of
+	 * one of its child elements.
+	 *
+	 * @param reader the XML reader.
+	 * @return {@code true} if the reader is on the start of a child element;
+	 *     {@code false} if the reader is on the end of the parent element.
+	 * @throws XMLStreamException in case of error.
+	 */
+	private static boolean nextChildElement(XMLStreamReader reader) throws XMLStreamException {
+		while (reader.hasNext()) {
+			final var event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				return true;
+			}
+			if (event == XMLStreamConstants.END_ELEMENT) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	/** Move the reader to the end of the current element.
+	 *
+	 * @param reader the XML reader that is on the start of the element.
+	 * @throws XMLStreamException in case of error.
+	 */
+	private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+		var depth = 1;
+		while (depth > 0 && reader.hasNext()) {
+			final var event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				++depth;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				--depth;
+			}
+		}
+	}
+
+	/** Replies the value of the attribute with the given name, ignoring the case.
+	 *
+	 * @param reader the XML reader that is on the start of an element.
+	 * @param name the name of the attribute.
+	 * @return the value, or {@code null} if the attribute was not found.
+	 */
+	@Pure
+	private static String getAttribute(XMLStreamReader reader, String name) {
+		final var count = reader.getAttributeCount();
+		for (var i = 0; i < count; ++i) {
+			if (name.equalsIgnoreCase(reader.getAttributeLocalName(i))) {
+				return reader.getAttributeValue(i);
+			}
+		}
+		return null;
+	}
+
+	private static UUID parseUUID(String value) {
+		if (value != null && !"".equals(value)) { //$NON-NLS-1$
+			try {
+				return UUID.fromString(value);
+			} catch (IllegalArgumentException exception) {
+				//
+			}
+		}
+		return null;
+	}
+
+	private static double parseDouble(String value) {
+		if (value != null && !"".equals(value)) { //$NON-NLS-1$
+			try {
+				return Double.parseDouble(value);
+			} catch (NumberFormatException exception) {
+				//
+			}
+		}
+		return Double.NaN;
+	}
+
+	private static Integer parseColor(String value) {
+		if (value != null && !"".equals(value)) { //$NON-NLS-1$
+			try {
+				return Integer.valueOf(XMLUtil.parseColor(value));
+			} catch (ColorFormatException exception) {
+				//
+			}
+		}
+		return null;
+	}
+
+	/** Input stream that counts the read bytes.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private static final class CountingInputStream extends FilterInputStream {
+
+		private long count;
+
+		/** Constructor.
+		 *
+		 * @param input the input stream.
+		 */
+		CountingInputStream(InputStream input) {
+			super(input);
+		}
+
+		/** Replies the number of bytes read from the stream.
+		 *
+		 * @return the number of bytes.
+		 */
+		public long getCount() {
+			return this.count;
+		}
+
+		@Override
+		public int read() throws IOException {
+			final var c = this.in.read();
+			if (c >= 0) {
+				++this.count;
+			}
+			return c;
+		}
+
+		@Override
+		public int read(byte[] buffer, int off, int len) throws IOException {
+			final var nr = this.in.read(buffer, off, len);
+			if (nr > 0) {
+				this.count += nr;
+			}
+			return nr;
+		}
+
+		@Override
+		public long skip(long number) throws IOException {
+			final var nr = this.in.skip(number);
+			if (nr > 0) {
+				this.count += nr;
+			}
+			return nr;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+
+	}
+
+}
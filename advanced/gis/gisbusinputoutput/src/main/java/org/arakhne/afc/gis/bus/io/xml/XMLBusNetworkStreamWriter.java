@@ -0,0 +1,381 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.bus.io.xml;
+
+import static org.arakhne.afc.attrs.xml.XMLAttributeUtil.ATTR_GEOID;
+import static org.arakhne.afc.attrs.xml.XMLAttributeUtil.ATTR_TYPE;
+import static org.arakhne.afc.attrs.xml.XMLAttributeUtil.ATTR_VALUE;
+import static org.arakhne.afc.attrs.xml.XMLAttributeUtil.NODE_ATTRIBUTE;
+import static org.arakhne.afc.attrs.xml.XMLAttributeUtil.NODE_ATTRIBUTES;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.ATTR_ROADID;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.ATTR_STOPID;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_BUSHALT;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_BUSHALTS;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_BUSHUB;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_BUSHUBS;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_BUSITINERARIES;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_BUSITINERARY;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_BUSLINE;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_BUSLINES;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_BUSNETWORK;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_BUSSTOP;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_BUSSTOPS;
+import static org.arakhne.afc.gis.bus.io.xml.XMLBusNetworkUtil.NODE_ROADS;
+import static org.arakhne.afc.gis.io.xml.XMLGISElementUtil.ATTR_X;
+import static org.arakhne.afc.gis.io.xml.XMLGISElementUtil.ATTR_Y;
+import static org.arakhne.afc.gis.road.io.XMLRoadUtil.NODE_ROAD;
+import static org.arakhne.afc.inputoutput.xml.XMLUtil.ATTR_COLOR;
+import static org.arakhne.afc.inputoutput.xml.XMLUtil.ATTR_ID;
+import static org.arakhne.afc.inputoutput.xml.XMLUtil.ATTR_NAME;
+import static org.arakhne.afc.inputoutput.xml.XMLUtil.toColor;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.arakhne.afc.gis.bus.network.BusHub;
+import org.arakhne.afc.gis.bus.network.BusItinerary;
+import org.arakhne.afc.gis.bus.network.BusItineraryHalt;
+import org.arakhne.afc.gis.bus.network.BusLine;
+import org.arakhne.afc.gis.bus.network.BusNetwork;
+import org.arakhne.afc.gis.bus.network.BusPrimitive;
+import org.arakhne.afc.gis.bus.network.BusStop;
+import org.arakhne.afc.inputoutput.xml.XMLResources;
+import org.arakhne.afc.inputoutput.xml.XMLUtil;
+import org.arakhne.afc.progress.Progression;
+import org.eclipse.xtext.xbase.lib.Pure;
+
+/** Streaming writer of the XML representation of a bus network.
+ *
+ * <p>This writer produces the same XML schema as {@link XMLBusNetworkUtil#writeBusNetwork(
+ * BusNetwork, org.arakhne.afc.inputoutput.xml.XMLBuilder, XMLResources)}, but it is based
+ * on the StAX API: the XML elements are written to the output stream as soon as they are
+ * built, and no DOM tree is created in memory.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ * @see XMLBusNetworkStreamReader
+ */
+public class XMLBusNetworkStreamWriter implements AutoCloseable {
+
+	private static final String ENCODING = "UTF-8"; //$NON-NLS-1$
+
+	private static final String XML_VERSION = "1.0"; //$NON-NLS-1$
+
+	private final OutputStream output;
+
+	private Progression progression;
+
+	/**
+	 * Constructs a bus network writer.
+	 *
+	 * @param filename is the file to write
+	 * @throws IOException in case of error.
+	 */
+	@SuppressWarnings("resource")
+	public XMLBusNetworkStreamWriter(File filename) throws IOException {
+		this(new FileOutputStream(filename));
+	}
+
+	/**
+	 * Constructs a bus network writer.
+	 *
+	 * @param stream is the stream to write
+	 */
+	public XMLBusNetworkStreamWriter(OutputStream stream) {
+		assert stream != null;
+		this.output = new BufferedOutputStream(stream);
+	}
+
+	/** Replies the task progression.
+	 *
+	 * @return the task progression object associated to this writer, or {@code null}
+	 */
+	@Pure
+	public Progression getProgression() {
+		return this.progression;
+	}
+
+	/** Set the task progression associated to this writer.
+	 *
+	 * <p>The progression is expressed in number of bus stops, bus hubs and bus itineraries.
+	 *
+	 * @param progressBar is the task progression object associated to this writer, or {@code null}
+	 */
+	public void setProgression(Progression progressBar) {
+		this.progression = progressBar;
+	}
+
+	/** Flush temp buffers, and close the streams.
+	 *
+	 * @throws IOException in case of error.
+	 */
+	@Override
+	public void close() throws IOException {
+		this.output.close();
+	}
+
+	/** Write the XML document that contains the given bus network.
+	 *
+	 * @param busNetwork is the bus network to write.
+	 * @param resources is the tool that permits to gather the resources.
+	 * @throws IOException in case of error.
+	 */
+	public void write(BusNetwork busNetwork, XMLResources resources) throws IOException {
+		assert busNetwork != null;
+		if (this.progression != null) {
+			var count = busNetwork.getBusStopCount() + busNetwork.getBusHubCount();
+			for (final var line : busNetwork.busLines()) {
+				count += line.getBusItineraryCount();
+			}
+			this.progression.setProperties(0, 0, count, false);
+		}
+		try {
+			final var writer = XMLOutputFactory.newInstance().createXMLStreamWriter(this.output, ENCODING);
+			try {
+				writer.writeStartDocument(ENCODING, XML_VERSION);
+				writeBusNetwork(writer, busNetwork, resources);
+				writer.writeEndDocument();
+				writer.flush();
+			} finally {
+				writer.close();
+			}
+			this.output.flush();
+		} catch (XMLStreamException exception) {
+			throw new IOException(exception);
+		} finally {
+			if (this.progression != null) {
+				this.progression.end();
+			}
+		}
+	}
+
+	private void notifyProgression() {
+		if (this.progression != null) {
+			this.progression.increment();
+		}
+	}
+
+	private void writeBusNetwork(XMLStreamWriter writer, BusNetwork busNetwork, XMLResources resources)
+			throws IOException, XMLStreamException {
+		writer.writeStartElement(NODE_BUSNETWORK);
+		writeGISElementAttributes(writer, busNetwork);
+		writeAttributes(writer, busNetwork, resources);
+
+		if (busNetwork.getBusStopCount() > 0) {
+			writer.writeStartElement(NODE_BUSSTOPS);
+			for (final var stop : busNetwork.busStops()) {
+				writeBusStop(writer, stop, resources);
+				notifyProgression();
+			}
+			writer.writeEndElement();
+		}
+
+		if (busNetwork.getBusHubCount() > 0) {
+			writer.writeStartElement(NODE_BUSHUBS);
+			for (final var hub : busNetwork.busHubs()) {
+				writeBusHub(writer, hub, resources);
+				notifyProgression();
+			}
+			writer.writeEndElement();
+		}
+
+		if (busNetwork.getBusLineCount() > 0) {
+			writer.writeStartElement(NODE_BUSLINES);
+			for (final var line : busNetwork.busLines()) {
+				writeBusLine(writer, line, resources);
+			}
+			writer.writeEndElement();
+		}
+
+		writer.writeEndElement();
+	}
+
+	private static void writeBusStop(XMLStreamWriter writer, BusStop stop, XMLResources resources)
+			throws IOException, XMLStreamException {
+		writer.writeStartElement(NODE_BUSSTOP);
+		writeGISElementAttributes(writer, stop);
+		final var p = stop.getPosition2D();
+		if (p != null) {
+			writer.writeAttribute(ATTR_X, Double.toString(p.getX()));
+			writer.writeAttribute(ATTR_Y, Double.toString(p.getY()));
+		}
+		writeAttributes(writer, stop, resources);
+		writer.writeEndElement();
+	}
+
+	private static void writeBusHub(XMLStreamWriter writer, BusHub hub, XMLResources resources)
+			throws IOException, XMLStreamException {
+		writer.writeStartElement(NODE_BUSHUB);
+		writeGISElementAttributes(writer, hub);
+		writeAttributes(writer, hub, resources);
+		for (final var stop : hub.busStops()) {
+			writer.writeEmptyElement(NODE_BUSSTOP);
+			writer.writeAttribute(ATTR_ID, stop.getUUID().toString());
+		}
+		writer.writeEndElement();
+	}
+
+	private void writeBusLine(XMLStreamWriter writer, BusLine line, XMLResources resources)
+			throws IOException, XMLStreamException {
+		writer.writeStartElement(NODE_BUSLINE);
+		writeGISElementAttributes(writer, line);
+		writeAttributes(writer, line, resources);
+		if (line.getBusItineraryCount() > 0) {
+			writer.writeStartElement(NODE_BUSITINERARIES);
+			for (final var itinerary : line.busItineraries()) {
+				writeBusItinerary(writer, itinerary, resources);
+				notifyProgression();
+			}
+			writer.writeEndElement();
+		}
+		writer.writeEndElement();
+	}
+
+	private static void writeBusItinerary(XMLStreamWriter writer, BusItinerary itinerary, XMLResources resources)
+			throws IOException, XMLStreamException {
+		writer.writeStartElement(NODE_BUSITINERARY);
+		writeGISElementAttributes(writer, itinerary);
+		writeAttributes(writer, itinerary, resources);
+
+		if (itinerary.getRoadSegmentCount() > 0) {
+			writer.writeStartElement(NODE_ROADS);
+			for (final var road : itinerary.roadSegments()) {
+				writer.writeEmptyElement(NODE_ROAD);
+				writer.writeAttribute(ATTR_ID, road.getUUID().toString());
+				writer.writeAttribute(ATTR_GEOID, road.getGeoId().toString());
+			}
+			writer.writeEndElement();
+		}
+
+		if (itinerary.size() > 0) {
+			writer.writeStartElement(NODE_BUSHALTS);
+			for (final var halt : itinerary.busHalts()) {
+				writeBusItineraryHalt(writer, halt, resources);
+			}
+			writer.writeEndElement();
+		}
+
+		writer.writeEndElement();
+	}
+
+	private static void writeBusItineraryHalt(XMLStreamWriter writer, BusItineraryHalt halt, XMLResources resources)
+			throws IOException, XMLStreamException {
+		writer.writeStartElement(NODE_BUSHALT);
+		writeGISElementAttributes(writer, halt);
+		writer.writeAttribute(ATTR_TYPE, halt.getType().name());
+		final var stop = halt.getBusStop();
+		if (stop != null) {
+			writer.writeAttribute(ATTR_STOPID, stop.getUUID().toString());
+		}
+		final var road = halt.getRoadSegment();
+		if (road != null) {
+			writer.writeAttribute(ATTR_ROADID, road.getUUID().toString());
+		}
+		writeAttributes(writer, halt, resources);
+		writer.writeEndElement();
+	}
+
+	/** Write the XML attributes that are common to all the GIS elements: name, geoId, id and color.
+	 *
+	 * @param writer the XML writer that is on the start of the element.
+	 * @param element the element to output.
+	 * @throws XMLStreamException in case of error.
+	 */
+	private static void writeGISElementAttributes(XMLStreamWriter writer, BusPrimitive<?> element)
+			throws XMLStreamException {
+		final var name = element.getName();
+		writer.writeAttribute(ATTR_NAME, name == null ? "" : name); //$NON-NLS-1$
+		writer.writeAttribute(ATTR_GEOID, element.getGeoId().toString());
+		writer.writeAttribute(ATTR_ID, element.getUUID().toString());
+		final var color = element.getRawColor();
+		if (color != null) {
+			writer.writeAttribute(ATTR_COLOR, toColor(color.intValue()));
+		}
+	}
+
+	/** Write the {@code &lt;attributes /&gt;} element of the given GIS element.
+	 * The attributes with the names "id", "name", "color" and "geoId" are not written.
+	 *
+	 * @param writer the XML writer that is on the start of the element.
+	 * @param element the element to output.
+	 * @param resources the tool that permits to gather the resources.
+	 * @throws IOException in case of error.
+	 * @throws XMLStreamException in case of error.
+	 */
+	@SuppressWarnings("checkstyle:cyclomaticcomplexity")
+	private static void writeAttributes(XMLStreamWriter writer, BusPrimitive<?> element, XMLResources resources)
+			throws IOException, XMLStreamException {
+		var hasAttributes = false;
+		for (final var attr : element.attributes()) {
+			final var name = attr.getName();
+			if (attr.isAssigned()
+					&& !ATTR_ID.equalsIgnoreCase(name)
+					&& !ATTR_NAME.equalsIgnoreCase(name)
+					&& !ATTR_COLOR.equalsIgnoreCase(name)
+					&& !ATTR_GEOID.equalsIgnoreCase(name)) {
+				final String value;
+				try {
+					final var attrType = attr.getType();
+					switch (attrType) {
+					case DATE:
+						value = XMLUtil.toString(attr.getDate());
+						break;
+					case URL:
+						value = resources.add(attr.getURL());
+						break;
+						//$CASES-OMITTED$
+					default:
+						value = attr.getString();
+						break;
+					}
+				} catch (IOException exception) {
+					throw exception;
+				} catch (Exception exception) {
+					continue;
+				}
+				if (value != null && !"".equals(value)) { //$NON-NLS-1$
+					if (!hasAttributes) {
+						hasAttributes = true;
+						writer.writeStartElement(NODE_ATTRIBUTES);
+					}
+					writer.writeEmptyElement(NODE_ATTRIBUTE);
+					writer.writeAttribute(ATTR_NAME, name);
+					writer.writeAttribute(ATTR_TYPE, attr.getType().name());
+					writer.writeAttribute(ATTR_VALUE, value);
+				}
+			}
+		}
+		if (hasAttributes) {
+			writer.writeEndElement();
+		}
+	}
+
+}
@@ -116,7 +116,7 @@ public final class XMLBusNetworkUtil {
 	public static final String ATTR_ROADID = "roadId"; //$NON-NLS-1$
 
 	/** {@code &lt;stopId /&gt;}. */
-	private static final String ATTR_STOPID = "stopId"; //$NON-NLS-1$
+	public static final String ATTR_STOPID = "stopId"; //$NON-NLS-1$
 
 	private XMLBusNetworkUtil() {
 		//
@@ -0,0 +1,193 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.bus.io.binary;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.arakhne.afc.gis.bus.network.BusItinerary;
+import org.arakhne.afc.gis.bus.network.BusItineraryHalt;
+import org.arakhne.afc.gis.bus.network.BusItineraryHalt.BusItineraryHaltType;
+import org.arakhne.afc.gis.bus.network.BusLine;
+import org.arakhne.afc.gis.bus.network.BusNetwork;
+import org.arakhne.afc.gis.bus.network.BusStop;
+import org.arakhne.afc.gis.location.GeoLocationPoint;
+import org.arakhne.afc.gis.road.RoadPolyline;
+import org.arakhne.afc.gis.road.StandardRoadNetwork;
+import org.arakhne.afc.gis.road.primitive.RoadSegment;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.arakhne.afc.testtools.AbstractTestCase;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+@SuppressWarnings("all")
+public class BusNetworkSnapshotTest extends AbstractTestCase {
+
+	private StandardRoadNetwork network;
+
+	private BusNetwork busNetwork;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		RoadPolyline segment1 = new RoadPolyline();
+		segment1.addPoint(0., 0.);
+		segment1.addPoint(100., 0.);
+		segment1.addPoint(100., 50.);
+		segment1.setAttribute("lanes", 2); //$NON-NLS-1$
+		RoadPolyline segment2 = new RoadPolyline();
+		segment2.addPoint(200., 50.);
+		segment2.addPoint(100., 50.);
+		this.network = new StandardRoadNetwork(new Rectangle2d(-500, -500, 1000, 1000));
+		this.network.addRoadSegment(segment1);
+		this.network.addRoadSegment(segment2);
+
+		this.busNetwork = new BusNetwork(this.network);
+		this.busNetwork.setAttribute("operator", "AFC"); //$NON-NLS-1$ //$NON-NLS-2$
+		BusStop stop1 = new BusStop("Stop1"); //$NON-NLS-1$
+		stop1.setPosition(new GeoLocationPoint(50., 1.));
+		stop1.setAttribute("capacity", 12); //$NON-NLS-1$
+		stop1.setColor(0xFF0000);
+		this.busNetwork.addBusStop(stop1);
+		BusStop stop2 = new BusStop("Stop2"); //$NON-NLS-1$
+		stop2.setPosition(new GeoLocationPoint(150., 51.));
+		this.busNetwork.addBusStop(stop2);
+		this.busNetwork.addBusHub("Hub1", stop1, stop2); //$NON-NLS-1$
+		BusLine line1 = new BusLine("Line1"); //$NON-NLS-1$
+		line1.setAttribute("frequency", 7.5); //$NON-NLS-1$
+		this.busNetwork.addBusLine(line1);
+		BusItinerary itinerary1 = new BusItinerary("Itinerary1"); //$NON-NLS-1$
+		line1.addBusItinerary(itinerary1);
+		itinerary1.addRoadSegment(segment1);
+		itinerary1.addRoadSegment(segment2);
+		BusItineraryHalt halt1 = itinerary1.addBusHalt("Halt1", BusItineraryHaltType.SYSTEMATIC_STOP); //$NON-NLS-1$
+		halt1.setBusStop(stop1);
+		itinerary1.putHaltOnRoad(halt1, segment1);
+		BusItineraryHalt halt2 = itinerary1.addBusHalt("Halt2", BusItineraryHaltType.STOP_ON_DEMAND); //$NON-NLS-1$
+		halt2.setBusStop(stop2);
+		itinerary1.putHaltOnRoad(halt2, segment2);
+		this.busNetwork.revalidate();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.busNetwork = null;
+		this.network = null;
+	}
+
+	private static byte[] write(BusNetwork network) throws Exception {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (BusNetworkSnapshotWriter writer = new BusNetworkSnapshotWriter(output)) {
+			writer.write(network);
+		}
+		return output.toByteArray();
+	}
+
+	private static BusNetwork read(byte[] snapshot) throws Exception {
+		try (BusNetworkSnapshotReader reader = new BusNetworkSnapshotReader(ByteBuffer.wrap(snapshot))) {
+			return reader.read();
+		}
+	}
+
+	@Test
+	public void read() throws Exception {
+		BusNetwork result = read(write(this.busNetwork));
+
+		assertNotNull(result);
+		assertEquals(this.busNetwork.getUUID(), result.getUUID());
+		assertEquals("AFC", result.getAttributeAsString("operator")); //$NON-NLS-1$ //$NON-NLS-2$
+
+		StandardRoadNetwork roadNetwork = (StandardRoadNetwork) result.getRoadNetwork();
+		assertNotSame(this.network, roadNetwork);
+		assertEquals(this.network.getUUID(), roadNetwork.getUUID());
+		assertEquals(2, roadNetwork.getSegmentCount());
+		Iterator<RoadSegment> restoredSegments = roadNetwork.iterator();
+		for (RoadSegment segment : this.network) {
+			RoadSegment restored = restoredSegments.next();
+			assertEquals(segment.getUUID(), restored.getUUID());
+			assertEquals(segment.getGeoId(), restored.getGeoId());
+			assertEquals(segment.getPointCount(), restored.getPointCount());
+			assertEquals(segment.getAttributeCount(), restored.getAttributeCount());
+		}
+
+		assertEquals(2, result.getBusStopCount());
+		assertEquals(1, result.getBusHubCount());
+		assertEquals(1, result.getBusLineCount());
+
+		BusStop stop1 = result.getBusStop("Stop1"); //$NON-NLS-1$
+		assertNotNull(stop1);
+		assertEquals(this.busNetwork.getBusStop("Stop1").getUUID(), stop1.getUUID()); //$NON-NLS-1$
+		assertEquals(12, stop1.getAttributeAsInt("capacity")); //$NON-NLS-1$
+		assertEquals(0xFF0000, stop1.getColor());
+		assertEpsilonEquals(50., stop1.getPosition2D().getX());
+		assertEpsilonEquals(1., stop1.getPosition2D().getY());
+
+		BusLine line = result.getBusLineAt(0);
+		assertEquals(this.busNetwork.getBusLineAt(0).getUUID(), line.getUUID());
+		assertEpsilonEquals(7.5, line.getAttributeAsDouble("frequency")); //$NON-NLS-1$
+
+		BusItinerary original = this.busNetwork.getBusLineAt(0).getBusItineraryAt(0);
+		BusItinerary itinerary = line.getBusItineraryAt(0);
+		assertEquals(original.getUUID(), itinerary.getUUID());
+		assertEquals(2, itinerary.getRoadSegmentCount());
+		assertEquals(2, itinerary.size());
+		assertEquals(original.isValidPrimitive(), itinerary.isValidPrimitive());
+		for (int i = 0; i < original.size(); ++i) {
+			BusItineraryHalt expected = original.getBusHaltAt(i);
+			BusItineraryHalt actual = itinerary.getBusHaltAt(i);
+			assertEquals(expected.getUUID(), actual.getUUID());
+			assertEquals(expected.getType(), actual.getType());
+			assertEquals(expected.getBusStop().getUUID(), actual.getBusStop().getUUID());
+			assertEquals(expected.getRoadSegmentIndex(), actual.getRoadSegmentIndex());
+			assertEpsilonEquals(expected.getPositionOnSegment(), actual.getPositionOnSegment());
+		}
+	}
+
+	@Test
+	public void writeReadWrite() throws Exception {
+		byte[] snapshot = write(this.busNetwork);
+		assertArrayEquals(snapshot, write(read(snapshot)));
+	}
+
+	@Test
+	public void readInvalidSnapshot() throws Exception {
+		byte[] snapshot = write(this.busNetwork);
+		snapshot[0] = 0;
+		assertThrows(IOException.class, () -> read(snapshot));
+	}
+
+}
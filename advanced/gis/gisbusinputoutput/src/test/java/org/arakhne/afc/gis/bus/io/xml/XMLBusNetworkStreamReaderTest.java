@@ -0,0 +1,262 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.bus.io.xml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.DOMException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import org.arakhne.afc.gis.bus.network.BusItinerary;
+import org.arakhne.afc.gis.bus.network.BusItineraryHalt.BusItineraryHaltType;
+import org.arakhne.afc.gis.bus.network.BusLine;
+import org.arakhne.afc.gis.bus.network.BusNetwork;
+import org.arakhne.afc.gis.bus.network.BusStop;
+import org.arakhne.afc.gis.io.shape.GISShapeFileReader;
+import org.arakhne.afc.gis.location.GeoId;
+import org.arakhne.afc.gis.location.GeoLocationPoint;
+import org.arakhne.afc.gis.road.RoadPolyline;
+import org.arakhne.afc.gis.road.StandardRoadNetwork;
+import org.arakhne.afc.inputoutput.path.SimplePathBuilder;
+import org.arakhne.afc.inputoutput.xml.XMLBuilder;
+import org.arakhne.afc.inputoutput.xml.XMLResources;
+import org.arakhne.afc.inputoutput.xml.XMLUtil;
+import org.arakhne.afc.progress.DefaultProgression;
+import org.arakhne.afc.testtools.AbstractTestCase;
+import org.arakhne.afc.vmutil.Resources;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+@SuppressWarnings("all")
+public class XMLBusNetworkStreamReaderTest extends AbstractTestCase {
+
+	private static final URL shpUrl = Resources.getResource(XMLBusNetworkStreamReaderTest.class, "test.shp"); //$NON-NLS-1$
+
+	private StandardRoadNetwork network;
+
+	private BusNetwork busNetwork;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		try (GISShapeFileReader reader = new GISShapeFileReader(shpUrl, RoadPolyline.class)) {
+			this.network = new StandardRoadNetwork(reader.getBoundsFromHeader().toRectangle2d());
+			RoadPolyline line = (RoadPolyline) reader.read();
+			while (line != null) {
+				this.network.addRoadPolyline(line);
+				line = (RoadPolyline) reader.read();
+			}
+		}
+		this.busNetwork = new BusNetwork(this.network);
+		BusStop stop1 = new BusStop("Stop1"); //$NON-NLS-1$
+		stop1.setPosition(new GeoLocationPoint(935665.0, 2311306.9));
+		stop1.setAttribute("capacity", 12); //$NON-NLS-1$
+		this.busNetwork.addBusStop(stop1);
+		BusStop stop2 = new BusStop("Stop2"); //$NON-NLS-1$
+		stop2.setPosition(new GeoLocationPoint(935600.0, 2311400.0));
+		this.busNetwork.addBusStop(stop2);
+		this.busNetwork.addBusHub("Hub1", stop1, stop2); //$NON-NLS-1$
+		BusLine line1 = new BusLine("Line1"); //$NON-NLS-1$
+		this.busNetwork.addBusLine(line1);
+		BusItinerary itinerary1 = new BusItinerary("Itinerary1"); //$NON-NLS-1$
+		line1.addBusItinerary(itinerary1);
+		itinerary1.addRoadSegment(this.network.getRoadSegment(GeoId.valueOf("ccf6f6d64c911eec7e16dd51c3385a28#935646;2311307;935665;2311320"))); //$NON-NLS-1$
+		itinerary1.addRoadSegment(this.network.getRoadSegment(GeoId.valueOf("67b453c1f5f2a55c3e91aa0468fc861a#935579;2311319;935647;2311395"))); //$NON-NLS-1$
+		itinerary1.addRoadSegment(this.network.getRoadSegment(GeoId.valueOf("42bc6f398c0552f66138fe953a9a52d8#935561;2311395;935580;2311432"))); //$NON-NLS-1$
+		itinerary1.addBusHalt("Halt1", BusItineraryHaltType.SYSTEMATIC_STOP).setBusStop(stop1); //$NON-NLS-1$
+		itinerary1.addBusHalt("Halt2", BusItineraryHaltType.STOP_ON_DEMAND).setBusStop(stop2); //$NON-NLS-1$
+		this.busNetwork.revalidate();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.busNetwork = null;
+		this.network = null;
+	}
+
+	private byte[] write(BusNetwork network, XMLResources resources) throws Exception {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (XMLBusNetworkStreamWriter writer = new XMLBusNetworkStreamWriter(output)) {
+			writer.write(network, resources);
+		}
+		return output.toByteArray();
+	}
+
+	private void assertSameNetwork(BusNetwork expected, BusNetwork actual) {
+		assertNotNull(actual);
+		assertEquals(expected.getUUID(), actual.getUUID());
+		assertEquals(expected.getBusStopCount(), actual.getBusStopCount());
+		assertEquals(expected.getBusHubCount(), actual.getBusHubCount());
+		assertEquals(expected.getBusLineCount(), actual.getBusLineCount());
+		for (BusStop stop : expected.busStops()) {
+			BusStop actualStop = actual.getBusStop(stop.getName());
+			assertNotNull(actualStop);
+			assertEquals(stop.getUUID(), actualStop.getUUID());
+		}
+		BusItinerary expectedItinerary = expected.getBusLineAt(0).getBusItineraryAt(0);
+		BusItinerary itinerary = actual.getBusLineAt(0).getBusItineraryAt(0);
+		assertEquals(expectedItinerary.getUUID(), itinerary.getUUID());
+		assertEquals(expectedItinerary.getRoadSegmentCount(), itinerary.getRoadSegmentCount());
+		assertEquals(expectedItinerary.size(), itinerary.size());
+		for (int i = 0; i < itinerary.size(); ++i) {
+			assertEquals(expectedItinerary.getBusHaltAt(i).getBusStop().getUUID(),
+					itinerary.getBusHaltAt(i).getBusStop().getUUID());
+		}
+	}
+
+	@Test
+	public void read() throws Exception {
+		XMLResources resources = new XMLResources(new SimplePathBuilder());
+		byte[] xml = write(this.busNetwork, resources);
+
+		BusNetwork result;
+		try (XMLBusNetworkStreamReader reader = new XMLBusNetworkStreamReader(new ByteArrayInputStream(xml))) {
+			result = reader.read(this.network, resources);
+		}
+
+		assertNotNull(result);
+		assertEquals(this.busNetwork.getUUID(), result.getUUID());
+		assertSame(this.network, result.getRoadNetwork());
+		assertEquals(2, result.getBusStopCount());
+		assertEquals(1, result.getBusHubCount());
+		assertEquals(1, result.getBusLineCount());
+
+		BusStop stop1 = result.getBusStop("Stop1"); //$NON-NLS-1$
+		assertNotNull(stop1);
+		assertEquals(this.busNetwork.getBusStop("Stop1").getUUID(), stop1.getUUID()); //$NON-NLS-1$
+		assertEquals(12, stop1.getAttributeAsInt("capacity")); //$NON-NLS-1$
+
+		BusItinerary itinerary = result.getBusLineAt(0).getBusItineraryAt(0);
+		assertEquals("Itinerary1", itinerary.getName()); //$NON-NLS-1$
+		assertEquals(3, itinerary.getRoadSegmentCount());
+		assertEquals(2, itinerary.size());
+	}
+
+	@Test
+	public void writeReadWrite() throws Exception {
+		XMLResources resources = new XMLResources(new SimplePathBuilder());
+		byte[] xml = write(this.busNetwork, resources);
+
+		BusNetwork result;
+		try (XMLBusNetworkStreamReader reader = new XMLBusNetworkStreamReader(new ByteArrayInputStream(xml))) {
+			result = reader.read(this.network, resources);
+		}
+
+		assertEquals(new String(xml, StandardCharsets.UTF_8),
+				new String(write(result, resources), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void readFromDomWriter() throws Exception {
+		XMLResources resources = new XMLResources(new SimplePathBuilder());
+		Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+		XMLBuilder xmlBuilder = new XMLBuilder() {
+			@Override
+			public Document getDocument() throws DOMException {
+				return doc;
+			}
+		};
+		doc.appendChild(XMLBusNetworkUtil.writeBusNetwork(this.busNetwork, xmlBuilder, resources));
+		String xml;
+		try (StringWriter sw = new StringWriter()) {
+			XMLUtil.writeXML(doc, sw);
+			xml = sw.toString();
+		}
+
+		BusNetwork result;
+		try (XMLBusNetworkStreamReader reader = new XMLBusNetworkStreamReader(
+				new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)))) {
+			result = reader.read(this.network, resources);
+		}
+
+		assertSameNetwork(this.busNetwork, result);
+	}
+
+	@Test
+	public void readWithDomReader() throws Exception {
+		SimplePathBuilder pathBuilder = new SimplePathBuilder();
+		XMLResources resources = new XMLResources(pathBuilder);
+		byte[] xml = write(this.busNetwork, resources);
+
+		DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+		Document doc = builder.parse(new ByteArrayInputStream(xml));
+		// The DOM reader expects the element that contains the bus network
+		Document container = builder.newDocument();
+		Element root = container.createElement("root"); //$NON-NLS-1$
+		container.appendChild(root);
+		root.appendChild(container.importNode(doc.getDocumentElement(), true));
+		BusNetwork result = XMLBusNetworkUtil.readBusNetwork(root, this.network, pathBuilder, resources);
+
+		assertSameNetwork(this.busNetwork, result);
+	}
+
+	@Test
+	public void progression() throws Exception {
+		XMLResources resources = new XMLResources(new SimplePathBuilder());
+		int[] valueAtEnd = new int[] {-1};
+		DefaultProgression writerProgression = new DefaultProgression() {
+			@Override
+			public void end() {
+				valueAtEnd[0] = getValue();
+				super.end();
+			}
+		};
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (XMLBusNetworkStreamWriter writer = new XMLBusNetworkStreamWriter(output)) {
+			writer.setProgression(writerProgression);
+			writer.write(this.busNetwork, resources);
+		}
+		// Two stops, one hub and one itinerary
+		assertEquals(4, writerProgression.getMaximum());
+		assertEquals(writerProgression.getMaximum(), valueAtEnd[0]);
+
+		byte[] xml = output.toByteArray();
+		DefaultProgression readerProgression = new DefaultProgression();
+		try (XMLBusNetworkStreamReader reader = new XMLBusNetworkStreamReader(new ByteArrayInputStream(xml), xml.length)) {
+			reader.setProgression(readerProgression);
+			assertNotNull(reader.read(this.network, resources));
+		}
+		assertEquals(xml.length >> 10, readerProgression.getMaximum());
+		assertEquals(readerProgression.getMaximum(), readerProgression.getValue());
+		assertTrue(readerProgression.getPercent() >= 100.);
+	}
+
+}
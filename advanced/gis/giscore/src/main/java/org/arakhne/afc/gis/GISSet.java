@@ -22,6 +22,10 @@ package org.arakhne.afc.gis;
 
 import java.util.Iterator;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.arakhne.afc.gis.location.GeoId;
 import org.arakhne.afc.gis.location.GeoLocation;
@@ -169,4 +173,39 @@ public interface GISSet<P extends GISPrimitive> extends Set<P> {
 	 */
 	Iterable<P> toIterable(Rectangle2afp<?, ?, ?, ?, ?, ?> clipBounds, int budget);
 
+	/** Replies a spliterator on the elements that have an intersection with the specified rectangle.
+	 *
+	 * <p>The default implementation cannot be split efficiently. The sets that are based on
+	 * trees or grids are splitting the spliterator according to their internal data-structures.
+	 *
+	 * @param clipBounds is the bounds outside which the elements will not be replied
+	 * @return the spliterator on the elements inside the specified bounds.
+	 * @since 18.0
+	 */
+	default Spliterator<P> spliterator(Rectangle2afp<?, ?, ?, ?, ?, ?> clipBounds) {
+		return Spliterators.spliteratorUnknownSize(iterator(clipBounds), Spliterator.DISTINCT | Spliterator.NONNULL);
+	}
+
+	/** Replies a sequential stream on the elements that have an intersection with the specified rectangle.
+	 *
+	 * @param clipBounds is the bounds outside which the elements will not be replied
+	 * @return the stream on the elements inside the specified bounds.
+	 * @since 18.0
+	 */
+	default Stream<P> stream(Rectangle2afp<?, ?, ?, ?, ?, ?> clipBounds) {
+		return StreamSupport.stream(spliterator(clipBounds), false);
+	}
+
+	/** Replies a parallel stream on the elements that have an intersection with the specified rectangle.
+	 *
+	 * <p>The set must not be changed while the stream is consumed.
+	 *
+	 * @param clipBounds is the bounds outside which the elements will not be replied
+	 * @return the stream on the elements inside the specified bounds.
+	 * @since 18.0
+	 */
+	default Stream<P> parallelStream(Rectangle2afp<?, ?, ?, ?, ?, ?> clipBounds) {
+		return StreamSupport.stream(spliterator(clipBounds), true);
+	}
+
 }
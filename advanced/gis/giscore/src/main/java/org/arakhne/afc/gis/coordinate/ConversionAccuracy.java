@@ -0,0 +1,88 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.coordinate;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+/** Describes how the latitudes are computed by the conversions from the Lambert projections
+ * to the geographic coordinates.
+ *
+ * <p>The latitude is the inverse of the isometric latitude on the ellipsoid. It has no closed form.
+ *
+ * <p>The accuracy is a parameter of the batch conversions of {@link GISCoordinates}, i.e. the
+ * {@code convert}, {@code convertInterleaved} and {@code convertToWGS84} functions on arrays.
+ * The conversions of single points, e.g. {@link GISCoordinates#L2_WSG84(double, double)}, are
+ * always using {@link #ITERATIVE}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ * @see GISCoordinates#convertToWGS84(MapMetricProjection, double[], double[], int, int, ConversionAccuracy,
+ *     java.util.concurrent.ForkJoinPool)
+ */
+public enum ConversionAccuracy {
+
+	/** The latitude is computed by the fixed-point iterations given by the IGN specifications,
+	 * until two successive values differ by less than {@link GISCoordinates#EPSILON}.
+	 */
+	ITERATIVE {
+		@Override
+		public double getMaximumLatitudeError() {
+			return GISCoordinates.EPSILON;
+		}
+	},
+
+	/** The latitude is computed with a series expansion in the conformal latitude, whose
+	 * coefficients are precomputed for the ellipsoid. The series is evaluated with one sine and
+	 * one cosine, without iteration.
+	 */
+	SERIES {
+		@Override
+		@SuppressWarnings("checkstyle:magicnumber")
+		public double getMaximumLatitudeError() {
+			// The terms of the series are known up to the 8th power of the eccentricity.
+			// The truncation error measured over the whole range of latitudes is 2.2e-12 radian.
+			return 5e-12;
+		}
+	};
+
+	/** Replies the default accuracy.
+	 *
+	 * @return the default accuracy, never {@code null}.
+	 */
+	@Pure
+	public static ConversionAccuracy getDefault() {
+		return ITERATIVE;
+	}
+
+	/** Replies the upper bound of the error on the computed latitudes, in radians.
+	 *
+	 * <p>One radian of latitude is about 6,400 km on the ground, so that the bound is about
+	 * 0.64 millimeter for {@link #ITERATIVE} and about 0.03 millimeter for {@link #SERIES}.
+	 *
+	 * @return the maximal error on the latitudes.
+	 */
+	@Pure
+	public abstract double getMaximumLatitudeError();
+
+}
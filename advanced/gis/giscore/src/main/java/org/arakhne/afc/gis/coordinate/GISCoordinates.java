@@ -20,6 +20,9 @@
 
 package org.arakhne.afc.gis.coordinate;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 import org.arakhne.afc.math.MathConstants;
 import org.arakhne.afc.math.geometry.d2.d.Point2d;
 import org.eclipse.xtext.xbase.lib.Pure;
@@ -158,6 +161,58 @@ public final class GISCoordinates {
 	 */
 	public static final double LAMBERT_93_YS = 12655612.050;
 
+	/** Minimal number of points that are converted by each task of a parallel batch conversion.
+	 *
+	 * @since 18.0
+	 */
+	public static final int PARALLEL_BATCH_SIZE = 16384;
+
+	// The constants about the ellipsoides are from the NTF system specification of Clarke 1880
+	// and from the WGS84 specification.
+	// Ref:
+	//		http://www.ign.fr/telechargement/MPro/geodesie/CIRCE/NTG_80.pdf
+	//		http://support.esrifrance.fr/Documents/Generalites/Projections/Generalites/Generalites.htm#2
+
+	private static final double NTF_ELLIPSOID_A = 6378249.2;
+
+	private static final double NTF_ELLIPSOID_B = 6356515.0;
+
+	private static final double NTF_ELLIPSOID_E2 = (NTF_ELLIPSOID_A * NTF_ELLIPSOID_A - NTF_ELLIPSOID_B * NTF_ELLIPSOID_B)
+			/ (NTF_ELLIPSOID_A * NTF_ELLIPSOID_A);
+
+	private static final double NTF_ELLIPSOID_E = Math.sqrt(NTF_ELLIPSOID_E2);
+
+	private static final double NTF_ELLIPSOID_DEMI_E = NTF_ELLIPSOID_E / 2.;
+
+	private static final double WGS84_ELLIPSOID_A = 6378137.0;
+
+	private static final double WGS84_ELLIPSOID_B = 6356752.314;
+
+	private static final double WGS84_ELLIPSOID_E2 = (WGS84_ELLIPSOID_A * WGS84_ELLIPSOID_A
+			- WGS84_ELLIPSOID_B * WGS84_ELLIPSOID_B) / (WGS84_ELLIPSOID_A * WGS84_ELLIPSOID_A);
+
+	/** Longitude in radians of Paris (2°20'14.025" E) from the Greenwich meridian.
+	 */
+	private static final double PARIS_LONGITUDE = 0.04079234433198;
+
+	// Coefficients of the series that replies the latitude from the conformal latitude on the NTF
+	// ellipsoid. They are the terms of the expansion in the powers of the eccentricity, up to e^8.
+	// Ref: J. P. Snyder, Map Projections - A Working Manual, USGS Professional Paper 1395, p. 15.
+
+	@SuppressWarnings("checkstyle:magicnumber")
+	private static final double LATITUDE_SERIES_A2 = NTF_ELLIPSOID_E2 / 2. + 5. * Math.pow(NTF_ELLIPSOID_E2, 2) / 24.
+			+ Math.pow(NTF_ELLIPSOID_E2, 3) / 12. + 13. * Math.pow(NTF_ELLIPSOID_E2, 4) / 360.;
+
+	@SuppressWarnings("checkstyle:magicnumber")
+	private static final double LATITUDE_SERIES_A4 = 7. * Math.pow(NTF_ELLIPSOID_E2, 2) / 48.
+			+ 29. * Math.pow(NTF_ELLIPSOID_E2, 3) / 240. + 811. * Math.pow(NTF_ELLIPSOID_E2, 4) / 11520.;
+
+	@SuppressWarnings("checkstyle:magicnumber")
+	private static final double LATITUDE_SERIES_A6 = 7. * Math.pow(NTF_ELLIPSOID_E2, 3) / 120. + 81. * Math.pow(NTF_ELLIPSOID_E2, 4) / 1120.;
+
+	@SuppressWarnings("checkstyle:magicnumber")
+	private static final double LATITUDE_SERIES_A8 = 4279. * Math.pow(NTF_ELLIPSOID_E2, 4) / 161280.;
+
 	private GISCoordinates() {
 		//
 	}
@@ -1035,8 +1090,28 @@ public final class GISCoordinates {
 	 * @param Ys is the y coordinate of the origine of the Lambert projection.
 	 * @return lambda and phi in NTF.
 	 */
-	@SuppressWarnings({"checkstyle:parametername", "checkstyle:localfinalvariablename"})
+	@SuppressWarnings({"checkstyle:parametername"})
 	private static Point2d NTFLambert_NTFLambdaPhi(double x, double y, double n, double c, double Xs, double Ys) {
+		final var result = new double[2];
+		NTFLambert_NTFLambdaPhi(x, y, n, c, Xs, Ys, ConversionAccuracy.getDefault(), result);
+		return new Point2d(result[0], result[1]);
+	}
+
+	/**
+	 * This function convert extended France NTF Lambert coordinate to Angular NTF coordinate.
+	 *
+	 * @param x is the coordinate in extended France NTF Lambert
+	 * @param y is the coordinate in extended France NTF Lambert
+	 * @param n is the exponential of the Lambert projection.
+	 * @param c is the constant of projection.
+	 * @param Xs is the x coordinate of the origine of the Lambert projection.
+	 * @param Ys is the y coordinate of the origine of the Lambert projection.
+	 * @param accuracy indicates how the latitude is computed.
+	 * @param result receives lambda and phi in NTF.
+	 */
+	@SuppressWarnings({"checkstyle:parametername", "checkstyle:localfinalvariablename", "checkstyle:parameternumber"})
+	private static void NTFLambert_NTFLambdaPhi(double x, double y, double n, double c, double Xs, double Ys,
+			ConversionAccuracy accuracy, double[] result) {
 		// Several constants from the IGN specifications
 		//Longitude in radians of Paris (2°20'14.025" E) from Greenwich
 		final var lambda_0 = 0.;
@@ -1048,6 +1123,11 @@ public final class GISCoordinates {
 		final var lamdda_ntf = lambda_0 + (g / n);
 		final var L = -(1 / n) * Math.log(Math.abs(R / c));
 		final var phi0 = 2 * Math.atan(Math.exp(L)) - (Math.PI / 2.0);
+		if (accuracy == ConversionAccuracy.SERIES) {
+			result[0] = lamdda_ntf;
+			result[1] = conformalLatitude_NTFLatitude(phi0);
+			return;
+		}
 		var phiprec = phi0;
 		var phii = compute1(phiprec, L);
 
@@ -1056,9 +1136,26 @@ public final class GISCoordinates {
 			phii = compute1(phiprec, L);
 		}
 
-		final var phi_ntf = phii;
+		result[0] = lamdda_ntf;
+		result[1] = phii;
+	}
 
-		return new Point2d(lamdda_ntf, phi_ntf);
+	/** Replies the latitude on the NTF ellipsoid that corresponds to the given conformal latitude.
+	 * The series is summed with the Clenshaw algorithm, so that only one sine and one cosine are computed.
+	 *
+	 * @param chi the conformal latitude.
+	 * @return the latitude.
+	 * @see ConversionAccuracy#SERIES
+	 */
+	@SuppressWarnings("checkstyle:methodname")
+	private static double conformalLatitude_NTFLatitude(double chi) {
+		final var x = 2. * chi;
+		final var twoCos = 2. * Math.cos(x);
+		final var b4 = LATITUDE_SERIES_A8;
+		final var b3 = LATITUDE_SERIES_A6 + twoCos * b4;
+		final var b2 = LATITUDE_SERIES_A4 + twoCos * b3 - b4;
+		final var b1 = LATITUDE_SERIES_A2 + twoCos * b2 - b3;
+		return chi + b1 * Math.sin(x);
 	}
 
 	@SuppressWarnings({"checkstyle:parametername"})
@@ -1077,8 +1174,23 @@ public final class GISCoordinates {
 	 * @return lambda and phi in geographic WGS84 in degrees.
 	 * @since 0.18
 	 */
-	@SuppressWarnings({"checkstyle:magicnumber", "checkstyle:localfinalvariablename", "checkstyle:localvariablename"})
+	@SuppressWarnings({"checkstyle:parametername"})
 	private static GeodesicPosition NTFLambdaPhi_WGS84(double lambda_ntf, double phi_ntf) {
+		final var result = new double[2];
+		NTFLambdaPhi_WGS84(lambda_ntf, phi_ntf, result);
+		return new GeodesicPosition(result[0], result[1]);
+	}
+
+	/**
+	 * This function convert extended France NTF Lambert coordinate to geographic WGS84 Data.
+	 *
+	 * @param lambda_ntf is the lambda coordinate in NTF
+	 * @param phi_ntf is the phi coordinate in NTF
+	 * @param result receives lambda and phi in geographic WGS84 in degrees.
+	 */
+	@SuppressWarnings({"checkstyle:magicnumber", "checkstyle:localfinalvariablename", "checkstyle:localvariablename",
+		"checkstyle:parametername"})
+	private static void NTFLambdaPhi_WGS84(double lambda_ntf, double phi_ntf, double[] result) {
 		// Geographical coordinate NTF (lamda_ntf,phi_ntf)
 		// -> Cartesian coordinate NTF (x_ntf,y_ntf,z_ntf)
 		// ALG0009
@@ -1109,7 +1221,7 @@ public final class GISCoordinates {
 
 		final var P = Math.hypot(x_w, y_w);
 
-		var lambda_w = l840 + Math.atan(y_w / x_w);
+		final var lambda_w = l840 + Math.atan(y_w / x_w);
 
 		var phi0_w = Math.atan(z_w / (P * (1 - ((a * WGS84_E * WGS84_E))
 				/ Math.sqrt((x_w * x_w) + (y_w * y_w) + (z_w * z_w)))));
@@ -1125,10 +1237,8 @@ public final class GISCoordinates {
 		}
 
 		// Convert radians to degrees.
-		lambda_w = Math.toDegrees(lambda_w);
-		phi_w = Math.toDegrees(phi_w);
-
-		return new GeodesicPosition(lambda_w, phi_w);
+		result[0] = Math.toDegrees(lambda_w);
+		result[1] = Math.toDegrees(phi_w);
 	}
 
 	/**
@@ -1341,23 +1451,28 @@ public final class GISCoordinates {
 	 * @param Ys is the y coordinate of the origine of the Lambert projection.
 	 * @return the extended France Lambert II coordinates.
 	 */
-	@SuppressWarnings({"checkstyle:parametername", "checkstyle:magicnumber",
-		"checkstyle:localfinalvariablename", "checkstyle:localvariablename"})
+	@SuppressWarnings({"checkstyle:parametername"})
 	private static Point2d NTFLambdaPhi_NTFLambert(double lambda, double phi, double n, double c, double Xs, double Ys) {
-		//---------------------------------------------------------
-		// 3) cartesian coordinate NTF (X_n,Y_n,Z_n)
-		//    -> geographical coordinate NTF (phi_n,lambda_n)
-
-		// One formula is given by the IGN, and two constants about
-		// the ellipsoide are from the NTF system specification of Clarke 1880.
-		// Ref:
-		//		http://www.ign.fr/telechargement/MPro/geodesie/CIRCE/NTG_80.pdf
-		//		http://support.esrifrance.fr/Documents/Generalites/Projections/Generalites/Generalites.htm#2
-		final var a_n = 6378249.2;
-		final var b_n = 6356515.0;
-		// then
-		final var e2_n = (a_n * a_n - b_n * b_n) / (a_n * a_n);
+		final var result = new double[2];
+		NTFLambdaPhi_NTFLambert(lambda, phi, n, c, Xs, Ys, result);
+		return new Point2d(result[0], result[1]);
+	}
 
+	/**
+	 * This function convert the geographical NTF Lambda-Phi
+	 * coordinate to one of the France NTF standard coordinate.
+	 *
+	 * @param lambda is the NTF coordinate.
+	 * @param phi is the NTF coordinate.
+	 * @param n is the exponential of the Lambert projection.
+	 * @param c is the constant of projection.
+	 * @param Xs is the x coordinate of the origine of the Lambert projection.
+	 * @param Ys is the y coordinate of the origine of the Lambert projection.
+	 * @param result receives the coordinates in the Lambert projection.
+	 */
+	@SuppressWarnings({"checkstyle:parametername", "checkstyle:localfinalvariablename"})
+	private static void NTFLambdaPhi_NTFLambert(double lambda, double phi, double n, double c, double Xs, double Ys,
+			double[] result) {
 		//---------------------------------------------------------
 		// 4) Geographical coordinate NTF (phi_n,lambda_n)
 		//    -> Extended Lambert II coordinate (X_l2e, Y_l2e)
@@ -1366,20 +1481,14 @@ public final class GISCoordinates {
 		// Ref:
 		//		http://www.ign.fr/telechargement/MPro/geodesie/CIRCE/NTG_71.pdf
 
-		final var e_n = Math.sqrt(e2_n);
-		// Let the longitude in radians of Paris (2°20'14.025" E) from the Greenwich meridian
-		final var lambda0 = 0.04079234433198;
-
 		// Compute the isometric latitude
 		final var L = Math.log(Math.tan(Math.PI / 4. + phi / 2.)
-				* Math.pow((1. - e_n * Math.sin(phi)) / (1. + e_n * Math.sin(phi)),
-						e_n / 2.));
+				* Math.pow((1. - NTF_ELLIPSOID_E * Math.sin(phi)) / (1. + NTF_ELLIPSOID_E * Math.sin(phi)),
+						NTF_ELLIPSOID_DEMI_E));
 
 		// Then do the projection according to extended Lambert II
-		final var X_l2e = Xs + c * Math.exp(-n * L) * Math.sin(n * (lambda - lambda0));
-		final var Y_l2e = Ys - c * Math.exp(-n * L) * Math.cos(n * (lambda - lambda0));
-
-		return new Point2d(X_l2e, Y_l2e);
+		result[0] = Xs + c * Math.exp(-n * L) * Math.sin(n * (lambda - PARIS_LONGITUDE));
+		result[1] = Ys - c * Math.exp(-n * L) * Math.cos(n * (lambda - PARIS_LONGITUDE));
 	}
 
 	/**
@@ -1389,9 +1498,22 @@ public final class GISCoordinates {
 	 * @param phi is the WGS84 coordinate is decimal in degrees.
 	 * @return the NTF Lambda-Phi
 	 */
+	private static Point2d WGS84_NTFLamdaPhi(double lambda, double phi) {
+		final var result = new double[2];
+		WGS84_NTFLamdaPhi(lambda, phi, result);
+		return new Point2d(result[0], result[1]);
+	}
+
+	/**
+	 * This function convert WGS84 GPS coordinate to one of the NTF Lambda-Phi coordinate.
+	 *
+	 * @param lambda is the WGS94 coordinate in decimal degrees.
+	 * @param phi is the WGS84 coordinate is decimal in degrees.
+	 * @param result receives the NTF Lambda-Phi
+	 */
 	@SuppressWarnings({"checkstyle:parametername", "checkstyle:magicnumber",
 		"checkstyle:localfinalvariablename", "checkstyle:localvariablename"})
-	private static Point2d WGS84_NTFLamdaPhi(double lambda, double phi) {
+	private static void WGS84_NTFLamdaPhi(double lambda, double phi, double[] result) {
 		//---------------------------------------------------------
 		// 0) degree -> radian
 		final var lambda_w = Math.toRadians(lambda);
@@ -1407,10 +1529,8 @@ public final class GISCoordinates {
 		// Ref:
 		// 	http://www.ign.fr/telechargement/MPro/geodesie/CIRCE/NTG_80.pdf
 		//  http://de.wikipedia.org/wiki/WGS84
-		final var a_w = 6378137.0;
-		final var b_w = 6356752.314;
-		// then
-		final var e2_w = (a_w * a_w - b_w * b_w) / (a_w * a_w);
+		final var a_w = WGS84_ELLIPSOID_A;
+		final var e2_w = WGS84_ELLIPSOID_E2;
 		// then let the big normal of the WGS84 ellipsoide
 		final var N = a_w / Math.sqrt(1. - e2_w * Math.pow(Math.sin(phi_w), 2.));
 		// let the WGS84 cartesian coordinates:
@@ -1440,10 +1560,8 @@ public final class GISCoordinates {
 		// Ref:
 		//		http://www.ign.fr/telechargement/MPro/geodesie/CIRCE/NTG_80.pdf
 		//		http://support.esrifrance.fr/Documents/Generalites/Projections/Generalites/Generalites.htm#2
-		final var a_n = 6378249.2;
-		final var b_n = 6356515.0;
-		// then
-		final var e2_n = (a_n * a_n - b_n * b_n) / (a_n * a_n);
+		final var a_n = NTF_ELLIPSOID_A;
+		final var e2_n = NTF_ELLIPSOID_E2;
 		// let the convergence epsilon
 		final var epsilon = 1e-10;
 		// Then try to converge
@@ -1457,10 +1575,420 @@ public final class GISCoordinates {
 					/ (Math.sqrt((X_n * X_n + Y_n * Y_n) * (1 - e2_n * Math.pow(Math.sin(p0), 2))))));
 		}
 
-		final var phi_n = p1;
-		final var lambda_n = Math.atan(Y_n / X_n);
+		result[0] = Math.atan(Y_n / X_n);
+		result[1] = p1;
+	}
+
+
+	//------------------------------------------------------------------
+	// Batch conversions
+	//------------------------------------------------------------------
+
+	/** Convert, in place, the coordinates of points from a map projection to another.
+	 *
+	 * <p>This function is the batch version of the conversion functions between two
+	 * map projections, e.g. {@link #L2_L93(double, double)}: the coordinates are the same as
+	 * the ones replied by the scalar functions, but no object is allocated per point.
+	 *
+	 * @param source the map projection of the given coordinates.
+	 * @param target the map projection of the replied coordinates.
+	 * @param x the x coordinates to convert.
+	 * @param y the y coordinates to convert.
+	 * @param from the index of the first point to convert.
+	 * @param count the number of points to convert.
+	 * @param pool the pool of threads that must convert the points in parallel, or {@code null}
+	 *     for a conversion in the current thread. The points are converted by tasks of at least
+	 *     {@link #PARALLEL_BATCH_SIZE} points.
+	 * @since 18.0
+	 */
+	public static void convert(MapMetricProjection source, MapMetricProjection target,
+			double[] x, double[] y, int from, int count, ForkJoinPool pool) {
+		convert(source, target, x, y, from, x, y, from, count, ConversionAccuracy.getDefault(), pool);
+	}
+
+	/** Convert, in place, the coordinates of points from a map projection to another, with the given
+	 * computation of the latitudes.
+	 *
+	 * @param source the map projection of the given coordinates.
+	 * @param target the map projection of the replied coordinates.
+	 * @param x the x coordinates to convert.
+	 * @param y the y coordinates to convert.
+	 * @param from the index of the first point to convert.
+	 * @param count the number of points to convert.
+	 * @param accuracy indicates how the latitudes are computed.
+	 * @param pool the pool of threads that must convert the points in parallel, or {@code null}
+	 *     for a conversion in the current thread.
+	 * @since 18.0
+	 * @see #convert(MapMetricProjection, MapMetricProjection, double[], double[], int, int, ForkJoinPool)
+	 */
+	public static void convert(MapMetricProjection source, MapMetricProjection target,
+			double[] x, double[] y, int from, int count, ConversionAccuracy accuracy, ForkJoinPool pool) {
+		convert(source, target, x, y, from, x, y, from, count, accuracy, pool);
+	}
+
+	/** Convert the coordinates of points from a map projection to another, and put the
+	 * result in the given arrays.
+	 *
+	 * <p>This function is the batch version of the conversion functions between two
+	 * map projections, e.g. {@link #L2_L93(double, double)}: the coordinates are the same as
+	 * the ones replied by the scalar functions, but no object is allocated per point.
+	 *
+	 * @param source the map projection of the given coordinates.
+	 * @param target the map projection of the replied coordinates.
+	 * @param x the x coordinates to convert.
+	 * @param y the y coordinates to convert.
+	 * @param from the index of the first point to convert.
+	 * @param resultX receives the converted x coordinates. It may be {@code x} if the ranges
+	 *     of points are the same or do not overlap.
+	 * @param resultY receives the converted y coordinates. It may be {@code y} if the ranges
+	 *     of points are the same or do not overlap.
+	 * @param resultFrom the index at which the first converted point is put.
+	 * @param count the number of points to convert.
+	 * @param pool the pool of threads that must convert the points in parallel, or {@code null}
+	 *     for a conversion in the current thread. The points are converted by tasks of at least
+	 *     {@link #PARALLEL_BATCH_SIZE} points.
+	 * @since 18.0
+	 */
+	@SuppressWarnings("checkstyle:parameternumber")
+	public static void convert(MapMetricProjection source, MapMetricProjection target,
+			double[] x, double[] y, int from, double[] resultX, double[] resultY, int resultFrom,
+			int count, ForkJoinPool pool) {
+		convert(source, target, x, y, from, resultX, resultY, resultFrom, count, ConversionAccuracy.getDefault(), pool);
+	}
+
+	/** Convert the coordinates of points from a map projection to another, with the given
+	 * computation of the latitudes, and put the result in the given arrays.
+	 *
+	 * @param source the map projection of the given coordinates.
+	 * @param target the map projection of the replied coordinates.
+	 * @param x the x coordinates to convert.
+	 * @param y the y coordinates to convert.
+	 * @param from the index of the first point to convert.
+	 * @param resultX receives the converted x coordinates. It may be {@code x} if the ranges
+	 *     of points are the same or do not overlap.
+	 * @param resultY receives the converted y coordinates. It may be {@code y} if the ranges
+	 *     of points are the same or do not overlap.
+	 * @param resultFrom the index at which the first converted point is put.
+	 * @param count the number of points to convert.
+	 * @param accuracy indicates how the latitudes are computed.
+	 * @param pool the pool of threads that must convert the points in parallel, or {@code null}
+	 *     for a conversion in the current thread.
+	 * @since 18.0
+	 * @see #convert(MapMetricProjection, MapMetricProjection, double[], double[], int, double[], double[], int, int, ForkJoinPool)
+	 */
+	@SuppressWarnings("checkstyle:parameternumber")
+	public static void convert(MapMetricProjection source, MapMetricProjection target,
+			double[] x, double[] y, int from, double[] resultX, double[] resultY, int resultFrom,
+			int count, ConversionAccuracy accuracy, ForkJoinPool pool) {
+		checkRange(x.length, from, count);
+		checkRange(y.length, from, count);
+		checkRange(resultX.length, resultFrom, count);
+		checkRange(resultY.length, resultFrom, count);
+		final var conversion = getConversion(source, target, accuracy);
+		if (conversion == null) {
+			if (x != resultX || from != resultFrom) {
+				System.arraycopy(x, from, resultX, resultFrom, count);
+			}
+			if (y != resultY || from != resultFrom) {
+				System.arraycopy(y, from, resultY, resultFrom, count);
+			}
+			return;
+		}
+		run(new Batch(conversion, x, from, y, from, 1, resultX, resultFrom, resultY, resultFrom, 1), count, pool);
+	}
+
+	/** Convert, in place, the coordinates of points from a map projection to another.
+	 * The coordinates are interleaved in the array, as in the map elements:
+	 * {@code [x0, y0, x1, y1, ...]}.
+	 *
+	 * @param source the map projection of the given coordinates.
+	 * @param target the map projection of the replied coordinates.
+	 * @param coordinates the interleaved coordinates to convert.
+	 * @param from the index of the first point to convert, i.e. the half of the index of its x coordinate.
+	 * @param count the number of points to convert.
+	 * @param pool the pool of threads that must convert the points in parallel, or {@code null}
+	 *     for a conversion in the current thread.
+	 * @since 18.0
+	 * @see #convert(MapMetricProjection, MapMetricProjection, double[], double[], int, int, ForkJoinPool)
+	 */
+	public static void convertInterleaved(MapMetricProjection source, MapMetricProjection target,
+			double[] coordinates, int from, int count, ForkJoinPool pool) {
+		convertInterleaved(source, target, coordinates, from, count, ConversionAccuracy.getDefault(), pool);
+	}
+
+	/** Convert, in place, the interleaved coordinates of points from a map projection to another,
+	 * with the given computation of the latitudes.
+	 *
+	 * @param source the map projection of the given coordinates.
+	 * @param target the map projection of the replied coordinates.
+	 * @param coordinates the interleaved coordinates to convert.
+	 * @param from the index of the first point to convert, i.e. the half of the index of its x coordinate.
+	 * @param count the number of points to convert.
+	 * @param accuracy indicates how the latitudes are computed.
+	 * @param pool the pool of threads that must convert the points in parallel, or {@code null}
+	 *     for a conversion in the current thread.
+	 * @since 18.0
+	 * @see #convertInterleaved(MapMetricProjection, MapMetricProjection, double[], int, int, ForkJoinPool)
+	 */
+	public static void convertInterleaved(MapMetricProjection source, MapMetricProjection target,
+			double[] coordinates, int from, int count, ConversionAccuracy accuracy, ForkJoinPool pool) {
+		checkRange(coordinates.length / 2, from, count);
+		final var conversion = getConversion(source, target, accuracy);
+		if (conversion != null) {
+			final var index = from * 2;
+			run(new Batch(conversion, coordinates, index, coordinates, index + 1, 2,
+					coordinates, index, coordinates, index + 1, 2), count, pool);
+		}
+	}
+
+	/** Convert, in place, the coordinates of points from a map projection to geographic WGS84 data.
+	 *
+	 * <p>This function is the batch version of the functions like {@link #L2_WGS84(double, double)}.
+	 *
+	 * @param source the map projection of the given coordinates.
+	 * @param x the x coordinates to convert; they are replaced by the lambda in degrees.
+	 * @param y the y coordinates to convert; they are replaced by the phi in degrees.
+	 * @param from the index of the first point to convert.
+	 * @param count the number of points to convert.
+	 * @param pool the pool of threads that must convert the points in parallel, or {@code null}
+	 *     for a conversion in the current thread.
+	 * @since 18.0
+	 */
+	public static void convertToWGS84(MapMetricProjection source, double[] x, double[] y, int from, int count,
+			ForkJoinPool pool) {
+		convertToWGS84(source, x, y, from, count, ConversionAccuracy.getDefault(), pool);
+	}
+
+	/** Convert, in place, the coordinates of points from a map projection to geographic WGS84 data,
+	 * with the given computation of the latitudes.
+	 *
+	 * @param source the map projection of the given coordinates.
+	 * @param x the x coordinates to convert; they are replaced by the lambda in degrees.
+	 * @param y the y coordinates to convert; they are replaced by the phi in degrees.
+	 * @param from the index of the first point to convert.
+	 * @param count the number of points to convert.
+	 * @param accuracy indicates how the latitudes are computed.
+	 * @param pool the pool of threads that must convert the points in parallel, or {@code null}
+	 *     for a conversion in the current thread.
+	 * @since 18.0
+	 * @see #convertToWGS84(MapMetricProjection, double[], double[], int, int, ForkJoinPool)
+	 */
+	public static void convertToWGS84(MapMetricProjection source, double[] x, double[] y, int from, int count,
+			ConversionAccuracy accuracy, ForkJoinPool pool) {
+		checkRange(x.length, from, count);
+		checkRange(y.length, from, count);
+		final var src = getLambertParameters(source);
+		final PointConversion conversion = (px, py, result) -> {
+			NTFLambert_NTFLambdaPhi(px, py, src.n(), src.c(), src.xs(), src.ys(), accuracy, result);
+			NTFLambdaPhi_WGS84(result[0], result[1], result);
+		};
+		run(new Batch(conversion, x, from, y, from, 1, x, from, y, from, 1), count, pool);
+	}
+
+	/** Convert, in place, geographic WGS84 data to the coordinates of points in a map projection.
+	 *
+	 * <p>This function is the batch version of the functions like {@link #WGS84_L2(double, double)}.
+	 *
+	 * @param target the map projection of the replied coordinates.
+	 * @param lambda the lambda in degrees to convert; they are replaced by the x coordinates.
+	 * @param phi the phi in degrees to convert; they are replaced by the y coordinates.
+	 * @param from the index of the first point to convert.
+	 * @param count the number of points to convert.
+	 * @param pool the pool of threads that must convert the points in parallel, or {@code null}
+	 *     for a conversion in the current thread.
+	 * @since 18.0
+	 */
+	public static void convertFromWGS84(MapMetricProjection target, double[] lambda, double[] phi, int from, int count,
+			ForkJoinPool pool) {
+		checkRange(lambda.length, from, count);
+		checkRange(phi.length, from, count);
+		final var dst = getLambertParameters(target);
+		final PointConversion conversion = (px, py, result) -> {
+			WGS84_NTFLamdaPhi(px, py, result);
+			NTFLambdaPhi_NTFLambert(result[0], result[1], dst.n(), dst.c(), dst.xs(), dst.ys(), result);
+		};
+		run(new Batch(conversion, lambda, from, phi, from, 1, lambda, from, phi, from, 1), count, pool);
+	}
+
+	private static void checkRange(int length, int from, int count) {
+		if (from < 0) {
+			throw new IndexOutOfBoundsException(from + "<0"); //$NON-NLS-1$
+		}
+		if (count < 0) {
+			throw new IndexOutOfBoundsException(count + "<0"); //$NON-NLS-1$
+		}
+		if (from + count > length) {
+			throw new IndexOutOfBoundsException((from + count) + ">" + length); //$NON-NLS-1$
+		}
+	}
+
+	/** Replies the conversion between the two projections.
+	 *
+	 * @param source the source projection.
+	 * @param target the target projection.
+	 * @param accuracy indicates how the latitudes are computed.
+	 * @return the conversion, or {@code null} if the coordinates do not change.
+	 */
+	@Pure
+	private static PointConversion getConversion(MapMetricProjection source, MapMetricProjection target,
+			ConversionAccuracy accuracy) {
+		if (source == target) {
+			return null;
+		}
+		// Extended Lambert II and Lambert II differ only by their origins
+		if (source == MapMetricProjection.FRANCE_LAMBERT_2_EXTENDED && target == MapMetricProjection.FRANCE_LAMBERT_2) {
+			return (x, y, result) -> {
+				result[0] = x;
+				result[1] = y + (LAMBERT_2E_YS - LAMBERT_2_YS);
+			};
+		}
+		if (source == MapMetricProjection.FRANCE_LAMBERT_2 && target == MapMetricProjection.FRANCE_LAMBERT_2_EXTENDED) {
+			return (x, y, result) -> {
+				result[0] = x;
+				result[1] = y - (LAMBERT_2E_YS - LAMBERT_2_YS);
+			};
+		}
+		final var src = getLambertParameters(source);
+		final var dst = getLambertParameters(target);
+		return (x, y, result) -> {
+			NTFLambert_NTFLambdaPhi(x, y, src.n(), src.c(), src.xs(), src.ys(), accuracy, result);
+			NTFLambdaPhi_NTFLambert(result[0], result[1], dst.n(), dst.c(), dst.xs(), dst.ys(), result);
+		};
+	}
+
+	@Pure
+	private static LambertParameters getLambertParameters(MapMetricProjection projection) {
+		switch (projection) {
+		case FRANCE_LAMBERT_1:
+			return new LambertParameters(LAMBERT_1_N, LAMBERT_1_C, LAMBERT_1_XS, LAMBERT_1_YS);
+		case FRANCE_LAMBERT_2:
+			return new LambertParameters(LAMBERT_2_N, LAMBERT_2_C, LAMBERT_2_XS, LAMBERT_2_YS);
+		case FRANCE_LAMBERT_2_EXTENDED:
+			return new LambertParameters(LAMBERT_2E_N, LAMBERT_2E_C, LAMBERT_2E_XS, LAMBERT_2E_YS);
+		case FRANCE_LAMBERT_3:
+			return new LambertParameters(LAMBERT_3_N, LAMBERT_3_C, LAMBERT_3_XS, LAMBERT_3_YS);
+		case FRANCE_LAMBERT_4:
+			return new LambertParameters(LAMBERT_4_N, LAMBERT_4_C, LAMBERT_4_XS, LAMBERT_4_YS);
+		case FRANCE_LAMBERT_93:
+			return new LambertParameters(LAMBERT_93_N, LAMBERT_93_C, LAMBERT_93_XS, LAMBERT_93_YS);
+		default:
+			throw new IllegalArgumentException();
+		}
+	}
+
+	private static void run(Batch batch, int count, ForkJoinPool pool) {
+		if (pool != null && count > PARALLEL_BATCH_SIZE) {
+			pool.invoke(new BatchTask(batch, 0, count));
+		} else {
+			batch.convert(0, count, new double[2]);
+		}
+	}
+
+	/** Parameters of a Lambert projection.
+	 *
+	 * @param n is the exponential of the Lambert projection.
+	 * @param c is the constant of projection.
+	 * @param xs is the x coordinate of the origine of the Lambert projection.
+	 * @param ys is the y coordinate of the origine of the Lambert projection.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private record LambertParameters(double n, double c, double xs, double ys) {
+		//
+	}
+
+	/** Conversion of a point.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	@FunctionalInterface
+	private interface PointConversion {
+
+		/** Convert a point.
+		 *
+		 * @param x the x coordinate of the point.
+		 * @param y the y coordinate of the point.
+		 * @param result receives the converted coordinates.
+		 */
+		void convert(double x, double y, double[] result);
+
+	}
+
+	/** Conversion of the points in arrays. The coordinates of the point at index {@code i} are
+	 * at the indexes {@code start + i * stride} of the arrays.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	@SuppressWarnings("checkstyle:parameternumber")
+	private record Batch(PointConversion conversion,
+			double[] x, int xStart, double[] y, int yStart, int stride,
+			double[] resultX, int resultXStart, double[] resultY, int resultYStart, int resultStride) {
+
+		/** Convert the points in the given range.
+		 *
+		 * @param from the index of the first point.
+		 * @param to the index after the last point.
+		 * @param buffer the buffer for the converted coordinates of a point.
+		 */
+		void convert(int from, int to, double[] buffer) {
+			var input = from * this.stride;
+			var output = from * this.resultStride;
+			for (var i = from; i < to; ++i) {
+				this.conversion.convert(this.x[this.xStart + input], this.y[this.yStart + input], buffer);
+				this.resultX[this.resultXStart + output] = buffer[0];
+				this.resultY[this.resultYStart + output] = buffer[1];
+				input += this.stride;
+				output += this.resultStride;
+			}
+		}
+
+	}
+
+	/** Task that converts the points of a batch in parallel.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private static class BatchTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 4377617394287013528L;
+
+		private final transient Batch batch;
+
+		private final int from;
+
+		private final int to;
+
+		BatchTask(Batch batch, int from, int to) {
+			this.batch = batch;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from <= PARALLEL_BATCH_SIZE * 2) {
+				this.batch.convert(this.from, this.to, new double[2]);
+			} else {
+				final var middle = (this.from + this.to) >>> 1;
+				invokeAll(new BatchTask(this.batch, this.from, middle), new BatchTask(this.batch, middle, this.to));
+			}
+		}
 
-		return new Point2d(lambda_n, phi_n);
 	}
 
 }
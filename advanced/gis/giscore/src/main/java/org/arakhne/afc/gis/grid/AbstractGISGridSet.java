@@ -24,6 +24,7 @@ import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.Spliterator;
 
 import org.arakhne.afc.gis.GISSet;
 import org.arakhne.afc.gis.location.GeoId;
@@ -127,6 +128,37 @@ abstract class AbstractGISGridSet<P extends GISPrimitive> implements GISSet<P> {
 		return this.grid.getColumnCount();
 	}
 
+	/** Replies the number of elements in a cell of the grid above which the cell is
+	 * subdivided into a second-level grid.
+	 *
+	 * @return the threshold, or {@code 0} if the cells are never subdivided.
+	 * @since 18.0
+	 */
+	@Pure
+	public int getSubdivisionThreshold() {
+		return this.grid.getSubdivisionThreshold();
+	}
+
+	/** Change the number of elements in a cell of the grid above which the cell is
+	 * subdivided into a second-level grid. The grid is rebalanced.
+	 *
+	 * @param threshold the threshold, or {@code 0} if the cells are never subdivided.
+	 * @since 18.0
+	 */
+	public void setSubdivisionThreshold(int threshold) {
+		this.grid.setSubdivisionThreshold(threshold);
+	}
+
+	/** Rebalance the grid: the cells that are above the subdivision threshold are subdivided
+	 * according to their number of elements, and the other cells are not subdivided anymore.
+	 *
+	 * @since 18.0
+	 * @see #getSubdivisionThreshold()
+	 */
+	public void rebalance() {
+		this.grid.rebalance();
+	}
+
 	@Override
 	public boolean isTypeRecomputedAfterRemoval() {
 		return this.updateWhenRemove;
@@ -254,6 +286,28 @@ abstract class AbstractGISGridSet<P extends GISPrimitive> implements GISSet<P> {
 		return this.grid.iterator(clipBounds, budget);
 	}
 
+	/** {@inheritDoc}
+	 *
+	 * <p>The spliterator is split at ranges of rows of the grid.
+	 * The grid must not be changed while the spliterator is used.
+	 */
+	@Override
+	@Pure
+	public Spliterator<P> spliterator() {
+		return this.grid.spliterator();
+	}
+
+	/** {@inheritDoc}
+	 *
+	 * <p>The spliterator is split at ranges of rows of the grid.
+	 * The grid must not be changed while the spliterator is used.
+	 */
+	@Override
+	@Pure
+	public Spliterator<P> spliterator(Rectangle2afp<?, ?, ?, ?, ?, ?> clipBounds) {
+		return this.grid.spliterator(clipBounds);
+	}
+
 	@Override
 	@Pure
 	public Object[] toArray() {
@@ -23,8 +23,9 @@ package org.arakhne.afc.gis.grid;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 
 import org.arakhne.afc.gis.primitive.GISPrimitive;
 import org.arakhne.afc.math.geometry.base.d2.Point2D;
@@ -35,6 +36,10 @@ import org.eclipse.xtext.xbase.lib.Pure;
 /**
  * A grid.
  *
+ * <p>The grid is a two-level grid: a cell that contains more elements than the
+ * {@link #getSubdivisionThreshold() subdivision threshold} is subdivided into sub-cells
+ * that are used by the queries on a part of the cell.
+ *
  * @param <P> is the type of the user data inside the node.
  * @author $Author: sgalland$
  * @version $FullVersion$
@@ -45,6 +50,22 @@ import org.eclipse.xtext.xbase.lib.Pure;
  */
 class Grid<P extends GISPrimitive> implements Iterable<P> {
 
+	/** Default number of elements in a cell above which the cell is subdivided.
+	 *
+	 * @since 18.0
+	 */
+	public static final int DEFAULT_SUBDIVISION_THRESHOLD = 256;
+
+	/** Maximal number of sub-cells on each side of a subdivided cell.
+	 *
+	 * @since 18.0
+	 */
+	public static final int MAXIMUM_SUBDIVISION_COUNT = 16;
+
+	/** Factor of growth of a subdivided cell after which the cell is subdivided again.
+	 */
+	private static final int SUBDIVISION_GROWTH = 4;
+
 	private final int nrows;
 
 	private final int ncolumns;
@@ -57,6 +78,8 @@ class Grid<P extends GISPrimitive> implements Iterable<P> {
 
 	private int cellCount;
 
+	private int subdivisionThreshold = DEFAULT_SUBDIVISION_THRESHOLD;
+
 	/** Constructor.
 	 * @param nRows numbers of rows in the grid
 	 * @param nColumns numbers of columns in the grid
@@ -206,6 +229,11 @@ class Grid<P extends GISPrimitive> implements Iterable<P> {
 			for (final var cell : getGridCellsOn(element.getGeoLocation().toBounds2D(), true)) {
 				if (cell.addElement(gridElement)) {
 					changed = true;
+					final var count = cell.getGridCellElementCount();
+					if (this.subdivisionThreshold > 0 && count > this.subdivisionThreshold
+							&& (!cell.isSubdivided() || count > cell.getSubdivisionSize() * SUBDIVISION_GROWTH)) {
+						cell.subdivide(computeSubdivisionCount(count));
+					}
 				}
 			}
 		}
@@ -249,6 +277,67 @@ class Grid<P extends GISPrimitive> implements Iterable<P> {
 		return changed;
 	}
 
+	/** Replies the number of elements in a cell above which the cell is subdivided.
+	 *
+	 * @return the threshold, or {@code 0} if the cells are never subdivided.
+	 * @since 18.0
+	 */
+	@Pure
+	public int getSubdivisionThreshold() {
+		return this.subdivisionThreshold;
+	}
+
+	/** Change the number of elements in a cell above which the cell is subdivided.
+	 * The cells are {@link #rebalance() rebalanced} according to the new threshold.
+	 *
+	 * @param threshold the threshold, or {@code 0} if the cells are never subdivided.
+	 * @since 18.0
+	 */
+	public void setSubdivisionThreshold(int threshold) {
+		final var t = Math.max(0, threshold);
+		if (t != this.subdivisionThreshold) {
+			this.subdivisionThreshold = t;
+			rebalance();
+		}
+	}
+
+	/** Replies the number of sub-cells on each side of a cell with the given number of elements.
+	 * The sub-cells are expected to contain a quarter of the threshold in average.
+	 *
+	 * @param count the number of elements in the cell.
+	 * @return the number of rows and columns of sub-cells.
+	 */
+	@Pure
+	private int computeSubdivisionCount(int count) {
+		final var target = Math.max(1, this.subdivisionThreshold / SUBDIVISION_GROWTH);
+		final var n = (int) Math.ceil(Math.sqrt((double) count / target));
+		return Math.max(2, Math.min(MAXIMUM_SUBDIVISION_COUNT, n));
+	}
+
+	/** Rebalance the cells of the grid according to their occupancy.
+	 *
+	 * <p>A cell is subdivided when its number of elements is above the subdivision threshold,
+	 * with a number of sub-cells that is computed from this number of elements. The
+	 * subdivision of a cell is removed when its number of elements is not above the threshold.
+	 * When elements are added, the cells are subdivided, but they are never merged. This
+	 * function should be invoked after a large change in the distribution of the elements.
+	 *
+	 * @since 18.0
+	 */
+	public void rebalance() {
+		for (final var cell : getGridCells()) {
+			final var count = cell.getGridCellElementCount();
+			if (this.subdivisionThreshold > 0 && count > this.subdivisionThreshold) {
+				final var n = computeSubdivisionCount(count);
+				if (n != cell.getSubdivisionCount() || count != cell.getSubdivisionSize()) {
+					cell.subdivide(n);
+				}
+			} else if (cell.isSubdivided()) {
+				cell.subdivide(0);
+			}
+		}
+	}
+
 	/** Replies the number of cells in the grid that contains an element.
 	 *
 	 * @return the number of cells in the grid.
@@ -369,12 +458,15 @@ class Grid<P extends GISPrimitive> implements Iterable<P> {
 	@Override
 	@Pure
 	public Iterator<P> iterator() {
-		return new ElementIterator(new CellIterator(0, 0, getRowCount() - 1, getColumnCount() - 1, false), -1);
+		return new ElementIterator(0, 0, getRowCount() - 1, getColumnCount() - 1, -1, null);
 	}
 
 	/** Replies the elements that are inside the cells intersecting the
 	 * specified bounds.
 	 *
+	 * <p>An element that is covering several cells is replied by the first of these cells that
+	 * is inside the bounds. The iterator does not keep the list of the replied elements.
+	 *
 	 * @param bounds the bounds.
 	 * @return the iterator on the elements.
 	 */
@@ -385,7 +477,7 @@ class Grid<P extends GISPrimitive> implements Iterable<P> {
 			final var r1 = getRowFor(bounds.getMinY());
 			final var c2 = getColumnFor(bounds.getMaxX());
 			final var r2 = getRowFor(bounds.getMaxY());
-			return new BoundedElementIterator(new CellIterator(r1, c1, r2, c2, false), -1, bounds);
+			return new ElementIterator(r1, c1, r2, c2, -1, bounds);
 		}
 		return Collections.<P>emptyList().iterator();
 	}
@@ -393,6 +485,9 @@ class Grid<P extends GISPrimitive> implements Iterable<P> {
 	/** Replies the elements that are inside the cells intersecting the
 	 * specified bounds.
 	 *
+	 * <p>An element that is covering several cells is replied by the first of these cells that
+	 * is inside the bounds. The iterator does not keep the list of the replied elements.
+	 *
 	 * @param bounds the bounds.
 	 * @param budget is the number of elements to return through the iterator.
 	 * @return the iterator on the elements.
@@ -404,7 +499,7 @@ class Grid<P extends GISPrimitive> implements Iterable<P> {
 			final var r1 = getRowFor(bounds.getMinY());
 			final var c2 = getColumnFor(bounds.getMaxX());
 			final var r2 = getRowFor(bounds.getMaxY());
-			return new BoundedElementIterator(new CellIterator(r1, c1, r2, c2, false), budget, bounds);
+			return new ElementIterator(r1, c1, r2, c2, budget, bounds);
 		}
 		return Collections.<P>emptyList().iterator();
 	}
@@ -427,6 +522,41 @@ class Grid<P extends GISPrimitive> implements Iterable<P> {
 		return -1;
 	}
 
+	/** Replies a spliterator on the elements of the grid.
+	 *
+	 * <p>The spliterator is split at ranges of rows. It is sized until it is split.
+	 *
+	 * @return the spliterator.
+	 * @since 18.0
+	 */
+	@Override
+	@Pure
+	public Spliterator<P> spliterator() {
+		return new ElementSpliterator(0, 0, getRowCount() - 1, 0, getColumnCount() - 1, null, this.elementCount);
+	}
+
+	/** Replies a spliterator on the elements that are intersecting the specified bounds.
+	 *
+	 * <p>The spliterator is split at ranges of rows. An element that is covering several cells
+	 * is replied by the first of these cells that is inside the bounds, so that the parts of
+	 * the spliterator are not sharing a list of the replied elements.
+	 *
+	 * @param bounds the bounds.
+	 * @return the spliterator.
+	 * @since 18.0
+	 */
+	@Pure
+	public Spliterator<P> spliterator(Rectangle2afp<?, ?, ?, ?, ?, ?> bounds) {
+		if (this.cellCount > 0 && this.bounds.intersects(bounds)) {
+			final var c1 = getColumnFor(bounds.getMinX());
+			final var r1 = getRowFor(bounds.getMinY());
+			final var c2 = getColumnFor(bounds.getMaxX());
+			final var r2 = getRowFor(bounds.getMaxY());
+			return new ElementSpliterator(r1, r1, r2, c1, c2, bounds, -1);
+		}
+		return Spliterators.emptySpliterator();
+	}
+
 	/** Replies the element at the specified index.
 	 *
 	 * @param index the index.
@@ -452,6 +582,135 @@ class Grid<P extends GISPrimitive> implements Iterable<P> {
 		throw new IndexOutOfBoundsException(Integer.toString(index));
 	}
 
+	/** Replies if the given element must be replied when the given cell is visited.
+	 * Without bounds, the element is replied by its reference cell. With bounds, the element
+	 * is replied by the first of its cells inside the window of cells that starts at the given
+	 * row and column. In both cases, no list of the already replied elements is needed.
+	 *
+	 * @param element the element.
+	 * @param cell the visited cell.
+	 * @param minRow the index of the first row of the window.
+	 * @param minColumn the index of the first column of the window.
+	 * @param bounds the bounds of the query, or {@code null} for all the elements.
+	 * @return {@code true} if the element is replied.
+	 */
+	@Pure
+	private static <P extends GISPrimitive> boolean isReplied(GridCellElement<P> element, GridCell<P> cell,
+			int minRow, int minColumn, Rectangle2afp<?, ?, ?, ?, ?, ?> bounds) {
+		if (bounds == null) {
+			return element.isReferenceCell(cell);
+		}
+		return element.isFirstCellIn(cell, minRow, minColumn) && element.intersects(bounds);
+	}
+
+	/** Internal spliterator on the elements of a range of rows.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private class ElementSpliterator implements Spliterator<P> {
+
+		private final Rectangle2afp<?, ?, ?, ?, ?, ?> iterationBounds;
+
+		private final int minRow;
+
+		private final int minCol;
+
+		private final int maxCol;
+
+		private int row;
+
+		private int maxRow;
+
+		private int column;
+
+		/** Number of elements, or {@code -1} if unknown.
+		 */
+		private long size;
+
+		private final GridCell.Scanner<P> scanner;
+
+		ElementSpliterator(int minRow, int firstRow, int maxRow, int minCol, int maxCol,
+				Rectangle2afp<?, ?, ?, ?, ?, ?> bounds, long size) {
+			this.iterationBounds = bounds;
+			this.minRow = minRow;
+			this.row = firstRow;
+			this.maxRow = maxRow;
+			this.minCol = minCol;
+			this.maxCol = maxCol;
+			this.column = minCol;
+			this.size = size;
+			this.scanner = new GridCell.Scanner<>(bounds);
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super P> action) {
+			while (true) {
+				final var cell = this.scanner.getCell();
+				if (cell != null) {
+					var element = this.scanner.next();
+					while (element != null) {
+						if (isReplied(element, cell, this.minRow, this.minCol, this.iterationBounds)) {
+							if (this.size > 0) {
+								--this.size;
+							}
+							action.accept(element.get());
+							return true;
+						}
+						element = this.scanner.next();
+					}
+					this.scanner.reset(null);
+				}
+				if (this.row > this.maxRow) {
+					return false;
+				}
+				this.scanner.reset(getCellAt(this.row, this.column));
+				++this.column;
+				if (this.column > this.maxCol) {
+					this.column = this.minCol;
+					++this.row;
+				}
+			}
+		}
+
+		@Override
+		public Spliterator<P> trySplit() {
+			// Only the rows that are not started are given
+			final var firstRow = this.column == this.minCol && this.scanner.getCell() == null ? this.row : this.row + 1;
+			if (firstRow >= this.maxRow) {
+				return null;
+			}
+			final var middle = (firstRow + this.maxRow) >>> 1;
+			final var suffix = new ElementSpliterator(this.minRow, middle + 1, this.maxRow, this.minCol, this.maxCol,
+					this.iterationBounds, -1);
+			this.maxRow = middle;
+			this.size = -1;
+			return suffix;
+		}
+
+		@Override
+		@Pure
+		public long estimateSize() {
+			if (this.size >= 0) {
+				return this.size;
+			}
+			final var rows = Math.max(0, this.maxRow - this.row + 1);
+			return (long) getElementCount() * rows / getRowCount();
+		}
+
+		@Override
+		@Pure
+		public int characteristics() {
+			if (this.size >= 0) {
+				return DISTINCT | NONNULL | SIZED;
+			}
+			return DISTINCT | NONNULL;
+		}
+
+	}
+
 	/** Internal iterable.
 	 * @author $Author: sgalland$
 	 * @version $FullVersion$
@@ -598,7 +857,7 @@ class Grid<P extends GISPrimitive> implements Iterable<P> {
 
 	}
 
-	/** Internal iterator.
+	/** Internal iterator on the elements inside a window of cells.
 	 * @author $Author: sgalland$
 	 * @version $FullVersion$
 	 * @mavengroupid $GroupId$
@@ -607,107 +866,21 @@ class Grid<P extends GISPrimitive> implements Iterable<P> {
 	 */
 	private class ElementIterator implements Iterator<P> {
 
-		private final Iterator<GridCell<P>> iterator;
-
-		private Iterator<GridCellElement<P>> elementIterator;
-
-		private GridCell<P> currentCell;
-
-		private P next;
-
-		private boolean searched;
-
-		private int budget;
-
-		/** Constructor.
-		 * @param iterator the iterator on grid cells.
-		 * @param budget the budget.
-		 */
-		ElementIterator(Iterator<GridCell<P>> iterator, int budget) {
-			this.iterator = iterator;
-			this.budget = budget;
-		}
-
-		private void searchNext() {
-			this.next = null;
-			this.searched = true;
-
-			if (this.budget == -1 || this.budget > 0) {
-
-				while (this.next == null
-						&& (this.elementIterator != null && this.elementIterator.hasNext() || this.iterator.hasNext())) {
-
-					while ((this.elementIterator == null || !this.elementIterator.hasNext())
-						&& this.iterator.hasNext()) {
-						this.currentCell = this.iterator.next();
-						this.elementIterator = this.currentCell.getGridCellElements();
-					}
-
-					while (this.next == null && this.elementIterator != null && this.elementIterator.hasNext()) {
-						final var gElement = this.elementIterator.next();
-						if (gElement.isReferenceCell(this.currentCell)) {
-							this.next = gElement.get();
-							if (this.budget > 0) {
-								--this.budget;
-							}
-						}
-					}
-				}
-			}
-		}
-
-		@Override
-		@Pure
-		public boolean hasNext() {
-			if (!this.searched) {
-				searchNext();
-			}
-			return this.next != null;
-		}
-
-		@Override
-		public P next() {
-			if (!this.searched) {
-				searchNext();
-			}
-			if (this.next == null) {
-				throw new NoSuchElementException();
-			}
-			this.searched = false;
-			return this.next;
-		}
-
-		@Override
-		public void remove() {
-			final var elt = this.next;
-			this.next = null;
-			this.searched = false;
-			if (elt == null) {
-				throw new NoSuchElementException();
-			}
-			removeElement(elt);
-		}
+		private final Rectangle2afp<?, ?, ?, ?, ?, ?> iterationBounds;
 
-	}
+		private final int minRow;
 
-	/** Internal iterator.
-	 * @author $Author: sgalland$
-	 * @version $FullVersion$
-	 * @mavengroupid $GroupId$
-	 * @mavenartifactid $ArtifactId$
-	 * @since 14.0
-	 */
-	private class BoundedElementIterator implements Iterator<P> {
+		private final int minCol;
 
-		private final Rectangle2afp<?, ?, ?, ?, ?, ?> iterationBounds;
+		private final int maxRow;
 
-		private final Iterator<GridCell<P>> iterator;
+		private final int maxCol;
 
-		private final Set<GridCellElement<P>> closeList = new TreeSet<>();
+		private int row;
 
-		private Iterator<GridCellElement<P>> elementIterator;
+		private int column;
 
-		private GridCell<P> currentCell;
+		private final GridCell.Scanner<P> scanner;
 
 		private P next;
 
@@ -716,44 +889,57 @@ class Grid<P extends GISPrimitive> implements Iterable<P> {
 		private int budget;
 
 		/** Constructor.
-		 * @param iterator the iterator on grid cells.
+		 * @param minRow the minimal row index.
+		 * @param minCol the minimal column index.
+		 * @param maxRow the maximal row index
+		 * @param maxCol the maximal column index.
 		 * @param budget the budget.
-		 * @param bounds the intersection bounds.
+		 * @param bounds the intersection bounds, or {@code null} for iterating on all the elements.
 		 */
-		BoundedElementIterator(Iterator<GridCell<P>> iterator, int budget, Rectangle2afp<?, ?, ?, ?, ?, ?> bounds) {
+		ElementIterator(int minRow, int minCol, int maxRow, int maxCol, int budget,
+				Rectangle2afp<?, ?, ?, ?, ?, ?> bounds) {
+			assert minRow >= 0 && minRow <= maxRow && maxRow < getRowCount();
+			assert minCol >= 0 && minCol <= maxCol && maxCol < getColumnCount();
 			this.iterationBounds = bounds;
-			this.iterator = iterator;
+			this.minRow = minRow;
+			this.minCol = minCol;
+			this.maxRow = maxRow;
+			this.maxCol = maxCol;
+			this.row = minRow;
+			this.column = minCol;
 			this.budget = budget;
+			this.scanner = new GridCell.Scanner<>(bounds);
 		}
 
-		@SuppressWarnings("checkstyle:cyclomaticcomplexity")
 		private void searchNext() {
 			this.next = null;
 			this.searched = true;
 
 			if (this.budget == -1 || this.budget > 0) {
-
-				while (this.next == null
-						&& (this.elementIterator != null && this.elementIterator.hasNext() || this.iterator.hasNext())) {
-
-					while ((this.elementIterator == null || !this.elementIterator.hasNext())
-						&& this.iterator.hasNext()) {
-						this.currentCell = this.iterator.next();
-						this.elementIterator = this.currentCell.getGridCellElements();
-					}
-
-					while (this.next == null && this.elementIterator != null && this.elementIterator.hasNext()) {
-						final var gElement = this.elementIterator.next();
-						final var pElement = gElement.get();
-						final Rectangle2d pBounds = pElement.getGeoLocation().toBounds2D();
-						if ((this.iterationBounds.isEmpty() && this.iterationBounds.equals(pBounds)
-							 || this.iterationBounds.intersects(pBounds)) && !this.closeList.contains(gElement)) {
-							this.next = pElement;
-							this.closeList.add(gElement);
-							if (this.budget > 0) {
-								--this.budget;
+				while (true) {
+					final var cell = this.scanner.getCell();
+					if (cell != null) {
+						var element = this.scanner.next();
+						while (element != null) {
+							if (isReplied(element, cell, this.minRow, this.minCol, this.iterationBounds)) {
+								this.next = element.get();
+								if (this.budget > 0) {
+									--this.budget;
+								}
+								return;
 							}
+							element = this.scanner.next();
 						}
+						this.scanner.reset(null);
+					}
+					if (this.row > this.maxRow) {
+						return;
+					}
+					this.scanner.reset(getCellAt(this.row, this.column));
+					++this.column;
+					if (this.column > this.maxCol) {
+						this.column = this.minCol;
+						++this.row;
 					}
 				}
 			}
@@ -789,6 +975,7 @@ class Grid<P extends GISPrimitive> implements Iterable<P> {
 				throw new NoSuchElementException();
 			}
 			removeElement(elt);
+			this.scanner.removed(elt);
 		}
 
 	}
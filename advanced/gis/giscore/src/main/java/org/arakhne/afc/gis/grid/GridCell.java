@@ -17,13 +17,13 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.arakhne.afc.gis.grid;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import java.util.TreeSet;
 
+import org.arakhne.afc.gis.location.GeoId;
 import org.arakhne.afc.gis.primitive.GISPrimitive;
 import org.arakhne.afc.math.geometry.d2.afp.Rectangle2afp;
 import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
@@ -32,6 +32,14 @@ import org.eclipse.xtext.xbase.lib.Pure;
 /**
  * Element of the grid.
  *
+ * <p>The elements of the cell are stored into an array that is sorted by the identifiers
+ * of the elements. The grid accesses to them by index, without creating an iterator
+ * for each visited cell.
+ *
+ * <p>A cell that contains many elements may be subdivided into a second-level grid of
+ * {@code n x n} sub-cells. Each sub-cell references the elements that are intersecting it,
+ * so that a query on a small part of the cell does not scan all the elements of the cell.
+ *
  * @param <P> is the type of the user data inside the node.
  * @author $Author: sgalland$
  * @version $FullVersion$
@@ -42,26 +50,37 @@ import org.eclipse.xtext.xbase.lib.Pure;
  */
 class GridCell<P extends GISPrimitive> implements Iterable<P> {
 
+	private static final int DEFAULT_CAPACITY = 4;
+
 	private final int row;
 
 	private final int col;
 
 	private final Rectangle2d bounds;
 
-	@SuppressWarnings("checkstyle:illegaltype")
-	private final TreeSet<GridCellElement<P>> elements = new TreeSet<>();
+	private GridCellElement<P>[] elements;
+
+	private int size;
 
 	private int referenceElementCount;
 
+	private int subdivisions;
+
+	private int subdivisionSize;
+
+	private GridCellElement<P>[][] subCells;
+
 	/** Constructor.
 	 * @param row is the row index of the cell.
 	 * @param column is the column index of the cell.
 	 * @param bounds are the bounds of the grid cell.
 	 */
+	@SuppressWarnings("unchecked")
 	GridCell(int row, int column, Rectangle2d bounds) {
 		this.row = row;
 		this.col = column;
 		this.bounds = bounds;
+		this.elements = new GridCellElement[DEFAULT_CAPACITY];
 	}
 
 	@Override
@@ -76,7 +95,7 @@ class GridCell<P extends GISPrimitive> implements Iterable<P> {
 	 */
 	@Pure
 	public boolean isEmpty() {
-		return this.elements.isEmpty();
+		return this.size == 0;
 	}
 
 	/** Replies the number of elements that are inside this cell and
@@ -99,7 +118,8 @@ class GridCell<P extends GISPrimitive> implements Iterable<P> {
 	public P getElementAt(int index) {
 		if (index >= 0 && index < this.referenceElementCount) {
 			var idx = 0;
-			for (final var element : this.elements) {
+			for (var i = 0; i < this.size; ++i) {
+				final var element = this.elements[i];
 				if (element.isReferenceCell(this)) {
 					if (idx == index) {
 						return element.get();
@@ -120,7 +140,8 @@ class GridCell<P extends GISPrimitive> implements Iterable<P> {
 	@Pure
 	public int indexOf(P element) {
 		var idx = 0;
-		for (final var e : this.elements) {
+		for (var i = 0; i < this.size; ++i) {
+			final var e = this.elements[i];
 			if (e.isReferenceCell(this)) {
 				if (e.equals(element)) {
 					return idx;
@@ -161,7 +182,7 @@ class GridCell<P extends GISPrimitive> implements Iterable<P> {
 	@Override
 	@Pure
 	public Iterator<P> iterator() {
-		return new DereferenceIterator<>(this.elements.iterator());
+		return new DereferenceIterator();
 	}
 
 	/**
@@ -173,7 +194,7 @@ class GridCell<P extends GISPrimitive> implements Iterable<P> {
 	 */
 	@Pure
 	public Iterator<P> iterator(Rectangle2afp<?, ?, ?, ?, ?, ?> bounds) {
-		return new BoundsIterator<>(this.elements.iterator(), bounds);
+		return new BoundsIterator(bounds);
 	}
 
 	/** Replies the grid cell elements in this cell.
@@ -182,7 +203,53 @@ class GridCell<P extends GISPrimitive> implements Iterable<P> {
 	 */
 	@Pure
 	public Iterator<GridCellElement<P>> getGridCellElements() {
-		return this.elements.iterator();
+		return new GridCellElementIterator();
+	}
+
+	/** Replies the number of grid cell elements in this cell, including the elements
+	 * for which this cell is not the reference cell.
+	 *
+	 * @return the number of grid cell elements.
+	 * @since 18.0
+	 */
+	@Pure
+	public int getGridCellElementCount() {
+		return this.size;
+	}
+
+	/** Replies the grid cell element at the given index.
+	 *
+	 * @param index the index, between {@code 0} and {@link #getGridCellElementCount()} (exclusive).
+	 * @return the grid cell element.
+	 * @since 18.0
+	 */
+	@Pure
+	public GridCellElement<P> getGridCellElementAt(int index) {
+		assert index >= 0 && index < this.size;
+		return this.elements[index];
+	}
+
+	/** Search the position of the element with the given identifier.
+	 *
+	 * @param id the identifier.
+	 * @return the index of the element, or {@code -(insertion point) - 1} if not found.
+	 */
+	@Pure
+	private int search(GeoId id) {
+		var low = 0;
+		var high = this.size - 1;
+		while (low <= high) {
+			final var mid = (low + high) >>> 1;
+			final var cmp = this.elements[mid].getGeoId().compareTo(id);
+			if (cmp < 0) {
+				low = mid + 1;
+			} else if (cmp > 0) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -(low + 1);
 	}
 
 	/** Add an element in the cell.
@@ -192,25 +259,186 @@ class GridCell<P extends GISPrimitive> implements Iterable<P> {
 	 *     otherwise {@code false}.
 	 */
 	public boolean addElement(GridCellElement<P> element) {
-		if (element != null && this.elements.add(element)) {
-			if (element.addCellLink(this)) {
-				++this.referenceElementCount;
+		if (element != null) {
+			final var idx = search(element.getGeoId());
+			if (idx < 0) {
+				final var insertion = -idx - 1;
+				if (this.size == this.elements.length) {
+					this.elements = Arrays.copyOf(this.elements, this.size * 2);
+				}
+				System.arraycopy(this.elements, insertion, this.elements, insertion + 1, this.size - insertion);
+				this.elements[insertion] = element;
+				++this.size;
+				if (this.subCells != null) {
+					addInSubCells(element);
+				}
+				if (element.addCellLink(this)) {
+					++this.referenceElementCount;
+				}
+				return true;
 			}
-			return true;
 		}
 		return false;
 	}
 
+	private GridCellElement<P> removeAt(int index) {
+		final var element = this.elements[index];
+		--this.size;
+		System.arraycopy(this.elements, index + 1, this.elements, index, this.size - index);
+		this.elements[this.size] = null;
+		if (this.subCells != null) {
+			removeFromSubCells(element);
+		}
+		return element;
+	}
+
+	/** Replies if the cell is subdivided into sub-cells.
+	 *
+	 * @return {@code true} if the cell is subdivided.
+	 * @since 18.0
+	 */
+	@Pure
+	public boolean isSubdivided() {
+		return this.subCells != null;
+	}
+
+	/** Replies the number of sub-cells on each side of the cell.
+	 *
+	 * @return the number of rows and columns of sub-cells, or {@code 0} if the cell is not subdivided.
+	 * @since 18.0
+	 */
+	@Pure
+	public int getSubdivisionCount() {
+		return this.subdivisions;
+	}
+
+	/** Replies the number of elements in the cell when it was subdivided for the last time.
+	 *
+	 * @return the number of elements at the last subdivision.
+	 * @since 18.0
+	 */
+	@Pure
+	public int getSubdivisionSize() {
+		return this.subdivisionSize;
+	}
+
+	/** Subdivide the cell into {@code subdivisions x subdivisions} sub-cells.
+	 * The previous sub-cells are removed.
+	 *
+	 * @param subdivisions the number of rows and columns of sub-cells. If it is lower than
+	 *     {@code 2}, the cell is not subdivided anymore.
+	 * @since 18.0
+	 */
+	@SuppressWarnings("unchecked")
+	public void subdivide(int subdivisions) {
+		if (subdivisions < 2) {
+			this.subdivisions = 0;
+			this.subdivisionSize = 0;
+			this.subCells = null;
+		} else {
+			this.subdivisions = subdivisions;
+			this.subdivisionSize = this.size;
+			this.subCells = new GridCellElement[subdivisions * subdivisions][];
+			for (var i = 0; i < this.size; ++i) {
+				addInSubCells(this.elements[i]);
+			}
+		}
+	}
+
+	/** Replies the sub-row index for the specified position.
+	 *
+	 * @param y the y coordinate.
+	 * @return the sub-row index, clamped to the sub-cells.
+	 */
+	@Pure
+	int getSubRowFor(double y) {
+		final var idx = (int) ((y - this.bounds.getMinY()) * this.subdivisions / this.bounds.getHeight());
+		return Math.max(0, Math.min(this.subdivisions - 1, idx));
+	}
+
+	/** Replies the sub-column index for the specified position.
+	 *
+	 * @param x the x coordinate.
+	 * @return the sub-column index, clamped to the sub-cells.
+	 */
+	@Pure
+	int getSubColumnFor(double x) {
+		final var idx = (int) ((x - this.bounds.getMinX()) * this.subdivisions / this.bounds.getWidth());
+		return Math.max(0, Math.min(this.subdivisions - 1, idx));
+	}
+
+	/** Add the element into the sub-cells it is intersecting.
+	 * The arrays of the sub-cells are copied on write, so that a running scan is not disturbed.
+	 *
+	 * @param element the element.
+	 */
+	private void addInSubCells(GridCellElement<P> element) {
+		final var r1 = getSubRowFor(element.getMinY());
+		final var r2 = getSubRowFor(element.getMaxY());
+		final var c1 = getSubColumnFor(element.getMinX());
+		final var c2 = getSubColumnFor(element.getMaxX());
+		for (var r = r1; r <= r2; ++r) {
+			for (var c = c1; c <= c2; ++c) {
+				final var idx = r * this.subdivisions + c;
+				final var old = this.subCells[idx];
+				if (old == null) {
+					this.subCells[idx] = newSubCell(element);
+				} else {
+					final var array = Arrays.copyOf(old, old.length + 1);
+					array[old.length] = element;
+					this.subCells[idx] = array;
+				}
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <P extends GISPrimitive> GridCellElement<P>[] newSubCell(GridCellElement<P> element) {
+		return new GridCellElement[] {element};
+	}
+
+	/** Remove the element from the sub-cells it is intersecting.
+	 * The arrays of the sub-cells are copied on write, so that a running scan is not disturbed.
+	 *
+	 * @param element the element.
+	 */
+	private void removeFromSubCells(GridCellElement<P> element) {
+		final var r1 = getSubRowFor(element.getMinY());
+		final var r2 = getSubRowFor(element.getMaxY());
+		final var c1 = getSubColumnFor(element.getMinX());
+		final var c2 = getSubColumnFor(element.getMaxX());
+		for (var r = r1; r <= r2; ++r) {
+			for (var c = c1; c <= c2; ++c) {
+				final var idx = r * this.subdivisions + c;
+				final var old = this.subCells[idx];
+				if (old != null) {
+					for (var i = 0; i < old.length; ++i) {
+						if (old[i] == element) {
+							if (old.length == 1) {
+								this.subCells[idx] = null;
+							} else {
+								final var array = Arrays.copyOf(old, old.length - 1);
+								System.arraycopy(old, i + 1, array, i, old.length - i - 1);
+								this.subCells[idx] = array;
+							}
+							break;
+						}
+					}
+				}
+			}
+		}
+	}
+
 	@SuppressWarnings("unlikely-arg-type")
 	private GridCellElement<P> remove(P element) {
-		final var elt = this.elements.tailSet(new GridCellElement<>(element));
-		assert elt != null;
-		final var iterator = elt.iterator();
-		while (iterator.hasNext()) {
-			final var e = iterator.next();
-			if (e.equals(element)) {
-				iterator.remove();
-				return e;
+		final var idx = search(element.getGeoId());
+		if (idx >= 0 && this.elements[idx].equals(element)) {
+			return removeAt(idx);
+		}
+		// The identifier of the element has changed since its insertion
+		for (var i = 0; i < this.size; ++i) {
+			if (this.elements[i].equals(element)) {
+				return removeAt(i);
 			}
 		}
 		return null;
@@ -232,81 +460,193 @@ class GridCell<P extends GISPrimitive> implements Iterable<P> {
 	}
 
 	/**
-	 * This class describes an iterator on node bounds.
+	 * Scanner of the elements of the cells that may intersect a query window.
+	 *
+	 * <p>The scanner is reset for each visited cell, so that a query creates only one scanner.
+	 * On a subdivided cell that is not fully inside the window, the scanner visits the sub-cells
+	 * that are intersecting the window, and replies an element only from the first of these
+	 * sub-cells that contains it. On the other cells, all the elements of the cell are replied.
 	 *
 	 * @param <P> is the type of the user data inside the node.
 	 * @author $Author: sgalland$
 	 * @version $FullVersion$
 	 * @mavengroupid $GroupId$
 	 * @mavenartifactid $ArtifactId$
-	 * @since 14.0
-	 * @see GISPrimitive
+	 * @since 18.0
 	 */
-	private static class BoundsIterator<P extends GISPrimitive> implements Iterator<P> {
-
-		private final Iterator<GridCellElement<P>> iterator;
+	static final class Scanner<P extends GISPrimitive> {
 
 		private final Rectangle2afp<?, ?, ?, ?, ?, ?> bounds;
 
-		private P next;
+		private GridCell<P> cell;
+
+		private int index;
+
+		private GridCellElement<P>[][] subCells;
+
+		private GridCellElement<P>[] subCell;
+
+		private int subMinRow;
+
+		private int subMinColumn;
+
+		private int subMaxRow;
+
+		private int subMaxColumn;
 
-		private boolean searched;
+		private int subRow;
+
+		private int subColumn;
+
+		private int currentSubRow;
+
+		private int currentSubColumn;
 
 		/** Constructor.
 		 *
-		 * @param iterator the iterator.
-		 * @param bounds the bounds.
+		 * @param bounds the query window, or {@code null} for scanning all the elements.
 		 */
-		BoundsIterator(Iterator<GridCellElement<P>> iterator, Rectangle2afp<?, ?, ?, ?, ?, ?> bounds) {
-			this.iterator = iterator;
+		Scanner(Rectangle2afp<?, ?, ?, ?, ?, ?> bounds) {
 			this.bounds = bounds;
 		}
 
-		private void searchNext() {
-			this.next = null;
-			this.searched = true;
-			while (this.next == null && this.iterator.hasNext()) {
-				final var element = this.iterator.next();
-				if (element != null) {
-					final var e = element.get();
-					if (e != null && e.getGeoLocation().toBounds2D().intersects(this.bounds)) {
-						this.next = e;
+		/** Start the scan of the given cell.
+		 *
+		 * @param cell the cell, or {@code null} to stop the scan.
+		 */
+		void reset(GridCell<P> cell) {
+			this.cell = cell;
+			this.index = 0;
+			this.subCell = null;
+			this.subCells = null;
+			if (cell != null && cell.subCells != null && this.bounds != null
+					&& !this.bounds.contains(cell.getBounds())) {
+				this.subCells = cell.subCells;
+				this.subMinRow = cell.getSubRowFor(this.bounds.getMinY());
+				this.subMaxRow = cell.getSubRowFor(this.bounds.getMaxY());
+				this.subMinColumn = cell.getSubColumnFor(this.bounds.getMinX());
+				this.subMaxColumn = cell.getSubColumnFor(this.bounds.getMaxX());
+				this.subRow = this.subMinRow;
+				this.subColumn = this.subMinColumn;
+			}
+		}
+
+		/** Replies the scanned cell.
+		 *
+		 * @return the cell, or {@code null} if no cell is scanned.
+		 */
+		@Pure
+		GridCell<P> getCell() {
+			return this.cell;
+		}
+
+		/** Replies the next element of the scanned cell.
+		 *
+		 * @return the next element, or {@code null} if all the elements of the cell were scanned.
+		 */
+		GridCellElement<P> next() {
+			final var current = this.cell;
+			if (current == null) {
+				return null;
+			}
+			if (this.subCells == null) {
+				if (this.index < current.size) {
+					return current.elements[this.index++];
+				}
+				return null;
+			}
+			while (true) {
+				final var array = this.subCell;
+				if (array != null) {
+					while (this.index < array.length) {
+						final var element = array[this.index++];
+						if (this.currentSubRow == Math.max(current.getSubRowFor(element.getMinY()), this.subMinRow)
+								&& this.currentSubColumn == Math.max(current.getSubColumnFor(element.getMinX()),
+										this.subMinColumn)
+								&& element.intersects(this.bounds)) {
+							return element;
+						}
 					}
+					this.subCell = null;
+				}
+				if (this.subRow > this.subMaxRow) {
+					return null;
+				}
+				this.subCell = this.subCells[this.subRow * current.subdivisions + this.subColumn];
+				this.currentSubRow = this.subRow;
+				this.currentSubColumn = this.subColumn;
+				this.index = 0;
+				++this.subColumn;
+				if (this.subColumn > this.subMaxColumn) {
+					this.subColumn = this.subMinColumn;
+					++this.subRow;
 				}
 			}
 		}
 
+		/** Notifies the scanner that the given element, which was replied by the last call
+		 * to {@link #next()}, was removed from the cell.
+		 *
+		 * @param element the removed element.
+		 */
+		void removed(P element) {
+			final var current = this.cell;
+			// The scanned array of sub-cell is not changed by a removal
+			if (current != null && this.subCells == null && this.index > 0
+					&& (this.index > current.size || current.elements[this.index - 1].get() != element)) {
+				--this.index;
+			}
+		}
+
+	} /* class Scanner */
+
+	/**
+	 * Iterator on the grid cell elements.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private class GridCellElementIterator implements Iterator<GridCellElement<P>> {
+
+		private int index;
+
+		/** Constructor.
+		 */
+		GridCellElementIterator() {
+			//
+		}
+
 		@Override
 		@Pure
 		public boolean hasNext() {
-			if (!this.searched) {
-				searchNext();
-			}
-			return this.next != null;
+			return this.index < GridCell.this.size;
 		}
 
 		@Override
-		public P next() {
-			if (!this.searched) {
-				searchNext();
-			}
-			final var element = this.next;
-			if (element == null) {
+		public GridCellElement<P> next() {
+			if (this.index >= GridCell.this.size) {
 				throw new NoSuchElementException();
 			}
-			this.searched = false;
-			return element;
+			return GridCell.this.elements[this.index++];
 		}
 
 		@Override
 		public void remove() {
-			this.iterator.remove();
+			if (this.index <= 0) {
+				throw new IllegalStateException();
+			}
+			--this.index;
+			removeElement(GridCell.this.elements[this.index].get());
 		}
 
-	} /* class BoundsIterator */
+	} /* class GridCellElementIterator */
 
-	/** Internal iterator.
-	 * @param <P> is the type of the user data inside the node.
+	/**
+	 * This class describes an iterator on node bounds.
+	 *
 	 * @author $Author: sgalland$
 	 * @version $FullVersion$
 	 * @mavengroupid $GroupId$
@@ -314,57 +654,94 @@ class GridCell<P extends GISPrimitive> implements Iterable<P> {
 	 * @since 14.0
 	 * @see GISPrimitive
 	 */
-	private static class DereferenceIterator<P extends GISPrimitive> implements Iterator<P> {
+	private class BoundsIterator implements Iterator<P> {
 
-		private final Iterator<GridCellElement<P>> iterator;
+		private final Rectangle2afp<?, ?, ?, ?, ?, ?> bounds;
 
-		private P next;
+		private int index;
 
-		private boolean searched;
+		private int nextIndex = -1;
 
 		/** Constructor.
-		 * @param iterator the iterator.
+		 *
+		 * @param bounds the bounds.
 		 */
-		DereferenceIterator(Iterator<GridCellElement<P>> iterator) {
-			this.iterator = iterator;
+		BoundsIterator(Rectangle2afp<?, ?, ?, ?, ?, ?> bounds) {
+			this.bounds = bounds;
 		}
 
 		private void searchNext() {
-			this.next = null;
-			this.searched = true;
-			while (this.next == null && this.iterator.hasNext()) {
-				final var element = this.iterator.next();
-				if (element != null) {
-					final var e = element.get();
-					if (e != null) {
-						this.next = e;
-					}
+			while (this.index < GridCell.this.size) {
+				if (GridCell.this.elements[this.index].intersects(this.bounds)) {
+					this.nextIndex = this.index;
+					return;
 				}
+				++this.index;
 			}
+			this.nextIndex = GridCell.this.size;
 		}
 
 		@Override
 		@Pure
 		public boolean hasNext() {
-			if (!this.searched) {
+			if (this.nextIndex < 0) {
 				searchNext();
 			}
-			return this.next != null;
+			return this.nextIndex < GridCell.this.size;
 		}
 
 		@Override
 		public P next() {
-			if (!this.searched) {
-				searchNext();
-			}
-			final var element = this.next;
-			if (element == null) {
+			if (!hasNext()) {
 				throw new NoSuchElementException();
 			}
-			this.searched = false;
+			final var element = GridCell.this.elements[this.nextIndex].get();
+			this.index = this.nextIndex + 1;
+			this.nextIndex = -1;
 			return element;
 		}
 
+		@Override
+		public void remove() {
+			if (this.index <= 0 || this.nextIndex >= 0) {
+				throw new IllegalStateException();
+			}
+			--this.index;
+			removeElement(GridCell.this.elements[this.index].get());
+		}
+
+	} /* class BoundsIterator */
+
+	/** Internal iterator.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 14.0
+	 * @see GISPrimitive
+	 */
+	private class DereferenceIterator implements Iterator<P> {
+
+		private final GridCellElementIterator iterator = new GridCellElementIterator();
+
+		/** Constructor.
+		 */
+		DereferenceIterator() {
+			//
+		}
+
+		@Override
+		@Pure
+		public boolean hasNext() {
+			return this.iterator.hasNext();
+		}
+
+		@Override
+		public P next() {
+			return this.iterator.next().get();
+		}
+
 		@Override
 		public void remove() {
 			this.iterator.remove();
@@ -23,13 +23,18 @@ package org.arakhne.afc.gis.grid;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.arakhne.afc.gis.location.GeoId;
 import org.arakhne.afc.gis.primitive.GISPrimitive;
+import org.arakhne.afc.math.geometry.d2.afp.Rectangle2afp;
 import org.arakhne.afc.references.WeakArrayList;
 import org.eclipse.xtext.xbase.lib.Pure;
 
 /**
  * Element inside a grid cell.
  *
+ * <p>The identifier and the bounds of the element are stored when the grid cell element is
+ * created, so that the queries on the grid are not computing them again.
+ *
  * @param <P> is the type of the user data inside the node.
  * @author $Author: sgalland$
  * @version $FullVersion$
@@ -42,14 +47,34 @@ class GridCellElement<P extends GISPrimitive> implements Comparable<GridCellElem
 
 	private final P element;
 
+	private final GeoId id;
+
+	private final double minx;
+
+	private final double miny;
+
+	private final double maxx;
+
+	private final double maxy;
+
 	private final List<GridCell<P>> cells = new WeakArrayList<>(1);
 
+	private int referenceRow = -1;
+
+	private int referenceColumn = -1;
+
 	/** Constructor.
 	 * @param element the element.
 	 */
 	GridCellElement(P element) {
 		assert element != null;
 		this.element = element;
+		this.id = element.getGeoId();
+		final var location = element.getGeoLocation();
+		this.minx = location.getBoundsMinX();
+		this.miny = location.getBoundsMinY();
+		this.maxx = location.getBoundsMaxX();
+		this.maxy = location.getBoundsMaxY();
 	}
 
 	/** Add a reference from this element to a cell that is containing this element.
@@ -59,8 +84,12 @@ class GridCellElement<P extends GISPrimitive> implements Comparable<GridCellElem
 	 *     {@code false} if the added cell is not the reference.
 	 */
 	public boolean addCellLink(GridCell<P> cell) {
+		final var first = this.cells.isEmpty();
 		if (this.cells.add(cell)) {
-			return isReferenceCell(cell);
+			if (first) {
+				setReferenceCell(cell);
+				return true;
+			}
 		}
 		return false;
 	}
@@ -75,10 +104,23 @@ class GridCellElement<P extends GISPrimitive> implements Comparable<GridCellElem
 		final var idx = this.cells.indexOf(cell);
 		if (idx >= 0) {
 			this.cells.remove(idx);
+			if (idx == 0) {
+				setReferenceCell(this.cells.isEmpty() ? null : this.cells.get(0));
+			}
 		}
 		return idx == 0;
 	}
 
+	private void setReferenceCell(GridCell<P> cell) {
+		if (cell == null) {
+			this.referenceRow = -1;
+			this.referenceColumn = -1;
+		} else {
+			this.referenceRow = cell.row();
+			this.referenceColumn = cell.column();
+		}
+	}
+
 	/** Replies the cell on which the given element is located.
 	 * The cell links were removed from the element.
 	 *
@@ -87,6 +129,7 @@ class GridCellElement<P extends GISPrimitive> implements Comparable<GridCellElem
 	public List<GridCell<P>> consumeCells() {
 		final var list = new ArrayList<>(this.cells);
 		this.cells.clear();
+		setReferenceCell(null);
 		return list;
 	}
 
@@ -100,7 +143,93 @@ class GridCellElement<P extends GISPrimitive> implements Comparable<GridCellElem
 	 */
 	@Pure
 	public boolean isReferenceCell(GridCell<P> cell) {
-		return !this.cells.isEmpty() && this.cells.get(0) == cell;
+		return cell.row() == this.referenceRow && cell.column() == this.referenceColumn;
+	}
+
+	/** Replies if the specified cell is the first cell of the element inside a window of cells.
+	 * The first cell is the cell at the maximum of the row and column indexes of the reference
+	 * cell and of the window. When each cell of the window is visited, the element is replied
+	 * only once, without keeping the list of the already replied elements.
+	 *
+	 * @param cell is the cell to test
+	 * @param minRow the index of the first row of the window.
+	 * @param minColumn the index of the first column of the window.
+	 * @return {@code true} if the specified cell is the first cell in the window;
+	 *     {@code false} otherwise.
+	 * @since 18.0
+	 */
+	@Pure
+	public boolean isFirstCellIn(GridCell<P> cell, int minRow, int minColumn) {
+		return cell.row() == Math.max(this.referenceRow, minRow)
+				&& cell.column() == Math.max(this.referenceColumn, minColumn);
+	}
+
+	/** Replies if the bounds of the element are intersecting the given bounds.
+	 * An empty rectangle is intersecting the bounds of the element if they are equal.
+	 *
+	 * @param bounds the bounds.
+	 * @return {@code true} if the element is intersecting the bounds.
+	 * @since 18.0
+	 */
+	@Pure
+	public boolean intersects(Rectangle2afp<?, ?, ?, ?, ?, ?> bounds) {
+		if (bounds.isEmpty() && bounds.getMinX() == this.minx && bounds.getMinY() == this.miny
+				&& bounds.getMaxX() == this.maxx && bounds.getMaxY() == this.maxy) {
+			return true;
+		}
+		return Rectangle2afp.intersectsRectangleRectangle(
+				this.minx, this.miny, this.maxx, this.maxy,
+				bounds.getMinX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY());
+	}
+
+	/** Replies the minimal x coordinate of the element when it was added into the grid.
+	 *
+	 * @return the minimal x coordinate.
+	 * @since 18.0
+	 */
+	@Pure
+	public double getMinX() {
+		return this.minx;
+	}
+
+	/** Replies the minimal y coordinate of the element when it was added into the grid.
+	 *
+	 * @return the minimal y coordinate.
+	 * @since 18.0
+	 */
+	@Pure
+	public double getMinY() {
+		return this.miny;
+	}
+
+	/** Replies the maximal x coordinate of the element when it was added into the grid.
+	 *
+	 * @return the maximal x coordinate.
+	 * @since 18.0
+	 */
+	@Pure
+	public double getMaxX() {
+		return this.maxx;
+	}
+
+	/** Replies the maximal y coordinate of the element when it was added into the grid.
+	 *
+	 * @return the maximal y coordinate.
+	 * @since 18.0
+	 */
+	@Pure
+	public double getMaxY() {
+		return this.maxy;
+	}
+
+	/** Replies the identifier of the element when it was added into the grid.
+	 *
+	 * @return the identifier.
+	 * @since 18.0
+	 */
+	@Pure
+	public GeoId getGeoId() {
+		return this.id;
 	}
 
 	@Override
@@ -133,8 +262,7 @@ class GridCellElement<P extends GISPrimitive> implements Comparable<GridCellElem
 		if (obj == null) {
 			return Integer.MAX_VALUE;
 		}
-		final var p2 = obj.get();
-		return this.element.getGeoId().compareTo(p2.getGeoId());
+		return this.id.compareTo(obj.id);
 	}
 
 	@Override
@@ -20,8 +20,12 @@
 
 package org.arakhne.afc.gis.location;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
-import java.util.Objects;
+import java.util.HexFormat;
 import java.util.UUID;
 
 import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
@@ -53,6 +57,13 @@ import org.eclipse.xtext.xbase.lib.Pure;
  * assert( ! obj2.getUid().equals(obj1.getUid()) );
  * </code></pre>
  *
+ * <p>The identifier is stored in a binary form: the 128 bits of the internal identifier,
+ * which is a MD5 digest, and the bounds quantized to the meter and packed in two longs.
+ * The comparisons and the hash codes are therefore computed without any string
+ * manipulation. The string form, replied by {@link #toString()}, is built on demand;
+ * it is the serialized form of the identifier. An identifier that has not the standard
+ * form is stored as a string.
+ *
  * @author $Author: sgalland$
  * @version $FullVersion$
  * @mavengroupid $GroupId$
@@ -63,13 +74,52 @@ public final class GeoId implements Serializable, Comparable<GeoId> {
 
 	private static final long serialVersionUID = 5402736192573807251L;
 
-	private final String id;
+	/** The serialized form is the string form of the identifier, as in the previous versions.
+	 */
+	private static final ObjectStreamField[] serialPersistentFields = {
+		new ObjectStreamField("id", String.class), //$NON-NLS-1$
+	};
+
+	private static final int DIGEST_LENGTH = 32;
+
+	private static final int LONG_HEX_LENGTH = 16;
+
+	private static final int INT_BITS = 32;
+
+	private static final long INT_MASK = 0xFFFFFFFFL;
+
+	private static final HexFormat HEX = HexFormat.of();
+
+	/** String form of an identifier that has not the standard form, or {@code null}
+	 * if the identifier is stored in binary form.
+	 */
+	private transient String text;
+
+	/** Most significant bits of the internal identifier.
+	 */
+	private transient long idHigh;
+
+	/** Least significant bits of the internal identifier.
+	 */
+	private transient long idLow;
+
+	/** Quantized lower corner of the bounds: the x coordinate is in the most significant bits.
+	 */
+	private transient long lower;
+
+	/** Quantized upper corner of the bounds: the x coordinate is in the most significant bits.
+	 */
+	private transient long upper;
+
+	/** Indicates if the bounds are stored.
+	 */
+	private transient boolean bounded;
 
 	/** Constructor.
 	 * @param id is a unique identifier.
 	 */
 	GeoId(String id) {
-		this.id = id;
+		init(id);
 	}
 
 	/** Constructor.
@@ -80,16 +130,108 @@ public final class GeoId implements Serializable, Comparable<GeoId> {
 	 * @param id is a unique identifier.
 	 */
 	GeoId(double lowerx, double lowery, double upperx, double uppery, String id) {
-		final var geoid = new StringBuilder(id);
-		geoid.append('#');
-		geoid.append((long) Math.floor(lowerx));
-		geoid.append(';');
-		geoid.append((long) Math.floor(lowery));
-		geoid.append(';');
-		geoid.append((long) Math.ceil(upperx));
-		geoid.append(';');
-		geoid.append((long) Math.ceil(uppery));
-		this.id = geoid.toString();
+		final var minx = (long) Math.floor(lowerx);
+		final var miny = (long) Math.floor(lowery);
+		final var maxx = (long) Math.ceil(upperx);
+		final var maxy = (long) Math.ceil(uppery);
+		if (isInt(minx) && isInt(miny) && isInt(maxx) && isInt(maxy) && setDigest(id)) {
+			this.lower = pack(minx, miny);
+			this.upper = pack(maxx, maxy);
+			this.bounded = true;
+		} else {
+			final var geoid = new StringBuilder(id);
+			geoid.append('#');
+			geoid.append(minx);
+			geoid.append(';');
+			geoid.append(miny);
+			geoid.append(';');
+			geoid.append(maxx);
+			geoid.append(';');
+			geoid.append(maxy);
+			this.text = geoid.toString();
+		}
+	}
+
+	private static boolean isInt(long value) {
+		return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE;
+	}
+
+	private static long pack(long x, long y) {
+		return (x << INT_BITS) | (y & INT_MASK);
+	}
+
+	/** Initialize this identifier from its string form.
+	 *
+	 * @param id the string form.
+	 */
+	@SuppressWarnings("checkstyle:magicnumber")
+	private void init(String id) {
+		final var sharp = id.indexOf('#');
+		if (sharp < 0) {
+			if (setDigest(id)) {
+				return;
+			}
+		} else if (sharp == DIGEST_LENGTH && setDigest(id.substring(0, sharp))) {
+			final var bounds = new long[4];
+			var startIndex = sharp + 1;
+			var valid = true;
+			for (var i = 0; valid && i < bounds.length; ++i) {
+				var endIndex = i < bounds.length - 1 ? id.indexOf(';', startIndex) : id.length();
+				if (endIndex <= startIndex) {
+					valid = false;
+				} else {
+					final var component = id.substring(startIndex, endIndex);
+					try {
+						bounds[i] = Integer.parseInt(component);
+						// Only the canonical decimal form could be rebuilt by toString()
+						valid = Long.toString(bounds[i]).equals(component);
+					} catch (NumberFormatException exception) {
+						valid = false;
+					}
+					startIndex = endIndex + 1;
+				}
+			}
+			if (valid) {
+				this.lower = pack(bounds[0], bounds[1]);
+				this.upper = pack(bounds[2], bounds[3]);
+				this.bounded = true;
+				return;
+			}
+		}
+		this.text = id;
+		this.idHigh = 0;
+		this.idLow = 0;
+	}
+
+	/** Set the binary form of the internal identifier if it is a MD5 digest in lower-case hexadecimal.
+	 *
+	 * @param id the internal identifier.
+	 * @return {@code true} if the identifier was set.
+	 */
+	private boolean setDigest(String id) {
+		if (id.length() != DIGEST_LENGTH) {
+			return false;
+		}
+		for (var i = 0; i < DIGEST_LENGTH; ++i) {
+			final var c = id.charAt(i);
+			if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+				return false;
+			}
+		}
+		this.idHigh = HexFormat.fromHexDigitsToLong(id, 0, LONG_HEX_LENGTH);
+		this.idLow = HexFormat.fromHexDigitsToLong(id, LONG_HEX_LENGTH, DIGEST_LENGTH);
+		return true;
+	}
+
+	private void writeObject(ObjectOutputStream stream) throws IOException {
+		final var fields = stream.putFields();
+		fields.put("id", toString()); //$NON-NLS-1$
+		stream.writeFields();
+	}
+
+	private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+		final var fields = stream.readFields();
+		init((String) fields.get("id", null)); //$NON-NLS-1$
 	}
 
 	/** Parse the given string to extract a GeoId.
@@ -105,10 +247,29 @@ public final class GeoId implements Serializable, Comparable<GeoId> {
 		return new GeoId(geoId);
 	}
 
+	/** Replies the string form of this identifier.
+	 * It is built at each call; prefer the comparison functions of this class
+	 * to the comparison of the string forms.
+	 */
 	@Override
 	@Pure
 	public String toString() {
-		return this.id;
+		if (this.text != null) {
+			return this.text;
+		}
+		final var geoid = new StringBuilder(HEX.toHexDigits(this.idHigh));
+		geoid.append(HEX.toHexDigits(this.idLow));
+		if (this.bounded) {
+			geoid.append('#');
+			geoid.append((int) (this.lower >> INT_BITS));
+			geoid.append(';');
+			geoid.append((int) this.lower);
+			geoid.append(';');
+			geoid.append((int) (this.upper >> INT_BITS));
+			geoid.append(';');
+			geoid.append((int) this.upper);
+		}
+		return geoid.toString();
 	}
 
 	/**
@@ -118,16 +279,53 @@ public final class GeoId implements Serializable, Comparable<GeoId> {
 	 */
 	@Pure
 	public UUID toUUID() {
-		return UUID.nameUUIDFromBytes(this.id.getBytes());
+		return UUID.nameUUIDFromBytes(toString().getBytes());
 	}
 
+	/** {@inheritDoc}
+	 *
+	 * <p>The identifiers that have not the standard form are before the other identifiers,
+	 * and they are sorted according to their string forms. The other identifiers are sorted
+	 * by internal identifier, then the identifiers without bounds are before the ones with bounds,
+	 * and the bounds are sorted by lower corner then by upper corner.
+	 */
 	@Pure
 	@Override
 	public int compareTo(GeoId obj) {
 		if (obj == null) {
 			return 1;
 		}
-		return this.id.compareTo(obj.id);
+		if (this.text != null) {
+			return obj.text == null ? -1 : this.text.compareTo(obj.text);
+		}
+		if (obj.text != null) {
+			return 1;
+		}
+		var cmp = Long.compareUnsigned(this.idHigh, obj.idHigh);
+		if (cmp != 0) {
+			return cmp;
+		}
+		cmp = Long.compareUnsigned(this.idLow, obj.idLow);
+		if (cmp != 0) {
+			return cmp;
+		}
+		cmp = Boolean.compare(this.bounded, obj.bounded);
+		if (cmp != 0) {
+			return cmp;
+		}
+		cmp = Long.compare(this.lower, obj.lower);
+		if (cmp != 0) {
+			return cmp;
+		}
+		return Long.compare(this.upper, obj.upper);
+	}
+
+	private boolean isSame(GeoId id) {
+		if (this.text != null) {
+			return this.text.equals(id.text);
+		}
+		return id.text == null && this.idHigh == id.idHigh && this.idLow == id.idLow
+				&& this.bounded == id.bounded && this.lower == id.lower && this.upper == id.upper;
 	}
 
 	@Pure
@@ -136,22 +334,33 @@ public final class GeoId implements Serializable, Comparable<GeoId> {
 		if (obj == null) {
 			return false;
 		}
+		if (obj == this) {
+			return true;
+		}
 		if (obj instanceof GeoId id) {
-			return this.id.equals(id.id);
+			return isSame(id);
 		}
 		if (obj instanceof UUID) {
 			return toUUID().equals(obj);
 		}
 		if (obj instanceof GeoLocation loc) {
-			return this.id.equals(loc.toGeoId().id);
+			return isSame(loc.toGeoId());
 		}
-		return this.id.equals(obj.toString());
+		return toString().equals(obj.toString());
 	}
 
 	@Pure
 	@Override
+	@SuppressWarnings("checkstyle:magicnumber")
 	public int hashCode() {
-		return Objects.hashCode(this.id);
+		if (this.text != null) {
+			return this.text.hashCode();
+		}
+		var hash = this.idHigh;
+		hash = hash * 31 + this.idLow;
+		hash = hash * 31 + this.lower;
+		hash = hash * 31 + this.upper;
+		return Long.hashCode(hash);
 	}
 
 	/** Extract the primitive bounds from this geoId.
@@ -163,34 +372,45 @@ public final class GeoId implements Serializable, Comparable<GeoId> {
 	 */
 	@Pure
 	public Rectangle2d toBounds2D() {
-		var startIndex = this.id.indexOf('#');
+		if (this.text == null) {
+			if (!this.bounded) {
+				return null;
+			}
+			final var r = new Rectangle2d();
+			r.setFromCorners(
+					(int) (this.lower >> INT_BITS), (int) this.lower,
+					(int) (this.upper >> INT_BITS), (int) this.upper);
+			return r;
+		}
+
+		var startIndex = this.text.indexOf('#');
 		if (startIndex <= 0) {
 			return null;
 		}
 
 		try {
-			var endIndex = this.id.indexOf(';', startIndex);
+			var endIndex = this.text.indexOf(';', startIndex);
 			if (endIndex <= startIndex) {
 				return null;
 			}
-			final var minx = Long.parseLong(this.id.substring(startIndex + 1, endIndex));
+			final var minx = Long.parseLong(this.text.substring(startIndex + 1, endIndex));
 
 			startIndex = endIndex + 1;
-			endIndex = this.id.indexOf(';', startIndex);
+			endIndex = this.text.indexOf(';', startIndex);
 			if (endIndex <= startIndex) {
 				return null;
 			}
-			final var miny = Long.parseLong(this.id.substring(startIndex, endIndex));
+			final var miny = Long.parseLong(this.text.substring(startIndex, endIndex));
 
 			startIndex = endIndex + 1;
-			endIndex = this.id.indexOf(';', startIndex);
+			endIndex = this.text.indexOf(';', startIndex);
 			if (endIndex <= startIndex) {
 				return null;
 			}
-			final var maxx = Long.parseLong(this.id.substring(startIndex, endIndex));
+			final var maxx = Long.parseLong(this.text.substring(startIndex, endIndex));
 
 			startIndex = endIndex + 1;
-			final var maxy = Long.parseLong(this.id.substring(startIndex));
+			final var maxy = Long.parseLong(this.text.substring(startIndex));
 
 			final var r = new Rectangle2d();
 			r.setFromCorners(minx, miny, maxx, maxy);
@@ -209,11 +429,14 @@ public final class GeoId implements Serializable, Comparable<GeoId> {
 	 */
 	@Pure
 	public String getInternalId() {
-		final var endIndex = this.id.indexOf('#');
+		if (this.text == null) {
+			return this.bounded ? HEX.toHexDigits(this.idHigh) + HEX.toHexDigits(this.idLow) : null;
+		}
+		final var endIndex = this.text.indexOf('#');
 		if (endIndex <= 0) {
 			return null;
 		}
-		return this.id.substring(0, endIndex);
+		return this.text.substring(0, endIndex);
 	}
 
 }
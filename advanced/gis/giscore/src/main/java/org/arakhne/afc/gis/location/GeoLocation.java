@@ -23,6 +23,7 @@ package org.arakhne.afc.gis.location;
 import java.util.UUID;
 
 import org.arakhne.afc.gis.coordinate.GeodesicPosition;
+import org.arakhne.afc.math.geometry.d2.afp.Rectangle2afp;
 import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
 import org.eclipse.xtext.xbase.lib.Pure;
 
@@ -75,6 +76,76 @@ public interface GeoLocation extends Comparable<GeoLocation> {
 	@Pure
 	Rectangle2d toBounds2D();
 
+	/** Replies the minimal x coordinate of the area covered by this location.
+	 *
+	 * <p>The implementations should reply the value without creating
+	 * a new rectangle, contrary to {@link #toBounds2D()}.
+	 *
+	 * @return the minimal x coordinate.
+	 * @since 18.0
+	 */
+	@Pure
+	default double getBoundsMinX() {
+		return toBounds2D().getMinX();
+	}
+
+	/** Replies the minimal y coordinate of the area covered by this location.
+	 *
+	 * <p>The implementations should reply the value without creating
+	 * a new rectangle, contrary to {@link #toBounds2D()}.
+	 *
+	 * @return the minimal y coordinate.
+	 * @since 18.0
+	 */
+	@Pure
+	default double getBoundsMinY() {
+		return toBounds2D().getMinY();
+	}
+
+	/** Replies the maximal x coordinate of the area covered by this location.
+	 *
+	 * <p>The implementations should reply the value without creating
+	 * a new rectangle, contrary to {@link #toBounds2D()}.
+	 *
+	 * @return the maximal x coordinate.
+	 * @since 18.0
+	 */
+	@Pure
+	default double getBoundsMaxX() {
+		return toBounds2D().getMaxX();
+	}
+
+	/** Replies the maximal y coordinate of the area covered by this location.
+	 *
+	 * <p>The implementations should reply the value without creating
+	 * a new rectangle, contrary to {@link #toBounds2D()}.
+	 *
+	 * @return the maximal y coordinate.
+	 * @since 18.0
+	 */
+	@Pure
+	default double getBoundsMaxY() {
+		return toBounds2D().getMaxY();
+	}
+
+	/** Replies if the area covered by this location intersects the given rectangle.
+	 *
+	 * <p>This function is equivalent to {@code rectangle.intersects(toBounds2D())}
+	 * without creating a new rectangle.
+	 *
+	 * @param rectangle the rectangle.
+	 * @return {@code true} if the area of this location intersects the rectangle.
+	 * @since 18.0
+	 */
+	@Pure
+	default boolean intersects(Rectangle2afp<?, ?, ?, ?, ?, ?> rectangle) {
+		return Rectangle2afp.intersectsRectangleRectangle(
+				rectangle.getMinX(), rectangle.getMinY(),
+				rectangle.getMaxX(), rectangle.getMaxY(),
+				getBoundsMinX(), getBoundsMinY(),
+				getBoundsMaxX(), getBoundsMaxY());
+	}
+
 	/** Replies the WGS84 (GPS) representation of this point.
 	 *
 	 * <p>If this GeoLocation is not a point, the implementation
@@ -46,6 +46,8 @@ public final class GeoLocationArea extends AbstractGeoLocation {
 
 	private final float y2;
 
+	private transient GeoId geoId;
+
 	/** Constructor.
 	 * @param x1 x coordinate of the first area corner.
 	 * @param y1 y coordinate of the first area corner.
@@ -74,9 +76,12 @@ public final class GeoLocationArea extends AbstractGeoLocation {
 	@Pure
 	@Override
 	public GeoId toGeoId() {
-		return new GeoId(
-				this.x1, this.y1, this.x2, this.y2,
-				GeoLocationUtil.makeInternalId(this.x1, this.y1, this.x2, this.y2));
+		if (this.geoId == null) {
+			this.geoId = new GeoId(
+					this.x1, this.y1, this.x2, this.y2,
+					GeoLocationUtil.makeInternalId(this.x1, this.y1, this.x2, this.y2));
+		}
+		return this.geoId;
 	}
 
 	@Pure
@@ -166,6 +171,30 @@ public final class GeoLocationArea extends AbstractGeoLocation {
 		return r;
 	}
 
+	@Pure
+	@Override
+	public double getBoundsMinX() {
+		return this.x1;
+	}
+
+	@Pure
+	@Override
+	public double getBoundsMinY() {
+		return this.y1;
+	}
+
+	@Pure
+	@Override
+	public double getBoundsMaxX() {
+		return this.x2;
+	}
+
+	@Pure
+	@Override
+	public double getBoundsMaxY() {
+		return this.y2;
+	}
+
 	@Pure
 	@Override
 	public GeodesicPosition toGeodesicPosition() {
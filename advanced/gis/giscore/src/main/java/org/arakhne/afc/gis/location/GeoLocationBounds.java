@@ -0,0 +1,122 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.location;
+
+import org.arakhne.afc.gis.coordinate.GISCoordinates;
+import org.arakhne.afc.gis.coordinate.GeodesicPosition;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.eclipse.xtext.xbase.lib.Pure;
+
+/** Describes a geo-localized feature by the bounds and the identifier of another geo-location.
+ *
+ * <p>This geo-location is equal to the geo-location from which it is built, and has the same
+ * hash code, but it does not keep the coordinates of the original geo-location. It is used
+ * for caching the geo-location of the elements without duplicating their coordinates.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+public final class GeoLocationBounds extends AbstractGeoLocation {
+
+	private final double minx;
+
+	private final double miny;
+
+	private final double maxx;
+
+	private final double maxy;
+
+	private final GeoId geoId;
+
+	private final int hash;
+
+	/** Constructor.
+	 *
+	 * @param location is the geo-location to summarize.
+	 */
+	public GeoLocationBounds(GeoLocation location) {
+		assert location != null;
+		final var bounds = location.toBounds2D();
+		this.minx = bounds.getMinX();
+		this.miny = bounds.getMinY();
+		this.maxx = bounds.getMaxX();
+		this.maxy = bounds.getMaxY();
+		this.geoId = location.toGeoId();
+		this.hash = location.hashCode();
+	}
+
+	@Pure
+	@Override
+	public GeoId toGeoId() {
+		return this.geoId;
+	}
+
+	@Pure
+	@Override
+	@SuppressWarnings("checkstyle:equalshashcode")
+	public int hashCode() {
+		return this.hash;
+	}
+
+	@Pure
+	@Override
+	public Rectangle2d toBounds2D() {
+		final var r = new Rectangle2d();
+		r.setFromCorners(this.minx, this.miny, this.maxx, this.maxy);
+		return r;
+	}
+
+	@Pure
+	@Override
+	public double getBoundsMinX() {
+		return this.minx;
+	}
+
+	@Pure
+	@Override
+	public double getBoundsMinY() {
+		return this.miny;
+	}
+
+	@Pure
+	@Override
+	public double getBoundsMaxX() {
+		return this.maxx;
+	}
+
+	@Pure
+	@Override
+	public double getBoundsMaxY() {
+		return this.maxy;
+	}
+
+	@Pure
+	@Override
+	public GeodesicPosition toGeodesicPosition() {
+		return GISCoordinates.EL2_WGS84(
+				(this.minx + this.maxx) / 2.,
+				(this.miny + this.maxy) / 2.);
+	}
+
+}
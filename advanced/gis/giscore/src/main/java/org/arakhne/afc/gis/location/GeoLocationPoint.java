@@ -42,6 +42,8 @@ public final class GeoLocationPoint extends AbstractGeoLocation {
 
 	private final float y;
 
+	private transient GeoId geoId;
+
 	/** Constructor.
 	 * @param x x coordinate.
 	 * @param y y coordinate.
@@ -54,9 +56,12 @@ public final class GeoLocationPoint extends AbstractGeoLocation {
 	@Override
 	@Pure
 	public GeoId toGeoId() {
-		return new GeoId(
-				this.x, this.y, this.x, this.y,
-				GeoLocationUtil.makeInternalId(this.x, this.y));
+		if (this.geoId == null) {
+			this.geoId = new GeoId(
+					this.x, this.y, this.x, this.y,
+					GeoLocationUtil.makeInternalId(this.x, this.y));
+		}
+		return this.geoId;
 	}
 
 	@Override
@@ -103,6 +108,30 @@ public final class GeoLocationPoint extends AbstractGeoLocation {
 				GeoLocationUtil.GIS_POINT_SIZE);
 	}
 
+	@Pure
+	@Override
+	public double getBoundsMinX() {
+		return this.x - GeoLocationUtil.GIS_POINT_DEMI_SIZE;
+	}
+
+	@Pure
+	@Override
+	public double getBoundsMinY() {
+		return this.y - GeoLocationUtil.GIS_POINT_DEMI_SIZE;
+	}
+
+	@Pure
+	@Override
+	public double getBoundsMaxX() {
+		return this.x - GeoLocationUtil.GIS_POINT_DEMI_SIZE + GeoLocationUtil.GIS_POINT_SIZE;
+	}
+
+	@Pure
+	@Override
+	public double getBoundsMaxY() {
+		return this.y - GeoLocationUtil.GIS_POINT_DEMI_SIZE + GeoLocationUtil.GIS_POINT_SIZE;
+	}
+
 	@Pure
 	@Override
 	public GeodesicPosition toGeodesicPosition() {
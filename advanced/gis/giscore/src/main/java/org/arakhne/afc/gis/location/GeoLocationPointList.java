@@ -43,6 +43,8 @@ public final class GeoLocationPointList extends AbstractGeoLocation {
 
 	private transient Rectangle2d bounds;
 
+	private transient GeoId geoId;
+
 	/** Constructor.
 	 *
 	 * @param points the points.
@@ -71,16 +73,20 @@ public final class GeoLocationPointList extends AbstractGeoLocation {
 	@Override
 	@Pure
 	public GeoId toGeoId() {
-		final var bounds = new Rectangle2d();
-		final var id = GeoLocationUtil.makeInternalId(this.pts, bounds);
-
-		if (!bounds.isEmpty()) {
-			return new GeoId(
-					bounds.getMinX(), bounds.getMinY(),
-					bounds.getMaxX(), bounds.getMaxY(),
-					id);
+		if (this.geoId == null) {
+			final var bounds = new Rectangle2d();
+			final var id = GeoLocationUtil.makeInternalId(this.pts, bounds);
+
+			if (!bounds.isEmpty()) {
+				this.geoId = new GeoId(
+						bounds.getMinX(), bounds.getMinY(),
+						bounds.getMaxX(), bounds.getMaxY(),
+						id);
+			} else {
+				this.geoId = new GeoId(id);
+			}
 		}
-		return new GeoId(id);
+		return this.geoId;
 	}
 
 	@Override
@@ -20,6 +20,7 @@
 
 package org.arakhne.afc.gis.mapelement;
 
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
@@ -27,7 +28,10 @@ import java.util.Objects;
 import java.util.UUID;
 
 import org.arakhne.afc.attrs.collection.AttributeCollection;
+import org.arakhne.afc.gis.coordinate.GISCoordinates;
+import org.arakhne.afc.gis.coordinate.MapMetricProjection;
 import org.arakhne.afc.gis.location.GeoLocation;
+import org.arakhne.afc.gis.location.GeoLocationBounds;
 import org.arakhne.afc.gis.location.GeoLocationPointList;
 import org.arakhne.afc.math.geometry.base.d2.Point2D;
 import org.arakhne.afc.math.geometry.d2.d.Point2d;
@@ -53,15 +57,39 @@ public abstract class MapComposedElement extends MapElement {
 	/**
 	 * List of all the points.
 	 * The x-coordinates are at the odd indexes, the y-coordinates
-	 * are at the even ones.
+	 * are at the even ones. The array may be longer than the number of
+	 * coordinates, in order to add points without reallocating the array
+	 * each time.
 	 */
 	private double[] pointCoordinates;
 
+	/** Number of coordinates that are used in {@link #pointCoordinates}
+	 * or in {@link #compactCoordinates}.
+	 */
+	private int coordinateCount;
+
+	/** List of all the points in the compact mode, which is replacing {@link #pointCoordinates}.
+	 * The coordinates are single-precision offsets from {@link #originX} and {@link #originY}.
+	 */
+	private float[] compactCoordinates;
+
+	/** Origin of the x-coordinates in {@link #compactCoordinates}.
+	 */
+	private double originX;
+
+	/** Origin of the y-coordinates in {@link #compactCoordinates}.
+	 */
+	private double originY;
+
 	/** List of part's starting points. Except for the first part
 	 * for with the starting index is always 0.
 	 */
 	private int[] partIndexes;
 
+	/** Multi-resolution representation of the points, built on demand.
+	 */
+	private transient SimplificationPyramid simplificationPyramid;
+
 	/** Create a new map element.
 	 *
 	 * @param id is the unique identifier of this element, or {@code null} if unknown.
@@ -103,8 +131,12 @@ public abstract class MapComposedElement extends MapElement {
 		if (this.pointCoordinates == null) {
 			element.pointCoordinates = null;
 		} else {
-			element.pointCoordinates = this.pointCoordinates.clone();
+			element.pointCoordinates = Arrays.copyOf(this.pointCoordinates, this.coordinateCount);
+		}
+		if (this.compactCoordinates != null) {
+			element.compactCoordinates = this.compactCoordinates.clone();
 		}
+		element.simplificationPyramid = null;
 		return element;
 	}
 
@@ -156,7 +188,7 @@ public abstract class MapComposedElement extends MapElement {
 	@SuppressWarnings({"checkstyle:equalshashcode"})
 	@Pure
 	public int hashCode() {
-		return Objects.hash(this.partIndexes, this.pointCoordinates);
+		return Objects.hash(this.partIndexes, this.pointCoordinates, this.compactCoordinates);
 	}
 
 	/**
@@ -225,16 +257,28 @@ public abstract class MapComposedElement extends MapElement {
 		return r;
 	}
 
+	/** {@inheritDoc}
+	 *
+	 * <p>The replied geo-location is equal to the {@link GeoLocationPointList} of the points,
+	 * but it keeps only its bounds and its GeoId, in order to avoid a copy of the coordinates
+	 * in the cache of the geo-location.
+	 */
 	@Override
 	@Pure
-	public GeoLocation getGeoLocation() {
-		return new GeoLocationPointList(this.pointCoordinates);
+	protected GeoLocation calcGeoLocation() {
+		var coordinates = getPointCoordinates();
+		if (coordinates != null && this.coordinateCount < coordinates.length) {
+			coordinates = Arrays.copyOf(coordinates, this.coordinateCount);
+		}
+		return new GeoLocationBounds(new GeoLocationPointList(coordinates));
 	}
 
 	/** Remove all the points.
 	 */
 	public void clear() {
 		this.pointCoordinates = null;
+		this.compactCoordinates = null;
+		this.coordinateCount = 0;
 		this.partIndexes = null;
 		resetBoundingBox();
 		fireShapeChanged();
@@ -247,7 +291,7 @@ public abstract class MapComposedElement extends MapElement {
 	 */
 	@Pure
 	public int getGroupCount() {
-		if (this.pointCoordinates == null) {
+		if (!hasCoordinates()) {
 			return 0;
 		}
 		return this.partIndexes == null ? 1 : this.partIndexes.length + 1;
@@ -259,7 +303,7 @@ public abstract class MapComposedElement extends MapElement {
 	 */
 	@Pure
 	public int getPointCount() {
-		return this.pointCoordinates == null ? 0 : this.pointCoordinates.length / 2;
+		return hasCoordinates() ? this.coordinateCount / 2 : 0;
 	}
 
 
@@ -315,11 +359,11 @@ public abstract class MapComposedElement extends MapElement {
 	 *
 	 * @param groupIndex is the index of the desired group
 	 * @return the index of the point in the list of points.
-	 *     This value is between {@code 0} and {@code this.pointCoordinates.length()-2}
+	 *     This value is between {@code 0} and {@code this.coordinateCount-2}
 	 * @throws IndexOutOfBoundsException in case of error.
 	 */
 	private int firstInGroup(int groupIndex) {
-		if (this.pointCoordinates == null) {
+		if (!hasCoordinates()) {
 			throw new IndexOutOfBoundsException();
 		}
 		final var count = getGroupCount();
@@ -340,11 +384,11 @@ public abstract class MapComposedElement extends MapElement {
 	 *
 	 * @param groupIndex is the index of the desired group
 	 * @return the index of the point in the list of points.
-	 *     This value is between {@code 0} and {@code this.pointCoordinates.length()-2}
+	 *     This value is between {@code 0} and {@code this.coordinateCount-2}
 	 * @throws IndexOutOfBoundsException in case of error.
 	 */
 	private int lastInGroup(int groupIndex) {
-		if (this.pointCoordinates == null) {
+		if (!hasCoordinates()) {
 			throw new IndexOutOfBoundsException();
 		}
 		final var count = getGroupCount();
@@ -357,7 +401,7 @@ public abstract class MapComposedElement extends MapElement {
 		if (this.partIndexes != null && groupIndex < this.partIndexes.length) {
 			return this.partIndexes[groupIndex] - 2;
 		}
-		return this.pointCoordinates.length - 2;
+		return this.coordinateCount - 2;
 	}
 
 	/** Replies the group index inside which the point is located at the specified index.
@@ -368,7 +412,7 @@ public abstract class MapComposedElement extends MapElement {
 	 * @throws IndexOutOfBoundsException in case of error.
 	 */
 	private int groupIndexForPoint(int pointIndex) {
-		if (this.pointCoordinates == null || pointIndex < 0 || pointIndex >= this.pointCoordinates.length) {
+		if (!hasCoordinates() || pointIndex < 0 || pointIndex >= this.coordinateCount) {
 			throw new IndexOutOfBoundsException();
 		}
 
@@ -393,7 +437,7 @@ public abstract class MapComposedElement extends MapElement {
 	 */
 	@Pure
 	public int getPointCountInGroup(int groupIndex) {
-		if (groupIndex == 0 && this.pointCoordinates == null) {
+		if (groupIndex == 0 && !hasCoordinates()) {
 			return 0;
 		}
 		final var firstInGroup = firstInGroup(groupIndex);
@@ -543,23 +587,15 @@ public abstract class MapComposedElement extends MapElement {
 	 * @return the index of the new point in the element.
 	 */
 	public int addPoint(double x, double y) {
-		int pointIndex;
-
+		expand();
 		if (this.pointCoordinates == null) {
-			this.pointCoordinates = new double[] {x, y};
 			this.partIndexes = null;
-			pointIndex = 0;
-		} else {
-			var pts = new double[this.pointCoordinates.length + 2];
-			System.arraycopy(this.pointCoordinates, 0, pts, 0, this.pointCoordinates.length);
-			pointIndex = pts.length - 2;
-			pts[pointIndex] = x;
-			pts[pointIndex + 1] = y;
-			this.pointCoordinates = pts;
-			pts = null;
-
-			pointIndex /= 2;
 		}
+		final var coordinateIndex = this.coordinateCount;
+		openGap(coordinateIndex, 2);
+		this.pointCoordinates[coordinateIndex] = x;
+		this.pointCoordinates[coordinateIndex + 1] = y;
+		final var pointIndex = coordinateIndex / 2;
 
 		fireShapeChanged();
 		fireElementChanged();
@@ -587,6 +623,7 @@ public abstract class MapComposedElement extends MapElement {
 	 * @throws IndexOutOfBoundsException in case of error.
 	 */
 	public int addPoint(double x, double y, int groupIndex) {
+		expand();
 		final var groupCount = getGroupCount();
 
 		if (groupIndex < 0) {
@@ -599,21 +636,19 @@ public abstract class MapComposedElement extends MapElement {
 		int pointIndex;
 
 		if (this.pointCoordinates == null) {
-			this.pointCoordinates = new double[] {x, y};
+			openGap(0, 2);
+			this.pointCoordinates[0] = x;
+			this.pointCoordinates[1] = y;
 			this.partIndexes = null;
 			pointIndex = 0;
 		} else {
 			pointIndex = lastInGroup(groupIndex);
-			var pts = new double[this.pointCoordinates.length + 2];
 
 			pointIndex += 2;
 
-			System.arraycopy(this.pointCoordinates, 0, pts, 0, pointIndex);
-			System.arraycopy(this.pointCoordinates, pointIndex, pts, pointIndex + 2, this.pointCoordinates.length - pointIndex);
-			pts[pointIndex] = x;
-			pts[pointIndex + 1] = y;
-			this.pointCoordinates = pts;
-			pts = null;
+			openGap(pointIndex, 2);
+			this.pointCoordinates[pointIndex] = x;
+			this.pointCoordinates[pointIndex + 1] = y;
 
 			//Shift the following groups's indexes
 			if (this.partIndexes != null) {
@@ -646,28 +681,27 @@ public abstract class MapComposedElement extends MapElement {
 	 * @return the index of the new point in this element.
 	 */
 	public int addGroup(double x, double y) {
+		expand();
 		int pointIndex;
 		if (this.pointCoordinates == null) {
-			this.pointCoordinates = new double[] {x, y};
+			openGap(0, 2);
+			this.pointCoordinates[0] = x;
+			this.pointCoordinates[1] = y;
 			this.partIndexes = null;
 			pointIndex = 0;
 		} else {
-			var pts = new double[this.pointCoordinates.length + 2];
-			System.arraycopy(this.pointCoordinates, 0, pts, 0, this.pointCoordinates.length);
-			pointIndex = pts.length - 2;
-			pts[pointIndex] = x;
-			pts[pointIndex + 1] = y;
-
+			pointIndex = this.coordinateCount;
 			final var groupCount = getGroupCount();
+			openGap(pointIndex, 2);
+			this.pointCoordinates[pointIndex] = x;
+			this.pointCoordinates[pointIndex + 1] = y;
+
 			var grps = new int[groupCount];
 			if (this.partIndexes != null) {
 				System.arraycopy(this.partIndexes, 0, grps, 0, groupCount - 1);
 			}
 			grps[groupCount - 1] = pointIndex;
 
-			this.pointCoordinates = pts;
-			pts = null;
-
 			this.partIndexes = grps;
 			grps = null;
 
@@ -680,6 +714,340 @@ public abstract class MapComposedElement extends MapElement {
 		return pointIndex;
 	}
 
+	/** Add the specified points at the end of the last group.
+	 *
+	 * <p>The points are copied from the given array, in which the
+	 * x and y coordinates are interleaved. The storage is grown only
+	 * once and the change events are fired only once for all the points.
+	 *
+	 * @param xy the coordinates of the points: {@code [x0, y0, x1, y1, ...]}.
+	 * @param from the index of the first point to copy, in points.
+	 * @param count the number of points to copy.
+	 * @return the index of the first added point in the element, or {@code -1}
+	 *     if {@code count} is zero.
+	 * @throws IndexOutOfBoundsException if the range of points is outside the array.
+	 * @since 18.0
+	 */
+	public int addPoints(double[] xy, int from, int count) {
+		if (from < 0) {
+			throw new IndexOutOfBoundsException(from + "<0"); //$NON-NLS-1$
+		}
+		if (count < 0) {
+			throw new IndexOutOfBoundsException(count + "<0"); //$NON-NLS-1$
+		}
+		if ((from + count) * 2 > xy.length) {
+			throw new IndexOutOfBoundsException((from + count) * 2 + ">" + xy.length); //$NON-NLS-1$
+		}
+		if (count == 0) {
+			return -1;
+		}
+		expand();
+		if (this.pointCoordinates == null) {
+			this.partIndexes = null;
+		}
+		final var coordinateIndex = this.coordinateCount;
+		openGap(coordinateIndex, count * 2);
+		System.arraycopy(xy, from * 2, this.pointCoordinates, coordinateIndex, count * 2);
+
+		fireShapeChanged();
+		fireElementChanged();
+
+		return coordinateIndex / 2;
+	}
+
+	/** Add the specified points into a new group.
+	 *
+	 * <p>If this element has no point, the points are put in the first group.
+	 * The storage is grown only once and the change events are fired
+	 * only once for all the points.
+	 *
+	 * @param xy the coordinates of the points: {@code [x0, y0, x1, y1, ...]}.
+	 * @return the index of the first added point in this element.
+	 * @throws IllegalArgumentException if the array does not contain at least one point,
+	 *     or if it has an odd length.
+	 * @since 18.0
+	 */
+	public int addGroup(double[] xy) {
+		if (xy == null || xy.length < 2 || (xy.length % 2) != 0) {
+			throw new IllegalArgumentException();
+		}
+		expand();
+		final int pointIndex;
+		if (this.pointCoordinates == null) {
+			openGap(0, xy.length);
+			System.arraycopy(xy, 0, this.pointCoordinates, 0, xy.length);
+			this.partIndexes = null;
+			pointIndex = 0;
+		} else {
+			final var coordinateIndex = this.coordinateCount;
+			final var groupCount = getGroupCount();
+			openGap(coordinateIndex, xy.length);
+			System.arraycopy(xy, 0, this.pointCoordinates, coordinateIndex, xy.length);
+
+			final var grps = new int[groupCount];
+			if (this.partIndexes != null) {
+				System.arraycopy(this.partIndexes, 0, grps, 0, groupCount - 1);
+			}
+			grps[groupCount - 1] = coordinateIndex;
+			this.partIndexes = grps;
+
+			pointIndex = coordinateIndex / 2;
+		}
+
+		fireShapeChanged();
+		fireElementChanged();
+
+		return pointIndex;
+	}
+
+	/** {@inheritDoc}
+	 *
+	 * <p>The coordinates are converted in place, with a single call to
+	 * {@link GISCoordinates#convertInterleaved(MapMetricProjection, MapMetricProjection, double[], int, int,
+	 * java.util.concurrent.ForkJoinPool)}.
+	 */
+	@Override
+	public void reproject(MapMetricProjection source, MapMetricProjection target) {
+		if (source == null || target == null) {
+			throw new IllegalArgumentException();
+		}
+		expand();
+		if (source != target && this.pointCoordinates != null) {
+			GISCoordinates.convertInterleaved(source, target, this.pointCoordinates, 0, this.coordinateCount / 2, null);
+			fireShapeChanged();
+			fireElementChanged();
+		}
+	}
+
+	/** Replies the array that contains the coordinates of the points, without copying it.
+	 * The array may be longer than twice the number of points.
+	 *
+	 * <p>If this element is {@link #isCompact() compact}, the coordinates are decoded into a new array.
+	 *
+	 * @return the coordinates, or {@code null} if there is no point.
+	 */
+	@Pure
+	double[] getPointCoordinates() {
+		if (this.compactCoordinates != null) {
+			final var coordinates = new double[this.coordinateCount];
+			for (var i = 0; i < coordinates.length; ++i) {
+				coordinates[i] = getCoordinate(i);
+			}
+			return coordinates;
+		}
+		return this.pointCoordinates;
+	}
+
+	/** Replace all the points of this element by the given ones.
+	 *
+	 * <p>This function takes the ownership of the given arrays; they must not be
+	 * changed by the caller after the call. It is the back-end of
+	 * {@link MapComposedElementBuilder}.
+	 *
+	 * @param coordinates the coordinates of the points, or {@code null} for no point.
+	 *     The length of the array must be even.
+	 * @param groups the coordinate indexes at which the groups after the first one are
+	 *     starting, or {@code null} if there is only one group.
+	 */
+	void setPoints(double[] coordinates, int[] groups) {
+		assert coordinates == null || (coordinates.length % 2) == 0;
+		this.compactCoordinates = null;
+		if (coordinates == null || coordinates.length == 0) {
+			this.pointCoordinates = null;
+			this.coordinateCount = 0;
+			this.partIndexes = null;
+		} else {
+			this.pointCoordinates = coordinates;
+			this.coordinateCount = coordinates.length;
+			this.partIndexes = groups == null || groups.length == 0 ? null : groups;
+		}
+		resetBoundingBox();
+		fireShapeChanged();
+		fireElementChanged();
+	}
+
+	/** Increases the capacity of the point storage, if necessary, to ensure
+	 * that it can hold at least the given number of points without being
+	 * reallocated.
+	 *
+	 * @param pointCount the desired minimum number of points.
+	 * @since 18.0
+	 */
+	public void ensureCapacity(int pointCount) {
+		if (pointCount > 0) {
+			expand();
+			ensureCoordinateCapacity(pointCount * 2);
+		}
+	}
+
+	/** Trims the capacity of the point storage to the current number of points.
+	 *
+	 * <p>This function may be invoked when the element is fully built, in
+	 * order to release the memory that was reserved for adding points.
+	 *
+	 * @since 18.0
+	 */
+	public void trimToSize() {
+		if (this.pointCoordinates != null && this.coordinateCount < this.pointCoordinates.length) {
+			this.pointCoordinates = Arrays.copyOf(this.pointCoordinates, this.coordinateCount);
+		}
+	}
+
+	/** Replies the number of points that could be stored without reallocating the storage.
+	 *
+	 * @return the capacity in points.
+	 * @since 18.0
+	 */
+	@Pure
+	public int getCapacity() {
+		return this.pointCoordinates == null ? this.coordinateCount / 2 : this.pointCoordinates.length / 2;
+	}
+
+	/** Store the points with single-precision offsets from the lower corner of the bounds of this element.
+	 *
+	 * @since 18.0
+	 * @see #compact(double, double)
+	 */
+	public void compact() {
+		if (this.coordinateCount > 0) {
+			final var bounds = getBoundingBox();
+			compact(bounds.getMinX(), bounds.getMinY());
+		}
+	}
+
+	/** Store the points with single-precision offsets from the given origin, usually the
+	 * origin of the tile or of the layer that is containing this element.
+	 *
+	 * <p>The compact storage takes half of the memory of the double-precision storage.
+	 * The points are rounded to the nearest single-precision offsets; the precision is
+	 * about {@code 1e-7} times the distance to the origin. The points are decoded by
+	 * {@link #getPointAt(int)} and the iterators, without copying the storage.
+	 * The double-precision storage is restored when the points of this element are changed.
+	 * The geo-location of this element keeps only its bounds and its GeoId, not a copy of the points.
+	 *
+	 * @param originX the x-coordinate of the origin of the offsets.
+	 * @param originY the y-coordinate of the origin of the offsets.
+	 * @since 18.0
+	 * @see #isCompact()
+	 */
+	public void compact(double originX, double originY) {
+		if (this.coordinateCount > 0) {
+			final var coordinates = new float[this.coordinateCount];
+			for (var i = 0; i < coordinates.length; i += 2) {
+				coordinates[i] = (float) (getCoordinate(i) - originX);
+				coordinates[i + 1] = (float) (getCoordinate(i + 1) - originY);
+			}
+			this.pointCoordinates = null;
+			this.compactCoordinates = coordinates;
+			this.originX = originX;
+			this.originY = originY;
+			resetBoundingBox();
+			fireShapeChanged();
+			fireElementChanged();
+		}
+	}
+
+	/** Replies if the points are stored with single-precision offsets.
+	 *
+	 * @return {@code true} if the storage is compact.
+	 * @since 18.0
+	 * @see #compact(double, double)
+	 */
+	@Pure
+	public boolean isCompact() {
+		return this.compactCoordinates != null;
+	}
+
+	/** Ensure that the coordinate array is able to contain the given number of coordinates.
+	 * The first allocation has the exact requested size; the next allocations grow
+	 * the array by half of its size, in order to amortize the cost of the copies.
+	 *
+	 * @param minCapacity the minimal number of coordinates.
+	 */
+	private void ensureCoordinateCapacity(int minCapacity) {
+		if (this.pointCoordinates == null) {
+			this.pointCoordinates = new double[minCapacity];
+		} else if (minCapacity > this.pointCoordinates.length) {
+			final var oldCapacity = this.pointCoordinates.length;
+			var newCapacity = oldCapacity + ((oldCapacity >> 1) & ~1);
+			if (newCapacity < minCapacity) {
+				newCapacity = minCapacity;
+			}
+			this.pointCoordinates = Arrays.copyOf(this.pointCoordinates, newCapacity);
+		}
+	}
+
+	/** Replies if there is a storage for the points, in double precision or in compact mode.
+	 *
+	 * @return {@code true} if the storage exists.
+	 */
+	@Pure
+	private boolean hasCoordinates() {
+		return this.pointCoordinates != null || this.compactCoordinates != null;
+	}
+
+	/** Replies the coordinate at the given index, decoded from the compact storage if needed.
+	 *
+	 * @param index the index of the coordinate.
+	 * @return the coordinate.
+	 */
+	@Pure
+	private double getCoordinate(int index) {
+		final var coordinates = this.compactCoordinates;
+		if (coordinates != null) {
+			return ((index & 1) == 0 ? this.originX : this.originY) + coordinates[index];
+		}
+		return this.pointCoordinates[index];
+	}
+
+	/** Restore the double-precision storage from the compact storage, before
+	 * changing the points.
+	 */
+	private void expand() {
+		if (this.compactCoordinates != null) {
+			this.pointCoordinates = getPointCoordinates();
+			this.compactCoordinates = null;
+		}
+	}
+
+	/** Open a gap of the given number of coordinates at the given coordinate index.
+	 * The coordinates in the gap are not initialized.
+	 *
+	 * @param coordinateIndex the index of the first coordinate of the gap.
+	 * @param size the number of coordinates in the gap.
+	 */
+	private void openGap(int coordinateIndex, int size) {
+		ensureCoordinateCapacity(this.coordinateCount + size);
+		if (coordinateIndex < this.coordinateCount) {
+			System.arraycopy(
+					this.pointCoordinates, coordinateIndex,
+					this.pointCoordinates, coordinateIndex + size,
+					this.coordinateCount - coordinateIndex);
+		}
+		this.coordinateCount += size;
+	}
+
+	/** Close a gap of the given number of coordinates at the given coordinate index.
+	 * The storage is released when there is no more coordinate.
+	 *
+	 * @param coordinateIndex the index of the first coordinate of the gap.
+	 * @param size the number of coordinates in the gap.
+	 */
+	private void closeGap(int coordinateIndex, int size) {
+		final var end = coordinateIndex + size;
+		if (end < this.coordinateCount) {
+			System.arraycopy(
+					this.pointCoordinates, end,
+					this.pointCoordinates, coordinateIndex,
+					this.coordinateCount - end);
+		}
+		this.coordinateCount -= size;
+		if (this.coordinateCount <= 0) {
+			this.pointCoordinates = null;
+			this.coordinateCount = 0;
+		}
+	}
+
 	/**
 	 * invert the points coordinates of this element on the groupIndex in argument.
 	 *
@@ -697,6 +1065,7 @@ public abstract class MapComposedElement extends MapElement {
 	 * @throws IndexOutOfBoundsException if the given groupIndex is out of range.
 	 */
 	public MapComposedElement invertPointsIn(int groupIndex) {
+		expand();
 		if (this.pointCoordinates == null) {
 			throw new IndexOutOfBoundsException();
 		}
@@ -717,6 +1086,7 @@ public abstract class MapComposedElement extends MapElement {
 		}
 		System.arraycopy(tmp, 0, this.pointCoordinates, first, tmp.length);
 		tmp = null;
+		resetGeoLocation();
 		return this;
 	}
 
@@ -735,26 +1105,28 @@ public abstract class MapComposedElement extends MapElement {
 	 * @throws IndexOutOfBoundsException if there is no point into the composed element.
 	 */
 	public MapComposedElement invert() {
+		expand();
 		if (this.pointCoordinates == null) {
 			throw new IndexOutOfBoundsException();
 		}
-		var tmp = new double[this.pointCoordinates.length];
-		for (var i = 0; i < this.pointCoordinates.length; i += 2) {
-			tmp[i] = this.pointCoordinates[this.pointCoordinates.length - 1 - (i + 1)];
-			tmp[i + 1] = this.pointCoordinates[this.pointCoordinates.length - 1 - i];
+		var tmp = new double[this.coordinateCount];
+		for (var i = 0; i < this.coordinateCount; i += 2) {
+			tmp[i] = this.pointCoordinates[this.coordinateCount - 1 - (i + 1)];
+			tmp[i + 1] = this.pointCoordinates[this.coordinateCount - 1 - i];
 		}
-		System.arraycopy(tmp, 0, this.pointCoordinates, 0, this.pointCoordinates.length);
+		System.arraycopy(tmp, 0, this.pointCoordinates, 0, this.coordinateCount);
 
 		if (this.partIndexes != null) {
 			var tmpint = new int[this.partIndexes.length];
 			//part 0 not inside the index array
 			for (var i = 0; i < this.partIndexes.length; ++i) {
-				tmpint[this.partIndexes.length - 1 - i] = this.pointCoordinates.length - this.partIndexes[i];
+				tmpint[this.partIndexes.length - 1 - i] = this.coordinateCount - this.partIndexes[i];
 			}
 			System.arraycopy(tmpint, 0, this.partIndexes, 0, this.partIndexes.length);
 			tmpint = null;
 		}
 		tmp = null;
+		resetGeoLocation();
 		return this;
 	}
 
@@ -782,6 +1154,7 @@ public abstract class MapComposedElement extends MapElement {
 	 * @throws IndexOutOfBoundsException in case of error.
 	 */
 	public int insertPointAt(double x, double y, int groupIndex, int indexInGroup) {
+		expand();
 		final var groupCount = getGroupCount();
 
 		if (groupIndex < 0) {
@@ -794,7 +1167,9 @@ public abstract class MapComposedElement extends MapElement {
 		int pointIndex;
 
 		if (this.pointCoordinates == null) {
-			this.pointCoordinates = new double[] {x, y};
+			openGap(0, 2);
+			this.pointCoordinates[0] = x;
+			this.pointCoordinates[1] = y;
 			this.partIndexes = null;
 			pointIndex = 0;
 		} else {
@@ -815,13 +1190,9 @@ public abstract class MapComposedElement extends MapElement {
 			pointIndex = startIndex + g * 2;
 
 			// Update the array of points
-			var pts = new double[this.pointCoordinates.length + 2];
-			System.arraycopy(this.pointCoordinates, 0, pts, 0, pointIndex);
-			System.arraycopy(this.pointCoordinates, pointIndex, pts, pointIndex + 2, this.pointCoordinates.length - pointIndex);
-			pts[pointIndex] = x;
-			pts[pointIndex + 1] = y;
-			this.pointCoordinates = pts;
-			pts = null;
+			openGap(pointIndex, 2);
+			this.pointCoordinates[pointIndex] = x;
+			this.pointCoordinates[pointIndex + 1] = y;
 
 			//Shift the following groups's indexes
 			if (this.partIndexes != null) {
@@ -862,8 +1233,8 @@ public abstract class MapComposedElement extends MapElement {
 			throw new IndexOutOfBoundsException(idx + ">=" + count); //$NON-NLS-1$
 		}
 		return new Point2d(
-				this.pointCoordinates[idx * 2],
-				this.pointCoordinates[idx * 2 + 1]);
+				getCoordinate(idx * 2),
+				getCoordinate(idx * 2 + 1));
 	}
 
 	/** Replies the specified point at the given index in the specified group.
@@ -888,8 +1259,8 @@ public abstract class MapComposedElement extends MapElement {
 		}
 
 		return new Point2d(
-				this.pointCoordinates[startIndex + indexInGroup * 2],
-				this.pointCoordinates[startIndex + indexInGroup * 2 + 1]);
+				getCoordinate(startIndex + indexInGroup * 2),
+				getCoordinate(startIndex + indexInGroup * 2 + 1));
 	}
 
 	/** Set the specified point at the given index.
@@ -936,7 +1307,8 @@ public abstract class MapComposedElement extends MapElement {
 		final var validator = getPointFusionValidator();
 		final var idx1 = idx * 2;
 		final var idx2 = idx1 + 1;
-		if (!validator.isSame(x, y, this.pointCoordinates[idx1], this.pointCoordinates[idx2])) {
+		if (!validator.isSame(x, y, getCoordinate(idx1), getCoordinate(idx2))) {
+			expand();
 			this.pointCoordinates[idx1] = x;
 			this.pointCoordinates[idx2] = y;
 
@@ -1024,7 +1396,8 @@ public abstract class MapComposedElement extends MapElement {
 		final var idx1 = startIndex + indexInGroup * 2;
 		final var idx2 = idx1 + 1;
 
-		if (!validator.isSame(x, y, this.pointCoordinates[idx1], this.pointCoordinates[idx2])) {
+		if (!validator.isSame(x, y, getCoordinate(idx1), getCoordinate(idx2))) {
+			expand();
 			this.pointCoordinates[idx1] = x;
 			this.pointCoordinates[idx2] = y;
 
@@ -1075,22 +1448,16 @@ public abstract class MapComposedElement extends MapElement {
 	 * @return {@code true} on success, otherwise {@code false}
 	 */
 	public boolean removeGroupAt(int groupIndex) {
+		expand();
 		try {
 			final var startIndex = firstInGroup(groupIndex);
 			final var lastIndex = lastInGroup(groupIndex);
 
 			final var ptsToRemoveCount = (lastIndex - startIndex + 2) / 2;
-			var rest = this.pointCoordinates.length / 2 - ptsToRemoveCount;
+			final var rest = this.coordinateCount / 2 - ptsToRemoveCount;
 			if (rest > 0) {
 				// Remove the points
-				rest *= 2;
-				final var newPts = new double[rest];
-				System.arraycopy(this.pointCoordinates, 0, newPts, 0, startIndex);
-				System.arraycopy(
-						this.pointCoordinates, lastIndex + 2,
-						newPts, startIndex,
-						rest - startIndex);
-				this.pointCoordinates = newPts;
+				closeGap(startIndex, ptsToRemoveCount * 2);
 
 				// Remove the group
 				if (this.partIndexes != null) {
@@ -1120,6 +1487,7 @@ public abstract class MapComposedElement extends MapElement {
 			} else {
 				// Remove all the points
 				this.pointCoordinates = null;
+				this.coordinateCount = 0;
 				this.partIndexes = null;
 			}
 
@@ -1142,6 +1510,7 @@ public abstract class MapComposedElement extends MapElement {
 	 * @throws IndexOutOfBoundsException in case of error.
 	 */
 	public Point2d removePointAt(int groupIndex, int indexInGroup) {
+		expand();
 		final var startIndex = firstInGroup(groupIndex);
 		final var lastIndex = lastInGroup(groupIndex);
 
@@ -1161,17 +1530,7 @@ public abstract class MapComposedElement extends MapElement {
 				this.pointCoordinates[g + 1]);
 
 		// Deleting the point
-		final double[] newPtsArray;
-		if (this.pointCoordinates.length <= 2) {
-			newPtsArray = null;
-		} else {
-			newPtsArray = new double[this.pointCoordinates.length - 2];
-			System.arraycopy(this.pointCoordinates, 0, newPtsArray, 0, g);
-			System.arraycopy(
-					this.pointCoordinates, g + 2,
-					newPtsArray, g, this.pointCoordinates.length - g - 2);
-		}
-		this.pointCoordinates = newPtsArray;
+		closeGap(g, 2);
 
 		if (this.partIndexes != null) {
 			// Shift the group's indexes
@@ -1242,15 +1601,15 @@ public abstract class MapComposedElement extends MapElement {
 		var lastToRemove = myIndex;
 		var removeOne = false;
 
-		final var xbase = this.pointCoordinates[ix * 2];
-		final var ybase = this.pointCoordinates[ix * 2 + 1];
+		final var xbase = getCoordinate(ix * 2);
+		final var ybase = getCoordinate(ix * 2 + 1);
 
 		final var validator = getPointFusionValidator();
 
 		// Search for the first point to remove
 		for (var idx = myIndex - 2; idx >= firstPts; idx -= 2) {
-			final var x = this.pointCoordinates[idx];
-			final var y = this.pointCoordinates[idx + 1];
+			final var x = getCoordinate(idx);
+			final var y = getCoordinate(idx + 1);
 			if (validator.isSame(xbase, ybase, x, y)) {
 				firstToRemove = idx;
 				removeOne = true;
@@ -1262,8 +1621,8 @@ public abstract class MapComposedElement extends MapElement {
 
 		// Search for the last point to remove
 		for (var idx = myIndex + 2; idx <= endPts; idx += 2) {
-			final var x = this.pointCoordinates[idx];
-			final var y = this.pointCoordinates[idx + 1];
+			final var x = getCoordinate(idx);
+			final var y = getCoordinate(idx + 1);
 			if (validator.isSame(xbase, ybase, x, y)) {
 				lastToRemove = idx;
 				removeOne = true;
@@ -1280,16 +1639,12 @@ public abstract class MapComposedElement extends MapElement {
 			final var removalCount = (lastToRemove / 2 - firstToRemove / 2) * 2;
 
 			// Deleting the point
-			final var newPtsArray = new double[this.pointCoordinates.length - removalCount];
-			assert newPtsArray.length >= 2;
-
-			System.arraycopy(this.pointCoordinates, 0, newPtsArray, 0, firstToRemove);
-			System.arraycopy(this.pointCoordinates, lastToRemove + 2, newPtsArray,
-					firstToRemove + 2, this.pointCoordinates.length - lastToRemove - 2);
-			newPtsArray[firstToRemove] = xbase;
-			newPtsArray[firstToRemove + 1] = ybase;
-
-			this.pointCoordinates = newPtsArray;
+			assert this.coordinateCount - removalCount >= 2;
+			expand();
+			closeGap(firstToRemove + 2, removalCount);
+			this.pointCoordinates[firstToRemove] = xbase;
+			this.pointCoordinates[firstToRemove + 1] = ybase;
+			resetGeoLocation();
 
 			if (this.partIndexes != null) {
 				// Shift the group's indexes
@@ -1320,6 +1675,61 @@ public abstract class MapComposedElement extends MapElement {
 		return DEFAULT_VALIDATOR;
 	}
 
+	@Override
+	public void resetBoundingBox() {
+		super.resetBoundingBox();
+		this.simplificationPyramid = null;
+	}
+
+	@Override
+	protected void resetGeoLocation() {
+		super.resetGeoLocation();
+		this.simplificationPyramid = null;
+	}
+
+	/** Replies the multi-resolution representation of this element.
+	 *
+	 * <p>If no pyramid was given with {@link #setSimplificationPyramid(SimplificationPyramid)},
+	 * a pyramid with {@link SimplificationPyramid#DEFAULT_LEVEL_COUNT} levels starting at
+	 * {@link SimplificationPyramid#DEFAULT_BASE_TOLERANCE} is built.
+	 * The pyramid is forgotten when the points of this element change.
+	 *
+	 * @return the pyramid.
+	 * @since 18.0
+	 */
+	public SimplificationPyramid getSimplificationPyramid() {
+		var pyramid = this.simplificationPyramid;
+		if (pyramid == null) {
+			pyramid = SimplificationPyramid.build(this, SimplificationPyramid.DEFAULT_BASE_TOLERANCE,
+					SimplificationPyramid.DEFAULT_LEVEL_COUNT);
+			this.simplificationPyramid = pyramid;
+		}
+		return pyramid;
+	}
+
+	/** Change the multi-resolution representation of this element, e.g. for using
+	 * tolerances that are adapted to the scales of the views.
+	 *
+	 * @param pyramid the pyramid built from this element, or {@code null} for using the default pyramid.
+	 * @since 18.0
+	 */
+	public void setSimplificationPyramid(SimplificationPyramid pyramid) {
+		if (pyramid != null && pyramid.getSourceElement() != this) {
+			throw new IllegalArgumentException();
+		}
+		this.simplificationPyramid = pyramid;
+	}
+
+	/** {@inheritDoc}
+	 *
+	 * <p>The simplified element is provided by the {@link #getSimplificationPyramid() pyramid}
+	 * of this element.
+	 */
+	@Override
+	public MapComposedElement getSimplifiedElement(double tolerance) {
+		return getSimplificationPyramid().getElementForTolerance(tolerance);
+	}
+
 	/**
 	 * This class represents a group of points inside a composed MapElement.
 	 *
@@ -0,0 +1,225 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.mapelement;
+
+import java.util.Arrays;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+/**
+ * Builder of {@link MapComposedElement} from flat coordinate buffers.
+ *
+ * <p>The points are accumulated in a growing buffer in which the x and y
+ * coordinates are interleaved. When the element is built, the buffer is
+ * trimmed and given to the element in one step: there is no per-point
+ * reallocation and the change events are fired only once.
+ *
+ * <pre><code>
+ * MapPolyline polyline = new MapComposedElementBuilder(1024)
+ *     .add(coordinates, 0, 512)
+ *     .newGroup()
+ *     .add(coordinates, 512, 512)
+ *     .toPolyline();
+ * </code></pre>
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+public class MapComposedElementBuilder {
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private double[] coordinates;
+
+	private int coordinateCount;
+
+	private int[] groups;
+
+	private int groupCount;
+
+	/** Constructor.
+	 */
+	public MapComposedElementBuilder() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/** Constructor.
+	 *
+	 * @param pointCapacity the initial number of points that could be added without
+	 *     growing the buffer.
+	 */
+	public MapComposedElementBuilder(int pointCapacity) {
+		if (pointCapacity < 0) {
+			throw new IllegalArgumentException();
+		}
+		this.coordinates = new double[pointCapacity * 2];
+	}
+
+	/** Add a point at the end of the current group.
+	 *
+	 * @param x x coordinate.
+	 * @param y y coordinate.
+	 * @return {@code this}.
+	 */
+	public MapComposedElementBuilder add(double x, double y) {
+		ensureCapacity(this.coordinateCount + 2);
+		this.coordinates[this.coordinateCount] = x;
+		this.coordinates[this.coordinateCount + 1] = y;
+		this.coordinateCount += 2;
+		return this;
+	}
+
+	/** Add points at the end of the current group.
+	 *
+	 * @param xy the coordinates of the points: {@code [x0, y0, x1, y1, ...]}.
+	 * @param from the index of the first point to copy, in points.
+	 * @param count the number of points to copy.
+	 * @return {@code this}.
+	 * @throws IndexOutOfBoundsException if the range of points is outside the array.
+	 */
+	public MapComposedElementBuilder add(double[] xy, int from, int count) {
+		if (from < 0) {
+			throw new IndexOutOfBoundsException(from + "<0"); //$NON-NLS-1$
+		}
+		if (count < 0) {
+			throw new IndexOutOfBoundsException(count + "<0"); //$NON-NLS-1$
+		}
+		if ((from + count) * 2 > xy.length) {
+			throw new IndexOutOfBoundsException((from + count) * 2 + ">" + xy.length); //$NON-NLS-1$
+		}
+		ensureCapacity(this.coordinateCount + count * 2);
+		System.arraycopy(xy, from * 2, this.coordinates, this.coordinateCount, count * 2);
+		this.coordinateCount += count * 2;
+		return this;
+	}
+
+	/** Start a new group of points.
+	 *
+	 * <p>The next added points are put in the new group. This function has no effect
+	 * if the current group is empty.
+	 *
+	 * @return {@code this}.
+	 */
+	public MapComposedElementBuilder newGroup() {
+		final var start = this.groupCount == 0 ? 0 : this.groups[this.groupCount - 1];
+		if (this.coordinateCount > start) {
+			if (this.groups == null) {
+				this.groups = new int[DEFAULT_CAPACITY];
+			} else if (this.groupCount >= this.groups.length) {
+				this.groups = Arrays.copyOf(this.groups, this.groups.length * 2);
+			}
+			this.groups[this.groupCount] = this.coordinateCount;
+			++this.groupCount;
+		}
+		return this;
+	}
+
+	/** Replies the number of points that were added.
+	 *
+	 * @return the number of points.
+	 */
+	@Pure
+	public int getPointCount() {
+		return this.coordinateCount / 2;
+	}
+
+	/** Replies the number of non-empty groups.
+	 *
+	 * @return the number of groups.
+	 */
+	@Pure
+	public int getGroupCount() {
+		if (this.coordinateCount == 0) {
+			return 0;
+		}
+		if (this.groupCount > 0 && this.groups[this.groupCount - 1] == this.coordinateCount) {
+			return this.groupCount;
+		}
+		return this.groupCount + 1;
+	}
+
+	/** Remove all the points and the groups.
+	 */
+	public void clear() {
+		this.coordinateCount = 0;
+		this.groupCount = 0;
+	}
+
+	/** Replace the points of the given element by the points of this builder.
+	 *
+	 * <p>The builder could be reused after this call.
+	 *
+	 * @param <T> the type of the element.
+	 * @param element the element to fill.
+	 * @return the {@code element}.
+	 */
+	public <T extends MapComposedElement> T build(T element) {
+		var grpCount = this.groupCount;
+		if (grpCount > 0 && this.groups[grpCount - 1] == this.coordinateCount) {
+			// Ignore the empty trailing group
+			--grpCount;
+		}
+		final double[] coords;
+		if (this.coordinateCount == 0) {
+			coords = null;
+		} else {
+			coords = Arrays.copyOf(this.coordinates, this.coordinateCount);
+		}
+		final int[] grps;
+		if (grpCount == 0) {
+			grps = null;
+		} else {
+			grps = Arrays.copyOf(this.groups, grpCount);
+		}
+		element.setPoints(coords, grps);
+		return element;
+	}
+
+	/** Create a polyline with the points of this builder.
+	 *
+	 * @return the polyline.
+	 */
+	public MapPolyline toPolyline() {
+		return build(new MapPolyline());
+	}
+
+	/** Create a polygon with the points of this builder.
+	 *
+	 * @return the polygon.
+	 */
+	public MapPolygon toPolygon() {
+		return build(new MapPolygon());
+	}
+
+	private void ensureCapacity(int minCapacity) {
+		if (minCapacity > this.coordinates.length) {
+			var newCapacity = this.coordinates.length + ((this.coordinates.length >> 1) & ~1);
+			if (newCapacity < minCapacity) {
+				newCapacity = minCapacity;
+			}
+			this.coordinates = Arrays.copyOf(this.coordinates, newCapacity);
+		}
+	}
+
+}
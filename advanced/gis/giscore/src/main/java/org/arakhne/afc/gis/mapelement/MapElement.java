@@ -28,6 +28,11 @@ import org.arakhne.afc.attrs.attr.AttributeValueImpl;
 import org.arakhne.afc.attrs.collection.AttributeChangeEvent;
 import org.arakhne.afc.attrs.collection.AttributeChangeListener;
 import org.arakhne.afc.attrs.collection.AttributeCollection;
+import org.arakhne.afc.gis.coordinate.GISCoordinates;
+import org.arakhne.afc.gis.coordinate.MapMetricProjection;
+import org.arakhne.afc.gis.location.GeoLocation;
+import org.arakhne.afc.gis.location.GeoLocationArea;
+import org.arakhne.afc.gis.location.GeoLocationNowhere;
 import org.arakhne.afc.gis.primitive.AbstractBoundedGISElement;
 import org.arakhne.afc.gis.primitive.FlagContainer;
 import org.arakhne.afc.gis.primitive.GISContentElement;
@@ -97,6 +102,10 @@ public abstract class MapElement extends AbstractBoundedGISElement<GISElementCon
 
 	private VisualizationType vizualizationType;
 
+	/** Cached geo-location, reset with the bounding box.
+	 */
+	private transient GeoLocation geoLocation;
+
 	/** Create a new map element.
 	 *
 	 * @param id is the unique identifier of this element, or {@code null} if unknown.
@@ -330,12 +339,95 @@ public abstract class MapElement extends AbstractBoundedGISElement<GISElementCon
 	@Override
 	public void resetBoundingBox() {
 		super.resetBoundingBox();
+		this.geoLocation = null;
 		final var container = getContainer();
 		if (container != null) {
 			container.resetBoundingBox();
 		}
 	}
 
+	/** Replies the geo-location of this element.
+	 *
+	 * <p>The geo-location is computed by {@link #calcGeoLocation()} on the first call,
+	 * and kept until the shape of the element changes. Because the geo-location caches
+	 * its GeoId, {@link #getGeoId()} is also computed only once per shape.
+	 *
+	 * @return the geo-location.
+	 */
+	@Override
+	@Pure
+	public GeoLocation getGeoLocation() {
+		var location = this.geoLocation;
+		if (location == null) {
+			location = calcGeoLocation();
+			this.geoLocation = location;
+		}
+		return location;
+	}
+
+	/** Compute the geo-location of this element.
+	 * This function does not update the internal
+	 * attribute replied by {@link #getGeoLocation()}.
+	 *
+	 * <p>By default, the geo-location is the area covered by the bounding box of this element.
+	 *
+	 * @return the geo-location.
+	 * @since 18.0
+	 */
+	@Pure
+	protected GeoLocation calcGeoLocation() {
+		final var bounds = getBoundingBox();
+		if (bounds != null) {
+			return new GeoLocationArea(bounds);
+		}
+		return new GeoLocationNowhere(getUUID());
+	}
+
+	/** Reset the geo-location of this element to allow its re-computation.
+	 *
+	 * <p>This function must be invoked when the geo-location changes without a
+	 * change of the bounding box, e.g. when the points are reordered. In other
+	 * cases, {@link #fireShapeChanged()} resets the geo-location.
+	 *
+	 * @since 18.0
+	 */
+	protected void resetGeoLocation() {
+		this.geoLocation = null;
+	}
+
+	/** Replies a simplified version of this element for the given tolerance, e.g. for
+	 * rendering or analysing the element at a small scale.
+	 *
+	 * <p>The default implementation replies this element.
+	 *
+	 * @param tolerance the maximal distance between the simplified shape and the shape
+	 *     of this element, usually the size of a pixel in map units.
+	 * @return the simplified element, or this element if it cannot be simplified.
+	 * @since 18.0
+	 */
+	public MapElement getSimplifiedElement(double tolerance) {
+		return this;
+	}
+
+	/** Convert the coordinates of this element from a map projection to another one.
+	 *
+	 * <p>All the points are converted at once, and the change events are fired only once
+	 * for the whole element. The container of this element does not update its spatial index;
+	 * see {@code MapElementLayer.reproject(MapMetricProjection)} for reprojecting a whole layer.
+	 *
+	 * <p>The default implementation throws {@link UnsupportedOperationException}; the elements
+	 * with a geometry override this function.
+	 *
+	 * @param source the map projection in which the coordinates of this element are expressed.
+	 * @param target the map projection into which the coordinates must be converted.
+	 * @throws UnsupportedOperationException if the coordinates of this element cannot be converted.
+	 * @since 18.0
+	 * @see GISCoordinates
+	 */
+	public void reproject(MapMetricProjection source, MapMetricProjection target) {
+		throw new UnsupportedOperationException();
+	}
+
 	/** Replies if the specified objects is the same as this one.
 	 */
 	@Override
@@ -148,6 +148,19 @@ public class MapPolygon extends MapComposedElement {
 		return toPath2D();
 	}
 
+	/** Replies the overlay of this polygon and the given polygon.
+	 *
+	 * @param polygon the other polygon.
+	 * @param operation the operation to compute.
+	 * @return the result of the operation, without point if the result is empty.
+	 * @since 18.0
+	 * @see PolygonOverlay
+	 */
+	@Pure
+	public MapPolygon overlay(MapPolygon polygon, OverlayOperation operation) {
+		return PolygonOverlay.overlay(this, polygon, operation);
+	}
+
 	/**
 	 * Replies the Path2D that corresponds to this polygon.
 	 *
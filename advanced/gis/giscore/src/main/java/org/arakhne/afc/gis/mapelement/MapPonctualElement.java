@@ -24,6 +24,7 @@ import java.util.Objects;
 import java.util.UUID;
 
 import org.arakhne.afc.attrs.collection.AttributeCollection;
+import org.arakhne.afc.gis.coordinate.MapMetricProjection;
 import org.arakhne.afc.gis.location.GeoLocation;
 import org.arakhne.afc.gis.location.GeoLocationPoint;
 import org.arakhne.afc.math.geometry.base.d2.Point2D;
@@ -120,7 +121,7 @@ public abstract class MapPonctualElement extends MapElement {
 
 	@Override
 	@Pure
-	public GeoLocation getGeoLocation() {
+	protected GeoLocation calcGeoLocation() {
 		return new GeoLocationPoint(this.position.getX(), this.position.getY());
 	}
 
@@ -151,6 +152,16 @@ public abstract class MapPonctualElement extends MapElement {
 		return this.position.getY();
 	}
 
+	@Override
+	public void reproject(MapMetricProjection source, MapMetricProjection target) {
+		if (source == null || target == null) {
+			throw new IllegalArgumentException();
+		}
+		if (source != target) {
+			setLocation(source.convertTo(target, this.position));
+		}
+	}
+
 	/** Set the position of this point.
 	 *
 	 * @param x x coordinate
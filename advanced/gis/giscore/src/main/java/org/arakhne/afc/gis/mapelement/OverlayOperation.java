@@ -0,0 +1,50 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.mapelement;
+
+/** Boolean operation computed by the overlay of two polygons.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ * @see PolygonOverlay
+ */
+public enum OverlayOperation {
+
+	/** The areas that are inside the two polygons.
+	 */
+	INTERSECTION,
+
+	/** The areas that are inside one of the polygons at least.
+	 */
+	UNION,
+
+	/** The areas that are inside the first polygon and outside the second polygon.
+	 */
+	DIFFERENCE,
+
+	/** The areas that are inside exactly one of the polygons.
+	 */
+	XOR;
+
+}
@@ -0,0 +1,1022 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.mapelement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+import org.arakhne.afc.math.geometry.base.PathElementType;
+import org.arakhne.afc.math.geometry.d2.afp.Path2afp;
+import org.arakhne.afc.math.geometry.d2.d.Path2d;
+import org.eclipse.xtext.xbase.lib.Pure;
+
+/**
+ * Overlay of two polygons: intersection, union, difference or exclusive-or.
+ *
+ * <p>The overlay is computed by the sweep-line algorithm of Mart&iacute;nez, Rueda and Feito
+ * (<i>A new algorithm for computing Boolean operations on polygons</i>, 2009 and 2013).
+ * The edges of the two polygons are sorted by their endpoints and swept from left to right;
+ * the edges are split at their intersection points and at the endpoints of the overlapping
+ * edges, so that each piece of edge is either entirely inside or entirely outside the other
+ * polygon. The pieces that belong to the boundary of the result are finally connected into rings.
+ * The running time is {@code O((n + k) log n)} for {@code n} edges and {@code k} intersections.
+ *
+ * <p>The groups of a polygon are its rings. A point is inside a polygon when it is inside
+ * an odd number of its rings, so that holes, islands inside holes, and overlapping or
+ * self-intersecting rings are supported.
+ * The rings of the result never cross each other. They are replied as exterior rings, each of them
+ * followed by its holes; the exterior rings are clockwise and the holes are counter-clockwise,
+ * as in the shape files.
+ *
+ * <pre><code>
+ * MapPolygon urbanInCity = PolygonOverlay.overlay(landUse, city, OverlayOperation.INTERSECTION);
+ * </code></pre>
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ * @see MapPolygon#overlay(MapPolygon, OverlayOperation)
+ */
+public final class PolygonOverlay {
+
+	/** Precision of the positions of the intersection points along the edges.
+	 */
+	private static final double PARAMETER_EPSILON = 1e-12;
+
+	private final OverlayOperation operation;
+
+	private final PriorityQueue<SweepEvent> queue = new PriorityQueue<>(PolygonOverlay::compareEvents);
+
+	private final double[] subjectBounds = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+		Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+
+	private final double[] clippingBounds = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+		Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+
+	private final double[] intersections = new double[4];
+
+	private int eventCount;
+
+	private int contourCount;
+
+	/** Constructor.
+	 *
+	 * @param operation the operation to compute.
+	 */
+	private PolygonOverlay(OverlayOperation operation) {
+		this.operation = operation;
+	}
+
+	/** Replies the overlay of two polygons.
+	 *
+	 * @param subject the first polygon.
+	 * @param clipping the second polygon.
+	 * @param operation the operation to compute.
+	 * @return the result of the operation, without point if the result is empty.
+	 */
+	@Pure
+	public static MapPolygon overlay(MapPolygon subject, MapPolygon clipping, OverlayOperation operation) {
+		if (subject == null || clipping == null || operation == null) {
+			throw new IllegalArgumentException();
+		}
+		final var result = new MapPolygon();
+		for (final var ring : overlay(toRings(subject), toRings(clipping), operation)) {
+			result.addGroup(ring);
+		}
+		return result;
+	}
+
+	/** Replies the overlay of two paths.
+	 *
+	 * <p>The curves of the paths are flattened. The sub-paths are closed.
+	 *
+	 * @param subject the first path.
+	 * @param clipping the second path.
+	 * @param operation the operation to compute.
+	 * @return the result of the operation, with one closed sub-path per ring.
+	 */
+	@Pure
+	public static Path2d overlay(Path2afp<?, ?, ?, ?, ?, ?> subject, Path2afp<?, ?, ?, ?, ?, ?> clipping,
+			OverlayOperation operation) {
+		if (subject == null || clipping == null || operation == null) {
+			throw new IllegalArgumentException();
+		}
+		final var result = new Path2d();
+		for (final var ring : overlay(toRings(subject), toRings(clipping), operation)) {
+			result.moveTo(ring[0], ring[1]);
+			for (var i = 2; i < ring.length; i += 2) {
+				result.lineTo(ring[i], ring[i + 1]);
+			}
+			result.closePath();
+		}
+		return result;
+	}
+
+	/** Replies the overlay of two sets of rings.
+	 *
+	 * @param subject the rings of the first polygon, each of them is {@code [x0, y0, x1, y1, ...]}.
+	 * @param clipping the rings of the second polygon, each of them is {@code [x0, y0, x1, y1, ...]}.
+	 * @param operation the operation to compute.
+	 * @return the rings of the result, each exterior ring is followed by its holes.
+	 */
+	@Pure
+	public static List<double[]> overlay(List<double[]> subject, List<double[]> clipping, OverlayOperation operation) {
+		if (subject == null || clipping == null || operation == null) {
+			throw new IllegalArgumentException();
+		}
+		return new PolygonOverlay(operation).compute(subject, clipping);
+	}
+
+	private static List<double[]> toRings(MapPolygon polygon) {
+		final var rings = new ArrayList<double[]>(polygon.getGroupCount());
+		for (final var group : polygon.groups()) {
+			final var ring = new double[group.size() * 2];
+			var i = 0;
+			for (final var point : group) {
+				ring[i++] = point.getX();
+				ring[i++] = point.getY();
+			}
+			rings.add(ring);
+		}
+		return rings;
+	}
+
+	private static List<double[]> toRings(Path2afp<?, ?, ?, ?, ?, ?> path) {
+		final var rings = new ArrayList<double[]>();
+		final var iterator = path.getPathIterator(path.getGeomFactory().getSplineApproximationRatio());
+		var ring = new double[16];
+		var size = 0;
+		while (iterator.hasNext()) {
+			final var element = iterator.next();
+			if (element.getType() == PathElementType.MOVE_TO) {
+				if (size > 0) {
+					rings.add(Arrays.copyOf(ring, size));
+				}
+				size = 0;
+			}
+			if (element.getType() != PathElementType.CLOSE) {
+				if (size + 2 > ring.length) {
+					ring = Arrays.copyOf(ring, ring.length * 2);
+				}
+				ring[size++] = element.getToX();
+				ring[size++] = element.getToY();
+			}
+		}
+		if (size > 0) {
+			rings.add(Arrays.copyOf(ring, size));
+		}
+		return rings;
+	}
+
+	/** Replies twice the signed area of the triangle {@code (p0, p1, p2)}. It is positive
+	 * when the triangle is counter-clockwise.
+	 *
+	 * <p>The area is computed from {@code p0}, which is the endpoint of an edge in all the calls,
+	 * so that the short edges are not considered as collinear with the far points.
+	 */
+	@Pure
+	private static double signedArea(double x0, double y0, double x1, double y1, double x2, double y2) {
+		return (x1 - x0) * (y2 - y0) - (x2 - x0) * (y1 - y0);
+	}
+
+	/** Order of the events in the queue: from left to right, from bottom to top, the right
+	 * endpoints before the left endpoints, and the lower edges before the upper edges.
+	 */
+	@Pure
+	private static int compareEvents(SweepEvent e1, SweepEvent e2) {
+		if (e1 == e2) {
+			return 0;
+		}
+		if (e1.x != e2.x) {
+			return e1.x > e2.x ? 1 : -1;
+		}
+		if (e1.y != e2.y) {
+			return e1.y > e2.y ? 1 : -1;
+		}
+		if (e1.left != e2.left) {
+			return e1.left ? 1 : -1;
+		}
+		if (signedArea(e1.x, e1.y, e1.other.x, e1.other.y, e2.other.x, e2.other.y) != 0.) {
+			return e1.isBelow(e2.other.x, e2.other.y) ? -1 : 1;
+		}
+		if (e1.subject != e2.subject) {
+			return e1.subject ? -1 : 1;
+		}
+		return Integer.compare(e1.id, e2.id);
+	}
+
+	/** Order of the edges that are crossing the sweep line, from bottom to top.
+	 */
+	@Pure
+	private static int compareSegments(SweepEvent le1, SweepEvent le2) {
+		if (le1 == le2) {
+			return 0;
+		}
+		if (signedArea(le1.x, le1.y, le1.other.x, le1.other.y, le2.x, le2.y) != 0.
+				|| signedArea(le1.x, le1.y, le1.other.x, le1.other.y, le2.other.x, le2.other.y) != 0.) {
+			// The edges are not collinear
+			if (le1.x == le2.x && le1.y == le2.y) {
+				return le1.isBelow(le2.other.x, le2.other.y) ? -1 : 1;
+			}
+			if (le1.x == le2.x) {
+				return le1.y < le2.y ? -1 : 1;
+			}
+			if (compareEvents(le1, le2) > 0) {
+				return le2.isBelow(le1.x, le1.y) ? 1 : -1;
+			}
+			return le1.isBelow(le2.x, le2.y) ? -1 : 1;
+		}
+		if (le1.subject != le2.subject) {
+			return le1.subject ? -1 : 1;
+		}
+		if (le1.x == le2.x && le1.y == le2.y) {
+			if (le1.contourId != le2.contourId
+					&& (le1.other.x != le2.other.x || le1.other.y != le2.other.y)) {
+				return le1.contourId > le2.contourId ? 1 : -1;
+			}
+			return Integer.compare(le1.id, le2.id);
+		}
+		return compareEvents(le1, le2) > 0 ? 1 : -1;
+	}
+
+	private SweepEvent newEvent(double x, double y, boolean left, SweepEvent other, boolean subject, double[] line) {
+		final var event = new SweepEvent(this.eventCount, x, y, subject, line);
+		++this.eventCount;
+		event.left = left;
+		event.other = other;
+		return event;
+	}
+
+	private List<double[]> compute(List<double[]> subject, List<double[]> clipping) {
+		for (final var ring : subject) {
+			addRing(ring, true, this.subjectBounds);
+		}
+		for (final var ring : clipping) {
+			addRing(ring, false, this.clippingBounds);
+		}
+		final var sb = this.subjectBounds;
+		final var cb = this.clippingBounds;
+		final var disjoint = sb[0] > cb[2] || cb[0] > sb[2] || sb[1] > cb[3] || cb[1] > sb[3];
+		if ((this.operation == OverlayOperation.INTERSECTION && disjoint)
+				|| (this.operation == OverlayOperation.DIFFERENCE && sb[0] > sb[2])) {
+			return new ArrayList<>();
+		}
+		return connectEdges(subdivide());
+	}
+
+	private void addRing(double[] ring, boolean subject, double[] bounds) {
+		if (ring.length % 2 != 0) {
+			throw new IllegalArgumentException();
+		}
+		if (ring.length < 6) {
+			return;
+		}
+		final var contour = this.contourCount;
+		++this.contourCount;
+		for (var i = 0; i < ring.length; i += 2) {
+			final var j = (i + 2) % ring.length;
+			final var x1 = ring[i];
+			final var y1 = ring[i + 1];
+			final var x2 = ring[j];
+			final var y2 = ring[j + 1];
+			if (x1 != x2 || y1 != y2) {
+				final var line = new double[] {x1, y1, x2, y2};
+				final var e1 = newEvent(x1, y1, false, null, subject, line);
+				final var e2 = newEvent(x2, y2, false, e1, subject, line);
+				e1.other = e2;
+				e1.contourId = contour;
+				e2.contourId = contour;
+				if (compareEvents(e1, e2) > 0) {
+					e2.left = true;
+				} else {
+					e1.left = true;
+				}
+				bounds[0] = Math.min(bounds[0], x1);
+				bounds[1] = Math.min(bounds[1], y1);
+				bounds[2] = Math.max(bounds[2], x1);
+				bounds[3] = Math.max(bounds[3], y1);
+				this.queue.add(e1);
+				this.queue.add(e2);
+			}
+		}
+	}
+
+	/** Sweep the edges, split them at their intersections, and compute the positions of the
+	 * edges according to the two polygons.
+	 *
+	 * @return the processed events, in the sweep order.
+	 */
+	private List<SweepEvent> subdivide() {
+		final var sortedEvents = new ArrayList<SweepEvent>();
+		final var sweepLine = new TreeSet<SweepEvent>(PolygonOverlay::compareSegments);
+		final var rightBound = Math.min(this.subjectBounds[2], this.clippingBounds[2]);
+		while (!this.queue.isEmpty()) {
+			final var event = this.queue.poll();
+			sortedEvents.add(event);
+			// The edges on the right of the bounds cannot be in the result
+			if ((this.operation == OverlayOperation.INTERSECTION && event.x > rightBound)
+					|| (this.operation == OverlayOperation.DIFFERENCE && event.x > this.subjectBounds[2])) {
+				break;
+			}
+			if (event.left) {
+				sweepLine.add(event);
+				final var prev = sweepLine.lower(event);
+				final var next = sweepLine.higher(event);
+				final var prevEnd = prev == null ? null : prev.other;
+				final var nextEnd = next == null ? null : next.other;
+				computeFields(event, prev);
+				if (next != null && possibleIntersection(event, next) == 2) {
+					computeFields(event, prev);
+					computeFields(next, event);
+				}
+				if (prev != null && possibleIntersection(prev, event) == 2) {
+					computeFields(prev, sweepLine.lower(prev));
+					computeFields(event, prev);
+				}
+				if (isSplitAt(prev, prevEnd, event) || isSplitAt(next, nextEnd, event)) {
+					// A neighbor edge is passing through the endpoint of the event. It was split, and the new right
+					// endpoint of the neighbor must be processed before the event.
+					if (!sweepLine.remove(event)) {
+						sweepLine.removeIf(it -> it == event);
+					}
+					sortedEvents.remove(sortedEvents.size() - 1);
+					this.queue.add(event);
+				}
+			} else {
+				final var left = event.other;
+				final var prev = sweepLine.lower(left);
+				final var next = sweepLine.higher(left);
+				if (sweepLine.remove(left)) {
+					if (prev != null && next != null) {
+						possibleIntersection(prev, next);
+					}
+				} else {
+					// Rounding errors have changed the order of the edges
+					sweepLine.removeIf(it -> it == left);
+				}
+			}
+		}
+		return sortedEvents;
+	}
+
+	/** Replies if the given edge was split at the given event.
+	 *
+	 * @param edge the left event of the edge, or {@code null}.
+	 * @param oldEnd the right event of the edge before the split.
+	 * @param event the event.
+	 * @return {@code true} if the edge is now ending at the event.
+	 */
+	@Pure
+	private static boolean isSplitAt(SweepEvent edge, SweepEvent oldEnd, SweepEvent event) {
+		return edge != null && edge.other != oldEnd && isSamePoint(edge.other, event);
+	}
+
+	private void computeFields(SweepEvent event, SweepEvent prev) {
+		if (prev == null) {
+			event.inOut = false;
+			event.otherInOut = true;
+		} else {
+			if (event.subject == prev.subject) {
+				event.inOut = !prev.inOut;
+				event.otherInOut = prev.otherInOut;
+			} else {
+				event.inOut = !prev.otherInOut;
+				event.otherInOut = prev.isVertical() ? !prev.inOut : prev.inOut;
+			}
+			event.prevInResult = !prev.inResult || prev.isVertical() ? prev.prevInResult : prev;
+		}
+		event.inResult = isInResult(event);
+		event.resultTransition = event.inResult ? getResultTransition(event) : 0;
+	}
+
+	@Pure
+	private boolean isInResult(SweepEvent event) {
+		switch (event.type) {
+		case NORMAL:
+			switch (this.operation) {
+			case INTERSECTION:
+				return !event.otherInOut;
+			case UNION:
+				return event.otherInOut;
+			case DIFFERENCE:
+				return event.subject == event.otherInOut;
+			case XOR:
+				return true;
+			default:
+				throw new IllegalStateException();
+			}
+		case SAME_TRANSITION:
+			return this.operation == OverlayOperation.INTERSECTION || this.operation == OverlayOperation.UNION;
+		case DIFFERENT_TRANSITION:
+			return this.operation == OverlayOperation.DIFFERENCE;
+		case NON_CONTRIBUTING:
+			return false;
+		default:
+			throw new IllegalStateException();
+		}
+	}
+
+	/** Replies {@code 1} if the area above the edge is inside the result, {@code -1} otherwise.
+	 */
+	@Pure
+	private int getResultTransition(SweepEvent event) {
+		final var thisIn = !event.inOut;
+		final boolean thatIn;
+		switch (event.type) {
+		case SAME_TRANSITION:
+			// The other polygon is on the same side of the overlapping edges
+			thatIn = thisIn;
+			break;
+		case DIFFERENT_TRANSITION:
+			thatIn = !thisIn;
+			break;
+		case NORMAL:
+		case NON_CONTRIBUTING:
+		default:
+			thatIn = !event.otherInOut;
+			break;
+		}
+		final boolean isIn;
+		switch (this.operation) {
+		case INTERSECTION:
+			isIn = thisIn && thatIn;
+			break;
+		case UNION:
+			isIn = thisIn || thatIn;
+			break;
+		case DIFFERENCE:
+			isIn = event.subject ? thisIn && !thatIn : thatIn && !thisIn;
+			break;
+		case XOR:
+			isIn = thisIn ^ thatIn;
+			break;
+		default:
+			throw new IllegalStateException();
+		}
+		return isIn ? 1 : -1;
+	}
+
+	/** Split the two edges at their intersection points.
+	 *
+	 * @return {@code 0} if the edges are not split, {@code 1} if they are intersecting at one point,
+	 *     {@code 2} if they are overlapping from the same left endpoint, and {@code 3} if they are overlapping
+	 *     from different left endpoints.
+	 */
+	private int possibleIntersection(SweepEvent se1, SweepEvent se2) {
+		final var count = intersection(se1, se2);
+		if (count == 0) {
+			return 0;
+		}
+		final var ix = this.intersections[0];
+		final var iy = this.intersections[1];
+		if (count == 1) {
+			if (isSamePoint(se1, se2) || isSamePoint(se1.other, se2.other)
+					|| isSamePoint(se1, se2.other) || isSamePoint(se1.other, se2)) {
+				// The edges are intersecting at a common endpoint
+				return 0;
+			}
+			if ((se1.x != ix || se1.y != iy) && (se1.other.x != ix || se1.other.y != iy)) {
+				divideSegment(se1, ix, iy);
+			}
+			if ((se2.x != ix || se2.y != iy) && (se2.other.x != ix || se2.other.y != iy)) {
+				divideSegment(se2, ix, iy);
+			}
+			return 1;
+		}
+		if (se1.subject == se2.subject) {
+			// Overlapping edges of the same polygon are not split
+			return 0;
+		}
+		final var leftCoincide = se1.x == se2.x && se1.y == se2.y;
+		final var rightCoincide = se1.other.x == se2.other.x && se1.other.y == se2.other.y;
+		final var events = new SweepEvent[4];
+		var n = 0;
+		if (!leftCoincide) {
+			if (compareEvents(se1, se2) > 0) {
+				events[n++] = se2;
+				events[n++] = se1;
+			} else {
+				events[n++] = se1;
+				events[n++] = se2;
+			}
+		}
+		if (!rightCoincide) {
+			if (compareEvents(se1.other, se2.other) > 0) {
+				events[n++] = se2.other;
+				events[n++] = se1.other;
+			} else {
+				events[n++] = se1.other;
+				events[n++] = se2.other;
+			}
+		}
+		if (leftCoincide) {
+			// The edges are equal or they have the same left endpoint
+			se2.type = EdgeType.NON_CONTRIBUTING;
+			se1.type = se2.inOut == se1.inOut ? EdgeType.SAME_TRANSITION : EdgeType.DIFFERENT_TRANSITION;
+			if (!rightCoincide) {
+				divideSegment(events[1].other, events[0].x, events[0].y);
+			}
+			return 2;
+		}
+		if (rightCoincide) {
+			// The edges have the same right endpoint
+			divideSegment(events[0], events[1].x, events[1].y);
+			return 3;
+		}
+		if (events[0] != events[3].other) {
+			// No edge is including the other edge
+			divideSegment(events[0], events[1].x, events[1].y);
+			divideSegment(events[1], events[2].x, events[2].y);
+			return 3;
+		}
+		// An edge is including the other edge
+		divideSegment(events[0], events[1].x, events[1].y);
+		divideSegment(events[3].other, events[2].x, events[2].y);
+		return 3;
+	}
+
+	/** Compute the intersection of two edges into {@link #intersections}.
+	 * The replied points are the endpoints of the edges when the intersection is at one of them,
+	 * so that the common endpoints are detected without rounding error.
+	 *
+	 * @return the number of points: {@code 0} if no intersection, {@code 1} if the edges are crossing or
+	 *     touching, {@code 2} if the edges are overlapping.
+	 */
+	@SuppressWarnings("checkstyle:npathcomplexity")
+	private int intersection(SweepEvent a, SweepEvent b) {
+		final var a1x = a.x;
+		final var a1y = a.y;
+		final var b1x = b.x;
+		final var b1y = b.y;
+		final var vax = a.other.x - a1x;
+		final var vay = a.other.y - a1y;
+		final var vbx = b.other.x - b1x;
+		final var vby = b.other.y - b1y;
+		final var ex = b1x - a1x;
+		final var ey = b1y - a1y;
+		final var result = this.intersections;
+		var kross = vax * vby - vay * vbx;
+		if (kross != 0.) {
+			final var s = (ex * vby - ey * vbx) / kross;
+			final var t = (ex * vay - ey * vax) / kross;
+			if (s < -PARAMETER_EPSILON || s > 1. + PARAMETER_EPSILON
+					|| t < -PARAMETER_EPSILON || t > 1. + PARAMETER_EPSILON) {
+				return 0;
+			}
+			// The intersections at the endpoints that are exactly on the other edge are replaced
+			// by the endpoints, so that these vertices are not replaced by rounded points
+			final var endpoint = getEndpoint(a, s, b);
+			if (endpoint != null) {
+				set(result, 0, endpoint);
+				return 1;
+			}
+			final var otherEndpoint = getEndpoint(b, t, a);
+			if (otherEndpoint != null) {
+				set(result, 0, otherEndpoint);
+				return 1;
+			}
+			if (s < 0. || s > 1. || t < 0. || t > 1.) {
+				return 0;
+			}
+			// The point is kept inside the bounds of the two edges, e.g. on the vertical and horizontal edges
+			result[0] = clamp(a1x + s * vax, a.x, a.other.x, b.x, b.other.x);
+			result[1] = clamp(a1y + s * vay, a.y, a.other.y, b.y, b.other.y);
+			return 1;
+		}
+		kross = ex * vay - ey * vax;
+		if (kross != 0.) {
+			// Parallel edges
+			return 0;
+		}
+		final var sqrLenA = vax * vax + vay * vay;
+		final var sa = (vax * ex + vay * ey) / sqrLenA;
+		final var sb = sa + (vax * vbx + vay * vby) / sqrLenA;
+		final var smin = Math.min(sa, sb);
+		final var smax = Math.max(sa, sb);
+		if (smin > 1. || smax < 0.) {
+			return 0;
+		}
+		final var minEvent = smin <= 0. ? a : (smin == sa ? b : b.other);
+		final var maxEvent = smax >= 1. ? a.other : (smax == sa ? b : b.other);
+		if (smin == 1.) {
+			set(result, 0, a.other);
+			return 1;
+		}
+		if (smax == 0.) {
+			set(result, 0, a);
+			return 1;
+		}
+		set(result, 0, minEvent);
+		set(result, 2, maxEvent);
+		return 2;
+	}
+
+	@Pure
+	private static double clamp(double value, double a1, double a2, double b1, double b2) {
+		final var min = Math.max(Math.min(a1, a2), Math.min(b1, b2));
+		final var max = Math.min(Math.max(a1, a2), Math.max(b1, b2));
+		return Math.max(min, Math.min(max, value));
+	}
+
+	/** Replies the endpoint of the edge that is at the given position if it is on the other edge.
+	 *
+	 * @param edge the left event of the edge.
+	 * @param position the position along the edge.
+	 * @param otherEdge the left event of the other edge.
+	 * @return the endpoint, or {@code null}.
+	 */
+	@Pure
+	private static SweepEvent getEndpoint(SweepEvent edge, double position, SweepEvent otherEdge) {
+		final SweepEvent endpoint;
+		if (Math.abs(position) <= PARAMETER_EPSILON) {
+			endpoint = edge;
+		} else if (Math.abs(position - 1.) <= PARAMETER_EPSILON) {
+			endpoint = edge.other;
+		} else {
+			return null;
+		}
+		if (position == 0. || position == 1.
+				|| signedArea(otherEdge.x, otherEdge.y, otherEdge.other.x, otherEdge.other.y, endpoint.x, endpoint.y) == 0.) {
+			return endpoint;
+		}
+		// The pieces of a split edge are ending at rounded points, and they are not exactly passing through
+		// the points of the polygon edge. The endpoint is also tested against the polygon edge.
+		final var line = otherEdge.line;
+		if (signedArea(line[0], line[1], line[2], line[3], endpoint.x, endpoint.y) == 0.
+				&& otherEdge.isInside(endpoint.x, endpoint.y)) {
+			return endpoint;
+		}
+		return null;
+	}
+
+	private static void set(double[] result, int index, SweepEvent event) {
+		result[index] = event.x;
+		result[index + 1] = event.y;
+	}
+
+	private void divideSegment(SweepEvent se, double x, double y) {
+		final var r = newEvent(x, y, false, se, se.subject, se.line);
+		final var l = newEvent(x, y, true, se.other, se.subject, se.line);
+		r.contourId = se.contourId;
+		l.contourId = se.contourId;
+		if (compareEvents(l, se.other) > 0) {
+			// Rounding error: the left event would be processed after the right event
+			se.other.left = true;
+			l.left = false;
+		}
+		se.other.other = l;
+		se.other = r;
+		this.queue.add(l);
+		this.queue.add(r);
+	}
+
+	/** Connect the edges of the result into rings.
+	 *
+	 * @param sortedEvents the events in the sweep order.
+	 * @return the rings, each exterior ring is followed by its holes.
+	 */
+	private static List<double[]> connectEdges(List<SweepEvent> sortedEvents) {
+		final var resultEvents = new ArrayList<SweepEvent>();
+		for (final var event : sortedEvents) {
+			if (event.left ? event.inResult : event.other.inResult) {
+				resultEvents.add(event);
+			}
+		}
+		// The overlapping edges may have broken the order of the events
+		resultEvents.sort(PolygonOverlay::compareEvents);
+		final var size = resultEvents.size();
+		for (var i = 0; i < size; ++i) {
+			resultEvents.get(i).otherPos = i;
+		}
+		for (final var event : resultEvents) {
+			if (!event.left) {
+				final var tmp = event.otherPos;
+				event.otherPos = event.other.otherPos;
+				event.other.otherPos = tmp;
+			}
+		}
+
+		final var processed = new boolean[size];
+		final var contours = new ArrayList<Contour>();
+		for (var i = 0; i < size; ++i) {
+			if (processed[i]) {
+				continue;
+			}
+			final var contourId = contours.size();
+			final var contour = createContour(resultEvents.get(i), contours, contourId);
+			var pos = i;
+			contour.add(resultEvents.get(i));
+			while (true) {
+				processed[pos] = true;
+				resultEvents.get(pos).outputContourId = contourId;
+				pos = resultEvents.get(pos).otherPos;
+				if (pos < 0 || pos >= size) {
+					break;
+				}
+				processed[pos] = true;
+				resultEvents.get(pos).outputContourId = contourId;
+				contour.add(resultEvents.get(pos));
+				pos = nextPos(pos, resultEvents, processed, i);
+				if (pos < 0) {
+					break;
+				}
+			}
+			contours.add(contour);
+		}
+
+		final var rings = new ArrayList<double[]>();
+		for (final var contour : contours) {
+			if (contour.holeOf < 0) {
+				final var ring = contour.toRing(true);
+				if (ring != null) {
+					rings.add(ring);
+					for (final var hole : contour.holes) {
+						final var holeRing = contours.get(hole.intValue()).toRing(false);
+						if (holeRing != null) {
+							rings.add(holeRing);
+						}
+					}
+				}
+			}
+		}
+		return rings;
+	}
+
+	/** Create a contour and find its parent contour from the nearest result edge below it.
+	 */
+	private static Contour createContour(SweepEvent event, List<Contour> contours, int contourId) {
+		final var contour = new Contour();
+		final var prevInResult = event.prevInResult;
+		if (prevInResult != null && prevInResult.outputContourId >= 0) {
+			final var lowerContourId = prevInResult.outputContourId;
+			final var lowerContour = contours.get(lowerContourId);
+			if (prevInResult.resultTransition > 0) {
+				// Inside the result: the contour is a hole of the contour below it, or of its parent
+				final var parent = lowerContour.holeOf >= 0 ? lowerContour.holeOf : lowerContourId;
+				contours.get(parent).holes.add(Integer.valueOf(contourId));
+				contour.holeOf = parent;
+			}
+		}
+		return contour;
+	}
+
+	/** Replies the next edge of the ring that is arriving at the given endpoint.
+	 *
+	 * <p>When several edges of the result are starting from the endpoint, the first edge in the clockwise
+	 * order from the arriving edge is selected, so that the ring follows the boundary of a single area
+	 * and never crosses itself.
+	 *
+	 * @param pos the index of the endpoint at which the ring is arriving.
+	 * @param resultEvents the events of the result.
+	 * @param processed the events that are already in a ring.
+	 * @param origPos the index of the first event of the ring.
+	 * @return the index of the next event, or {@code -1} if the ring is closed.
+	 */
+	private static int nextPos(int pos, List<SweepEvent> resultEvents, boolean[] processed, int origPos) {
+		final var point = resultEvents.get(pos);
+		final var origin = resultEvents.get(origPos);
+		final var incomingAngle = Math.atan2(point.other.y - point.y, point.other.x - point.x);
+		var first = pos;
+		while (first > 0 && isSamePoint(resultEvents.get(first - 1), point)) {
+			--first;
+		}
+		var bestPos = -1;
+		var bestAngle = Double.POSITIVE_INFINITY;
+		for (var i = first; i < resultEvents.size(); ++i) {
+			final var candidate = resultEvents.get(i);
+			if (!isSamePoint(candidate, point)) {
+				break;
+			}
+			if (!processed[i] || (i == origPos && isSamePoint(origin, point))) {
+				var angle = incomingAngle - Math.atan2(candidate.other.y - candidate.y, candidate.other.x - candidate.x);
+				if (angle <= 0.) {
+					angle += 2. * Math.PI;
+				}
+				if (angle < bestAngle) {
+					bestAngle = angle;
+					bestPos = i;
+				}
+			}
+		}
+		return bestPos == origPos ? -1 : bestPos;
+	}
+
+	@Pure
+	private static boolean isSamePoint(SweepEvent e1, SweepEvent e2) {
+		return e1.x == e2.x && e1.y == e2.y;
+	}
+
+	/**
+	 * Type of an edge according to the overlapping edge of the other polygon.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private enum EdgeType {
+		/** The edge does not overlap an edge of the other polygon.
+		 */
+		NORMAL,
+		/** The edge overlaps an edge of the other polygon that is already representing their common part.
+		 */
+		NON_CONTRIBUTING,
+		/** The edge overlaps an edge of the other polygon, and the two polygons are on the same side.
+		 */
+		SAME_TRANSITION,
+		/** The edge overlaps an edge of the other polygon, and the two polygons are on opposite sides.
+		 */
+		DIFFERENT_TRANSITION;
+	}
+
+	/**
+	 * Endpoint of an edge.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private static final class SweepEvent {
+
+		final int id;
+
+		final double x;
+
+		final double y;
+
+		/** Indicates if the edge is an edge of the first polygon.
+		 */
+		final boolean subject;
+
+		/** The coordinates of the endpoints of the polygon edge from which this edge was split.
+		 */
+		final double[] line;
+
+		/** Indicates if this endpoint is the left endpoint of the edge.
+		 */
+		boolean left;
+
+		/** The other endpoint of the edge.
+		 */
+		SweepEvent other;
+
+		int contourId;
+
+		EdgeType type = EdgeType.NORMAL;
+
+		/** Indicates if the edge is an out-in transition of its polygon, when going up.
+		 */
+		boolean inOut;
+
+		/** Indicates if the closest edge of the other polygon below this edge is an out-in transition.
+		 */
+		boolean otherInOut;
+
+		boolean inResult;
+
+		/** The closest edge below this edge that is in the result.
+		 */
+		SweepEvent prevInResult;
+
+		int resultTransition;
+
+		int outputContourId = -1;
+
+		int otherPos;
+
+		/** Constructor.
+		 *
+		 * @param id the sequence number of the event.
+		 * @param x the x coordinate of the endpoint.
+		 * @param y the y coordinate of the endpoint.
+		 * @param subject indicates if the edge is an edge of the first polygon.
+		 * @param line the coordinates of the endpoints of the polygon edge.
+		 */
+		SweepEvent(int id, double x, double y, boolean subject, double[] line) {
+			this.id = id;
+			this.x = x;
+			this.y = y;
+			this.subject = subject;
+			this.line = line;
+		}
+
+		/** Replies if the edge is below the given point.
+		 */
+		@Pure
+		boolean isBelow(double px, double py) {
+			return this.left
+					? signedArea(this.x, this.y, this.other.x, this.other.y, px, py) > 0.
+					: signedArea(this.other.x, this.other.y, this.x, this.y, px, py) > 0.;
+		}
+
+		/** Replies if the given point is strictly between the endpoints of the edge in the sweep order.
+		 */
+		@Pure
+		boolean isInside(double px, double py) {
+			final var left = this.left ? this : this.other;
+			final var right = left.other;
+			return (px > left.x || (px == left.x && py > left.y))
+					&& (px < right.x || (px == right.x && py < right.y));
+		}
+
+		@Pure
+		boolean isVertical() {
+			return this.x == this.other.x;
+		}
+
+	} /* class SweepEvent */
+
+	/**
+	 * Ring of the result.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private static final class Contour {
+
+		final List<Integer> holes = new ArrayList<>();
+
+		int holeOf = -1;
+
+		private double[] points = new double[16];
+
+		private int size;
+
+		/** Constructor.
+		 */
+		Contour() {
+			//
+		}
+
+		void add(SweepEvent event) {
+			if (this.size + 2 > this.points.length) {
+				this.points = Arrays.copyOf(this.points, this.points.length * 2);
+			}
+			this.points[this.size++] = event.x;
+			this.points[this.size++] = event.y;
+		}
+
+		/** Replies the coordinates of the ring, without the closing point.
+		 *
+		 * @param exterior indicates if the ring must be clockwise.
+		 * @return the ring, or {@code null} if it has less than three points.
+		 */
+		double[] toRing(boolean exterior) {
+			var n = this.size;
+			if (n >= 2 && this.points[0] == this.points[n - 2] && this.points[1] == this.points[n - 1]) {
+				n -= 2;
+			}
+			if (n < 6) {
+				return null;
+			}
+			final var ring = Arrays.copyOf(this.points, n);
+			var area = 0.;
+			for (var i = 0; i < n; i += 2) {
+				final var j = (i + 2) % n;
+				area += ring[i] * ring[j + 1] - ring[j] * ring[i + 1];
+			}
+			if ((area > 0.) == exterior) {
+				for (int i = 0, j = n - 2; i < j; i += 2, j -= 2) {
+					final var x = ring[i];
+					final var y = ring[i + 1];
+					ring[i] = ring[j];
+					ring[i + 1] = ring[j + 1];
+					ring[j] = x;
+					ring[j + 1] = y;
+				}
+			}
+			return ring;
+		}
+
+	} /* class Contour */
+
+}
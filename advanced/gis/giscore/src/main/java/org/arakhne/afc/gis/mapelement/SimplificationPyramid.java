@@ -0,0 +1,357 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.mapelement;
+
+import java.util.Arrays;
+
+import org.arakhne.afc.math.geometry.d2.afp.Segment2afp;
+import org.eclipse.xtext.xbase.lib.Pure;
+
+/**
+ * Multi-resolution representation of the points of a {@link MapComposedElement}.
+ *
+ * <p>The pyramid is made of several levels. The level {@code 0} is the element itself.
+ * The level {@code k>0} is the element simplified with the Douglas-Peucker algorithm
+ * and the tolerance {@link #getTolerance(int) getTolerance(k)}; the tolerances are
+ * increasing with the levels. The first and last points of each group are kept at all the
+ * levels, and the points that are assumed to be the same as their neighbor by the
+ * {@link MapComposedElement#getPointFusionValidator() point fusion validator} of the element
+ * are removed from all the levels above {@code 0}.
+ *
+ * <p>Because the Douglas-Peucker simplifications are nested, the pyramid stores only the
+ * highest level at which each point is kept, i.e. one byte per point. The simplified
+ * elements are built from this information when they are requested, and kept for the
+ * next requests.
+ *
+ * <p>The pyramid is a snapshot of the element: it must be built again when the points of
+ * the element change. {@link MapComposedElement#getSimplificationPyramid()} takes care
+ * of it.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+public final class SimplificationPyramid {
+
+	/** Default number of simplified levels, i.e. without the level {@code 0}.
+	 */
+	public static final int DEFAULT_LEVEL_COUNT = 16;
+
+	/** Default tolerance of the first simplified level. The tolerance is doubled at each
+	 * of the next levels.
+	 */
+	public static final double DEFAULT_BASE_TOLERANCE = MapElementConstants.POINT_FUSION_DISTANCE;
+
+	private static final int MAXIMUM_LEVEL_COUNT = Byte.MAX_VALUE;
+
+	private final MapComposedElement element;
+
+	/** Tolerance of each level; the first value is for the level {@code 1}.
+	 */
+	private final double[] tolerances;
+
+	/** Highest level at which each point is kept.
+	 */
+	private final byte[] pointLevels;
+
+	/** Number of points at each level.
+	 */
+	private final int[] pointCounts;
+
+	/** Simplified elements, built on demand.
+	 */
+	private final MapComposedElement[] elements;
+
+	private SimplificationPyramid(MapComposedElement element, double[] tolerances) {
+		this.element = element;
+		this.tolerances = tolerances;
+		this.pointLevels = computePointLevels(element, tolerances);
+		this.pointCounts = new int[tolerances.length + 1];
+		for (final var level : this.pointLevels) {
+			for (var i = 0; i <= level; ++i) {
+				++this.pointCounts[i];
+			}
+		}
+		this.elements = new MapComposedElement[tolerances.length + 1];
+		this.elements[0] = element;
+	}
+
+	/** Build the pyramid of the given element with the given number of levels.
+	 *
+	 * <p>The tolerance of the level {@code k>0} is {@code baseTolerance * 2<sup>k-1</sup>}.
+	 *
+	 * @param element the element to simplify.
+	 * @param baseTolerance the tolerance of the level {@code 1}. It must be strictly positive.
+	 * @param levelCount the number of simplified levels, between {@code 1} and {@code 127}.
+	 * @return the pyramid.
+	 */
+	public static SimplificationPyramid build(MapComposedElement element, double baseTolerance, int levelCount) {
+		if (!(baseTolerance > 0.) || levelCount < 1 || levelCount > MAXIMUM_LEVEL_COUNT) {
+			throw new IllegalArgumentException();
+		}
+		final var tolerances = new double[levelCount];
+		var tolerance = baseTolerance;
+		for (var i = 0; i < levelCount; ++i) {
+			tolerances[i] = tolerance;
+			tolerance *= 2.;
+		}
+		return new SimplificationPyramid(element, tolerances);
+	}
+
+	/** Build the pyramid of the given element with the given tolerances.
+	 *
+	 * @param element the element to simplify.
+	 * @param tolerances the tolerances of the levels {@code 1}, {@code 2}, etc. They must be strictly
+	 *     positive and strictly increasing. At most {@code 127} tolerances may be given.
+	 * @return the pyramid.
+	 */
+	public static SimplificationPyramid build(MapComposedElement element, double... tolerances) {
+		if (tolerances.length < 1 || tolerances.length > MAXIMUM_LEVEL_COUNT) {
+			throw new IllegalArgumentException();
+		}
+		var previous = 0.;
+		for (final var tolerance : tolerances) {
+			if (!(tolerance > previous)) {
+				throw new IllegalArgumentException();
+			}
+			previous = tolerance;
+		}
+		return new SimplificationPyramid(element, tolerances.clone());
+	}
+
+	/** Compute, for each point, the highest level at which it is kept.
+	 */
+	private static byte[] computePointLevels(MapComposedElement element, double[] tolerances) {
+		final var pointCount = element.getPointCount();
+		final var levels = new byte[pointCount];
+		if (pointCount == 0) {
+			return levels;
+		}
+		final var top = (byte) tolerances.length;
+		final var coordinates = element.getPointCoordinates();
+		final var validator = element.getPointFusionValidator();
+		final var significances = new double[pointCount];
+		final var stack = new int[pointCount * 2];
+		for (var group = 0; group < element.getGroupCount(); ++group) {
+			final var first = element.getFirstPointIndexInGroup(group);
+			final var last = element.getLastPointIndexInGroup(group);
+			computeSignificances(coordinates, first, last, significances, stack);
+			levels[first] = top;
+			levels[last] = top;
+			// Index of the last point that is not fused with its predecessor
+			var kept = first;
+			for (var i = first + 1; i < last; ++i) {
+				final var x = coordinates[i * 2];
+				final var y = coordinates[i * 2 + 1];
+				var level = 0;
+				while (level < tolerances.length && significances[i] > tolerances[level]) {
+					++level;
+				}
+				if (validator.isSame(coordinates[i * 2 - 2], coordinates[i * 2 - 1], x, y)) {
+					// The fused point may be the one selected by Douglas-Peucker; its level is given
+					// to the point that represents it
+					levels[kept] = (byte) Math.max(levels[kept], level);
+				} else if (i + 1 < last || !validator.isSame(x, y, coordinates[last * 2], coordinates[last * 2 + 1])) {
+					levels[i] = (byte) level;
+					kept = i;
+				}
+			}
+		}
+		return levels;
+	}
+
+	/** Douglas-Peucker algorithm: the significance of a point is the tolerance above which the
+	 * point is removed. The significance of a point is never greater than the significance
+	 * of the point that splits the sub-chain containing it, so that the levels are nested.
+	 */
+	private static void computeSignificances(double[] coordinates, int first, int last,
+			double[] significances, int[] stack) {
+		significances[first] = Double.POSITIVE_INFINITY;
+		significances[last] = Double.POSITIVE_INFINITY;
+		if (last - first < 2) {
+			return;
+		}
+		var size = 0;
+		stack[size++] = first;
+		stack[size++] = last;
+		while (size > 0) {
+			final var end = stack[--size];
+			final var start = stack[--size];
+			final var x1 = coordinates[start * 2];
+			final var y1 = coordinates[start * 2 + 1];
+			final var x2 = coordinates[end * 2];
+			final var y2 = coordinates[end * 2 + 1];
+			var farthest = -1;
+			var maxDistance = -1.;
+			for (var i = start + 1; i < end; ++i) {
+				final var distance = Segment2afp.calculatesDistanceSquaredSegmentPoint(x1, y1, x2, y2,
+						coordinates[i * 2], coordinates[i * 2 + 1]);
+				if (distance > maxDistance) {
+					maxDistance = distance;
+					farthest = i;
+				}
+			}
+			final var parent = Math.min(significances[start], significances[end]);
+			significances[farthest] = Math.min(Math.sqrt(maxDistance), parent);
+			if (farthest - start > 1) {
+				stack[size++] = start;
+				stack[size++] = farthest;
+			}
+			if (end - farthest > 1) {
+				stack[size++] = farthest;
+				stack[size++] = end;
+			}
+		}
+	}
+
+	/** Replies the element from which this pyramid was built.
+	 *
+	 * @return the element at level {@code 0}.
+	 */
+	@Pure
+	public MapComposedElement getSourceElement() {
+		return this.element;
+	}
+
+	/** Replies the number of levels, including the level {@code 0}.
+	 *
+	 * @return the number of levels.
+	 */
+	@Pure
+	public int getLevelCount() {
+		return this.tolerances.length + 1;
+	}
+
+	/** Replies the tolerance that was used for building the given level.
+	 *
+	 * @param level the level.
+	 * @return the tolerance; {@code 0} for the level {@code 0}.
+	 */
+	@Pure
+	public double getTolerance(int level) {
+		checkLevel(level);
+		return level == 0 ? 0. : this.tolerances[level - 1];
+	}
+
+	/** Replies the coarsest level whose tolerance is lower than or equal to the given tolerance.
+	 *
+	 * <p>For rendering, the tolerance is usually the size of a pixel in map units, i.e. the
+	 * inverse of the scale factor of the view.
+	 *
+	 * @param tolerance the maximal distance between the simplified shape and the original one.
+	 * @return the level.
+	 */
+	@Pure
+	public int selectLevel(double tolerance) {
+		final var index = Arrays.binarySearch(this.tolerances, tolerance);
+		if (index >= 0) {
+			return index + 1;
+		}
+		return -index - 1;
+	}
+
+	/** Replies the number of points of the given level.
+	 *
+	 * @param level the level.
+	 * @return the number of points.
+	 */
+	@Pure
+	public int getPointCount(int level) {
+		checkLevel(level);
+		return this.pointCounts[level];
+	}
+
+	/** Replies if the point at the given index in the source element is kept at the given level.
+	 *
+	 * @param pointIndex the index of the point in the source element.
+	 * @param level the level.
+	 * @return {@code true} if the point is part of the level.
+	 */
+	@Pure
+	public boolean isPointKept(int pointIndex, int level) {
+		checkLevel(level);
+		return this.pointLevels[pointIndex] >= level;
+	}
+
+	/** Replies the element at the given level.
+	 *
+	 * <p>The simplified elements are copies of the source element, with the same attributes,
+	 * that are not inside any container.
+	 *
+	 * @param level the level.
+	 * @return the element of the level; the source element for the level {@code 0}.
+	 */
+	public MapComposedElement getElement(int level) {
+		checkLevel(level);
+		var simplified = this.elements[level];
+		if (simplified == null) {
+			simplified = buildElement(level);
+			this.elements[level] = simplified;
+		}
+		return simplified;
+	}
+
+	/** Replies the coarsest element whose tolerance is lower than or equal to the given tolerance.
+	 *
+	 * @param tolerance the maximal distance between the simplified shape and the original one.
+	 * @return the element.
+	 * @see #selectLevel(double)
+	 */
+	public MapComposedElement getElementForTolerance(double tolerance) {
+		return getElement(selectLevel(tolerance));
+	}
+
+	private MapComposedElement buildElement(int level) {
+		final var source = this.element;
+		final var coordinates = source.getPointCoordinates();
+		final var simplifiedCoordinates = new double[this.pointCounts[level] * 2];
+		final var groupCount = source.getGroupCount();
+		final var groups = groupCount > 1 ? new int[groupCount - 1] : null;
+		var n = 0;
+		for (var group = 0; group < groupCount; ++group) {
+			if (group > 0) {
+				groups[group - 1] = n;
+			}
+			final var last = source.getLastPointIndexInGroup(group);
+			for (var i = source.getFirstPointIndexInGroup(group); i <= last; ++i) {
+				if (this.pointLevels[i] >= level) {
+					simplifiedCoordinates[n++] = coordinates[i * 2];
+					simplifiedCoordinates[n++] = coordinates[i * 2 + 1];
+				}
+			}
+		}
+		final var simplified = source.clone();
+		simplified.setPoints(simplifiedCoordinates, groups);
+		return simplified;
+	}
+
+	private void checkLevel(int level) {
+		if (level < 0) {
+			throw new IndexOutOfBoundsException(level + "<0"); //$NON-NLS-1$
+		}
+		if (level > this.tolerances.length) {
+			throw new IndexOutOfBoundsException(level + ">" + this.tolerances.length); //$NON-NLS-1$
+		}
+	}
+
+}
@@ -171,6 +171,7 @@ public class GridMapElementLayer<E extends MapElement> extends MapElementLayer<E
 				this.mapElements.getRowCount(),
 				this.mapElements.getColumnCount(),
 				this.mapElements.getBounds());
+		layer.mapElements.setSubdivisionThreshold(this.mapElements.getSubdivisionThreshold());
 		for (final var elt : this.mapElements) {
 			final var cloneElt = (E) elt.clone();
 			layer.addMapElement(cloneElt);
@@ -197,6 +198,55 @@ public class GridMapElementLayer<E extends MapElement> extends MapElementLayer<E
 		return this.mapElements.getColumnCount();
 	}
 
+	/** Replies the number of elements in a cell of the grid above which the cell is
+	 * subdivided into a second-level grid.
+	 *
+	 * @return the threshold, or {@code 0} if the cells are never subdivided.
+	 * @since 18.0
+	 */
+	@Pure
+	public int getSubdivisionThreshold() {
+		return this.mapElements.getSubdivisionThreshold();
+	}
+
+	/** Change the number of elements in a cell of the grid above which the cell is
+	 * subdivided into a second-level grid.
+	 *
+	 * @param threshold the threshold, or {@code 0} if the cells are never subdivided.
+	 * @since 18.0
+	 */
+	public void setSubdivisionThreshold(int threshold) {
+		this.mapElements.setSubdivisionThreshold(threshold);
+	}
+
+	/** Rebalance the grid of the layer according to the number of elements in its cells.
+	 * This function should be invoked after many elements were removed from the layer.
+	 *
+	 * @since 18.0
+	 */
+	public void rebalance() {
+		this.mapElements.rebalance();
+	}
+
+	/** {@inheritDoc}
+	 *
+	 * <p>The grid is rebuilt to cover the bounds of the elements, with the same
+	 * numbers of rows and columns.
+	 */
+	@Override
+	protected void rebuildSpatialIndex() {
+		final var b = calcBounds();
+		if (b != null && !b.isEmpty()) {
+			final var grid = new MapElementGridSet<E>(
+					this.mapElements.getRowCount(),
+					this.mapElements.getColumnCount(),
+					b);
+			grid.setSubdivisionThreshold(this.mapElements.getSubdivisionThreshold());
+			grid.addAll(this.mapElements);
+			this.mapElements = grid;
+		}
+	}
+
 	@Override
 	@Pure
 	protected Rectangle2d calcBounds() {
@@ -21,13 +21,21 @@
 package org.arakhne.afc.gis.maplayer;
 
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.arakhne.afc.attrs.collection.AttributeCollection;
 import org.arakhne.afc.gis.coordinate.MapMetricProjection;
 import org.arakhne.afc.gis.mapelement.GISElementContainer;
+import org.arakhne.afc.gis.mapelement.MapComposedElement;
 import org.arakhne.afc.gis.mapelement.MapElement;
 import org.arakhne.afc.gis.primitive.ChangeListener;
+import org.arakhne.afc.math.geometry.d2.afp.Rectangle2afp;
 import org.arakhne.afc.vmutil.json.JsonBuffer;
 import org.eclipse.xtext.xbase.lib.Pure;
 
@@ -59,10 +67,21 @@ public abstract class MapElementLayer<E extends MapElement> extends MapLayer imp
 	 */
 	public static final String ATTR_ELEMENT_ATTRIBUTES_URL = "elementAttributeUrl"; //$NON-NLS-1$
 
+	/** Name of the attribute which is containing the type of map
+	 * projection in which the coordinates of the elements are expressed.
+	 * @since 18.0
+	 */
+	public static final String ATTR_ELEMENT_PROJECTION = "elementProjection"; //$NON-NLS-1$
+
 	private static final long serialVersionUID = -398027492247194045L;
 
 	private transient volatile ChangeListener listener;
 
+	/** Indicates if the elements are changed all at once, e.g. reprojected or compacted,
+	 * i.e. the changes of the elements must not be notified one by one.
+	 */
+	private transient volatile boolean updatingElements;
+
 	/** Create a new layer with the specified attribute source.
 	 *
 	 * @param id is the unique identifier of this element, or {@code null} if unknown.
@@ -117,9 +136,337 @@ public abstract class MapElementLayer<E extends MapElement> extends MapLayer imp
 
 	@Override
 	public void onMapElementGraphicalAttributeChanged() {
+		if (!this.updatingElements) {
+			fireLayerContentChangedEvent();
+		}
+	}
+
+	/** Replies the map projection in which the coordinates of the elements are expressed.
+	 *
+	 * <p>The projection is the one given to the last call to {@link #reproject(MapMetricProjection)}
+	 * or {@link #setElementProjection(MapMetricProjection)}. If there was no such call, the
+	 * {@link #getElementGeometrySourceProjection() projection of the geometry source} is replied,
+	 * or the {@link MapMetricProjection#getDefault() default projection}.
+	 *
+	 * @return the map projection of the elements.
+	 * @since 18.0
+	 */
+	@Pure
+	public MapMetricProjection getElementProjection() {
+		var projection = getAttribute(ATTR_ELEMENT_PROJECTION, (MapMetricProjection) null);
+		if (projection == null) {
+			projection = getElementGeometrySourceProjection();
+			if (projection == null) {
+				projection = MapMetricProjection.getDefault();
+			}
+		}
+		return projection;
+	}
+
+	/** Change the map projection in which the coordinates of the elements are expressed,
+	 * without converting the coordinates.
+	 *
+	 * @param projection the map projection of the elements, or {@code null} for the
+	 *     default projection.
+	 * @since 18.0
+	 * @see #reproject(MapMetricProjection)
+	 */
+	public void setElementProjection(MapMetricProjection projection) {
+		if (projection == null) {
+			removeAttribute(ATTR_ELEMENT_PROJECTION);
+		} else {
+			setAttribute(ATTR_ELEMENT_PROJECTION, projection);
+		}
+	}
+
+	/** Convert the coordinates of all the elements of this layer from the
+	 * {@link #getElementProjection() projection of the elements} to the given projection.
+	 *
+	 * <p>The points of each element are converted at once, and the spatial index of the layer,
+	 * if any, is rebuilt only once, when all the elements were converted. The changes of the
+	 * elements are notified by a single layer content event.
+	 *
+	 * @param target the map projection into which the coordinates must be converted.
+	 * @since 18.0
+	 * @see #parallelReproject(ForkJoinPool, Collection, MapMetricProjection)
+	 */
+	public void reproject(MapMetricProjection target) {
+		if (target == null) {
+			throw new IllegalArgumentException();
+		}
+		final var source = getElementProjection();
+		if (source != target) {
+			reprojectWithoutEvents(source, target);
+			onElementsReprojected(target);
+		}
+	}
+
+	/** Convert the coordinates of all the elements of the given layers into the given projection.
+	 * The layers are reprojected in parallel.
+	 *
+	 * <p>The {@link MultiMapLayer multi-layers} are traversed, and the layers containing
+	 * map elements are reprojected as by {@link #reproject(MapMetricProjection)}. The events are
+	 * fired in the current thread, when all the layers were reprojected.
+	 *
+	 * <p>If the reprojection of a layer fails, the other layers are reprojected and their events
+	 * are fired; then the error is thrown, with the errors of the other failing layers as
+	 * suppressed exceptions.
+	 *
+	 * @param pool the pool of threads that must reproject the layers.
+	 * @param layers the layers to reproject.
+	 * @param target the map projection into which the coordinates must be converted.
+	 * @since 18.0
+	 */
+	public static void parallelReproject(ForkJoinPool pool, Collection<? extends MapLayer> layers,
+			MapMetricProjection target) {
+		if (target == null) {
+			throw new IllegalArgumentException();
+		}
+		final var elementLayers = new ArrayList<MapElementLayer<?>>();
+		collectElementLayers(layers, target, elementLayers);
+		if (!elementLayers.isEmpty()) {
+			final var sources = new MapMetricProjection[elementLayers.size()];
+			for (var i = 0; i < sources.length; ++i) {
+				sources[i] = elementLayers.get(i).getElementProjection();
+			}
+			final var errors = new RuntimeException[sources.length];
+			pool.invoke(new ReprojectionTask(elementLayers, sources, target, errors, 0, sources.length));
+			RuntimeException error = null;
+			for (var i = 0; i < errors.length; ++i) {
+				if (errors[i] == null) {
+					elementLayers.get(i).onElementsReprojected(target);
+				} else if (error == null) {
+					error = errors[i];
+				} else {
+					error.addSuppressed(errors[i]);
+				}
+			}
+			if (error != null) {
+				throw error;
+			}
+		}
+	}
+
+	private static void collectElementLayers(Iterable<? extends MapLayer> layers, MapMetricProjection target,
+			List<MapElementLayer<?>> elementLayers) {
+		for (final var layer : layers) {
+			if (layer instanceof MapElementLayer<?> elementLayer) {
+				if (elementLayer.getElementProjection() != target) {
+					elementLayers.add(elementLayer);
+				}
+			} else if (layer instanceof MultiMapLayer<?> multiLayer) {
+				collectElementLayers(multiLayer, target, elementLayers);
+			}
+		}
+	}
+
+	/** Convert the coordinates of all the elements of this layer, and rebuild the spatial index.
+	 *
+	 * <p>The changes of the elements are not notified to the listeners of the layer; the caller
+	 * fires a single layer content event. This function may be invoked by a thread that
+	 * is not the thread that is owning the layer.
+	 *
+	 * @param source the map projection in which the coordinates of the elements are expressed.
+	 * @param target the map projection into which the coordinates must be converted.
+	 * @since 18.0
+	 * @see #rebuildSpatialIndex()
+	 */
+	protected void reprojectElements(MapMetricProjection source, MapMetricProjection target) {
+		final var iterator = iterator();
+		while (iterator.hasNext()) {
+			iterator.next().reproject(source, target);
+		}
+		rebuildSpatialIndex();
+	}
+
+	/** Rebuild the spatial index of this layer from the current shapes of the elements.
+	 *
+	 * <p>This function is invoked when the shapes of all the elements have changed at once,
+	 * e.g. by {@link #reproject(MapMetricProjection)}. The default implementation does nothing.
+	 *
+	 * @since 18.0
+	 */
+	protected void rebuildSpatialIndex() {
+		//
+	}
+
+	private void reprojectWithoutEvents(MapMetricProjection source, MapMetricProjection target) {
+		this.updatingElements = true;
+		try {
+			reprojectElements(source, target);
+		} finally {
+			this.updatingElements = false;
+		}
+	}
+
+	private void onElementsReprojected(MapMetricProjection target) {
+		setElementProjection(target);
+		resetBoundingBox();
+		fireLayerContentChangedEvent();
+	}
+
+	/**
+	 * Task that reprojects a range of layers.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private static class ReprojectionTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 6383424712916052389L;
+
+		private final transient List<MapElementLayer<?>> layers;
+
+		private final MapMetricProjection[] sources;
+
+		private final MapMetricProjection target;
+
+		/** The errors of the layers, or {@code null} for the layers that were reprojected.
+		 */
+		private final RuntimeException[] errors;
+
+		private final int from;
+
+		private final int to;
+
+		ReprojectionTask(List<MapElementLayer<?>> layers, MapMetricProjection[] sources, MapMetricProjection target,
+				RuntimeException[] errors, int from, int to) {
+			this.layers = layers;
+			this.sources = sources;
+			this.target = target;
+			this.errors = errors;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from <= 1) {
+				try {
+					this.layers.get(this.from).reprojectWithoutEvents(this.sources[this.from], this.target);
+				} catch (RuntimeException ex) {
+					this.errors[this.from] = ex;
+				}
+			} else {
+				final var middle = (this.from + this.to) >>> 1;
+				invokeAll(
+						new ReprojectionTask(this.layers, this.sources, this.target, this.errors, this.from, middle),
+						new ReprojectionTask(this.layers, this.sources, this.target, this.errors, middle, this.to));
+			}
+		}
+
+	} /* class ReprojectionTask */
+
+	/** Store the points of the composed elements of this layer with single-precision offsets
+	 * from the lower corner of the bounds of this layer.
+	 *
+	 * @since 18.0
+	 * @see #compact(double, double)
+	 */
+	public void compact() {
+		final var bounds = getBoundingBox();
+		if (bounds != null) {
+			compact(bounds.getMinX(), bounds.getMinY());
+		}
+	}
+
+	/** Store the points of the composed elements of this layer with single-precision offsets
+	 * from the given origin, usually the origin of the tile that is covered by this layer.
+	 *
+	 * <p>The elements are compacted as by {@link MapComposedElement#compact(double, double)},
+	 * and the spatial index of the layer, if any, is rebuilt only once. The changes of the
+	 * elements are notified by a single layer content event.
+	 *
+	 * @param originX the x-coordinate of the origin of the offsets.
+	 * @param originY the y-coordinate of the origin of the offsets.
+	 * @since 18.0
+	 */
+	public void compact(double originX, double originY) {
+		this.updatingElements = true;
+		try {
+			compactElements(originX, originY);
+		} finally {
+			this.updatingElements = false;
+		}
+		resetBoundingBox();
 		fireLayerContentChangedEvent();
 	}
 
+	/** Compact the points of all the composed elements of this layer, and rebuild the spatial index.
+	 *
+	 * <p>The changes of the elements are not notified to the listeners of the layer; the caller
+	 * fires a single layer content event.
+	 *
+	 * @param originX the x-coordinate of the origin of the offsets.
+	 * @param originY the y-coordinate of the origin of the offsets.
+	 * @since 18.0
+	 * @see #rebuildSpatialIndex()
+	 */
+	protected void compactElements(double originX, double originY) {
+		final var iterator = iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next() instanceof MapComposedElement element) {
+				element.compact(originX, originY);
+			}
+		}
+		rebuildSpatialIndex();
+	}
+
+	/** Iterates on the elements that intersect the specified bounds, and replies
+	 * their {@link MapElement#getSimplifiedElement(double) simplified versions}.
+	 *
+	 * <p>The replied elements are not inside this layer; they must not be modified.
+	 *
+	 * @param bounds is the rectangle inside which the replied elements must be located.
+	 * @param tolerance the maximal distance between the simplified shapes and the shapes
+	 *     of the elements, usually the size of a pixel in map units.
+	 * @return the iterator on the simplified elements.
+	 * @since 18.0
+	 */
+	@Pure
+	public Iterator<E> iterator(Rectangle2afp<?, ?, ?, ?, ?, ?> bounds, double tolerance) {
+		return new SimplifiedElementIterator<>(iterator(bounds), tolerance);
+	}
+
+	/**
+	 * Iterator that replies the simplified versions of the map elements.
+	 *
+	 * @param <E> is the type of the elements.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private static class SimplifiedElementIterator<E extends MapElement> implements Iterator<E> {
+
+		private final Iterator<E> iterator;
+
+		private final double tolerance;
+
+		SimplifiedElementIterator(Iterator<E> iterator, double tolerance) {
+			this.iterator = iterator;
+			this.tolerance = tolerance;
+		}
+
+		@Override
+		@Pure
+		public boolean hasNext() {
+			return this.iterator.hasNext();
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public E next() {
+			// A simplified element is a copy of the element, so it has the same type.
+			return (E) this.iterator.next().getSimplifiedElement(this.tolerance);
+		}
+
+	} /* class SimplifiedElementIterator */
+
 	@Override
 	@Pure
 	public URL getElementGeometrySourceURL() {
@@ -26,10 +26,16 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
 
 import org.arakhne.afc.attrs.collection.AttributeCollection;
+import org.arakhne.afc.gis.GISSet;
 import org.arakhne.afc.gis.mapelement.MapElement;
+import org.arakhne.afc.gis.mapelement.MapPolygon;
 import org.arakhne.afc.gis.tree.MapElementTreeSet;
+import org.arakhne.afc.gis.tree.PackedMapElementTreeSet;
+import org.arakhne.afc.gis.tree.SpatialJoin;
+import org.arakhne.afc.gis.tree.SpatialJoin.OverlayConsumer;
 import org.arakhne.afc.math.geometry.d2.afp.Rectangle2afp;
 import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
 import org.arakhne.afc.math.geometry.d2.d.Shape2d;
@@ -39,6 +45,10 @@ import org.eclipse.xtext.xbase.lib.Pure;
  * This class represents a layer that contains map elements
  * stored inside a tree data-structure.
  *
+ * <p>The layer may be {@link #pack() packed} when its content is not changing anymore.
+ * In this case, the elements are stored inside a {@link PackedMapElementTreeSet}.
+ * The next change of the layer's content restores the default tree data-structure.
+ *
  * @param <E> is the type of the elements inside this layer.
  * @author $Author: sgalland$
  * @version $FullVersion$
@@ -52,7 +62,7 @@ public class TreeMapElementLayer<E extends MapElement> extends MapElementLayer<E
 
 	private static final long serialVersionUID = -2435314165368116725L;
 
-	private MapElementTreeSet<E> mapElements;
+	private GISSet<E> mapElements;
 
 	/** Create a new layer with the specified attribute source.
 	 */
@@ -221,10 +231,93 @@ public class TreeMapElementLayer<E extends MapElement> extends MapElementLayer<E
 			final var cloneElt = (E) elt.clone();
 			layer.addMapElement(cloneElt);
 		}
+		if (isPacked()) {
+			layer.pack();
+		}
 		resetBoundingBox();
 		return layer;
 	}
 
+	/** Store the elements of this layer inside a packed R-tree.
+	 *
+	 * <p>The packed R-tree is smaller and faster to query than the default tree,
+	 * but it cannot be changed. The next change of the layer's content restores the default tree.
+	 *
+	 * @see PackedMapElementTreeSet
+	 * @see #isPacked()
+	 */
+	public void pack() {
+		if (!isPacked()) {
+			this.mapElements = new PackedMapElementTreeSet<>(this.mapElements);
+		}
+	}
+
+	/** Replies if the elements of this layer are stored inside a packed R-tree.
+	 *
+	 * @return {@code true} if the layer is packed.
+	 * @see #pack()
+	 */
+	@Pure
+	public boolean isPacked() {
+		return this.mapElements instanceof PackedMapElementTreeSet<?>;
+	}
+
+	/** Give to the consumer the intersections of the pairs of polygons from the two layers with intersecting bounds.
+	 * The pairs are found with the trees of the layers and they are intersected in parallel.
+	 *
+	 * <p>The consumer is invoked by several threads at the same time.
+	 * The layers must not be changed during the overlay.
+	 *
+	 * @param <P> the type of the polygons in the first layer.
+	 * @param <Q> the type of the polygons in the second layer.
+	 * @param pool the pool of threads that must compute the intersections.
+	 * @param left the first layer.
+	 * @param right the second layer.
+	 * @param consumer the receiver of the intersections.
+	 * @since 18.0
+	 * @see SpatialJoin#parallelOverlay(ForkJoinPool, GISSet, GISSet, OverlayConsumer)
+	 */
+	public static <P extends MapPolygon, Q extends MapPolygon> void parallelOverlay(ForkJoinPool pool,
+			TreeMapElementLayer<P> left, TreeMapElementLayer<Q> right, OverlayConsumer<? super P, ? super Q> consumer) {
+		SpatialJoin.parallelOverlay(pool, left.mapElements, right.mapElements, consumer);
+	}
+
+	/** Replies the elements of this layer inside a set that could be changed.
+	 * If the layer is packed, the elements are moved into a tree that could be changed.
+	 *
+	 * @return the changeable set of elements.
+	 */
+	private GISSet<E> getChangeableMapElements() {
+		if (isPacked()) {
+			final var b = getBoundingBox();
+			if (b == null || b.isEmpty()) {
+				this.mapElements = new MapElementTreeSet<>(this.mapElements);
+			} else {
+				this.mapElements = new MapElementTreeSet<>(b, this.mapElements);
+			}
+		}
+		return this.mapElements;
+	}
+
+	/** {@inheritDoc}
+	 *
+	 * <p>The tree is rebuilt with the bounds of the elements. If the layer was packed,
+	 * the rebuilt tree is packed too.
+	 */
+	@Override
+	protected void rebuildSpatialIndex() {
+		final var packed = isPacked();
+		final var b = calcBounds();
+		if (b == null || b.isEmpty()) {
+			this.mapElements = new MapElementTreeSet<>(this.mapElements);
+		} else {
+			this.mapElements = new MapElementTreeSet<>(b, this.mapElements);
+		}
+		if (packed) {
+			pack();
+		}
+	}
+
 	@Override
 	@Pure
 	protected Rectangle2d calcBounds() {
@@ -269,7 +362,7 @@ public class TreeMapElementLayer<E extends MapElement> extends MapElementLayer<E
 
 	@Override
 	public boolean addMapElements(Collection<? extends E> elements) {
-		if (this.mapElements.addAll(elements)) {
+		if (getChangeableMapElements().addAll(elements)) {
 			for (final var e : elements) {
 				e.setContainer(this);
 			}
@@ -282,7 +375,7 @@ public class TreeMapElementLayer<E extends MapElement> extends MapElementLayer<E
 
 	@Override
 	public boolean addMapElement(E element) {
-		if (this.mapElements.add(element)) {
+		if (getChangeableMapElements().add(element)) {
 			element.setContainer(this);
 			resetBoundingBox();
 			fireLayerContentChangedEvent();
@@ -293,7 +386,7 @@ public class TreeMapElementLayer<E extends MapElement> extends MapElementLayer<E
 
 	@Override
 	public boolean removeMapElement(MapElement element) {
-		if (this.mapElements.remove(element)) {
+		if (getChangeableMapElements().remove(element)) {
 			element.setContainer(null);
 			resetBoundingBox();
 			fireLayerContentChangedEvent();
@@ -308,7 +401,11 @@ public class TreeMapElementLayer<E extends MapElement> extends MapElementLayer<E
 			for (final var e : this.mapElements) {
 				e.setContainer(null);
 			}
-			this.mapElements.clear();
+			if (isPacked()) {
+				this.mapElements = new MapElementTreeSet<>();
+			} else {
+				this.mapElements.clear();
+			}
 			resetBoundingBox();
 			fireLayerContentChangedEvent();
 			return true;
@@ -351,6 +448,10 @@ public class TreeMapElementLayer<E extends MapElement> extends MapElementLayer<E
 
 		private final Iterator<E> iterator;
 
+		/** Indicates if the original iterator is iterating on a packed set that cannot be changed.
+		 */
+		private final boolean packed;
+
 		private E lastReplied;
 
 		/** Constructor.
@@ -358,6 +459,7 @@ public class TreeMapElementLayer<E extends MapElement> extends MapElementLayer<E
 		 */
 		IteratorWrapper(Iterator<E> iterator) {
 			this.iterator = iterator;
+			this.packed = isPacked();
 		}
 
 		@Override
@@ -376,6 +478,13 @@ public class TreeMapElementLayer<E extends MapElement> extends MapElementLayer<E
 		public void remove() {
 			final var removed = this.lastReplied;
 			this.lastReplied = null;
+			if (this.packed) {
+				// The packed set is not changed; the removal restores the default tree
+				if (removed == null || !removeMapElement(removed)) {
+					throw new NoSuchElementException();
+				}
+				return;
+			}
 			this.iterator.remove();
 			if (removed == null) {
 				throw new NoSuchElementException();
@@ -0,0 +1,459 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.arakhne.afc.gis.maplayer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.arakhne.afc.gis.mapelement.MapElement;
+import org.arakhne.afc.math.geometry.d2.afp.Rectangle2afp;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.eclipse.xtext.xbase.lib.Pure;
+
+/** Cache of the results of the viewport queries on a layer of map elements.
+ *
+ * <p>A viewer that queries the elements of a layer for each frame may use this cache
+ * to avoid the traversal of the spatial index of the layer when the viewport has not
+ * changed. The bounds of a query are enlarged to a grid of step {@code quantum * 2^lod},
+ * where {@code lod} is the level of detail given by the caller; so that the results of
+ * the close viewports are shared. The elements replied for a viewport are all the elements
+ * of the layer that are intersecting the enlarged bounds.
+ *
+ * <p>When a viewport is not in the cache, and a cached viewport of the same level of detail
+ * covers at least the half of it, the result is computed from the cached result and from
+ * the queries on the newly exposed strips only. This is the case of the small pans.
+ *
+ * <p>The cache contains at most {@link #getCapacity()} entries. When it is full, the least
+ * recently used entry is removed. The cache is cleared each time a {@link MapLayerContentEvent}
+ * is fired by the layer.
+ *
+ * @param <E> is the type of the elements inside the layer.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+public class ViewportQueryCache<E extends MapElement> {
+
+	/** Default number of entries in the cache.
+	 */
+	public static final int DEFAULT_CAPACITY = 32;
+
+	/** Maximal level of detail.
+	 */
+	public static final int MAXIMUM_LEVEL_OF_DETAIL = 62;
+
+	private final MapElementLayer<E> layer;
+
+	private final double quantum;
+
+	private final int capacity;
+
+	private final Map<Key, List<E>> entries;
+
+	private final Listener listener = new Listener();
+
+	private long hits;
+
+	private long incrementalHits;
+
+	private long misses;
+
+	/** Incremented each time the cache is cleared, in order to not cache a result
+	 * that was computed before the clearing.
+	 */
+	private long generation;
+
+	/** Constructor with the {@link #DEFAULT_CAPACITY default capacity}.
+	 *
+	 * @param layer the layer.
+	 * @param quantum the step of the grid on which the bounds of the queries are aligned
+	 *     at the level of detail {@code 0}.
+	 */
+	public ViewportQueryCache(MapElementLayer<E> layer, double quantum) {
+		this(layer, quantum, DEFAULT_CAPACITY);
+	}
+
+	/** Constructor.
+	 *
+	 * @param layer the layer.
+	 * @param quantum the step of the grid on which the bounds of the queries are aligned
+	 *     at the level of detail {@code 0}.
+	 * @param capacity the maximal number of entries in the cache.
+	 */
+	public ViewportQueryCache(MapElementLayer<E> layer, double quantum, int capacity) {
+		assert layer != null;
+		if (quantum <= 0. || capacity <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.layer = layer;
+		this.quantum = quantum;
+		this.capacity = capacity;
+		this.entries = new LinkedHashMap<>(capacity, .75f, true) {
+			private static final long serialVersionUID = 2871342630541928862L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, List<E>> eldest) {
+				return size() > ViewportQueryCache.this.capacity;
+			}
+		};
+		this.layer.addLayerListener(this.listener);
+	}
+
+	/** Unregister this cache from the layer, and clear it.
+	 * The cache is not invalidated anymore after a call to this function.
+	 */
+	public void dispose() {
+		this.layer.removeLayerListener(this.listener);
+		clear();
+	}
+
+	/** Replies the layer.
+	 *
+	 * @return the layer.
+	 */
+	@Pure
+	public MapElementLayer<E> getLayer() {
+		return this.layer;
+	}
+
+	/** Replies the step of the grid on which the bounds of the queries are aligned
+	 * at the level of detail {@code 0}.
+	 *
+	 * @return the step.
+	 */
+	@Pure
+	public double getQuantum() {
+		return this.quantum;
+	}
+
+	/** Replies the maximal number of entries in the cache.
+	 *
+	 * @return the capacity of the cache.
+	 */
+	@Pure
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	/** Replies the number of entries in the cache.
+	 *
+	 * @return the number of entries.
+	 */
+	@Pure
+	public synchronized int size() {
+		return this.entries.size();
+	}
+
+	/** Remove all the entries from the cache. The statistics are not reset.
+	 */
+	public synchronized void clear() {
+		++this.generation;
+		this.entries.clear();
+	}
+
+	/** Replies the number of queries that were answered from a cached viewport.
+	 *
+	 * @return the number of cache hits.
+	 */
+	@Pure
+	public synchronized long getHitCount() {
+		return this.hits;
+	}
+
+	/** Replies the number of queries that were answered from a cached viewport and from
+	 * queries on the newly exposed strips.
+	 *
+	 * @return the number of incremental answers.
+	 */
+	@Pure
+	public synchronized long getIncrementalHitCount() {
+		return this.incrementalHits;
+	}
+
+	/** Replies the number of queries that needed a full query on the layer.
+	 *
+	 * @return the number of cache misses.
+	 */
+	@Pure
+	public synchronized long getMissCount() {
+		return this.misses;
+	}
+
+	/** Reset the statistics of the cache.
+	 */
+	public synchronized void resetStatistics() {
+		this.hits = 0;
+		this.incrementalHits = 0;
+		this.misses = 0;
+	}
+
+	/** Replies the elements of the layer that are intersecting the given viewport,
+	 * enlarged to the grid of the given level of detail.
+	 *
+	 * @param bounds the bounds of the viewport.
+	 * @param levelOfDetail the level of detail, between {@code 0} and {@link #MAXIMUM_LEVEL_OF_DETAIL}.
+	 *     The bounds are aligned on a grid of step {@code quantum * 2^levelOfDetail}.
+	 * @return the unmodifiable list of the elements.
+	 */
+	public List<E> getElements(Rectangle2afp<?, ?, ?, ?, ?, ?> bounds, int levelOfDetail) {
+		if (levelOfDetail < 0 || levelOfDetail > MAXIMUM_LEVEL_OF_DETAIL) {
+			throw new IllegalArgumentException();
+		}
+		final var step = Math.scalb(this.quantum, levelOfDetail);
+		final var x1 = (long) Math.floor(bounds.getMinX() / step);
+		final var y1 = (long) Math.floor(bounds.getMinY() / step);
+		final var key = new Key(levelOfDetail, x1, y1,
+				Math.max(x1 + 1, (long) Math.ceil(bounds.getMaxX() / step)),
+				Math.max(y1 + 1, (long) Math.ceil(bounds.getMaxY() / step)));
+		final Key base;
+		final List<E> baseElements;
+		final long gen;
+		synchronized (this) {
+			gen = this.generation;
+			final var cached = this.entries.get(key);
+			if (cached != null) {
+				++this.hits;
+				return cached;
+			}
+			base = findOverlappingViewport(key);
+			if (base != null) {
+				++this.incrementalHits;
+				baseElements = this.entries.get(base);
+			} else {
+				++this.misses;
+				baseElements = null;
+			}
+		}
+		final List<E> elements;
+		if (base == null) {
+			elements = new ArrayList<>();
+			this.layer.iterator(key.toBounds(step)).forEachRemaining(elements::add);
+		} else {
+			elements = computeIncrementally(key, base, baseElements, step);
+		}
+		final var result = Collections.unmodifiableList(elements);
+		synchronized (this) {
+			if (gen == this.generation) {
+				this.entries.put(key, result);
+			}
+		}
+		return result;
+	}
+
+	/** Replies the elements of the layer that are intersecting the given viewport,
+	 * enlarged to the grid of the given level of detail.
+	 *
+	 * @param bounds the bounds of the viewport.
+	 * @param levelOfDetail the level of detail, between {@code 0} and {@link #MAXIMUM_LEVEL_OF_DETAIL}.
+	 * @param budget is the maximal number of replied elements. If this value is negative,
+	 *     all the elements are replied.
+	 * @return the iterator on the elements.
+	 * @see #getElements(Rectangle2afp, int)
+	 */
+	public Iterator<E> iterator(Rectangle2afp<?, ?, ?, ?, ?, ?> bounds, int levelOfDetail, int budget) {
+		final var elements = getElements(bounds, levelOfDetail);
+		if (budget >= 0 && budget < elements.size()) {
+			return elements.subList(0, budget).iterator();
+		}
+		return elements.iterator();
+	}
+
+	/** Replies the cached viewport of the same level of detail that covers the largest part of the
+	 * given viewport, if this part is at least the half of the given viewport.
+	 *
+	 * @param key the viewport.
+	 * @return the cached viewport, or {@code null}.
+	 */
+	private Key findOverlappingViewport(Key key) {
+		Key best = null;
+		var bestArea = key.getArea() / 2.;
+		for (final var candidate : this.entries.keySet()) {
+			if (candidate.lod == key.lod) {
+				final var area = key.getIntersectionArea(candidate);
+				if (area >= bestArea) {
+					bestArea = area;
+					best = candidate;
+				}
+			}
+		}
+		return best;
+	}
+
+	/** Compute the elements of the viewport from the elements of a cached viewport and from
+	 * the queries on the parts of the viewport that are outside the cached viewport.
+	 *
+	 * @param key the viewport.
+	 * @param base the cached viewport.
+	 * @param baseElements the elements of the cached viewport.
+	 * @param step the step of the grid.
+	 * @return the elements.
+	 */
+	private List<E> computeIncrementally(Key key, Key base, List<E> baseElements, double step) {
+		final var bounds = key.toBounds(step);
+		final var seen = Collections.newSetFromMap(new IdentityHashMap<E, Boolean>());
+		final var elements = new ArrayList<E>();
+		for (final var element : baseElements) {
+			// Same filter as the queries on the layer, which are based on the geo-locations
+			if (element.getGeoLocation().intersects(bounds)) {
+				elements.add(element);
+				seen.add(element);
+			}
+		}
+		final var ix1 = Math.max(key.x1, base.x1);
+		final var ix2 = Math.min(key.x2, base.x2);
+		final var iy1 = Math.max(key.y1, base.y1);
+		final var iy2 = Math.min(key.y2, base.y2);
+		final var strips = new ArrayList<Key>(4);
+		if (key.x1 < ix1) {
+			strips.add(new Key(key.lod, key.x1, key.y1, ix1, key.y2));
+		}
+		if (ix2 < key.x2) {
+			strips.add(new Key(key.lod, ix2, key.y1, key.x2, key.y2));
+		}
+		if (key.y1 < iy1) {
+			strips.add(new Key(key.lod, ix1, key.y1, ix2, iy1));
+		}
+		if (iy2 < key.y2) {
+			strips.add(new Key(key.lod, ix1, iy2, ix2, key.y2));
+		}
+		for (final var strip : strips) {
+			final var iterator = this.layer.iterator(strip.toBounds(step));
+			while (iterator.hasNext()) {
+				final var element = iterator.next();
+				if (seen.add(element)) {
+					elements.add(element);
+				}
+			}
+		}
+		return elements;
+	}
+
+	/** Key of the cache: the bounds of a viewport on the grid of a level of detail.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private static final class Key {
+
+		final int lod;
+
+		final long x1;
+
+		final long y1;
+
+		final long x2;
+
+		final long y2;
+
+		/** Constructor.
+		 *
+		 * @param lod the level of detail.
+		 * @param x1 the index of the first column of the grid.
+		 * @param y1 the index of the first row of the grid.
+		 * @param x2 the index of the column of the grid after the last one.
+		 * @param y2 the index of the row of the grid after the last one.
+		 */
+		Key(int lod, long x1, long y1, long x2, long y2) {
+			this.lod = lod;
+			this.x1 = x1;
+			this.y1 = y1;
+			this.x2 = x2;
+			this.y2 = y2;
+		}
+
+		/** Replies the bounds of the viewport.
+		 *
+		 * @param step the step of the grid.
+		 * @return the bounds.
+		 */
+		Rectangle2d toBounds(double step) {
+			final var r = new Rectangle2d();
+			r.setFromCorners(this.x1 * step, this.y1 * step, this.x2 * step, this.y2 * step);
+			return r;
+		}
+
+		double getArea() {
+			return (double) (this.x2 - this.x1) * (this.y2 - this.y1);
+		}
+
+		double getIntersectionArea(Key key) {
+			final var w = Math.min(this.x2, key.x2) - Math.max(this.x1, key.x1);
+			final var h = Math.min(this.y2, key.y2) - Math.max(this.y1, key.y1);
+			if (w <= 0 || h <= 0) {
+				return 0.;
+			}
+			return (double) w * h;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj instanceof Key key) {
+				return this.lod == key.lod && this.x1 == key.x1 && this.y1 == key.y1
+						&& this.x2 == key.x2 && this.y2 == key.y2;
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			var h = this.lod;
+			h = 31 * h + Long.hashCode(this.x1);
+			h = 31 * h + Long.hashCode(this.y1);
+			h = 31 * h + Long.hashCode(this.x2);
+			h = 31 * h + Long.hashCode(this.y2);
+			return h;
+		}
+
+	}
+
+	/** Listener on the layer.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private final class Listener extends MapLayerAdapter {
+
+		/** Constructor.
+		 */
+		Listener() {
+			//
+		}
+
+		@Override
+		public void onMapLayerContentChanged(MapLayerContentEvent event) {
+			clear();
+		}
+
+	}
+
+}
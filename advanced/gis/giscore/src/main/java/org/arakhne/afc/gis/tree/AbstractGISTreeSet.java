@@ -22,9 +22,15 @@ package org.arakhne.afc.gis.tree;
 
 import java.io.Serializable;
 import java.lang.reflect.Array;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
 
 import org.arakhne.afc.gis.GISSet;
 import org.arakhne.afc.gis.location.GeoId;
@@ -72,6 +78,14 @@ abstract class AbstractGISTreeSet<P extends GISPrimitive,
 	 */
 	private final LinkedTree<P, N> tree = new LinkedTree<>();
 
+	/** Index of the elements by their unique identifiers, or {@code null} if the index is disabled.
+	 */
+	private Map<UUID, P> uuidIndex;
+
+	/** Index of the elements by their geo-identifiers, or {@code null} if the index is disabled.
+	 */
+	private Map<GeoId, P> geoIdIndex;
+
 	/**
 	 * Create an empty tree.
 	 */
@@ -143,6 +157,72 @@ abstract class AbstractGISTreeSet<P extends GISPrimitive,
 		this.updateWhenRemove = update;
 	}
 
+	@Override
+	@Pure
+	public boolean isIdentifierIndexEnabled() {
+		return this.uuidIndex != null;
+	}
+
+	@Override
+	public void setIdentifierIndexEnabled(boolean enable) {
+		if (enable) {
+			if (this.uuidIndex == null) {
+				this.uuidIndex = newIdentifierIndex();
+				this.geoIdIndex = newIdentifierIndex();
+				for (final var element : this.tree.toDataDepthFirstIterable()) {
+					indexElement(element);
+				}
+			}
+		} else {
+			this.uuidIndex = null;
+			this.geoIdIndex = null;
+		}
+	}
+
+	/** Create the map that is used for indexing the elements by one of their identifiers.
+	 *
+	 * @param <K> the type of the identifiers.
+	 * @return the index.
+	 * @since 18.0
+	 */
+	@Pure
+	protected <K> Map<K, P> newIdentifierIndex() {
+		return new HashMap<>();
+	}
+
+	/** Add the given element into the identifier index, if it is enabled.
+	 *
+	 * @param element the element added into the tree.
+	 */
+	final void indexElement(P element) {
+		if (this.uuidIndex != null) {
+			this.uuidIndex.put(element.getUUID(), element);
+			this.geoIdIndex.putIfAbsent(element.getGeoId(), element);
+		}
+	}
+
+	/** Remove the given element from the identifier index, if it is enabled.
+	 *
+	 * @param element the element removed from the tree.
+	 */
+	private void unindexElement(P element) {
+		if (this.uuidIndex != null) {
+			final var uuid = element.getUUID();
+			if (this.uuidIndex.get(uuid) == element) {
+				this.uuidIndex.remove(uuid);
+			}
+			final var identifier = element.getGeoId();
+			if (this.geoIdIndex.get(identifier) == element) {
+				this.geoIdIndex.remove(identifier);
+				// Another element may have the same geo-identifier
+				final var other = searchGeoId(identifier);
+				if (other != null) {
+					this.geoIdIndex.put(identifier, other);
+				}
+			}
+		}
+	}
+
 	/** Update the component type information with
 	 * the type of the new array element.
 	 *
@@ -202,6 +282,19 @@ abstract class AbstractGISTreeSet<P extends GISPrimitive,
 	@Override
 	@Pure
 	public P get(GeoId identifier) {
+		if (identifier != null && this.geoIdIndex != null) {
+			return this.geoIdIndex.get(identifier);
+		}
+		return searchGeoId(identifier);
+	}
+
+	/** Search in the tree for the element with the given identifier.
+	 *
+	 * @param identifier the identifier.
+	 * @return the element, or {@code null} if not found.
+	 */
+	@Pure
+	final P searchGeoId(GeoId identifier) {
 		if (identifier != null) {
 			final var objBounds = identifier.toBounds2D();
 			if (objBounds != null) {
@@ -215,6 +308,22 @@ abstract class AbstractGISTreeSet<P extends GISPrimitive,
 		return null;
 	}
 
+	@Override
+	@Pure
+	public P get(UUID identifier) {
+		if (identifier != null) {
+			if (this.uuidIndex != null) {
+				return this.uuidIndex.get(identifier);
+			}
+			for (final var element : this.tree.toDataDepthFirstIterable()) {
+				if (identifier.equals(element.getUUID())) {
+					return element;
+				}
+			}
+		}
+		return null;
+	}
+
 	@Override
 	@Pure
 	public P get(GeoLocation location) {
@@ -234,16 +343,61 @@ abstract class AbstractGISTreeSet<P extends GISPrimitive,
 		if (index < 0) {
 			throw new IndexOutOfBoundsException("index<0"); //$NON-NLS-1$
 		}
-		final var iter = this.tree.dataDepthFirstIterator();
-		var idx = 0;
-		while (iter.hasNext()) {
-			final var data = iter.next();
-			if (idx == index) {
-				return data;
+		// The elements are indexed in the prefix depth-first order of the tree
+		var node = getCountedRoot();
+		var idx = index;
+		while (node != null) {
+			final var dataCount = node.getUserDataCount();
+			if (idx < dataCount) {
+				return node.getUserDataAt(idx);
+			}
+			idx -= dataCount;
+			N next = null;
+			for (var i = 0; next == null && i < node.getChildCount(); ++i) {
+				final var child = node.getChildAt(i);
+				if (child != null) {
+					final var childCount = child.getDeepUserDataCount();
+					if (idx < childCount) {
+						next = child;
+					} else {
+						idx -= childCount;
+					}
+				}
 			}
-			++idx;
+			node = next;
+		}
+		throw new IndexOutOfBoundsException("index>=" + (index - idx)); //$NON-NLS-1$
+	}
+
+	/** Replies the root of the tree with the numbers of user data that are consistent
+	 * with the content of the tree.
+	 *
+	 * <p>The removals of the user data that are done with an iterator on the data collection
+	 * of a node are not notified to the node. The buffered numbers of user data are
+	 * reseted when such a removal is detected.
+	 *
+	 * @return the root node.
+	 */
+	private N getCountedRoot() {
+		final var root = this.tree.getRoot();
+		if (root != null && root.getDeepUserDataCount() != this.tree.getUserDataCount()) {
+			root.clearAllDeepUserDataCounts();
+		}
+		return root;
+	}
+
+	/** Compute the buffered values of the nodes, i.e. their bounds, their numbers of user data
+	 * and the margins of their data.
+	 *
+	 * <p>After a call to this function, the queries on the tree are not changing the nodes.
+	 */
+	void updateBuffers() {
+		final var root = getCountedRoot();
+		if (root != null) {
+			root.getBounds();
+			root.getDeepUserDataCount();
+			root.getDataMargin();
 		}
-		throw new IndexOutOfBoundsException("index>=" + idx); //$NON-NLS-1$
 	}
 
 	//-----------------------------------------------------------------
@@ -255,6 +409,10 @@ abstract class AbstractGISTreeSet<P extends GISPrimitive,
 		this.tree.clear();
 		this.worldBounds = null;
 		this.clazz = null;
+		if (this.uuidIndex != null) {
+			this.uuidIndex.clear();
+			this.geoIdIndex.clear();
+		}
 	}
 
 	@Override
@@ -277,7 +435,11 @@ abstract class AbstractGISTreeSet<P extends GISPrimitive,
 	@Override
 	@Pure
 	public Iterator<P> iterator() {
-		return this.tree.dataBreadthFirstIterator();
+		final var iterator = this.tree.dataBreadthFirstIterator();
+		if (this.uuidIndex != null) {
+			return new IndexUpdater(iterator);
+		}
+		return iterator;
 	}
 
 	@Override
@@ -303,6 +465,31 @@ abstract class AbstractGISTreeSet<P extends GISPrimitive,
 		return iterator(clipBounds, -1);
 	}
 
+	/** {@inheritDoc}
+	 *
+	 * <p>The spliterator is split at the children of the tree nodes. It is sized.
+	 * The tree must not be changed while the spliterator is used.
+	 */
+	@Override
+	public Spliterator<P> spliterator() {
+		updateBuffers();
+		return new GISTreeSetSpliterator<>(this.tree.getRoot(), null);
+	}
+
+	/** {@inheritDoc}
+	 *
+	 * <p>The spliterator is split at the children of the tree nodes.
+	 * The tree must not be changed while the spliterator is used.
+	 */
+	@Override
+	public Spliterator<P> spliterator(Rectangle2afp<?, ?, ?, ?, ?, ?> clipBounds) {
+		if (clipBounds == null || clipBounds.isEmpty()) {
+			return Spliterators.emptySpliterator();
+		}
+		updateBuffers();
+		return new GISTreeSetSpliterator<>(this.tree.getRoot(), clipBounds);
+	}
+
 	@Override
 	@Pure
 	public Object[] toArray() {
@@ -415,7 +602,7 @@ abstract class AbstractGISTreeSet<P extends GISPrimitive,
 			final var iter = nodeIterator(primitive.getGeoLocation().toBounds2D());
 			while (iter.hasNext()) {
 				final var node = iter.next();
-				if (node.removeUserData(primitive)) {
+				if (removeUserData(node, primitive)) {
 					if (isEmpty()) {
 						this.clazz = null;
 					} else if (isTypeRecomputedAfterRemoval()) {
@@ -444,7 +631,7 @@ abstract class AbstractGISTreeSet<P extends GISPrimitive,
 				final var iter = nodeIterator(primitive.getGeoLocation().toBounds2D());
 				while (iter.hasNext()) {
 					final var node = iter.next();
-					if (node.removeUserData(primitive)) {
+					if (removeUserData(node, primitive)) {
 						changed = true;
 					}
 				}
@@ -462,6 +649,33 @@ abstract class AbstractGISTreeSet<P extends GISPrimitive,
 		return changed;
 	}
 
+	/** Remove the user data that are equal to the given primitive from the given node, and
+	 * update the identifier index.
+	 *
+	 * @param node the node to update.
+	 * @param primitive the primitive to remove.
+	 * @return {@code true} if the node has changed.
+	 */
+	private boolean removeUserData(N node, P primitive) {
+		if (this.uuidIndex == null) {
+			return node.removeUserData(primitive);
+		}
+		final var removed = new ArrayList<P>();
+		for (var i = 0; i < node.getUserDataCount(); ++i) {
+			final var data = node.getUserDataAt(i);
+			if (primitive.equals(data)) {
+				removed.add(data);
+			}
+		}
+		if (node.removeUserData(primitive)) {
+			for (final var data : removed) {
+				unindexElement(data);
+			}
+			return true;
+		}
+		return false;
+	}
+
 	@Override
 	public boolean retainAll(Collection<?> col) {
 		clear();
@@ -497,18 +711,52 @@ abstract class AbstractGISTreeSet<P extends GISPrimitive,
 		} catch (ClassCastException exception) {
 			return -1;
 		}
-		final var iter = this.tree.dataDepthFirstIterator();
-		var idx = 0;
-		while (iter.hasNext()) {
-			final var data = iter.next();
-			if (data == element) {
-				return idx;
+		final var root = getCountedRoot();
+		if (root == null) {
+			return -1;
+		}
+		try {
+			final var iter = nodeIterator(element.getGeoLocation().toBounds2D());
+			while (iter.hasNext()) {
+				final var node = iter.next();
+				for (var i = 0; i < node.getUserDataCount(); ++i) {
+					if (node.getUserDataAt(i) == element) {
+						return i + countPreviousUserData(node);
+					}
+				}
 			}
-			++idx;
+		} catch (ClassCastException exception) {
+			//
 		}
 		return -1;
 	}
 
+	/** Replies the number of user data that are before the given node in
+	 * the prefix depth-first order of the tree.
+	 *
+	 * @param node the node.
+	 * @return the number of user data before the node.
+	 */
+	@Pure
+	private int countPreviousUserData(N node) {
+		var count = 0;
+		var child = node;
+		var parent = child.getParentNode();
+		while (parent != null) {
+			count += parent.getUserDataCount();
+			final var childIndex = parent.indexOf(child);
+			for (var i = 0; i < childIndex; ++i) {
+				final var sibling = parent.getChildAt(i);
+				if (sibling != null) {
+					count += sibling.getDeepUserDataCount();
+				}
+			}
+			child = parent;
+			parent = child.getParentNode();
+		}
+		return count;
+	}
+
 	//-----------------------------------------------------------------
 	// Dedicated API
 	//----------------------------------------------------------------
@@ -709,6 +957,51 @@ abstract class AbstractGISTreeSet<P extends GISPrimitive,
 
 	} /* class CheckedCollection */
 
+	/**
+	 * Iterator that removes the elements from the identifier index.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private class IndexUpdater implements Iterator<P> {
+
+		private final Iterator<P> iterator;
+
+		private P lastReplied;
+
+		/** Constructor.
+		 * @param iterator the iterator on the data of the tree.
+		 */
+		IndexUpdater(Iterator<P> iterator) {
+			this.iterator = iterator;
+		}
+
+		@Override
+		@Pure
+		public boolean hasNext() {
+			return this.iterator.hasNext();
+		}
+
+		@Override
+		public P next() {
+			this.lastReplied = this.iterator.next();
+			return this.lastReplied;
+		}
+
+		@Override
+		public void remove() {
+			this.iterator.remove();
+			if (this.lastReplied != null) {
+				unindexElement(this.lastReplied);
+				this.lastReplied = null;
+			}
+		}
+
+	} /* class IndexUpdater */
+
 	/**
 	 * This class describes an iterator node selector based on location.
 	 *
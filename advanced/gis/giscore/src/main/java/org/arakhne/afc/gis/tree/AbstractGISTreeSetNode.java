@@ -24,7 +24,9 @@ import java.util.Collection;
 import java.util.List;
 
 import org.arakhne.afc.gis.location.GeoLocation;
+import org.arakhne.afc.gis.mapelement.MapElement;
 import org.arakhne.afc.gis.primitive.GISPrimitive;
+import org.arakhne.afc.math.MathUtil;
 import org.arakhne.afc.math.geometry.base.d2.Point2D;
 import org.arakhne.afc.math.geometry.d2.afp.Rectangle2afp;
 import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
@@ -72,6 +74,19 @@ class AbstractGISTreeSetNode<P extends GISPrimitive, N extends AbstractGISTreeSe
 	 */
 	private transient Rectangle2afp<?, ?, ?, ?, ?, ?> dataBounds;
 
+	/** Maximal distance between the bounds of the data in the subtree and the bounds of their shapes,
+	 * or {@link Double#NaN} if not computed.
+	 */
+	private transient double dataMargin = Double.NaN;
+
+	/** Number of user data in the subtree.
+	 */
+	private transient int deepDataCount;
+
+	/** Indicates if {@link #deepDataCount} is up-to-date.
+	 */
+	private transient boolean deepDataCountValid;
+
 	/** Constructor.
 	 * @param zone is the zone enclosed by this node.
 	 * @param boundsX is the bounds of the node.
@@ -213,6 +228,7 @@ class AbstractGISTreeSetNode<P extends GISPrimitive, N extends AbstractGISTreeSe
 	 */
 	protected void clearBuffers() {
 		clearBounds();
+		clearDeepUserDataCount();
 	}
 
 	/** Clear buffered variables.
@@ -220,12 +236,52 @@ class AbstractGISTreeSetNode<P extends GISPrimitive, N extends AbstractGISTreeSe
 	@Pure
 	void clearBounds() {
 		this.dataBounds = null;
+		this.dataMargin = Double.NaN;
 		final var parent = getParentNode();
 		if (parent != null) {
 			parent.clearBounds();
 		}
 	}
 
+	/** Clear the buffered number of user data in the subtree.
+	 */
+	@Pure
+	void clearDeepUserDataCount() {
+		this.deepDataCountValid = false;
+		final var parent = getParentNode();
+		if (parent != null) {
+			parent.clearDeepUserDataCount();
+		}
+	}
+
+	/** Clear the buffered number of user data in this node and all its children.
+	 *
+	 * @since 18.0
+	 */
+	void clearAllDeepUserDataCounts() {
+		this.deepDataCountValid = false;
+		for (var i = 0; i < getChildCount(); ++i) {
+			final var child = getChildAt(i);
+			if (child != null) {
+				child.clearAllDeepUserDataCounts();
+			}
+		}
+	}
+
+	/** {@inheritDoc}
+	 *
+	 * <p>The number of user data is buffered, and updated when the content of the subtree is changed.
+	 */
+	@Override
+	@Pure
+	public int getDeepUserDataCount() {
+		if (!this.deepDataCountValid) {
+			this.deepDataCount = super.getDeepUserDataCount();
+			this.deepDataCountValid = true;
+		}
+		return this.deepDataCount;
+	}
+
 	/** Replies the bounds of this node.
 	 *
 	 * <p>Caution: This function does not replies a copy
@@ -278,18 +334,19 @@ class AbstractGISTreeSetNode<P extends GISPrimitive, N extends AbstractGISTreeSe
 			if (primitive != null) {
 				final var location = primitive.getGeoLocation();
 				if (location != null) {
-					final var b = location.toBounds2D();
-					if (b != null) {
-						if (first) {
-							first = false;
-							bb.setFromCorners(
-									b.getMinX(),
-									b.getMinY(),
-									b.getMaxX(),
-									b.getMaxY());
-						} else {
-							bb.setUnion(b);
-						}
+					if (first) {
+						first = false;
+						bb.setFromCorners(
+								location.getBoundsMinX(),
+								location.getBoundsMinY(),
+								location.getBoundsMaxX(),
+								location.getBoundsMaxY());
+					} else {
+						bb.setFromCorners(
+								Math.min(bb.getMinX(), location.getBoundsMinX()),
+								Math.min(bb.getMinY(), location.getBoundsMinY()),
+								Math.max(bb.getMaxX(), location.getBoundsMaxX()),
+								Math.max(bb.getMaxY(), location.getBoundsMaxY()));
 					}
 				}
 			}
@@ -298,6 +355,50 @@ class AbstractGISTreeSetNode<P extends GISPrimitive, N extends AbstractGISTreeSe
 		return first ? null : bb;
 	}
 
+	/** Replies the maximal distance between the {@link #getBounds() bounds of the data} in the subtree
+	 * and the bounding boxes of the shapes of the map elements, e.g. the half width of a wide polyline.
+	 *
+	 * @return the margin, positive or zero.
+	 * @since 18.0
+	 */
+	@Pure
+	double getDataMargin() {
+		if (Double.isNaN(this.dataMargin)) {
+			this.dataMargin = calcDataMargin();
+		}
+		return this.dataMargin;
+	}
+
+	/** Compute and replies the margin of the data in the subtree.
+	 *
+	 * @return the margin, positive or zero.
+	 * @see #getDataMargin()
+	 */
+	@Pure
+	private double calcDataMargin() {
+		var margin = 0.;
+		for (var i = 0; i < getChildCount(); ++i) {
+			final var child = getChildAt(i);
+			if (child != null) {
+				margin = Math.max(margin, child.getDataMargin());
+			}
+		}
+		for (var i = 0; i < getUserDataCount(); ++i) {
+			if (getUserDataAt(i) instanceof MapElement element) {
+				final var location = element.getGeoLocation();
+				final var box = element.getBoundingBox();
+				if (location != null && box != null) {
+					margin = MathUtil.max(margin,
+							location.getBoundsMinX() - box.getMinX(),
+							location.getBoundsMinY() - box.getMinY(),
+							box.getMaxX() - location.getBoundsMaxX(),
+							box.getMaxY() - location.getBoundsMaxY());
+				}
+			}
+		}
+		return margin;
+	}
+
 	@Override
 	@Pure
 	public boolean intersects(Rectangle2afp<?, ?, ?, ?, ?, ?> rect) {
@@ -308,7 +409,8 @@ class AbstractGISTreeSetNode<P extends GISPrimitive, N extends AbstractGISTreeSe
 	@Override
 	@Pure
 	public final boolean intersects(GeoLocation location) {
-		return intersects(location.toBounds2D());
+		final var b = getBounds();
+		return b != null && location.intersects(b);
 	}
 
 	@Override
@@ -0,0 +1,427 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.tree;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.arakhne.afc.gis.GISSet;
+import org.arakhne.afc.gis.location.GeoId;
+import org.arakhne.afc.gis.location.GeoLocation;
+import org.arakhne.afc.gis.primitive.GISPrimitive;
+import org.arakhne.afc.math.geometry.d2.afp.Rectangle2afp;
+import org.eclipse.xtext.xbase.lib.Pure;
+
+/**
+ * A set of GIS primitives that may be read by multiple threads and updated by a single writer at the same time.
+ *
+ * <p>This set is based on the left-right concurrency control: it maintains two instances of the same
+ * set. The readers are using the current instance without locking. The writer updates the other
+ * instance, makes it the current instance, waits until the readers have left the previous instance,
+ * and applies the same update on it. Consequently, the readers are never blocked, and each update is seen
+ * by the readers as an atomic change. The price is a doubled memory footprint and the writing time.
+ * The writers are serialized.
+ *
+ * <p>The iterators are replying the content of a consistent snapshot of the set, which is taken
+ * when the iterator is created. The removals done by the iterators are applied on this set.
+ * The snapshot is a copy of the replied elements, so that the creation of an iterator takes a time and
+ * a memory that are linear in the number of replied elements. The iterators do not keep the backing
+ * instance, because the writer would be blocked until the end of each iteration, or forever if an
+ * iterator is not consumed. The elements may be traversed without copy with {@link #read(Function)}.
+ *
+ * <p>The backing sets are created by the given factory, e.g. {@code MapElementTreeSet::new}.
+ * The dedicated functions of the backing sets may be invoked with {@link #read(Function)} and
+ * {@link #write(Consumer)}:
+ * <pre><code>
+ * final var set = new ConcurrentGISTreeSet&lt;MapPolyline, MapPolylineTreeSet&lt;MapPolyline&gt;&gt;(MapPolylineTreeSet::new);
+ * set.add(polyline);
+ * final var nearest = set.read(it -&gt; it.getNearest(x, y));
+ * </code></pre>
+ *
+ * <p>The primitives must support the concurrent reading of their attributes, e.g. their geo-locations.
+ * The backing sets must not be changed outside this set, and they must not remove their elements
+ * by themselves, as {@link WeakGISTreeSet} does.
+ *
+ * @param <P> is the type of the user data inside the set.
+ * @param <S> is the type of the backing sets.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+public class ConcurrentGISTreeSet<P extends GISPrimitive, S extends GISSet<P>> implements GISSet<P> {
+
+	private final List<S> sets;
+
+	/** Number of the readers of each instance.
+	 */
+	private final AtomicInteger[] readers = {new AtomicInteger(), new AtomicInteger()};
+
+	/** Index of the instance to be used by the new readers.
+	 */
+	private volatile int readIndex;
+
+	private final Object writeLock = new Object();
+
+	/** Constructor.
+	 *
+	 * @param factory the factory of the two backing sets.
+	 */
+	public ConcurrentGISTreeSet(Supplier<? extends S> factory) {
+		final S set0 = factory.get();
+		final S set1 = factory.get();
+		if (set0 == null || set1 == null || set0 == set1) {
+			throw new IllegalArgumentException();
+		}
+		this.sets = List.of(set0, set1);
+		prepareForReaders(set0);
+		prepareForReaders(set1);
+	}
+
+	/** Constructor.
+	 *
+	 * @param factory the factory of the two backing sets from the initial content of this set,
+	 *     e.g. {@code StandardGISTreeSet::new} for a bulk loading.
+	 * @param elements the initial content of the set.
+	 */
+	public ConcurrentGISTreeSet(Function<? super Collection<? extends P>, ? extends S> factory,
+			Collection<? extends P> elements) {
+		this(() -> factory.apply(elements));
+	}
+
+	/** Compute the buffered values of the given set in order to avoid that the readers are
+	 * changing them.
+	 *
+	 * @param set the set to prepare.
+	 */
+	private static void prepareForReaders(GISSet<?> set) {
+		if (set instanceof AbstractGISTreeSet<?, ?> tree) {
+			tree.updateBuffers();
+		}
+	}
+
+	/** Enter into the instance that is used for reading.
+	 *
+	 * @return the index of the instance.
+	 */
+	private int enterReader() {
+		while (true) {
+			final var index = this.readIndex;
+			this.readers[index].incrementAndGet();
+			if (index == this.readIndex) {
+				return index;
+			}
+			// The writer has switched the instances.
+			this.readers[index].decrementAndGet();
+		}
+	}
+
+	private void exitReader(int index) {
+		this.readers[index].decrementAndGet();
+	}
+
+	/** Run the given query on a consistent state of this set.
+	 *
+	 * <p>The query must not change the given set, and it must not keep a reference to it.
+	 *
+	 * @param <R> the type of the result of the query.
+	 * @param query the query to run.
+	 * @return the result of the query.
+	 */
+	public <R> R read(Function<? super S, ? extends R> query) {
+		final var index = enterReader();
+		try {
+			return query.apply(this.sets.get(index));
+		} finally {
+			exitReader(index);
+		}
+	}
+
+	/** Apply the given update on this set.
+	 *
+	 * <p>The update is applied two times, one time on each backing set. It must be
+	 * deterministic and it must not fail, otherwise the two backing sets are no more equal.
+	 * The changes of the update are seen by the readers as an atomic change.
+	 *
+	 * @param update the update to apply.
+	 */
+	public void write(Consumer<? super S> update) {
+		writeAndReply(it -> {
+			update.accept(it);
+			return null;
+		});
+	}
+
+	private <R> R writeAndReply(Function<? super S, R> update) {
+		synchronized (this.writeLock) {
+			final var previous = this.readIndex;
+			final var next = 1 - previous;
+			final var nextSet = this.sets.get(next);
+			final var result = update.apply(nextSet);
+			prepareForReaders(nextSet);
+			this.readIndex = next;
+			// Wait until the readers have left the previous instance
+			final var counter = this.readers[previous];
+			while (counter.get() != 0) {
+				Thread.onSpinWait();
+			}
+			final var previousSet = this.sets.get(previous);
+			update.apply(previousSet);
+			prepareForReaders(previousSet);
+			return result;
+		}
+	}
+
+	/** Replies a snapshot of the elements that are replied by the given iterator factory.
+	 * The elements are copied into a list, in {@code O(n)}.
+	 *
+	 * @param iterator the factory of the iterator on a backing set.
+	 * @return the snapshot iterator.
+	 */
+	private Iterator<P> snapshot(Function<? super S, ? extends Iterator<P>> iterator) {
+		final List<P> elements = read(it -> {
+			final var list = new ArrayList<P>();
+			iterator.apply(it).forEachRemaining(list::add);
+			return list;
+		});
+		return new SnapshotIterator(elements.iterator());
+	}
+
+	@Override
+	@Pure
+	public boolean isTypeRecomputedAfterRemoval() {
+		return read(GISSet::isTypeRecomputedAfterRemoval).booleanValue();
+	}
+
+	@Override
+	public void setTypeRecomputedAfterRemoval(boolean update) {
+		write(it -> it.setTypeRecomputedAfterRemoval(update));
+	}
+
+	@Override
+	@Pure
+	public Class<? extends P> getElementType() {
+		return read(GISSet::getElementType);
+	}
+
+	@Override
+	@Pure
+	public P get(GeoId identifier) {
+		return read(it -> it.get(identifier));
+	}
+
+	@Override
+	@Pure
+	public P get(GeoLocation location) {
+		return read(it -> it.get(location));
+	}
+
+	@Override
+	@Pure
+	public P get(int index) {
+		return read(it -> it.get(index));
+	}
+
+	@Override
+	public int computeSize() {
+		// The size is computed on both instances because it may update the buffered size.
+		return writeAndReply(GISSet::computeSize).intValue();
+	}
+
+	@Override
+	@Pure
+	public boolean slowContains(Object obj) {
+		return read(it -> it.slowContains(obj)).booleanValue();
+	}
+
+	@Override
+	@Pure
+	public int indexOf(Object obj) {
+		return read(it -> it.indexOf(obj)).intValue();
+	}
+
+	@Override
+	@Pure
+	public int size() {
+		return read(GISSet::size).intValue();
+	}
+
+	@Override
+	@Pure
+	public boolean isEmpty() {
+		return read(GISSet::isEmpty).booleanValue();
+	}
+
+	@Override
+	@Pure
+	public boolean contains(Object obj) {
+		return read(it -> it.contains(obj)).booleanValue();
+	}
+
+	@Override
+	@Pure
+	public boolean containsAll(Collection<?> collection) {
+		return read(it -> it.containsAll(collection)).booleanValue();
+	}
+
+	@Override
+	@Pure
+	public Object[] toArray() {
+		return read(GISSet::toArray);
+	}
+
+	@Override
+	@Pure
+	public <T> T[] toArray(T[] array) {
+		return read(it -> it.toArray(array));
+	}
+
+	@Override
+	public boolean add(P element) {
+		return writeAndReply(it -> it.add(element)).booleanValue();
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends P> collection) {
+		return writeAndReply(it -> it.addAll(collection)).booleanValue();
+	}
+
+	@Override
+	public boolean remove(Object obj) {
+		return writeAndReply(it -> it.remove(obj)).booleanValue();
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> collection) {
+		return writeAndReply(it -> it.removeAll(collection)).booleanValue();
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> collection) {
+		return writeAndReply(it -> it.retainAll(collection)).booleanValue();
+	}
+
+	@Override
+	public void clear() {
+		write(GISSet::clear);
+	}
+
+	@Override
+	@Pure
+	public Iterator<P> iterator() {
+		return snapshot(GISSet::iterator);
+	}
+
+	@Override
+	@Pure
+	public Iterator<P> iterator(Rectangle2afp<?, ?, ?, ?, ?, ?> clipBounds) {
+		return snapshot(it -> it.iterator(clipBounds));
+	}
+
+	@Override
+	@Pure
+	public Iterator<P> iterator(Rectangle2afp<?, ?, ?, ?, ?, ?> clipBounds, int budget) {
+		return snapshot(it -> it.iterator(clipBounds, budget));
+	}
+
+	@Override
+	@Pure
+	public Iterator<Rectangle2afp<?, ?, ?, ?, ?, ?>> boundsIterator() {
+		return read(it -> {
+			final var list = new ArrayList<Rectangle2afp<?, ?, ?, ?, ?, ?>>();
+			it.boundsIterator().forEachRemaining(bounds -> list.add(bounds.clone()));
+			return list;
+		}).iterator();
+	}
+
+	@Override
+	@Pure
+	public Iterable<P> toIterable(Rectangle2afp<?, ?, ?, ?, ?, ?> clipBounds) {
+		return () -> iterator(clipBounds);
+	}
+
+	@Override
+	@Pure
+	public Iterable<P> toIterable(Rectangle2afp<?, ?, ?, ?, ?, ?> clipBounds, int budget) {
+		return () -> iterator(clipBounds, budget);
+	}
+
+	@Override
+	@Pure
+	public String toString() {
+		return read(Object::toString);
+	}
+
+	/**
+	 * Iterator on a snapshot of the set.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private class SnapshotIterator implements Iterator<P> {
+
+		private final Iterator<P> iterator;
+
+		private P lastReplied;
+
+		/** Constructor.
+		 * @param iterator the iterator on the snapshot.
+		 */
+		SnapshotIterator(Iterator<P> iterator) {
+			this.iterator = iterator;
+		}
+
+		@Override
+		@Pure
+		public boolean hasNext() {
+			return this.iterator.hasNext();
+		}
+
+		@Override
+		public P next() {
+			this.lastReplied = this.iterator.next();
+			return this.lastReplied;
+		}
+
+		@Override
+		public void remove() {
+			final var element = this.lastReplied;
+			if (element == null) {
+				throw new NoSuchElementException();
+			}
+			this.lastReplied = null;
+			ConcurrentGISTreeSet.this.remove(element);
+		}
+
+	} /* class SnapshotIterator */
+
+}
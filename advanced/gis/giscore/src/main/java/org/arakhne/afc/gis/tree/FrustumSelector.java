@@ -59,7 +59,7 @@ class FrustumSelector<P extends GISPrimitive, N extends AbstractGISTreeSetNode<P
 	@Pure
 	public boolean dataCouldBeRepliedByIterator(P data) {
 		if (data != null) {
-			return this.bounds.intersects(data.getGeoLocation().toBounds2D());
+			return data.getGeoLocation().intersects(this.bounds);
 		}
 		return false;
 	}
@@ -22,6 +22,7 @@ package org.arakhne.afc.gis.tree;
 
 import java.util.Iterator;
 import java.util.Set;
+import java.util.UUID;
 
 import org.arakhne.afc.gis.location.GeoId;
 import org.arakhne.afc.gis.location.GeoLocation;
@@ -103,18 +104,53 @@ public interface GISTreeSet<P extends GISPrimitive, N extends GISTreeNode<P, N>>
 	@Pure
 	Class<? extends P> getElementType();
 
+	/** Replies if the index of the elements by their identifiers is enabled.
+	 *
+	 * @return {@code true} if the index is enabled.
+	 * @since 18.0
+	 * @see #setIdentifierIndexEnabled(boolean)
+	 */
+	@Pure
+	boolean isIdentifierIndexEnabled();
+
+	/** Enable or disable the index of the elements by their identifiers.
+	 *
+	 * <p>When the index is enabled, {@link #get(GeoId)} and {@link #get(UUID)} are
+	 * running in constant time. The index is maintained when elements are added or removed
+	 * through this set. It is based on the identifiers of the elements at the time
+	 * of their insertion.
+	 *
+	 * @param enable {@code true} to enable the index; {@code false} to disable it.
+	 * @since 18.0
+	 */
+	void setIdentifierIndexEnabled(boolean enable);
+
 	/** Replies the element which as the specified identifier.
 	 *
 	 * <p>This function is time consuming because the location
 	 * of the primitive could not be retreived from
-	 * the geoId.
+	 * the geoId, except if the identifier index is enabled.
 	 *
 	 * @param identifier is the identifier to text.
 	 * @return the entity or {@code null} if none was found.
+	 * @see #setIdentifierIndexEnabled(boolean)
 	 */
 	@Pure
 	P get(GeoId identifier);
 
+	/** Replies the element which as the specified unique identifier.
+	 *
+	 * <p>This function is time consuming because all the elements are
+	 * traversed, except if the identifier index is enabled.
+	 *
+	 * @param identifier is the identifier to text.
+	 * @return the entity or {@code null} if none was found.
+	 * @since 18.0
+	 * @see #setIdentifierIndexEnabled(boolean)
+	 */
+	@Pure
+	P get(UUID identifier);
+
 	/** Replies the element which as the specified location.
 	 *
 	 * @param location is the location of the element to find.
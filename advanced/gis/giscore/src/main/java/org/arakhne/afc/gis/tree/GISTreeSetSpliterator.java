@@ -0,0 +1,175 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.tree;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import org.arakhne.afc.gis.primitive.GISPrimitive;
+import org.arakhne.afc.math.geometry.d2.afp.Rectangle2afp;
+import org.eclipse.xtext.xbase.lib.Pure;
+
+/**
+ * Spliterator on the elements of a GIS tree set that is split at the children of the nodes.
+ *
+ * <p>The spliterator owns a collection of subtrees, and the elements of nodes for which the
+ * children are already given to the collection of subtrees. A split gives the half of the subtrees
+ * to the new spliterator. When the spliterator owns a single subtree, it is replaced by its children.
+ *
+ * <p>Without clipping bounds, the numbers of elements in the subtrees are known; so that the spliterator
+ * is {@link #SIZED} and {@link #SUBSIZED}. The buffered numbers of elements and bounds of the nodes
+ * must be computed before the creation of the spliterator, e.g. with {@link AbstractGISTreeSet#updateBuffers()},
+ * because the spliterators are read-only.
+ *
+ * @param <P> is the type of the user data inside the node.
+ * @param <N> is the type of the nodes.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+class GISTreeSetSpliterator<P extends GISPrimitive, N extends AbstractGISTreeSetNode<P, N>> implements Spliterator<P> {
+
+	private final Rectangle2afp<?, ?, ?, ?, ?, ?> clipBounds;
+
+	/** Subtrees to traverse.
+	 */
+	private final Deque<N> subtrees = new ArrayDeque<>();
+
+	/** Nodes for which the own elements must be traversed.
+	 */
+	private final Deque<N> dataNodes = new ArrayDeque<>();
+
+	/** Index of the next element in the first node of {@link #dataNodes}.
+	 */
+	private int dataIndex;
+
+	/** Number of elements that are owned by this spliterator, before clipping.
+	 */
+	private long size;
+
+	/** Constructor.
+	 *
+	 * @param root the root of the tree, or {@code null}.
+	 * @param clipBounds is the bounds outside which the elements will not be replied, or {@code null}.
+	 */
+	GISTreeSetSpliterator(N root, Rectangle2afp<?, ?, ?, ?, ?, ?> clipBounds) {
+		this.clipBounds = clipBounds;
+		if (root != null && isTraversed(root)) {
+			this.subtrees.add(root);
+			this.size = root.getDeepUserDataCount();
+		}
+	}
+
+	private GISTreeSetSpliterator(Rectangle2afp<?, ?, ?, ?, ?, ?> clipBounds) {
+		this.clipBounds = clipBounds;
+	}
+
+	@Pure
+	private boolean isTraversed(N node) {
+		return this.clipBounds == null || node.intersects(this.clipBounds);
+	}
+
+	@Pure
+	private boolean isReplied(P element) {
+		return element != null
+				&& (this.clipBounds == null || element.getGeoLocation().intersects(this.clipBounds));
+	}
+
+	/** Move the children of the given subtree into the collection of the subtrees.
+	 *
+	 * @param node the root of the subtree.
+	 */
+	private void expand(N node) {
+		if (node.getUserDataCount() > 0) {
+			this.dataNodes.addLast(node);
+		}
+		for (var i = 0; i < node.getChildCount(); ++i) {
+			final var child = node.getChildAt(i);
+			if (child != null && isTraversed(child)) {
+				this.subtrees.addLast(child);
+			}
+		}
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super P> action) {
+		while (true) {
+			while (!this.dataNodes.isEmpty()) {
+				final var node = this.dataNodes.getFirst();
+				while (this.dataIndex < node.getUserDataCount()) {
+					final var element = node.getUserDataAt(this.dataIndex);
+					++this.dataIndex;
+					--this.size;
+					if (isReplied(element)) {
+						action.accept(element);
+						return true;
+					}
+				}
+				this.dataNodes.removeFirst();
+				this.dataIndex = 0;
+			}
+			if (this.subtrees.isEmpty()) {
+				return false;
+			}
+			expand(this.subtrees.removeFirst());
+		}
+	}
+
+	@Override
+	public Spliterator<P> trySplit() {
+		while (this.subtrees.size() == 1) {
+			expand(this.subtrees.removeFirst());
+		}
+		final var count = this.subtrees.size() / 2;
+		if (count == 0) {
+			return null;
+		}
+		final var prefix = new GISTreeSetSpliterator<P, N>(this.clipBounds);
+		for (var i = 0; i < count; ++i) {
+			final var subtree = this.subtrees.removeFirst();
+			prefix.subtrees.addLast(subtree);
+			final var subtreeSize = subtree.getDeepUserDataCount();
+			prefix.size += subtreeSize;
+			this.size -= subtreeSize;
+		}
+		return prefix;
+	}
+
+	@Override
+	@Pure
+	public long estimateSize() {
+		return this.size;
+	}
+
+	@Override
+	@Pure
+	public int characteristics() {
+		if (this.clipBounds == null) {
+			return DISTINCT | NONNULL | SIZED | SUBSIZED;
+		}
+		return DISTINCT | NONNULL;
+	}
+
+}
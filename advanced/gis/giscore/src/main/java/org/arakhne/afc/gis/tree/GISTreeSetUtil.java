@@ -21,6 +21,8 @@
 package org.arakhne.afc.gis.tree;
 
 import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -206,6 +208,7 @@ public final class GISTreeSetUtil {
 				}
 				tree.getTree().setRoot(insNode);
 				tree.updateComponentType(element);
+				tree.indexElement(element);
 				return true;
 			}
 		}
@@ -301,9 +304,116 @@ public final class GISTreeSetUtil {
 		}
 
 		tree.updateComponentType(element);
+		tree.indexElement(element);
 		return true;
 	}
 
+	/**
+	 * Replace the content of the given tree by the given elements, and build a balanced tree in one pass.
+	 *
+	 * <p>The building is top-down: the elements are partitioned according to the cut planes of the
+	 * nodes, in the same way as {@link #addInside(AbstractGISTreeSet, AbstractGISTreeSetNode, GISPrimitive,
+	 * GISTreeSetNodeFactory) addInside}, until there is no more than {@link GISTreeSetConstants#SPLIT_COUNT}
+	 * elements in a leaf. Contrary to the insertion element by element, a node is split
+	 * even if all its elements are inside the same sub-area, until this sub-area becomes
+	 * smaller than {@link MapElementConstants#POINT_FUSION_DISTANCE}. The complexity of the
+	 * loading is {@code O(n log n)}.
+	 *
+	 * @param <P> is the type of the primitives.
+	 * @param <N> is the type of the nodes.
+	 * @param tree is the tree to fill.
+	 * @param elements the elements to insert.
+	 * @param builder is the node factory.
+	 * @return {@code true} if the tree has changed.
+	 * @since 18.0
+	 */
+	static <P extends GISPrimitive, N extends AbstractGISTreeSetNode<P, N>>
+		boolean bulkLoad(AbstractGISTreeSet<P, N> tree,
+			Collection<? extends P> elements,
+			GISTreeSetNodeFactory<P, N> builder) {
+		tree.getTree().clear();
+		if (elements == null) {
+			return false;
+		}
+		final var validElements = new ArrayList<P>(elements.size());
+		final var bounds = new Rectangle2d();
+		var first = true;
+		for (final var element : elements) {
+			if (element != null) {
+				final var location = element.getGeoLocation();
+				if (location != null) {
+					validElements.add(element);
+					if (tree.worldBounds == null) {
+						if (first) {
+							bounds.set(location.toBounds2D());
+							first = false;
+						} else {
+							bounds.setUnion(location.toBounds2D());
+						}
+					}
+				}
+			}
+		}
+		if (validElements.isEmpty()) {
+			return false;
+		}
+		if (tree.worldBounds != null) {
+			bounds.setFromCorners(
+					tree.worldBounds.getMinX(), tree.worldBounds.getMinY(),
+					tree.worldBounds.getMaxX(), tree.worldBounds.getMaxY());
+		}
+		final var root = builder.newNode(null,
+				bounds.getMinX(), bounds.getMinY(), bounds.getWidth(), bounds.getHeight());
+		buildSubtree(root, validElements, builder);
+		tree.getTree().setRoot(root);
+		tree.updateComponentType(validElements);
+		for (final var element : validElements) {
+			tree.indexElement(element);
+		}
+		return true;
+	}
+
+	/** Fill the given node, and create its children, with the given elements.
+	 *
+	 * @param <P> is the type of the primitives.
+	 * @param <N> is the type of the nodes.
+	 * @param node the node to fill.
+	 * @param elements the elements to put into the node or its children.
+	 * @param builder is the node factory.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <P extends GISPrimitive, N extends AbstractGISTreeSetNode<P, N>>
+		void buildSubtree(N node, List<P> elements, GISTreeSetNodeFactory<P, N> builder) {
+		if (elements.size() > GISTreeSetConstants.SPLIT_COUNT) {
+			final var count = node.getChildCount();
+			final var collections = (List<P>[]) Array.newInstance(List.class, count);
+			var subBranchCount = 0;
+			var lastClassification = 0;
+			for (final var element : elements) {
+				lastClassification = classifies(node, element.getGeoLocation());
+				if (collections[lastClassification] == null) {
+					collections[lastClassification] = new ArrayList<>();
+					++subBranchCount;
+				}
+				collections[lastClassification].add(element);
+			}
+			if (subBranchCount > 1 || (lastClassification != IcosepQuadTreeZone.ICOSEP.ordinal()
+					&& (node.nodeWidth > MapElementConstants.POINT_FUSION_DISTANCE
+					|| node.nodeHeight > MapElementConstants.POINT_FUSION_DISTANCE))) {
+				for (var region = 0; region < count; ++region) {
+					if (collections[region] != null) {
+						final var child = createNode(node, IcosepQuadTreeZone.values()[region], builder);
+						assert child != null;
+						buildSubtree(child, collections[region], builder);
+						node.setChildAt(region, child);
+					}
+				}
+				return;
+			}
+		}
+		node.addUserData(elements);
+	}
+
 	/** Replies if the given geolocation is outside the building bounds of the given node.
 	 */
 	@Pure
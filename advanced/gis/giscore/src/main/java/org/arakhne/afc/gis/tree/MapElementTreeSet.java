@@ -20,16 +20,15 @@
 
 package org.arakhne.afc.gis.tree;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.arakhne.afc.gis.GISElementSet;
 import org.arakhne.afc.gis.mapelement.MapElement;
-import org.arakhne.afc.gis.mapelement.MapElementConstants;
 import org.arakhne.afc.gis.primitive.GISPrimitive;
 import org.arakhne.afc.math.geometry.base.d2.Point2D;
 import org.arakhne.afc.math.geometry.d2.afp.Rectangle2afp;
-import org.arakhne.afc.math.geometry.d2.d.Point2d;
-import org.arakhne.afc.math.tree.Tree;
-import org.arakhne.afc.math.tree.iterator.BreadthFirstTreeIterator;
-import org.arakhne.afc.math.tree.iterator.NodeSelector;
 import org.eclipse.xtext.xbase.lib.Pair;
 import org.eclipse.xtext.xbase.lib.Pure;
 
@@ -47,6 +46,10 @@ import org.eclipse.xtext.xbase.lib.Pure;
  */
 public class MapElementTreeSet<P extends MapElement> extends StandardGISTreeSet<P> implements GISElementSet<P> {
 
+	/** Priority queues of the last nearest query, which are reused by the next query.
+	 */
+	private final AtomicReference<NearestElementQuery<P, GISTreeSetNode<P>>> nearestQuery = new AtomicReference<>();
+
 	/**
 	 * Create an empty tree.
 	 */
@@ -71,6 +74,31 @@ public class MapElementTreeSet<P extends MapElement> extends StandardGISTreeSet<
 		super(bounds);
 	}
 
+	/** Create a tree that contains the given elements.
+	 *
+	 * <p>The tree is built in one pass from the given elements, which is faster than
+	 * adding them one by one, and produces a better balanced tree.
+	 *
+	 * @param elements the elements to put in the tree.
+	 * @since 18.0
+	 */
+	public MapElementTreeSet(Collection<? extends P> elements) {
+		super(elements);
+	}
+
+	/** Create a tree that contains the given elements.
+	 *
+	 * <p>The tree is built in one pass from the given elements, which is faster than
+	 * adding them one by one, and produces a better balanced tree.
+	 *
+	 * @param bounds are the bounds of the scene stored inside this tree.
+	 * @param elements the elements to put in the tree.
+	 * @since 18.0
+	 */
+	public MapElementTreeSet(Rectangle2afp<?, ?, ?, ?, ?, ?> bounds, Collection<? extends P> elements) {
+		super(bounds, elements);
+	}
+
 	//-----------------------------------------------------------------
 	// Dedicated API
 	//----------------------------------------------------------------
@@ -104,69 +132,57 @@ public class MapElementTreeSet<P extends MapElement> extends StandardGISTreeSet<
 	@Override
 	@Pure
 	public Pair<P, Double> getNearestData(double x, double y) {
-		final var selector = new NearNodeSelector<P>(x, y);
-		return selector.select(getTree());
+		final var result = getNearestData(x, y, 1, Double.POSITIVE_INFINITY);
+		if (result.isEmpty()) {
+			return null;
+		}
+		return result.get(0);
 	}
 
-	/**
-	 * This class describes an iterator node selector based on visiblity.
+	/** Replies the nearest objects from the specified point, and
+	 * their distances to the point.
 	 *
-	 * @author $Author: sgalland$
-	 * @version $FullVersion$
-	 * @mavengroupid $GroupId$
-	 * @mavenartifactid $ArtifactId$
-	 * @since 14.0
-	 * @see GISPrimitive
+	 * @param position is the position from which the nearest primitives must be replied.
+	 * @param count is the maximal number of primitives to reply.
+	 * @param maxDistance is the maximal distance between the replied primitives and the position.
+	 * @return the nearest elements and their distances to the given position,
+	 *     sorted by increasing distance.
+	 * @since 18.0
+	 * @see #getNearestData(double, double, int, double)
 	 */
-	private static class NearNodeSelector<P extends MapElement> implements NodeSelector<GISTreeSetNode<P>> {
-
-		private final Point2d point = new Point2d();
-
-		private double minDistance = Double.POSITIVE_INFINITY;
-
-		private P bestResult;
+	public final List<Pair<P, Double>> getNearestData(Point2D<?, ?> position, int count, double maxDistance) {
+		return getNearestData(position.getX(), position.getY(), count, maxDistance);
+	}
 
-		/** Constructor.
-		 * @param x x coordinate.
-		 * @param y y coordinate.
-		 */
-		NearNodeSelector(double x, double y) {
-			this.point.set(x, y);
+	/** Replies the nearest objects from the specified point, and
+	 * their distances to the point.
+	 *
+	 * <p>The tree is traversed with a best-first strategy: the nodes are explored by increasing
+	 * minimal distance to the given point, and the traversal stops when no remaining node could
+	 * contain a nearer element.
+	 *
+	 * @param x is the position from which the nearest primitives must be replied.
+	 * @param y is the position from which the nearest primitives must be replied.
+	 * @param count is the maximal number of primitives to reply.
+	 * @param maxDistance is the maximal distance between the replied primitives and the position.
+	 * @return the nearest elements and their distances to the given position,
+	 *     sorted by increasing distance.
+	 * @since 18.0
+	 */
+	public List<Pair<P, Double>> getNearestData(double x, double y, int count, double maxDistance) {
+		if (count <= 0 || Double.isNaN(maxDistance)) {
+			throw new IllegalArgumentException();
 		}
-
-		@Override
-		@Pure
-		public boolean nodeCouldBeTreatedByIterator(GISTreeSetNode<P> node) {
-			if (node.isRoot()) {
-				return true;
-			}
-			final var distance = node.distance(this.point.getX(), this.point.getY());
-			return distance <= (this.minDistance + MapElementConstants.POINT_FUSION_DISTANCE);
+		// Reuse the priority queues of the previous query when no other thread is using them
+		var query = this.nearestQuery.getAndSet(null);
+		if (query == null) {
+			query = new NearestElementQuery<>();
 		}
-
-		/** Do the selection.
-		 *
-		 * @param tree is the tree to traverse.
-		 * @return the next pair or {@code null}.
-		 */
-		public Pair<P, Double> select(Tree<P, GISTreeSetNode<P>> tree) {
-			final var iter = new BreadthFirstTreeIterator<>(tree, this);
-			while (iter.hasNext()) {
-				final var node = iter.next();
-				for (final var element : node.getAllUserData()) {
-					final var distance = element.getDistance(this.point);
-					if (distance < this.minDistance) {
-						this.minDistance = distance;
-						this.bestResult = element;
-					}
-				}
-			}
-			if (this.bestResult != null && !Double.isInfinite(this.minDistance) && !Double.isNaN(this.minDistance)) {
-				return new Pair<>(this.bestResult, Double.valueOf(this.minDistance));
-			}
-			return null;
+		try {
+			return query.search(getTree().getRoot(), x, y, count, maxDistance);
+		} finally {
+			this.nearestQuery.set(query);
 		}
-
-	} /* class NearNodeSelector */
+	}
 
 }
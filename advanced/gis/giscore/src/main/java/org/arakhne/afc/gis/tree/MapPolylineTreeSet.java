@@ -20,6 +20,8 @@
 
 package org.arakhne.afc.gis.tree;
 
+import java.util.Collection;
+
 import org.arakhne.afc.gis.GISPolylineSet;
 import org.arakhne.afc.gis.location.GeoLocation;
 import org.arakhne.afc.gis.mapelement.MapPolyline;
@@ -73,6 +75,31 @@ public class MapPolylineTreeSet<P extends MapPolyline> extends MapElementTreeSet
 		super(bounds);
 	}
 
+	/** Create a tree that contains the given elements.
+	 *
+	 * <p>The tree is built in one pass from the given elements, which is faster than
+	 * adding them one by one, and produces a better balanced tree.
+	 *
+	 * @param elements the elements to put in the tree.
+	 * @since 18.0
+	 */
+	public MapPolylineTreeSet(Collection<? extends P> elements) {
+		super(elements);
+	}
+
+	/** Create a tree that contains the given elements.
+	 *
+	 * <p>The tree is built in one pass from the given elements, which is faster than
+	 * adding them one by one, and produces a better balanced tree.
+	 *
+	 * @param bounds are the bounds of the scene stored inside this tree.
+	 * @param elements the elements to put in the tree.
+	 * @since 18.0
+	 */
+	public MapPolylineTreeSet(Rectangle2afp<?, ?, ?, ?, ?, ?> bounds, Collection<? extends P> elements) {
+		super(bounds, elements);
+	}
+
 	//-----------------------------------------------------------------
 	// Dedicated API
 	//----------------------------------------------------------------
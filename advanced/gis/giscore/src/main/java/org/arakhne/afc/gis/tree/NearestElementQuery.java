@@ -0,0 +1,283 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.arakhne.afc.gis.mapelement.MapElement;
+import org.arakhne.afc.math.geometry.d2.d.Point2d;
+import org.eclipse.xtext.xbase.lib.Pair;
+
+/**
+ * Best-first search of the nearest elements in a tree of map elements.
+ *
+ * <p>The nodes of the tree are explored by increasing minimal distance to the query point.
+ * The minimal distance of a node is the distance between the query point and the bounds of
+ * the data in the subtree. The search stops when the worst of the best elements found so far
+ * is nearer than the minimal distances of all the remaining nodes.
+ *
+ * <p>The priority queues are arrays that are reused from a query to another.
+ * An instance of this class must not be used by two threads at the same time.
+ *
+ * @param <P> is the type of the user data inside the node.
+ * @param <N> is the type of the nodes.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+final class NearestElementQuery<P extends MapElement, N extends AbstractGISTreeSetNode<P, N>> {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final Point2d point = new Point2d();
+
+	/** Min-heap of the nodes to explore, ordered by their minimal distances.
+	 */
+	private Object[] nodes = new Object[INITIAL_CAPACITY];
+
+	private double[] nodeDistances = new double[INITIAL_CAPACITY];
+
+	private int nodeCount;
+
+	/** Max-heap of the best elements found so far, ordered by their distances.
+	 */
+	private Object[] elements = new Object[INITIAL_CAPACITY];
+
+	private double[] elementDistances = new double[INITIAL_CAPACITY];
+
+	private int elementCount;
+
+	/** Search for the nearest elements.
+	 *
+	 * @param root the root of the tree.
+	 * @param x x coordinate of the query point.
+	 * @param y y coordinate of the query point.
+	 * @param count the maximal number of elements to reply.
+	 * @param maxDistance the maximal distance between the elements and the query point.
+	 * @return the elements and their distances to the query point, sorted by increasing distance.
+	 */
+	@SuppressWarnings("unchecked")
+	List<Pair<P, Double>> search(N root, double x, double y, int count, double maxDistance) {
+		if (root == null) {
+			return Collections.emptyList();
+		}
+		this.point.set(x, y);
+		try {
+			pushNode(root, count, maxDistance);
+			while (this.nodeCount > 0) {
+				final var nodeDistance = this.nodeDistances[0];
+				final var node = (N) popNode();
+				if (nodeDistance > maxDistance
+						|| (this.elementCount >= count && nodeDistance >= this.elementDistances[0])) {
+					// All the remaining nodes are farther
+					break;
+				}
+				for (var i = 0; i < node.getUserDataCount(); ++i) {
+					final var element = node.getUserDataAt(i);
+					if (element != null) {
+						final var distance = element.getDistance(this.point);
+						if (distance <= maxDistance) {
+							offerElement(element, distance, count);
+						}
+					}
+				}
+				for (var i = 0; i < node.getChildCount(); ++i) {
+					final var child = node.getChildAt(i);
+					if (child != null) {
+						pushNode(child, count, maxDistance);
+					}
+				}
+			}
+			final var result = new ArrayList<Pair<P, Double>>(this.elementCount);
+			while (this.elementCount > 0) {
+				final var distance = this.elementDistances[0];
+				final var element = (P) popElement();
+				result.add(new Pair<>(element, Double.valueOf(distance)));
+			}
+			Collections.reverse(result);
+			return result;
+		} finally {
+			Arrays.fill(this.nodes, 0, this.nodeCount, null);
+			Arrays.fill(this.elements, 0, this.elementCount, null);
+			this.nodeCount = 0;
+			this.elementCount = 0;
+		}
+	}
+
+	/** Replies the minimal distance between the query point and the elements in the subtree
+	 * of the given node.
+	 *
+	 * <p>The bounds of the subtree are enlarged by the {@link AbstractGISTreeSetNode#getDataMargin() margin}
+	 * of the data, because the shape of an element may be larger than its geo-location, e.g. a wide polyline.
+	 *
+	 * <p>When the query point is inside the enlarged bounds of the subtree, the minimal distance is
+	 * negative infinity because the distance to an element that is containing the point may be negative.
+	 *
+	 * @param node the node.
+	 * @return the minimal distance, or {@link Double#NaN} if the subtree has no data.
+	 */
+	private double getMinimalDistance(N node) {
+		final var bounds = node.getBounds();
+		if (bounds == null) {
+			return Double.NaN;
+		}
+		final var margin = node.getDataMargin();
+		final var x = this.point.getX();
+		final var y = this.point.getY();
+		final double dx;
+		if (x < bounds.getMinX() - margin) {
+			dx = bounds.getMinX() - margin - x;
+		} else if (x > bounds.getMaxX() + margin) {
+			dx = x - bounds.getMaxX() - margin;
+		} else {
+			dx = 0.;
+		}
+		final double dy;
+		if (y < bounds.getMinY() - margin) {
+			dy = bounds.getMinY() - margin - y;
+		} else if (y > bounds.getMaxY() + margin) {
+			dy = y - bounds.getMaxY() - margin;
+		} else {
+			dy = 0.;
+		}
+		if (dx == 0. && dy == 0.) {
+			return Double.NEGATIVE_INFINITY;
+		}
+		return Math.hypot(dx, dy);
+	}
+
+	private void pushNode(N node, int count, double maxDistance) {
+		final var distance = getMinimalDistance(node);
+		if (Double.isNaN(distance) || distance > maxDistance
+				|| (this.elementCount >= count && distance >= this.elementDistances[0])) {
+			return;
+		}
+		if (this.nodeCount == this.nodes.length) {
+			final var capacity = this.nodeCount * 2;
+			this.nodes = Arrays.copyOf(this.nodes, capacity);
+			this.nodeDistances = Arrays.copyOf(this.nodeDistances, capacity);
+		}
+		// Sift up
+		var index = this.nodeCount;
+		++this.nodeCount;
+		while (index > 0) {
+			final var parent = (index - 1) >>> 1;
+			if (this.nodeDistances[parent] <= distance) {
+				break;
+			}
+			this.nodes[index] = this.nodes[parent];
+			this.nodeDistances[index] = this.nodeDistances[parent];
+			index = parent;
+		}
+		this.nodes[index] = node;
+		this.nodeDistances[index] = distance;
+	}
+
+	private Object popNode() {
+		final var top = this.nodes[0];
+		--this.nodeCount;
+		final var lastNode = this.nodes[this.nodeCount];
+		final var lastDistance = this.nodeDistances[this.nodeCount];
+		this.nodes[this.nodeCount] = null;
+		// Sift down
+		var index = 0;
+		final var half = this.nodeCount >>> 1;
+		while (index < half) {
+			var child = 2 * index + 1;
+			if (child + 1 < this.nodeCount && this.nodeDistances[child + 1] < this.nodeDistances[child]) {
+				++child;
+			}
+			if (lastDistance <= this.nodeDistances[child]) {
+				break;
+			}
+			this.nodes[index] = this.nodes[child];
+			this.nodeDistances[index] = this.nodeDistances[child];
+			index = child;
+		}
+		if (this.nodeCount > 0) {
+			this.nodes[index] = lastNode;
+			this.nodeDistances[index] = lastDistance;
+		}
+		return top;
+	}
+
+	private void offerElement(P element, double distance, int count) {
+		if (this.elementCount >= count) {
+			if (distance >= this.elementDistances[0]) {
+				return;
+			}
+			popElement();
+		}
+		if (this.elementCount == this.elements.length) {
+			final var capacity = this.elementCount * 2;
+			this.elements = Arrays.copyOf(this.elements, capacity);
+			this.elementDistances = Arrays.copyOf(this.elementDistances, capacity);
+		}
+		// Sift up
+		var index = this.elementCount;
+		++this.elementCount;
+		while (index > 0) {
+			final var parent = (index - 1) >>> 1;
+			if (this.elementDistances[parent] >= distance) {
+				break;
+			}
+			this.elements[index] = this.elements[parent];
+			this.elementDistances[index] = this.elementDistances[parent];
+			index = parent;
+		}
+		this.elements[index] = element;
+		this.elementDistances[index] = distance;
+	}
+
+	private Object popElement() {
+		final var top = this.elements[0];
+		--this.elementCount;
+		final var lastElement = this.elements[this.elementCount];
+		final var lastDistance = this.elementDistances[this.elementCount];
+		this.elements[this.elementCount] = null;
+		// Sift down
+		var index = 0;
+		final var half = this.elementCount >>> 1;
+		while (index < half) {
+			var child = 2 * index + 1;
+			if (child + 1 < this.elementCount && this.elementDistances[child + 1] > this.elementDistances[child]) {
+				++child;
+			}
+			if (lastDistance >= this.elementDistances[child]) {
+				break;
+			}
+			this.elements[index] = this.elements[child];
+			this.elementDistances[index] = this.elementDistances[child];
+			index = child;
+		}
+		if (this.elementCount > 0) {
+			this.elements[index] = lastElement;
+			this.elementDistances[index] = lastDistance;
+		}
+		return top;
+	}
+
+}
@@ -0,0 +1,969 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.tree;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+import org.arakhne.afc.gis.GISElementSet;
+import org.arakhne.afc.gis.location.GeoId;
+import org.arakhne.afc.gis.location.GeoLocation;
+import org.arakhne.afc.gis.mapelement.MapElement;
+import org.arakhne.afc.math.MathUtil;
+import org.arakhne.afc.math.geometry.base.d2.Point2D;
+import org.arakhne.afc.math.geometry.d2.afp.Rectangle2afp;
+import org.arakhne.afc.math.geometry.d2.d.Point2d;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.arakhne.afc.vmutil.ReflectionUtil;
+import org.eclipse.xtext.xbase.lib.Pair;
+import org.eclipse.xtext.xbase.lib.Pure;
+
+/**
+ * Immutable set of map elements that is stored inside a packed Hilbert R-tree.
+ *
+ * <p>The elements are sorted according to the Hilbert curve index of the centers of their bounds,
+ * and grouped by nodes of a fixed size. The upper levels of the tree are built in the same way from
+ * the lower levels. The bounds of the elements and of the nodes are stored inside a single array of
+ * {@code double}, and the nodes are referencing their first children inside an array of {@code int}.
+ * There is no node object, nor per-node list of elements. Compared to the {@link MapElementTreeSet},
+ * this structure is smaller and faster to query, but it cannot be changed after its creation.
+ * It is dedicated to the read-mostly layers, e.g. {@link org.arakhne.afc.gis.maplayer.TreeMapElementLayer#pack()}.
+ *
+ * <p>The elements are indexed according to the order of the Hilbert curve.
+ * Because the structure is never changed, it may be queried by several threads at the same time.
+ *
+ * @param <P> is the type of the elements inside the set.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+public class PackedMapElementTreeSet<P extends MapElement> extends AbstractSet<P> implements GISElementSet<P> {
+
+	/** Default number of children per node.
+	 */
+	public static final int DEFAULT_NODE_SIZE = 16;
+
+	private static final int HILBERT_MAX = (1 << 16) - 1;
+
+	private static final Object[] EMPTY = new Object[0];
+
+	private final int nodeSize;
+
+	/** Elements in the order of the Hilbert curve.
+	 */
+	private final Object[] elements;
+
+	/** Bounds of the elements, followed by the bounds of the nodes level by level.
+	 * Each bounds is stored as {@code minx, miny, maxx, maxy}.
+	 * The root node is the last one.
+	 */
+	private final double[] boxes;
+
+	/** Position of the first child of each node. The position of a node is the index of
+	 * its bounds in {@link #boxes} divided by 4. The positions lower than the number
+	 * of elements are the positions of the elements.
+	 */
+	private final int[] children;
+
+	/** Maximal gap between the bounds of the elements in each node and their bounding boxes,
+	 * e.g. the half width of the polylines. The margin of a node is at the index of its
+	 * position minus the number of elements.
+	 *
+	 * @see MapElement#getBoundingBox()
+	 */
+	private final double[] margins;
+
+	/** Positions after the last entry of each level.
+	 */
+	private final int[] levelEnds;
+
+	private final Class<? extends P> elementType;
+
+	/** Create a set with the given elements.
+	 *
+	 * @param elements the elements to put inside the set.
+	 */
+	public PackedMapElementTreeSet(Collection<? extends P> elements) {
+		this(elements, DEFAULT_NODE_SIZE);
+	}
+
+	/** Create a set with the given elements.
+	 *
+	 * @param elements the elements to put inside the set.
+	 * @param nodeSize the maximal number of children per node. It must be greater than 1.
+	 */
+	@SuppressWarnings("unchecked")
+	public PackedMapElementTreeSet(Collection<? extends P> elements, int nodeSize) {
+		if (nodeSize < 2) {
+			throw new IllegalArgumentException();
+		}
+		this.nodeSize = nodeSize;
+		final var input = new ArrayList<P>(elements.size());
+		Class<? extends P> type = null;
+		for (final var element : elements) {
+			if (element != null) {
+				input.add(element);
+				type = (Class<? extends P>) ReflectionUtil.getCommonType(type, element.getClass());
+			}
+		}
+		this.elementType = type;
+		final var count = input.size();
+		if (count == 0) {
+			this.elements = EMPTY;
+			this.boxes = new double[0];
+			this.children = new int[0];
+			this.margins = new double[0];
+			this.levelEnds = new int[0];
+			return;
+		}
+
+		// Compute the sizes of the levels
+		var levelCount = 1;
+		var levelSize = count;
+		var total = count;
+		do {
+			levelSize = (levelSize + nodeSize - 1) / nodeSize;
+			total += levelSize;
+			++levelCount;
+		} while (levelSize > 1);
+		this.levelEnds = new int[levelCount];
+		levelSize = count;
+		total = count;
+		this.levelEnds[0] = count;
+		for (var i = 1; i < levelCount; ++i) {
+			levelSize = (levelSize + nodeSize - 1) / nodeSize;
+			total += levelSize;
+			this.levelEnds[i] = total;
+		}
+
+		// Bounds and margins of the elements
+		final var bounds = new double[count * 4];
+		final var elementMargins = new double[count];
+		var minX = Double.POSITIVE_INFINITY;
+		var minY = Double.POSITIVE_INFINITY;
+		var maxX = Double.NEGATIVE_INFINITY;
+		var maxY = Double.NEGATIVE_INFINITY;
+		for (var i = 0; i < count; ++i) {
+			final var box = input.get(i).getGeoLocation().toBounds2D();
+			final var j = i * 4;
+			bounds[j] = box.getMinX();
+			bounds[j + 1] = box.getMinY();
+			bounds[j + 2] = box.getMaxX();
+			bounds[j + 3] = box.getMaxY();
+			minX = Math.min(minX, bounds[j]);
+			minY = Math.min(minY, bounds[j + 1]);
+			maxX = Math.max(maxX, bounds[j + 2]);
+			maxY = Math.max(maxY, bounds[j + 3]);
+			final var boundingBox = input.get(i).getBoundingBox();
+			if (boundingBox != null) {
+				elementMargins[i] = MathUtil.max(0.,
+						bounds[j] - boundingBox.getMinX(),
+						bounds[j + 1] - boundingBox.getMinY(),
+						boundingBox.getMaxX() - bounds[j + 2],
+						boundingBox.getMaxY() - bounds[j + 3]);
+			}
+		}
+
+		// Sort the elements along the Hilbert curve; the keys are the Hilbert indexes followed by the element indexes.
+		// The Hilbert indexes use 32 bits, so the sign bit of the keys is flipped for sorting them as unsigned values
+		final var width = maxX - minX;
+		final var height = maxY - minY;
+		final var keys = new long[count];
+		for (var i = 0; i < count; ++i) {
+			final var j = i * 4;
+			final var cx = (bounds[j] + bounds[j + 2]) / 2.;
+			final var cy = (bounds[j + 1] + bounds[j + 3]) / 2.;
+			final var hx = width > 0. ? (int) Math.floor(HILBERT_MAX * (cx - minX) / width) : 0;
+			final var hy = height > 0. ? (int) Math.floor(HILBERT_MAX * (cy - minY) / height) : 0;
+			keys[i] = ((hilbert(hx, hy) << 32) | i) ^ Long.MIN_VALUE;
+		}
+		Arrays.sort(keys);
+
+		this.elements = new Object[count];
+		this.boxes = new double[total * 4];
+		final var sortedMargins = new double[count];
+		for (var i = 0; i < count; ++i) {
+			final var source = (int) keys[i];
+			this.elements[i] = input.get(source);
+			System.arraycopy(bounds, source * 4, this.boxes, i * 4, 4);
+			sortedMargins[i] = elementMargins[source];
+		}
+
+		// Build the nodes level by level
+		this.children = new int[total - count];
+		this.margins = new double[total - count];
+		var position = 0;
+		var node = count;
+		for (var level = 0; level < levelCount - 1; ++level) {
+			final var end = this.levelEnds[level];
+			while (position < end) {
+				this.children[node - count] = position;
+				var nminx = Double.POSITIVE_INFINITY;
+				var nminy = Double.POSITIVE_INFINITY;
+				var nmaxx = Double.NEGATIVE_INFINITY;
+				var nmaxy = Double.NEGATIVE_INFINITY;
+				var nmargin = 0.;
+				for (var i = 0; i < nodeSize && position < end; ++i, ++position) {
+					final var j = position * 4;
+					nminx = Math.min(nminx, this.boxes[j]);
+					nminy = Math.min(nminy, this.boxes[j + 1]);
+					nmaxx = Math.max(nmaxx, this.boxes[j + 2]);
+					nmaxy = Math.max(nmaxy, this.boxes[j + 3]);
+					nmargin = Math.max(nmargin,
+							position < count ? sortedMargins[position] : this.margins[position - count]);
+				}
+				this.margins[node - count] = nmargin;
+				final var j = node * 4;
+				this.boxes[j] = nminx;
+				this.boxes[j + 1] = nminy;
+				this.boxes[j + 2] = nmaxx;
+				this.boxes[j + 3] = nmaxy;
+				++node;
+			}
+		}
+	}
+
+	/** Replies the index of the given cell on the Hilbert curve of order 16.
+	 *
+	 * @param x the x coordinate of the cell, between 0 and 65535.
+	 * @param y the y coordinate of the cell, between 0 and 65535.
+	 * @return the index of the cell on the Hilbert curve.
+	 */
+	@Pure
+	private static long hilbert(int x, int y) {
+		var hx = x;
+		var hy = y;
+		var index = 0L;
+		for (var s = 1 << 15; s > 0; s >>>= 1) {
+			final var rx = (hx & s) > 0 ? 1 : 0;
+			final var ry = (hy & s) > 0 ? 1 : 0;
+			index += (long) s * s * ((3 * rx) ^ ry);
+			// Rotate the quadrant
+			if (ry == 0) {
+				if (rx == 1) {
+					hx = HILBERT_MAX - hx;
+					hy = HILBERT_MAX - hy;
+				}
+				final var t = hx;
+				hx = hy;
+				hy = t;
+			}
+		}
+		return index;
+	}
+
+	/** Replies the maximal number of children per node.
+	 *
+	 * @return the node size.
+	 */
+	@Pure
+	public int getNodeSize() {
+		return this.nodeSize;
+	}
+
+	/** Replies the position of the root node.
+	 *
+	 * @return the position of the root node, or {@code -1} if the set is empty.
+	 */
+	@Pure
+	private int getRoot() {
+		return this.boxes.length / 4 - 1;
+	}
+
+	/** Replies the position after the last child of the given node.
+	 *
+	 * @param node the position of the node.
+	 * @return the position after the last child.
+	 */
+	@Pure
+	private int getChildEnd(int node) {
+		final var start = this.children[node - this.elements.length];
+		var level = 0;
+		while (this.levelEnds[level] <= start) {
+			++level;
+		}
+		return Math.min(start + this.nodeSize, this.levelEnds[level]);
+	}
+
+	@Pure
+	private boolean intersects(int position, double minX, double minY, double maxX, double maxY, boolean inclusive) {
+		final var j = position * 4;
+		if (inclusive) {
+			return this.boxes[j + 2] >= minX && this.boxes[j] <= maxX
+					&& this.boxes[j + 3] >= minY && this.boxes[j + 1] <= maxY;
+		}
+		return Rectangle2afp.intersectsRectangleRectangle(
+				this.boxes[j], this.boxes[j + 1], this.boxes[j + 2], this.boxes[j + 3],
+				minX, minY, maxX, maxY);
+	}
+
+	/** Replies the position of the first element that has bounds intersecting the given bounds and that
+	 * is matching the given predicate.
+	 *
+	 * @param bounds the bounds of the searched element.
+	 * @param predicate the predicate on the element.
+	 * @return the position of the element, or {@code -1} if none.
+	 */
+	@Pure
+	private int find(Rectangle2afp<?, ?, ?, ?, ?, ?> bounds, Predicate<Object> predicate) {
+		final var root = getRoot();
+		if (root < 0 || bounds == null) {
+			return -1;
+		}
+		final var minX = bounds.getMinX();
+		final var minY = bounds.getMinY();
+		final var maxX = bounds.getMaxX();
+		final var maxY = bounds.getMaxY();
+		var stack = new int[this.levelEnds.length * this.nodeSize];
+		var size = 0;
+		stack[size++] = root;
+		while (size > 0) {
+			final var position = stack[--size];
+			if (intersects(position, minX, minY, maxX, maxY, true)) {
+				if (position < this.elements.length) {
+					if (predicate.test(this.elements[position])) {
+						return position;
+					}
+				} else {
+					final var end = getChildEnd(position);
+					for (var child = this.children[position - this.elements.length]; child < end; ++child) {
+						if (size == stack.length) {
+							stack = Arrays.copyOf(stack, size * 2);
+						}
+						stack[size++] = child;
+					}
+				}
+			}
+		}
+		return -1;
+	}
+
+	//-----------------------------------------------------------------
+	// GISSet Interface
+	//----------------------------------------------------------------
+
+	@Override
+	@Pure
+	public boolean isTypeRecomputedAfterRemoval() {
+		return false;
+	}
+
+	/** {@inheritDoc}
+	 *
+	 * <p>This set cannot be changed, so this function has no effect.
+	 */
+	@Override
+	public void setTypeRecomputedAfterRemoval(boolean update) {
+		//
+	}
+
+	@Override
+	@Pure
+	public Class<? extends P> getElementType() {
+		return this.elementType;
+	}
+
+	@Override
+	@Pure
+	@SuppressWarnings("unchecked")
+	public P get(GeoId identifier) {
+		if (identifier != null) {
+			final var position = find(identifier.toBounds2D(),
+				it -> identifier.equals(((P) it).getGeoId()));
+			if (position >= 0) {
+				return (P) this.elements[position];
+			}
+		}
+		return null;
+	}
+
+	@Override
+	@Pure
+	@SuppressWarnings("unchecked")
+	public P get(GeoLocation location) {
+		if (location != null) {
+			final var position = find(location.toBounds2D(),
+				it -> location.equals(((P) it).getGeoLocation()));
+			if (position >= 0) {
+				return (P) this.elements[position];
+			}
+		}
+		return null;
+	}
+
+	@Override
+	@Pure
+	@SuppressWarnings("unchecked")
+	public P get(int index) {
+		return (P) this.elements[index];
+	}
+
+	@Override
+	public int computeSize() {
+		return this.elements.length;
+	}
+
+	@Override
+	@Pure
+	public boolean slowContains(Object obj) {
+		for (final var element : this.elements) {
+			if (element.equals(obj)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	@Pure
+	public int indexOf(Object obj) {
+		if (obj instanceof MapElement element) {
+			return find(element.getGeoLocation().toBounds2D(), obj::equals);
+		}
+		return -1;
+	}
+
+	@Override
+	@Pure
+	public int size() {
+		return this.elements.length;
+	}
+
+	@Override
+	@Pure
+	public boolean isEmpty() {
+		return this.elements.length == 0;
+	}
+
+	@Override
+	@Pure
+	public boolean contains(Object obj) {
+		return indexOf(obj) >= 0;
+	}
+
+	@Override
+	@Pure
+	public Object[] toArray() {
+		return this.elements.clone();
+	}
+
+	@Override
+	@Pure
+	public Iterator<P> iterator() {
+		return new ElementIterator();
+	}
+
+	@Override
+	@Pure
+	public Iterator<P> iterator(Rectangle2afp<?, ?, ?, ?, ?, ?> clipBounds) {
+		return iterator(clipBounds, -1);
+	}
+
+	@Override
+	@Pure
+	public Iterator<P> iterator(Rectangle2afp<?, ?, ?, ?, ?, ?> clipBounds, int budget) {
+		if (isEmpty() || clipBounds == null || clipBounds.isEmpty() || budget == 0) {
+			return Collections.emptyIterator();
+		}
+		return new WindowIterator(clipBounds, budget);
+	}
+
+	@Override
+	@Pure
+	public Iterator<Rectangle2afp<?, ?, ?, ?, ?, ?>> boundsIterator() {
+		return new Iterator<>() {
+			private int position = getRoot();
+
+			@Override
+			public boolean hasNext() {
+				return this.position >= PackedMapElementTreeSet.this.elements.length;
+			}
+
+			@Override
+			public Rectangle2afp<?, ?, ?, ?, ?, ?> next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				final var j = this.position * 4;
+				final var boxes = PackedMapElementTreeSet.this.boxes;
+				--this.position;
+				final var bounds = new Rectangle2d();
+				bounds.setFromCorners(boxes[j], boxes[j + 1], boxes[j + 2], boxes[j + 3]);
+				return bounds;
+			}
+		};
+	}
+
+	@Override
+	@Pure
+	public Iterable<P> toIterable(Rectangle2afp<?, ?, ?, ?, ?, ?> clipBounds) {
+		return () -> iterator(clipBounds);
+	}
+
+	@Override
+	@Pure
+	public Iterable<P> toIterable(Rectangle2afp<?, ?, ?, ?, ?, ?> clipBounds, int budget) {
+		return () -> iterator(clipBounds, budget);
+	}
+
+	//-----------------------------------------------------------------
+	// Dedicated API
+	//----------------------------------------------------------------
+
+	@Override
+	@Pure
+	public final P getNearest(Point2D<?, ?> position) {
+		final var data = getNearestData(position.getX(), position.getY());
+		if (data != null) {
+			return data.getKey();
+		}
+		return null;
+	}
+
+	@Override
+	@Pure
+	public final P getNearest(double x, double y) {
+		final var data = getNearestData(x, y);
+		if (data != null) {
+			return data.getKey();
+		}
+		return null;
+	}
+
+	@Override
+	@Pure
+	public final Pair<P, Double> getNearestData(Point2D<?, ?> position) {
+		return getNearestData(position.getX(), position.getY());
+	}
+
+	@Override
+	@Pure
+	public Pair<P, Double> getNearestData(double x, double y) {
+		final var result = getNearestData(x, y, 1, Double.POSITIVE_INFINITY);
+		if (result.isEmpty()) {
+			return null;
+		}
+		return result.get(0);
+	}
+
+	/** Replies the nearest objects from the specified point, and
+	 * their distances to the point.
+	 *
+	 * @param position is the position from which the nearest primitives must be replied.
+	 * @param count is the maximal number of primitives to reply.
+	 * @param maxDistance is the maximal distance between the replied primitives and the position.
+	 * @return the nearest elements and their distances to the given position,
+	 *     sorted by increasing distance.
+	 * @see #getNearestData(double, double, int, double)
+	 */
+	@Pure
+	public final List<Pair<P, Double>> getNearestData(Point2D<?, ?> position, int count, double maxDistance) {
+		return getNearestData(position.getX(), position.getY(), count, maxDistance);
+	}
+
+	/** Replies the nearest objects from the specified point, and
+	 * their distances to the point.
+	 *
+	 * <p>The nodes are explored by increasing minimal distance to the given point, and
+	 * the traversal stops when no remaining node could contain a nearer element.
+	 *
+	 * @param x is the position from which the nearest primitives must be replied.
+	 * @param y is the position from which the nearest primitives must be replied.
+	 * @param count is the maximal number of primitives to reply.
+	 * @param maxDistance is the maximal distance between the replied primitives and the position.
+	 * @return the nearest elements and their distances to the given position,
+	 *     sorted by increasing distance.
+	 */
+	@Pure
+	@SuppressWarnings("unchecked")
+	public List<Pair<P, Double>> getNearestData(double x, double y, int count, double maxDistance) {
+		if (count <= 0 || Double.isNaN(maxDistance)) {
+			throw new IllegalArgumentException();
+		}
+		final var root = getRoot();
+		if (root < 0) {
+			return Collections.emptyList();
+		}
+		final var point = new Point2d(x, y);
+		final var nodes = new PositionHeap(false);
+		final var best = new PositionHeap(true);
+		nodes.push(root, getMinimalDistance(root, x, y));
+		while (nodes.size > 0) {
+			final var nodeDistance = nodes.distances[0];
+			if (nodeDistance > maxDistance || (best.size >= count && nodeDistance >= best.distances[0])) {
+				// All the remaining nodes are farther
+				break;
+			}
+			final var node = nodes.pop();
+			final var start = this.children[node - this.elements.length];
+			final var end = getChildEnd(node);
+			final var leaf = start < this.elements.length;
+			for (var child = start; child < end; ++child) {
+				if (leaf) {
+					final var distance = ((P) this.elements[child]).getDistance(point);
+					if (distance <= maxDistance && (best.size < count || distance < best.distances[0])) {
+						if (best.size >= count) {
+							best.pop();
+						}
+						best.push(child, distance);
+					}
+				} else {
+					final var distance = getMinimalDistance(child, x, y);
+					if (distance <= maxDistance && (best.size < count || distance < best.distances[0])) {
+						nodes.push(child, distance);
+					}
+				}
+			}
+		}
+		final var result = new ArrayList<Pair<P, Double>>(best.size);
+		while (best.size > 0) {
+			final var distance = best.distances[0];
+			final var element = (P) this.elements[best.pop()];
+			result.add(new Pair<>(element, Double.valueOf(distance)));
+		}
+		Collections.reverse(result);
+		return result;
+	}
+
+	/** Replies the minimal distance between the given point and the elements in the given node.
+	 *
+	 * <p>The bounds of the node are enlarged by the margin of its elements, because the distance to an element
+	 * is computed from its bounding box, e.g. with the width of the polylines.
+	 * When the point is inside the enlarged bounds, the minimal distance is
+	 * negative infinity because the distance to an element that is containing the point may be negative.
+	 *
+	 * @param node the position of the node.
+	 * @param x the x coordinate of the point.
+	 * @param y the y coordinate of the point.
+	 * @return the minimal distance.
+	 */
+	@Pure
+	private double getMinimalDistance(int node, double x, double y) {
+		final var j = node * 4;
+		final var margin = this.margins[node - this.elements.length];
+		final var dx = Math.max(0., Math.max(this.boxes[j] - x, x - this.boxes[j + 2]) - margin);
+		final var dy = Math.max(0., Math.max(this.boxes[j + 1] - y, y - this.boxes[j + 3]) - margin);
+		if (dx == 0. && dy == 0.) {
+			return Double.NEGATIVE_INFINITY;
+		}
+		return Math.hypot(dx, dy);
+	}
+
+	/**
+	 * Binary heap of positions that is ordered by distances.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private static class PositionHeap {
+
+		private static final int INITIAL_CAPACITY = 16;
+
+		/** Indicates if the greatest distance is on the top of the heap.
+		 */
+		private final boolean max;
+
+		int[] positions = new int[INITIAL_CAPACITY];
+
+		double[] distances = new double[INITIAL_CAPACITY];
+
+		int size;
+
+		/** Constructor.
+		 *
+		 * @param max indicates if the greatest distance is on the top of the heap.
+		 */
+		PositionHeap(boolean max) {
+			this.max = max;
+		}
+
+		private boolean isBefore(double distance1, double distance2) {
+			return this.max ? distance1 > distance2 : distance1 < distance2;
+		}
+
+		void push(int position, double distance) {
+			if (this.size == this.positions.length) {
+				final var capacity = this.size * 2;
+				this.positions = Arrays.copyOf(this.positions, capacity);
+				this.distances = Arrays.copyOf(this.distances, capacity);
+			}
+			// Sift up
+			var index = this.size;
+			++this.size;
+			while (index > 0) {
+				final var parent = (index - 1) >>> 1;
+				if (!isBefore(distance, this.distances[parent])) {
+					break;
+				}
+				this.positions[index] = this.positions[parent];
+				this.distances[index] = this.distances[parent];
+				index = parent;
+			}
+			this.positions[index] = position;
+			this.distances[index] = distance;
+		}
+
+		int pop() {
+			final var top = this.positions[0];
+			--this.size;
+			final var lastPosition = this.positions[this.size];
+			final var lastDistance = this.distances[this.size];
+			// Sift down
+			var index = 0;
+			final var half = this.size >>> 1;
+			while (index < half) {
+				var child = 2 * index + 1;
+				if (child + 1 < this.size && isBefore(this.distances[child + 1], this.distances[child])) {
+					++child;
+				}
+				if (!isBefore(this.distances[child], lastDistance)) {
+					break;
+				}
+				this.positions[index] = this.positions[child];
+				this.distances[index] = this.distances[child];
+				index = child;
+			}
+			if (this.size > 0) {
+				this.positions[index] = lastPosition;
+				this.distances[index] = lastDistance;
+			}
+			return top;
+		}
+
+	} /* class PositionHeap */
+
+	/**
+	 * Iterator on all the elements.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private class ElementIterator implements Iterator<P> {
+
+		private int index;
+
+		/** Constructor.
+		 */
+		ElementIterator() {
+			//
+		}
+
+		@Override
+		@Pure
+		public boolean hasNext() {
+			return this.index < PackedMapElementTreeSet.this.elements.length;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public P next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return (P) PackedMapElementTreeSet.this.elements[this.index++];
+		}
+
+	} /* class ElementIterator */
+
+	/**
+	 * Breadth-first iterator on the elements that are intersecting a rectangle.
+	 *
+	 * <p>When a budget is given, the budget of a node is shared by its children that are
+	 * intersecting the rectangle. The budget that is not consumed by a node is given to the
+	 * next node in the breadth-first order.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private class WindowIterator implements Iterator<P> {
+
+		private final double minX;
+
+		private final double minY;
+
+		private final double maxX;
+
+		private final double maxY;
+
+		private final boolean unlimited;
+
+		/** Queue of the nodes to explore.
+		 */
+		private int[] queue;
+
+		/** Budgets of the nodes to explore.
+		 */
+		private int[] budgets;
+
+		private int head;
+
+		private int tail;
+
+		private int unconsumedBudget;
+
+		/** Current leaf node, or {@code -1}.
+		 */
+		private int leafPosition = -1;
+
+		private int leafEnd;
+
+		private int leafBudget;
+
+		private int nextPosition = -1;
+
+		/** Constructor.
+		 *
+		 * @param clipBounds the bounds of the window.
+		 * @param budget the maximal number of elements to reply, or a negative value for replying all the elements.
+		 */
+		WindowIterator(Rectangle2afp<?, ?, ?, ?, ?, ?> clipBounds, int budget) {
+			this.minX = clipBounds.getMinX();
+			this.minY = clipBounds.getMinY();
+			this.maxX = clipBounds.getMaxX();
+			this.maxY = clipBounds.getMaxY();
+			this.unlimited = budget < 0;
+			this.queue = new int[PackedMapElementTreeSet.this.nodeSize];
+			this.budgets = new int[this.queue.length];
+			final var root = getRoot();
+			if (intersects(root, this.minX, this.minY, this.maxX, this.maxY, false)) {
+				enqueue(root, budget);
+			}
+			searchNext();
+		}
+
+		private void enqueue(int position, int budget) {
+			if (this.tail == this.queue.length) {
+				if (this.head > 0) {
+					System.arraycopy(this.queue, this.head, this.queue, 0, this.tail - this.head);
+					System.arraycopy(this.budgets, this.head, this.budgets, 0, this.tail - this.head);
+					this.tail -= this.head;
+					this.head = 0;
+				}
+				if (this.tail == this.queue.length) {
+					this.queue = Arrays.copyOf(this.queue, this.tail * 2);
+					this.budgets = Arrays.copyOf(this.budgets, this.tail * 2);
+				}
+			}
+			this.queue[this.tail] = position;
+			this.budgets[this.tail] = budget;
+			++this.tail;
+		}
+
+		private void searchNext() {
+			final var set = PackedMapElementTreeSet.this;
+			final var elementCount = set.elements.length;
+			this.nextPosition = -1;
+			while (true) {
+				// Consume the elements of the current leaf node
+				while (this.leafPosition >= 0 && this.leafPosition < this.leafEnd) {
+					final var position = this.leafPosition;
+					++this.leafPosition;
+					if ((this.unlimited || this.leafBudget > 0)
+							&& intersects(position, this.minX, this.minY, this.maxX, this.maxY, false)) {
+						--this.leafBudget;
+						this.nextPosition = position;
+						return;
+					}
+				}
+				if (this.leafPosition >= 0) {
+					this.unconsumedBudget = Math.max(0, this.leafBudget);
+					this.leafPosition = -1;
+				}
+				if (this.head == this.tail) {
+					return;
+				}
+				final var node = this.queue[this.head];
+				final var budget = this.budgets[this.head] + this.unconsumedBudget;
+				++this.head;
+				this.unconsumedBudget = 0;
+				final var start = set.children[node - elementCount];
+				final var end = getChildEnd(node);
+				if (start < elementCount) {
+					this.leafPosition = start;
+					this.leafEnd = end;
+					this.leafBudget = budget;
+				} else if (this.unlimited) {
+					for (var child = start; child < end; ++child) {
+						if (intersects(child, this.minX, this.minY, this.maxX, this.maxY, false)) {
+							enqueue(child, -1);
+						}
+					}
+				} else {
+					var count = 0;
+					for (var child = start; child < end; ++child) {
+						if (intersects(child, this.minX, this.minY, this.maxX, this.maxY, false)) {
+							++count;
+						}
+					}
+					if (count > 0) {
+						final var share = budget / count;
+						var remainder = budget % count;
+						for (var child = start; child < end; ++child) {
+							if (intersects(child, this.minX, this.minY, this.maxX, this.maxY, false)) {
+								enqueue(child, remainder > 0 ? share + 1 : share);
+								--remainder;
+							}
+						}
+					} else {
+						this.unconsumedBudget = budget;
+					}
+				}
+			}
+		}
+
+		@Override
+		@Pure
+		public boolean hasNext() {
+			return this.nextPosition >= 0;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public P next() {
+			final var position = this.nextPosition;
+			if (position < 0) {
+				throw new NoSuchElementException();
+			}
+			searchNext();
+			return (P) PackedMapElementTreeSet.this.elements[position];
+		}
+
+	} /* class WindowIterator */
+
+}
@@ -0,0 +1,585 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+
+import org.arakhne.afc.gis.GISSet;
+import org.arakhne.afc.gis.mapelement.MapElement;
+import org.arakhne.afc.gis.mapelement.MapPoint;
+import org.arakhne.afc.gis.mapelement.MapPolygon;
+import org.arakhne.afc.gis.mapelement.OverlayOperation;
+import org.arakhne.afc.gis.mapelement.PolygonOverlay;
+import org.arakhne.afc.gis.primitive.GISPrimitive;
+import org.arakhne.afc.math.geometry.d2.afp.Rectangle2afp;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.eclipse.xtext.xbase.lib.Pair;
+import org.eclipse.xtext.xbase.lib.Pure;
+
+/**
+ * Spatial join between two sets of GIS primitives.
+ *
+ * <p>The join replies the pairs of primitives, one from each set, for which the bounds of the
+ * geo-locations are at a distance lower than or equal to a given distance, and that are
+ * matching an optional predicate, e.g. {@link #intersects()} or {@link #withinDistance(double)}.
+ *
+ * <p>When the two sets are GIS tree sets, e.g. {@link StandardGISTreeSet} or {@link MapElementTreeSet},
+ * the two trees are traversed together: a pair of subtrees is explored only if their bounds
+ * are near enough. Otherwise, each element of the first set is searched inside the second set with
+ * {@link GISSet#iterator(Rectangle2afp)}.
+ *
+ * <pre><code>
+ * // Every bus stop within 50 meters of a road
+ * SpatialJoin.join(stops, roads, 50., SpatialJoin.withinDistance(50.), (stop, road) -&gt; ...);
+ * </code></pre>
+ *
+ * <p>The polygons of two sets may be intersected pair by pair with {@link #overlay(GISSet, GISSet, OverlayConsumer)},
+ * e.g. for clipping the land-use polygons against administrative areas.
+ *
+ * <p>The sets must not be changed during the join.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+public final class SpatialJoin {
+
+	/** Number of elements in a pair of subtrees under which the subtrees are joined by a single task.
+	 */
+	private static final int SPLIT_THRESHOLD = 512;
+
+	/** Number of pairs of polygons under which the pairs are overlaid by a single task.
+	 */
+	private static final int OVERLAY_SPLIT_THRESHOLD = 16;
+
+	private SpatialJoin() {
+		//
+	}
+
+	/** Replies a predicate that is matching the map elements with intersecting shapes.
+	 *
+	 * @param <P> the type of the elements in the first set.
+	 * @param <Q> the type of the elements in the second set.
+	 * @return the predicate.
+	 */
+	@Pure
+	public static <P extends MapElement, Q extends MapElement> BiPredicate<P, Q> intersects() {
+		return (left, right) -> left.intersects(right.getShape());
+	}
+
+	/** Replies a predicate that is matching the map elements at the given distance or nearer.
+	 *
+	 * <p>When one of the elements is a {@link MapPoint}, the distance is computed with
+	 * {@link MapElement#getDistance(org.arakhne.afc.math.geometry.base.d2.Point2D)} on the other element,
+	 * i.e. the width of the polylines is considered. Otherwise, the distance between the shapes of
+	 * the elements is used.
+	 *
+	 * @param <P> the type of the elements in the first set.
+	 * @param <Q> the type of the elements in the second set.
+	 * @param distance the maximal distance.
+	 * @return the predicate.
+	 */
+	@Pure
+	public static <P extends MapElement, Q extends MapElement> BiPredicate<P, Q> withinDistance(double distance) {
+		if (Double.isNaN(distance) || distance < 0.) {
+			throw new IllegalArgumentException();
+		}
+		return (left, right) -> {
+			if (left instanceof MapPoint point) {
+				return right.getDistance(point.getPoint()) <= distance;
+			}
+			if (right instanceof MapPoint point) {
+				return left.getDistance(point.getPoint()) <= distance;
+			}
+			return left.getShape().getDistance(right.getShape()) <= distance;
+		};
+	}
+
+	/** Replies the pairs of elements from the two sets with bounds at the given distance or nearer,
+	 * and matching the given predicate.
+	 *
+	 * @param <P> the type of the elements in the first set.
+	 * @param <Q> the type of the elements in the second set.
+	 * @param left the first set.
+	 * @param right the second set.
+	 * @param distance the maximal distance between the bounds of the elements. Zero means that the
+	 *     bounds must intersect.
+	 * @param predicate the predicate to be matched by the pairs of elements, or {@code null} for
+	 *     replying all the pairs with near bounds.
+	 * @return the pairs of elements.
+	 */
+	public static <P extends GISPrimitive, Q extends GISPrimitive> List<Pair<P, Q>> join(
+			GISSet<P> left, GISSet<Q> right, double distance, BiPredicate<? super P, ? super Q> predicate) {
+		final var pairs = new ArrayList<Pair<P, Q>>();
+		join(left, right, distance, predicate, (l, r) -> pairs.add(new Pair<>(l, r)));
+		return pairs;
+	}
+
+	/** Give to the consumer the pairs of elements from the two sets with bounds at the given distance or nearer,
+	 * and matching the given predicate.
+	 *
+	 * @param <P> the type of the elements in the first set.
+	 * @param <Q> the type of the elements in the second set.
+	 * @param left the first set.
+	 * @param right the second set.
+	 * @param distance the maximal distance between the bounds of the elements. Zero means that the
+	 *     bounds must intersect.
+	 * @param predicate the predicate to be matched by the pairs of elements, or {@code null} for
+	 *     replying all the pairs with near bounds.
+	 * @param consumer the receiver of the pairs.
+	 */
+	public static <P extends GISPrimitive, Q extends GISPrimitive> void join(
+			GISSet<P> left, GISSet<Q> right, double distance, BiPredicate<? super P, ? super Q> predicate,
+			BiConsumer<? super P, ? super Q> consumer) {
+		final var root = getRoots(left, right, distance);
+		if (root != null) {
+			new Joiner<>(distance, predicate, consumer).join(root.getKey(), root.getValue());
+		} else {
+			nestedLoopJoin(left, right, distance, predicate, consumer);
+		}
+	}
+
+	/** Give to the consumer the pairs of elements from the two sets with bounds at the given distance or nearer,
+	 * and matching the given predicate. The subtrees of the sets are joined in parallel.
+	 *
+	 * <p>The predicate and the consumer are invoked by several threads at the same time.
+	 *
+	 * @param <P> the type of the elements in the first set.
+	 * @param <Q> the type of the elements in the second set.
+	 * @param pool the pool of threads that must run the join.
+	 * @param left the first set.
+	 * @param right the second set.
+	 * @param distance the maximal distance between the bounds of the elements. Zero means that the
+	 *     bounds must intersect.
+	 * @param predicate the predicate to be matched by the pairs of elements, or {@code null} for
+	 *     replying all the pairs with near bounds.
+	 * @param consumer the receiver of the pairs.
+	 */
+	public static <P extends GISPrimitive, Q extends GISPrimitive> void parallelJoin(ForkJoinPool pool,
+			GISSet<P> left, GISSet<Q> right, double distance, BiPredicate<? super P, ? super Q> predicate,
+			BiConsumer<? super P, ? super Q> consumer) {
+		final var root = getRoots(left, right, distance);
+		if (root != null) {
+			// The buffered bounds of the nodes must not be computed by the parallel tasks
+			((AbstractGISTreeSet<?, ?>) left).updateBuffers();
+			((AbstractGISTreeSet<?, ?>) right).updateBuffers();
+			pool.invoke(new JoinTask<>(new Joiner<>(distance, predicate, consumer), root.getKey(), root.getValue()));
+		} else {
+			nestedLoopJoin(left, right, distance, predicate, consumer);
+		}
+	}
+
+	/** Give to the consumer the intersections of the pairs of polygons from the two sets with intersecting bounds.
+	 *
+	 * <p>The intersection of each pair is computed by {@link PolygonOverlay} with
+	 * {@link OverlayOperation#INTERSECTION}. The pairs with an empty intersection are not given to the consumer.
+	 * The other operations are not supported, because their results are not defined pair by pair: a polygon
+	 * of the first set may have no partner, or several partners in the second set.
+	 *
+	 * @param <P> the type of the polygons in the first set.
+	 * @param <Q> the type of the polygons in the second set.
+	 * @param left the first set.
+	 * @param right the second set.
+	 * @param consumer the receiver of the intersections.
+	 */
+	public static <P extends MapPolygon, Q extends MapPolygon> void overlay(
+			GISSet<P> left, GISSet<Q> right, OverlayConsumer<? super P, ? super Q> consumer) {
+		if (consumer == null) {
+			throw new IllegalArgumentException();
+		}
+		join(left, right, 0., null, (l, r) -> overlay(l, r, consumer));
+	}
+
+	/** Give to the consumer the intersections of the pairs of polygons from the two sets with intersecting bounds.
+	 * The pairs are intersected in parallel.
+	 *
+	 * <p>The pairs are found by a join of the two sets, then they are shared between the threads of the pool.
+	 * The pairs with an empty intersection are not given to the consumer.
+	 * The consumer is invoked by several threads at the same time.
+	 *
+	 * @param <P> the type of the polygons in the first set.
+	 * @param <Q> the type of the polygons in the second set.
+	 * @param pool the pool of threads that must compute the intersections.
+	 * @param left the first set.
+	 * @param right the second set.
+	 * @param consumer the receiver of the intersections.
+	 * @see #overlay(GISSet, GISSet, OverlayConsumer)
+	 */
+	public static <P extends MapPolygon, Q extends MapPolygon> void parallelOverlay(ForkJoinPool pool,
+			GISSet<P> left, GISSet<Q> right, OverlayConsumer<? super P, ? super Q> consumer) {
+		if (consumer == null) {
+			throw new IllegalArgumentException();
+		}
+		final var pairs = join(left, right, 0., null);
+		if (!pairs.isEmpty()) {
+			pool.invoke(new OverlayTask<>(pairs, 0, pairs.size(), consumer));
+		}
+	}
+
+	private static <P extends MapPolygon, Q extends MapPolygon> void overlay(P left, Q right,
+			OverlayConsumer<? super P, ? super Q> consumer) {
+		final var result = PolygonOverlay.overlay(left, right, OverlayOperation.INTERSECTION);
+		if (result.getPointCount() > 0) {
+			consumer.accept(left, right, result);
+		}
+	}
+
+	/** Replies the roots of the trees if the two sets are trees.
+	 *
+	 * @param left the first set.
+	 * @param right the second set.
+	 * @param distance the maximal distance between the bounds of the elements.
+	 * @return the roots, {@code null} if one of the sets is not a tree, or a pair of
+	 *     {@code null} roots if one of the trees is empty.
+	 */
+	private static Pair<AbstractGISTreeSetNode<?, ?>, AbstractGISTreeSetNode<?, ?>> getRoots(
+			GISSet<?> left, GISSet<?> right, double distance) {
+		if (Double.isNaN(distance) || distance < 0.) {
+			throw new IllegalArgumentException();
+		}
+		if (left instanceof AbstractGISTreeSet<?, ?> leftTree && right instanceof AbstractGISTreeSet<?, ?> rightTree) {
+			return new Pair<>(leftTree.getTree().getRoot(), rightTree.getTree().getRoot());
+		}
+		return null;
+	}
+
+	private static <P extends GISPrimitive, Q extends GISPrimitive> void nestedLoopJoin(
+			GISSet<P> left, GISSet<Q> right, double distance, BiPredicate<? super P, ? super Q> predicate,
+			BiConsumer<? super P, ? super Q> consumer) {
+		final var window = new Rectangle2d();
+		for (final var leftElement : left) {
+			final var bounds = leftElement.getGeoLocation().toBounds2D();
+			window.setFromCorners(
+					bounds.getMinX() - distance, bounds.getMinY() - distance,
+					bounds.getMaxX() + distance, bounds.getMaxY() + distance);
+			final var iterator = right.iterator(window);
+			while (iterator.hasNext()) {
+				final var rightElement = iterator.next();
+				if (getDistance(bounds, rightElement.getGeoLocation().toBounds2D()) <= distance
+						&& (predicate == null || predicate.test(leftElement, rightElement))) {
+					consumer.accept(leftElement, rightElement);
+				}
+			}
+		}
+	}
+
+	/** Replies the distance between two rectangles.
+	 *
+	 * @param r1 the first rectangle.
+	 * @param r2 the second rectangle.
+	 * @return the distance, zero if the rectangles are intersecting or touching.
+	 */
+	@Pure
+	static double getDistance(Rectangle2afp<?, ?, ?, ?, ?, ?> r1, Rectangle2afp<?, ?, ?, ?, ?, ?> r2) {
+		final var dx = Math.max(0., Math.max(r1.getMinX() - r2.getMaxX(), r2.getMinX() - r1.getMaxX()));
+		final var dy = Math.max(0., Math.max(r1.getMinY() - r2.getMaxY(), r2.getMinY() - r1.getMaxY()));
+		if (dx == 0.) {
+			return dy;
+		}
+		if (dy == 0.) {
+			return dx;
+		}
+		return Math.hypot(dx, dy);
+	}
+
+	/**
+	 * Synchronized traversal of two trees.
+	 *
+	 * <p>The elements of a subtree are the elements of its root node and the elements of its child subtrees.
+	 * Consequently, the join of two subtrees is the union of the joins between the elements of the first root
+	 * node and the second subtree, the elements of the second root node and the child subtrees of the first subtree,
+	 * and the pairs of child subtrees.
+	 *
+	 * @param <P> the type of the elements in the first set.
+	 * @param <Q> the type of the elements in the second set.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private static class Joiner<P extends GISPrimitive, Q extends GISPrimitive> {
+
+		private final double distance;
+
+		private final BiPredicate<? super P, ? super Q> predicate;
+
+		private final BiConsumer<? super P, ? super Q> consumer;
+
+		/** Constructor.
+		 *
+		 * @param distance the maximal distance between the bounds of the elements.
+		 * @param predicate the predicate to be matched by the pairs of elements, or {@code null}.
+		 * @param consumer the receiver of the pairs.
+		 */
+		Joiner(double distance, BiPredicate<? super P, ? super Q> predicate, BiConsumer<? super P, ? super Q> consumer) {
+			this.distance = distance;
+			this.predicate = predicate;
+			this.consumer = consumer;
+		}
+
+		/** Replies if the two nodes may contain a pair of elements to reply.
+		 *
+		 * @param left the first node.
+		 * @param right the second node.
+		 * @return {@code true} if the nodes must be explored.
+		 */
+		@Pure
+		boolean isNear(AbstractGISTreeSetNode<?, ?> left, AbstractGISTreeSetNode<?, ?> right) {
+			if (left == null || right == null) {
+				return false;
+			}
+			final var leftBounds = left.getBounds();
+			final var rightBounds = right.getBounds();
+			return leftBounds != null && rightBounds != null && getDistance(leftBounds, rightBounds) <= this.distance;
+		}
+
+		/** Join the two subtrees.
+		 *
+		 * @param left the first subtree.
+		 * @param right the second subtree.
+		 */
+		void join(AbstractGISTreeSetNode<?, ?> left, AbstractGISTreeSetNode<?, ?> right) {
+			if (isNear(left, right)) {
+				joinNodeData(left, right);
+				for (var i = 0; i < left.getChildCount(); ++i) {
+					final var leftChild = left.getChildAt(i);
+					for (var j = 0; j < right.getChildCount(); ++j) {
+						final var rightChild = right.getChildAt(j);
+						join(leftChild, rightChild);
+					}
+				}
+			}
+		}
+
+		/** Join the elements of the first node with the second subtree, and the elements of
+		 * the second node with the child subtrees of the first node.
+		 *
+		 * @param left the first subtree.
+		 * @param right the second subtree.
+		 */
+		@SuppressWarnings("unchecked")
+		void joinNodeData(AbstractGISTreeSetNode<?, ?> left, AbstractGISTreeSetNode<?, ?> right) {
+			for (var i = 0; i < left.getUserDataCount(); ++i) {
+				final var element = (P) left.getUserDataAt(i);
+				if (element != null) {
+					probe(element, element.getGeoLocation().toBounds2D(), right, false);
+				}
+			}
+			if (right.getUserDataCount() > 0) {
+				for (var i = 0; i < left.getChildCount(); ++i) {
+					final var leftChild = left.getChildAt(i);
+					if (leftChild != null) {
+						for (var j = 0; j < right.getUserDataCount(); ++j) {
+							final var element = (Q) right.getUserDataAt(j);
+							if (element != null) {
+								probe(element, element.getGeoLocation().toBounds2D(), leftChild, true);
+							}
+						}
+					}
+				}
+			}
+		}
+
+		/** Search for the elements of the given subtree that are near the given element.
+		 *
+		 * @param element the element.
+		 * @param bounds the bounds of the element.
+		 * @param node the root of the subtree.
+		 * @param swap indicates if the element is in the second set and the subtree in the first set.
+		 */
+		@SuppressWarnings("unchecked")
+		private void probe(GISPrimitive element, Rectangle2afp<?, ?, ?, ?, ?, ?> bounds,
+				AbstractGISTreeSetNode<?, ?> node, boolean swap) {
+			final var nodeBounds = node.getBounds();
+			if (nodeBounds == null || getDistance(bounds, nodeBounds) > this.distance) {
+				return;
+			}
+			for (var i = 0; i < node.getUserDataCount(); ++i) {
+				final var other = node.getUserDataAt(i);
+				if (other != null && getDistance(bounds, other.getGeoLocation().toBounds2D()) <= this.distance) {
+					if (swap) {
+						accept((P) other, (Q) element);
+					} else {
+						accept((P) element, (Q) other);
+					}
+				}
+			}
+			for (var i = 0; i < node.getChildCount(); ++i) {
+				final var child = node.getChildAt(i);
+				if (child != null) {
+					probe(element, bounds, child, swap);
+				}
+			}
+		}
+
+		private void accept(P left, Q right) {
+			if (this.predicate == null || this.predicate.test(left, right)) {
+				this.consumer.accept(left, right);
+			}
+		}
+
+	} /* class Joiner */
+
+	/**
+	 * Task that joins two subtrees.
+	 *
+	 * @param <P> the type of the elements in the first set.
+	 * @param <Q> the type of the elements in the second set.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private static class JoinTask<P extends GISPrimitive, Q extends GISPrimitive> extends RecursiveAction {
+
+		private static final long serialVersionUID = 6384752190243558431L;
+
+		private final transient Joiner<P, Q> joiner;
+
+		private final transient AbstractGISTreeSetNode<?, ?> left;
+
+		private final transient AbstractGISTreeSetNode<?, ?> right;
+
+		/** Constructor.
+		 *
+		 * @param joiner the joiner.
+		 * @param left the first subtree.
+		 * @param right the second subtree.
+		 */
+		JoinTask(Joiner<P, Q> joiner, AbstractGISTreeSetNode<?, ?> left, AbstractGISTreeSetNode<?, ?> right) {
+			this.joiner = joiner;
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		protected void compute() {
+			if (!this.joiner.isNear(this.left, this.right)) {
+				return;
+			}
+			if (this.left.getDeepUserDataCount() + this.right.getDeepUserDataCount() <= SPLIT_THRESHOLD) {
+				this.joiner.join(this.left, this.right);
+				return;
+			}
+			this.joiner.joinNodeData(this.left, this.right);
+			final var tasks = new ArrayList<JoinTask<P, Q>>();
+			for (var i = 0; i < this.left.getChildCount(); ++i) {
+				final var leftChild = this.left.getChildAt(i);
+				for (var j = 0; j < this.right.getChildCount(); ++j) {
+					final var rightChild = this.right.getChildAt(j);
+					if (this.joiner.isNear(leftChild, rightChild)) {
+						tasks.add(new JoinTask<>(this.joiner, leftChild, rightChild));
+					}
+				}
+			}
+			invokeAll(tasks);
+		}
+
+	} /* class JoinTask */
+
+	/**
+	 * Receiver of the intersections of pairs of polygons.
+	 *
+	 * @param <P> the type of the polygons in the first set.
+	 * @param <Q> the type of the polygons in the second set.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	@FunctionalInterface
+	public interface OverlayConsumer<P, Q> {
+
+		/** Receive the intersection of two polygons.
+		 *
+		 * @param left the polygon from the first set.
+		 * @param right the polygon from the second set.
+		 * @param overlay the intersection of the two polygons, never empty.
+		 */
+		void accept(P left, Q right, MapPolygon overlay);
+
+	}
+
+	/**
+	 * Task that intersects a range of pairs of polygons.
+	 *
+	 * @param <P> the type of the polygons in the first set.
+	 * @param <Q> the type of the polygons in the second set.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private static class OverlayTask<P extends MapPolygon, Q extends MapPolygon> extends RecursiveAction {
+
+		private static final long serialVersionUID = -2716390452371884265L;
+
+		private final transient List<Pair<P, Q>> pairs;
+
+		private final int from;
+
+		private final int to;
+
+		private final transient OverlayConsumer<? super P, ? super Q> consumer;
+
+		/** Constructor.
+		 *
+		 * @param pairs the pairs of polygons.
+		 * @param from the index of the first pair to overlay.
+		 * @param to the index after the last pair to overlay.
+		 * @param consumer the receiver of the intersections.
+		 */
+		OverlayTask(List<Pair<P, Q>> pairs, int from, int to, OverlayConsumer<? super P, ? super Q> consumer) {
+			this.pairs = pairs;
+			this.from = from;
+			this.to = to;
+			this.consumer = consumer;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from <= OVERLAY_SPLIT_THRESHOLD) {
+				for (var i = this.from; i < this.to; ++i) {
+					final var pair = this.pairs.get(i);
+					overlay(pair.getKey(), pair.getValue(), this.consumer);
+				}
+				return;
+			}
+			final var middle = (this.from + this.to) >>> 1;
+			invokeAll(
+					new OverlayTask<>(this.pairs, this.from, middle, this.consumer),
+					new OverlayTask<>(this.pairs, middle, this.to, this.consumer));
+		}
+
+	} /* class OverlayTask */
+
+}
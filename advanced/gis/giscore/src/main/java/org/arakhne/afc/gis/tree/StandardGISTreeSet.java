@@ -20,6 +20,8 @@
 
 package org.arakhne.afc.gis.tree;
 
+import java.util.Collection;
+
 import org.arakhne.afc.gis.primitive.GISPrimitive;
 import org.arakhne.afc.math.geometry.d2.afp.Rectangle2afp;
 import org.arakhne.afc.math.tree.node.IcosepQuadTreeNode.IcosepQuadTreeZone;
@@ -56,6 +58,33 @@ public class StandardGISTreeSet<P extends GISPrimitive> extends AbstractGISTreeS
 		super(bounds);
 	}
 
+	/** Create a tree that contains the given elements.
+	 *
+	 * <p>The tree is built in one pass from the given elements, which is faster than
+	 * adding them one by one, and produces a better balanced tree.
+	 *
+	 * @param elements the elements to put in the tree.
+	 * @since 18.0
+	 */
+	public StandardGISTreeSet(Collection<? extends P> elements) {
+		super();
+		GISTreeSetUtil.bulkLoad(this, elements, this);
+	}
+
+	/** Create a tree that contains the given elements.
+	 *
+	 * <p>The tree is built in one pass from the given elements, which is faster than
+	 * adding them one by one, and produces a better balanced tree.
+	 *
+	 * @param bounds are the bounds of the scene stored inside this tree.
+	 * @param elements the elements to put in the tree.
+	 * @since 18.0
+	 */
+	public StandardGISTreeSet(Rectangle2afp<?, ?, ?, ?, ?, ?> bounds, Collection<? extends P> elements) {
+		super(bounds);
+		GISTreeSetUtil.bulkLoad(this, elements, this);
+	}
+
 	/** Constructor.
 	 * @param boundsX is the bounds of the scene.
 	 * @param boundsY is the bounds of the scene.
@@ -20,6 +20,9 @@
 
 package org.arakhne.afc.gis.tree;
 
+import java.util.Map;
+
+import org.arakhne.afc.gis.location.GeoId;
 import org.arakhne.afc.gis.primitive.GISPrimitive;
 import org.arakhne.afc.math.geometry.d2.afp.Rectangle2afp;
 import org.arakhne.afc.math.tree.node.IcosepQuadTreeNode.IcosepQuadTreeZone;
@@ -72,6 +75,29 @@ public class WeakGISTreeSet<P extends GISPrimitive>
 		return GISTreeSetUtil.addInside(this, getTree().getRoot(), elt, this);
 	}
 
+	/** {@inheritDoc}
+	 *
+	 * <p>The index of this tree keeps weak references to the elements, in order to
+	 * not prevent the garbage collector to release them.
+	 */
+	@Override
+	@Pure
+	protected <K> Map<K, P> newIdentifierIndex() {
+		return new WeakIdentifierIndex<>();
+	}
+
+	@Override
+	@Pure
+	public P get(GeoId identifier) {
+		final var element = super.get(identifier);
+		if (element == null && isIdentifierIndexEnabled()) {
+			// The indexed element may be released while another element with the same
+			// identifier is still inside the tree.
+			return searchGeoId(identifier);
+		}
+		return element;
+	}
+
 	@Override
 	@Pure
 	public GISTreeSetNodeFactory<P, WeakGISTreeSetNode<P>> getNodeFactory() {
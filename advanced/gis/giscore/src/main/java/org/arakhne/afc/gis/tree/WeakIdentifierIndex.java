@@ -0,0 +1,210 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.tree;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.eclipse.xtext.xbase.lib.Pure;
+
+/**
+ * Index of elements that keeps weak references on the indexed elements.
+ *
+ * <p>The entries are removed when their values are released by the garbage collector.
+ * In opposite to {@link org.arakhne.afc.references.WeakValueHashMap}, the access to an
+ * entry from its key is done in constant time.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the indexed elements.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+class WeakIdentifierIndex<K, V> extends AbstractMap<K, V> {
+
+	private final Map<K, Value<K, V>> map = new HashMap<>();
+
+	private final ReferenceQueue<V> queue = new ReferenceQueue<>();
+
+	/** Remove the entries with a released value.
+	 */
+	@SuppressWarnings("unchecked")
+	private void expurge() {
+		Value<K, V> reference;
+		while ((reference = (Value<K, V>) this.queue.poll()) != null) {
+			// The key may be bound to another value since the reference was created.
+			this.map.remove(reference.key, reference);
+		}
+	}
+
+	@Override
+	public V put(K key, V value) {
+		assert value != null;
+		expurge();
+		final var old = this.map.put(key, new Value<>(key, value, this.queue));
+		return old == null ? null : old.get();
+	}
+
+	@Override
+	@Pure
+	public V get(Object key) {
+		final var reference = this.map.get(key);
+		return reference == null ? null : reference.get();
+	}
+
+	@Override
+	@Pure
+	public boolean containsKey(Object key) {
+		return get(key) != null;
+	}
+
+	@Override
+	public V remove(Object key) {
+		expurge();
+		final var old = this.map.remove(key);
+		return old == null ? null : old.get();
+	}
+
+	@Override
+	public void clear() {
+		this.map.clear();
+		while (this.queue.poll() != null) {
+			//
+		}
+	}
+
+	@Override
+	public int size() {
+		expurge();
+		return this.map.size();
+	}
+
+	@Override
+	public Set<Entry<K, V>> entrySet() {
+		expurge();
+		return new EntrySet();
+	}
+
+	/** Weak reference to a value of the index.
+	 *
+	 * @param <K> the type of the key.
+	 * @param <V> the type of the value.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private static final class Value<K, V> extends WeakReference<V> {
+
+		final K key;
+
+		Value(K key, V value, ReferenceQueue<V> queue) {
+			super(value, queue);
+			this.key = key;
+		}
+
+	} /* class Value */
+
+	/** Set of the entries with a value that is not yet released.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private final class EntrySet extends AbstractSet<Entry<K, V>> {
+
+		EntrySet() {
+			//
+		}
+
+		@Override
+		public Iterator<Entry<K, V>> iterator() {
+			return new EntryIterator(WeakIdentifierIndex.this.map.values().iterator());
+		}
+
+		@Override
+		public int size() {
+			return WeakIdentifierIndex.this.map.size();
+		}
+
+	} /* class EntrySet */
+
+	/** Iterator on the entries with a value that is not yet released.
+	 * The value of a replied entry cannot be released while the entry is used.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private final class EntryIterator implements Iterator<Entry<K, V>> {
+
+		private final Iterator<Value<K, V>> iterator;
+
+		private Entry<K, V> next;
+
+		EntryIterator(Iterator<Value<K, V>> iterator) {
+			this.iterator = iterator;
+			searchNext();
+		}
+
+		private void searchNext() {
+			this.next = null;
+			while (this.next == null && this.iterator.hasNext()) {
+				final var reference = this.iterator.next();
+				final var value = reference.get();
+				if (value != null) {
+					this.next = new SimpleImmutableEntry<>(reference.key, value);
+				}
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return this.next != null;
+		}
+
+		@Override
+		public Entry<K, V> next() {
+			final var entry = this.next;
+			if (entry == null) {
+				throw new NoSuchElementException();
+			}
+			searchNext();
+			return entry;
+		}
+
+	} /* class EntryIterator */
+
+}
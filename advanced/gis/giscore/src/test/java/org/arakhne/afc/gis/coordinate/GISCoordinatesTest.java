@@ -20,7 +20,12 @@
 
 package org.arakhne.afc.gis.coordinate;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -180,4 +185,213 @@ public class GISCoordinatesTest extends AbstractGisTest {
 		assertEpsilonEquals(this.wgs5.phi, p.phi);
 	}
 
+	private static double[][] createLambertIIePoints(int count) {
+		final var x = new double[count];
+		final var y = new double[count];
+		for (var i = 0; i < count; ++i) {
+			x[i] = 600000. + (i % 97) * 1234.5;
+			y[i] = 2200000. + (i / 97) * 987.6;
+		}
+		return new double[][] {x, y};
+	}
+
+	@Test
+	public void testConvertBatch() {
+		final var points = createLambertIIePoints(300);
+		for (final var source : MapMetricProjection.values()) {
+			final var x = points[0].clone();
+			final var y = points[1].clone();
+			// Move the points into the source projection
+			GISCoordinates.convert(MapMetricProjection.FRANCE_LAMBERT_2_EXTENDED, source, x, y, 0, x.length, null);
+			for (final var target : MapMetricProjection.values()) {
+				final var rx = new double[x.length + 2];
+				final var ry = new double[x.length + 2];
+				GISCoordinates.convert(source, target, x, y, 1, rx, ry, 2, x.length - 1, null);
+				assertEquals(0., rx[0]);
+				assertEquals(0., rx[1]);
+				for (var i = 1; i < x.length; ++i) {
+					final var expected = source.convertTo(target, new Point2d(x[i], y[i]));
+					assertEquals(expected.getX(), rx[i + 1]);
+					assertEquals(expected.getY(), ry[i + 1]);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testConvertBatch_inPlace() {
+		final var points = createLambertIIePoints(100);
+		final var x = points[0].clone();
+		final var y = points[1].clone();
+		GISCoordinates.convert(MapMetricProjection.FRANCE_LAMBERT_2_EXTENDED, MapMetricProjection.FRANCE_LAMBERT_93,
+				x, y, 10, 80, null);
+		for (var i = 0; i < x.length; ++i) {
+			if (i < 10 || i >= 90) {
+				assertEquals(points[0][i], x[i]);
+				assertEquals(points[1][i], y[i]);
+			} else {
+				final var expected = GISCoordinates.EL2_L93(points[0][i], points[1][i]);
+				assertEquals(expected.getX(), x[i]);
+				assertEquals(expected.getY(), y[i]);
+			}
+		}
+		assertThrows(IndexOutOfBoundsException.class, () -> GISCoordinates.convert(
+				MapMetricProjection.FRANCE_LAMBERT_1, MapMetricProjection.FRANCE_LAMBERT_93, x, y, 50, 51, null));
+		assertThrows(IndexOutOfBoundsException.class, () -> GISCoordinates.convert(
+				MapMetricProjection.FRANCE_LAMBERT_1, MapMetricProjection.FRANCE_LAMBERT_93, x, y, -1, 5, null));
+	}
+
+	@Test
+	public void testConvertInterleaved() {
+		final var points = createLambertIIePoints(50);
+		final var xy = new double[100];
+		for (var i = 0; i < 50; ++i) {
+			xy[i * 2] = points[0][i];
+			xy[i * 2 + 1] = points[1][i];
+		}
+		GISCoordinates.convertInterleaved(MapMetricProjection.FRANCE_LAMBERT_2_EXTENDED,
+				MapMetricProjection.FRANCE_LAMBERT_3, xy, 5, 40, null);
+		for (var i = 0; i < 50; ++i) {
+			if (i < 5 || i >= 45) {
+				assertEquals(points[0][i], xy[i * 2]);
+				assertEquals(points[1][i], xy[i * 2 + 1]);
+			} else {
+				final var expected = GISCoordinates.EL2_L3(points[0][i], points[1][i]);
+				assertEquals(expected.getX(), xy[i * 2]);
+				assertEquals(expected.getY(), xy[i * 2 + 1]);
+			}
+		}
+	}
+
+	@Test
+	public void testConvertToWGS84() {
+		final var x = new double[] {this.lambertIIe_1.getX(), this.lambertIIe_2.getX(), this.lambertIIe_3.getX()};
+		final var y = new double[] {this.lambertIIe_1.getY(), this.lambertIIe_2.getY(), this.lambertIIe_3.getY()};
+		GISCoordinates.convertToWGS84(MapMetricProjection.FRANCE_LAMBERT_2_EXTENDED, x, y, 0, 3, null);
+		final var expected = GISCoordinates.EL2_WGS84(this.lambertIIe_2.getX(), this.lambertIIe_2.getY());
+		assertEquals(expected.lambda, x[1]);
+		assertEquals(expected.phi, y[1]);
+		assertEpsilonEquals(this.wgs1.lambda, x[0]);
+		assertEpsilonEquals(this.wgs3.phi, y[2]);
+	}
+
+	@Test
+	public void testConvertFromWGS84() {
+		final var lambda = new double[] {this.wgs1.lambda, this.wgs2.lambda, this.wgs3.lambda};
+		final var phi = new double[] {this.wgs1.phi, this.wgs2.phi, this.wgs3.phi};
+		GISCoordinates.convertFromWGS84(MapMetricProjection.FRANCE_LAMBERT_93, lambda, phi, 0, 3, null);
+		for (final var i : new int[] {0, 1, 2}) {
+			final var wgs = i == 0 ? this.wgs1 : (i == 1 ? this.wgs2 : this.wgs3);
+			final var expected = GISCoordinates.WGS84_L93(wgs.lambda, wgs.phi);
+			assertEquals(expected.getX(), lambda[i]);
+			assertEquals(expected.getY(), phi[i]);
+		}
+	}
+
+	@Test
+	public void testConvertBatch_parallel() {
+		final var count = GISCoordinates.PARALLEL_BATCH_SIZE * 5 + 17;
+		final var points = createLambertIIePoints(count);
+		final var x = points[0].clone();
+		final var y = points[1].clone();
+		final var pool = new ForkJoinPool(4);
+		try {
+			GISCoordinates.convert(MapMetricProjection.FRANCE_LAMBERT_2_EXTENDED, MapMetricProjection.FRANCE_LAMBERT_1,
+					x, y, 0, count, pool);
+		} finally {
+			pool.shutdown();
+		}
+		for (var i = 0; i < count; i += 101) {
+			final var expected = GISCoordinates.EL2_L1(points[0][i], points[1][i]);
+			assertEquals(expected.getX(), x[i]);
+			assertEquals(expected.getY(), y[i]);
+		}
+		final var last = count - 1;
+		final var expected = GISCoordinates.EL2_L1(points[0][last], points[1][last]);
+		assertEquals(expected.getX(), x[last]);
+		assertEquals(expected.getY(), y[last]);
+	}
+
+	@Test
+	public void testConvertToWGS84_defaultAccuracy() {
+		final var points = createLambertIIePoints(100);
+		final var x = points[0].clone();
+		final var y = points[1].clone();
+		GISCoordinates.convertToWGS84(MapMetricProjection.FRANCE_LAMBERT_2_EXTENDED, x, y, 0, x.length, null);
+		final var lambda = points[0].clone();
+		final var phi = points[1].clone();
+		GISCoordinates.convertToWGS84(MapMetricProjection.FRANCE_LAMBERT_2_EXTENDED, lambda, phi, 0, x.length,
+				ConversionAccuracy.getDefault(), null);
+		for (var i = 0; i < x.length; ++i) {
+			assertEquals(x[i], lambda[i]);
+			assertEquals(y[i], phi[i]);
+		}
+	}
+
+	@Test
+	public void testConversionAccuracy_series() {
+		final var bound = Math.toDegrees(ConversionAccuracy.SERIES.getMaximumLatitudeError()
+				+ ConversionAccuracy.ITERATIVE.getMaximumLatitudeError());
+		final var points = createLambertIIePoints(2000);
+		for (final var source : MapMetricProjection.values()) {
+			final var x = points[0].clone();
+			final var y = points[1].clone();
+			GISCoordinates.convert(MapMetricProjection.FRANCE_LAMBERT_2_EXTENDED, source, x, y, 0, x.length, null);
+			final var expected = new double[][] {x.clone(), y.clone(), x.clone(), y.clone()};
+			final var actual = new double[][] {x.clone(), y.clone(), x.clone(), y.clone()};
+			GISCoordinates.convertToWGS84(source, expected[0], expected[1], 0, x.length, ConversionAccuracy.ITERATIVE, null);
+			GISCoordinates.convertToWGS84(source, actual[0], actual[1], 0, x.length, ConversionAccuracy.SERIES, null);
+			GISCoordinates.convert(source, MapMetricProjection.FRANCE_LAMBERT_93, expected[2], expected[3], 0, x.length,
+					ConversionAccuracy.ITERATIVE, null);
+			GISCoordinates.convert(source, MapMetricProjection.FRANCE_LAMBERT_93, actual[2], actual[3], 0, x.length,
+					ConversionAccuracy.SERIES, null);
+			for (var i = 0; i < x.length; ++i) {
+				assertEquals(expected[0][i], actual[0][i], bound);
+				assertEquals(expected[1][i], actual[1][i], bound);
+				assertTrue(Math.hypot(expected[2][i] - actual[2][i], expected[3][i] - actual[3][i]) < 1e-3);
+			}
+		}
+	}
+
+	/** Compares the throughput and the maximal error of the latitude computations.
+	 * The figures are logged, only the error bound is checked.
+	 */
+	@Test
+	public void testConversionAccuracy_benchmark() {
+		getLogger().info("Preparing the benchmark..."); //$NON-NLS-1$
+		final var count = 200000;
+		final var points = createLambertIIePoints(count);
+		final var expected = new double[2][];
+		final var maxError = new double[ConversionAccuracy.values().length];
+		final var throughput = new double[ConversionAccuracy.values().length];
+		for (final var accuracy : ConversionAccuracy.values()) {
+			var x = points[0].clone();
+			var y = points[1].clone();
+			// Warm up
+			GISCoordinates.convertToWGS84(MapMetricProjection.FRANCE_LAMBERT_2_EXTENDED, x, y, 0, count, accuracy, null);
+			x = points[0].clone();
+			y = points[1].clone();
+			final var start = System.nanoTime();
+			GISCoordinates.convertToWGS84(MapMetricProjection.FRANCE_LAMBERT_2_EXTENDED, x, y, 0, count, accuracy, null);
+			final var duration = System.nanoTime() - start;
+			throughput[accuracy.ordinal()] = count * 1e9 / Math.max(1, duration);
+			if (expected[0] == null) {
+				expected[0] = x;
+				expected[1] = y;
+			} else {
+				for (var i = 0; i < count; ++i) {
+					maxError[accuracy.ordinal()] = Math.max(maxError[accuracy.ordinal()],
+							Math.toRadians(Math.abs(expected[1][i] - y[i])));
+				}
+			}
+		}
+		for (final var accuracy : ConversionAccuracy.values()) {
+			getLogger().info(accuracy.name() + ": " //$NON-NLS-1$
+					+ (long) throughput[accuracy.ordinal()] + " points/s; max error = " //$NON-NLS-1$
+					+ maxError[accuracy.ordinal()] + " rad"); //$NON-NLS-1$
+			assertTrue(maxError[accuracy.ordinal()] <= accuracy.getMaximumLatitudeError()
+					+ ConversionAccuracy.ITERATIVE.getMaximumLatitudeError());
+		}
+	}
+
 }
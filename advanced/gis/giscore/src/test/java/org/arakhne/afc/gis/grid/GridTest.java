@@ -26,13 +26,21 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import org.arakhne.afc.gis.AbstractGisTest;
+import org.arakhne.afc.gis.mapelement.MapCircle;
 import org.arakhne.afc.gis.mapelement.MapPoint;
 import org.arakhne.afc.math.geometry.d2.d.Point2d;
 import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
@@ -179,4 +187,140 @@ public class GridTest extends AbstractGisTest {
 		assertFalse(iterator.hasNext());
 	}
 
+	@Test
+	public void testSpliterator() {
+		final Spliterator<MapPoint> spliterator = this.grid.spliterator();
+		assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+		assertEquals(this.reference.size(), spliterator.estimateSize());
+		final List<MapPoint> all = StreamSupport.stream(this.grid.spliterator(), true).collect(Collectors.toList());
+		assertEquals(this.reference.size(), all.size());
+		assertEquals(new HashSet<>(this.reference), new HashSet<>(all));
+	}
+
+	@Test
+	public void testSpliteratorRectangle2afp_overlappingElements() {
+		final Random rnd = getRandom();
+		final Rectangle2d area = new Rectangle2d(0, 0, 1000, 1000);
+		final Grid<MapCircle> circles = new Grid<>(10, 10, area);
+		final List<MapCircle> elements = new ArrayList<>();
+		for (int i = 0; i < 500; ++i) {
+			final MapCircle circle = new MapCircle(
+					new Point2d(rnd.nextDouble() * 1000., rnd.nextDouble() * 1000.),
+					rnd.nextDouble() * 150.);
+			elements.add(circle);
+			circles.addElement(circle);
+		}
+
+		// Elements spanning several cells are reported once
+		final List<MapCircle> all = StreamSupport.stream(circles.spliterator(), true).collect(Collectors.toList());
+		assertEquals(elements.size(), all.size());
+		assertEquals(new HashSet<>(elements), new HashSet<>(all));
+
+		final Rectangle2d window = new Rectangle2d(230, 310, 400, 250);
+		final Set<MapCircle> expected = new HashSet<>();
+		circles.iterator(window).forEachRemaining(expected::add);
+		final List<MapCircle> actual = StreamSupport.stream(circles.spliterator(window), true)
+				.collect(Collectors.toList());
+		assertEquals(expected.size(), actual.size());
+		assertEquals(expected, new HashSet<>(actual));
+
+		// The split parts are disjoint
+		final Spliterator<MapCircle> first = circles.spliterator(window);
+		final Spliterator<MapCircle> second = first.trySplit();
+		assertNotNull(second);
+		final Set<MapCircle> left = new HashSet<>();
+		first.forEachRemaining(left::add);
+		second.forEachRemaining(it -> assertFalse(left.contains(it)));
+	}
+
+	@Test
+	public void testIteratorRectangle2afp_overlappingElements() {
+		final Random rnd = getRandom();
+		final Grid<MapCircle> circles = new Grid<>(16, 16, new Rectangle2d(0, 0, 1000, 1000));
+		final List<MapCircle> elements = new ArrayList<>();
+		for (int i = 0; i < 500; ++i) {
+			final MapCircle circle = new MapCircle(
+					new Point2d(rnd.nextDouble() * 1000., rnd.nextDouble() * 1000.),
+					rnd.nextDouble() * 200.);
+			elements.add(circle);
+			circles.addElement(circle);
+		}
+		final Rectangle2d window = new Rectangle2d(120, 470, 530, 210);
+		final Set<MapCircle> expected = new HashSet<>();
+		for (final MapCircle circle : elements) {
+			if (circle.getGeoLocation().toBounds2D().intersects(window)) {
+				expected.add(circle);
+			}
+		}
+		final List<MapCircle> actual = new ArrayList<>();
+		circles.iterator(window).forEachRemaining(actual::add);
+		assertEquals(expected.size(), actual.size());
+		assertEquals(expected, new HashSet<>(actual));
+
+		final List<MapCircle> budgeted = new ArrayList<>();
+		circles.iterator(window, 10).forEachRemaining(budgeted::add);
+		assertEquals(Math.min(10, expected.size()), budgeted.size());
+		assertEquals(budgeted.size(), new HashSet<>(budgeted).size());
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		final Iterator<MapPoint> iterator = this.grid.iterator();
+		while (iterator.hasNext()) {
+			final MapPoint point = iterator.next();
+			if (point.getPoint().getX() > 400) {
+				iterator.remove();
+			}
+		}
+		assertEquals(2, this.grid.getElementCount());
+		final Set<MapPoint> remaining = new HashSet<>();
+		this.grid.iterator().forEachRemaining(remaining::add);
+		assertEquals(new HashSet<>(List.of(this.reference.get(1), this.reference.get(5))), remaining);
+	}
+
+	@Test
+	public void testSubdivision() {
+		final Random rnd = getRandom();
+		final Grid<MapCircle> circles = new Grid<>(4, 4, new Rectangle2d(0, 0, 1000, 1000));
+		circles.setSubdivisionThreshold(16);
+		final List<MapCircle> elements = new ArrayList<>();
+		for (int i = 0; i < 600; ++i) {
+			// Dense cluster inside the first cell
+			final MapCircle circle = new MapCircle(
+					new Point2d(rnd.nextDouble() * 240., rnd.nextDouble() * 240.),
+					rnd.nextDouble() * 20.);
+			elements.add(circle);
+			circles.addElement(circle);
+		}
+		final GridCell<MapCircle> cell = circles.getCellAt(0, 0);
+		assertTrue(cell.isSubdivided());
+		assertTrue(cell.getSubdivisionCount() >= 2);
+
+		for (final Rectangle2d window : List.of(new Rectangle2d(10, 20, 30, 15), new Rectangle2d(200, 100, 150, 400),
+				new Rectangle2d(-10, -10, 2000, 2000))) {
+			final Set<MapCircle> expected = new HashSet<>();
+			for (final MapCircle circle : elements) {
+				if (circle.getGeoLocation().toBounds2D().intersects(window)) {
+					expected.add(circle);
+				}
+			}
+			final List<MapCircle> actual = new ArrayList<>();
+			circles.iterator(window).forEachRemaining(actual::add);
+			assertEquals(expected.size(), actual.size());
+			assertEquals(expected, new HashSet<>(actual));
+			final List<MapCircle> parallel = StreamSupport.stream(circles.spliterator(window), true)
+					.collect(Collectors.toList());
+			assertEquals(expected.size(), parallel.size());
+			assertEquals(expected, new HashSet<>(parallel));
+		}
+
+		for (final MapCircle circle : elements.subList(0, 590)) {
+			assertTrue(circles.removeElement(circle));
+		}
+		assertTrue(cell.isSubdivided());
+		circles.rebalance();
+		assertFalse(cell.isSubdivided());
+		assertEquals(10, circles.getElementCount());
+	}
+
 }
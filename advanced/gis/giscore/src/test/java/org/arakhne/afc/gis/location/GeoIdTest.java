@@ -22,8 +22,13 @@ package org.arakhne.afc.gis.location;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.UUID;
 
 import org.junit.jupiter.api.AfterEach;
@@ -477,4 +482,83 @@ public class GeoIdTest extends AbstractGisTest {
 		assertEpsilonEquals(this.id23.toBounds2D(), this.id23.toBounds2D());
 	}
 
+	@Test
+	public void testValueOf() {
+		GeoId id = GeoId.valueOf(this.id11.toString());
+		assertEquals(this.id11, id);
+		assertEquals(this.id11.hashCode(), id.hashCode());
+		assertEquals(0, this.id11.compareTo(id));
+		assertEquals(this.id11.toString(), id.toString());
+		assertEquals(this.id11.getInternalId(), id.getInternalId());
+		assertEpsilonEquals(this.id11.toBounds2D(), id.toBounds2D());
+
+		id = GeoId.valueOf("0123456789abcdef0123456789abcdef#-12;3;-4;2147483647"); //$NON-NLS-1$
+		assertEquals("0123456789abcdef0123456789abcdef#-12;3;-4;2147483647", id.toString()); //$NON-NLS-1$
+		assertEquals("0123456789abcdef0123456789abcdef", id.getInternalId()); //$NON-NLS-1$
+		assertEpsilonEquals(new Rectangle2d(-12, 3, 8, 2147483644), id.toBounds2D());
+
+		id = GeoId.valueOf("0123456789abcdef0123456789abcdef"); //$NON-NLS-1$
+		assertEquals("0123456789abcdef0123456789abcdef", id.toString()); //$NON-NLS-1$
+		assertNull(id.getInternalId());
+		assertNull(id.toBounds2D());
+	}
+
+	@Test
+	public void testValueOf_nonStandard() {
+		for (final String text : new String[] {
+			"abc", //$NON-NLS-1$
+			"0123456789ABCDEF0123456789ABCDEF#1;2;3;4", //$NON-NLS-1$
+			"0123456789abcdef0123456789abcdef#01;2;3;4", //$NON-NLS-1$
+			"0123456789abcdef0123456789abcdef#1;2;3;4;5", //$NON-NLS-1$
+			"0123456789abcdef0123456789abcdef#1;2;3;4294967296", //$NON-NLS-1$
+			"0123456789abcdef0123456789abcdef#", //$NON-NLS-1$
+		}) {
+			final GeoId id = GeoId.valueOf(text);
+			assertEquals(text, id.toString());
+			assertEquals(GeoId.valueOf(text), id);
+			assertEquals(GeoId.valueOf(text).hashCode(), id.hashCode());
+		}
+		assertNotEquals(
+				GeoId.valueOf("0123456789abcdef0123456789abcdef#01;2;3;4"), //$NON-NLS-1$
+				GeoId.valueOf("0123456789abcdef0123456789abcdef#1;2;3;4")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testCompareTo() {
+		assertEquals(0, this.id11.compareTo(this.id12));
+		assertEquals(0, this.id21.compareTo(this.id22));
+		assertEquals(Integer.signum(this.id11.compareTo(this.id13)), -Integer.signum(this.id13.compareTo(this.id11)));
+		assertNotEquals(0, this.id11.compareTo(this.id13));
+		assertNotEquals(0, this.id11.compareTo(this.id21));
+
+		final GeoId a = GeoId.valueOf("00000000000000000000000000000001#1;2;3;4"); //$NON-NLS-1$
+		final GeoId b = GeoId.valueOf("00000000000000000000000000000001#-1;2;3;4"); //$NON-NLS-1$
+		final GeoId c = GeoId.valueOf("00000000000000000000000000000001"); //$NON-NLS-1$
+		final GeoId d = GeoId.valueOf("f0000000000000000000000000000000#1;2;3;4"); //$NON-NLS-1$
+		final GeoId e = GeoId.valueOf("abc"); //$NON-NLS-1$
+		assertTrue(b.compareTo(a) < 0);
+		assertTrue(c.compareTo(b) < 0);
+		assertTrue(a.compareTo(d) < 0);
+		assertTrue(e.compareTo(c) < 0);
+		assertTrue(d.compareTo(e) > 0);
+		assertTrue(a.compareTo(null) > 0);
+	}
+
+	@Test
+	public void testSerialization() throws Exception {
+		for (final GeoId id : new GeoId[] {this.id11, this.id23, GeoId.valueOf("abc")}) { //$NON-NLS-1$
+			final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+				oos.writeObject(id);
+			}
+			final GeoId read;
+			try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+				read = (GeoId) ois.readObject();
+			}
+			assertEquals(id, read);
+			assertEquals(id.hashCode(), read.hashCode());
+			assertEquals(id.toString(), read.toString());
+		}
+	}
+
 }
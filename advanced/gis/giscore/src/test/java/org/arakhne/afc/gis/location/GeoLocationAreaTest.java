@@ -22,6 +22,7 @@ package org.arakhne.afc.gis.location;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.UUID;
@@ -32,6 +33,7 @@ import org.junit.jupiter.api.Test;
 
 import org.arakhne.afc.gis.AbstractGisTest;
 import org.arakhne.afc.math.geometry.d2.d.Point2d;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
 
 /** Unit for for GeoLocation.
  *
@@ -530,4 +532,20 @@ public class GeoLocationAreaTest extends AbstractGisTest {
 		assertEpsilonEquals(this.location23.toBounds2D(), this.location23.toBounds2D());
 	}
 
+
+	@Test
+	public void testBoundsAccessors() {
+		Rectangle2d bounds = this.location11.toBounds2D();
+		assertEquals(bounds.getMinX(), this.location11.getBoundsMinX());
+		assertEquals(bounds.getMinY(), this.location11.getBoundsMinY());
+		assertEquals(bounds.getMaxX(), this.location11.getBoundsMaxX());
+		assertEquals(bounds.getMaxY(), this.location11.getBoundsMaxY());
+		assertEquals(bounds.intersects(this.location21.toBounds2D()), this.location21.intersects(bounds));
+	}
+
+	@Test
+	public void testToGeoIdCached() {
+		assertSame(this.location11.toGeoId(), this.location11.toGeoId());
+	}
+
 }
@@ -0,0 +1,82 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.location;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import org.arakhne.afc.gis.AbstractGisTest;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+
+/** Unit tests for GeoLocationBounds.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+@SuppressWarnings("all")
+public class GeoLocationBoundsTest extends AbstractGisTest {
+
+	private double[] randomPoints() {
+		final double[] points = new double[2 * (2 + getRandom().nextInt(20))];
+		for (int i = 0; i < points.length; ++i) {
+			points[i] = getRandom().nextDouble() * 1000.;
+		}
+		return points;
+	}
+
+	@Test
+	public void testSameAsPointList() {
+		for (int i = 0; i < 20; ++i) {
+			final GeoLocationPointList list = new GeoLocationPointList(randomPoints());
+			final GeoLocationBounds location = new GeoLocationBounds(list);
+			assertSame(list.toGeoId(), location.toGeoId());
+			assertEquals(list.toUUID(), location.toUUID());
+			assertEquals(list.hashCode(), location.hashCode());
+			assertEquals(list, location);
+			assertEquals(location, list);
+			assertEquals(0, location.compareTo(list));
+			assertEquals(list.toBounds2D(), location.toBounds2D());
+			assertEpsilonEquals(list.getBoundsMinX(), location.getBoundsMinX());
+			assertEpsilonEquals(list.getBoundsMinY(), location.getBoundsMinY());
+			assertEpsilonEquals(list.getBoundsMaxX(), location.getBoundsMaxX());
+			assertEpsilonEquals(list.getBoundsMaxY(), location.getBoundsMaxY());
+			final Rectangle2d r = new Rectangle2d(list.getBoundsMinX() - 1, list.getBoundsMinY() - 1, 2, 2);
+			assertTrue(location.intersects(r));
+		}
+	}
+
+	@Test
+	public void testDifferentPointLists() {
+		final GeoLocationBounds location1 = new GeoLocationBounds(new GeoLocationPointList(0, 0, 10, 10, 20, 0));
+		final GeoLocationBounds location2 = new GeoLocationBounds(new GeoLocationPointList(0, 0, 10, 5, 20, 0));
+		assertNotEquals(location1, location2);
+		assertNotEquals(location1.toGeoId(), location2.toGeoId());
+		assertEquals(new GeoLocationPointList(20, 0, 10, 10, 0, 0), location1);
+	}
+
+}
@@ -542,4 +542,21 @@ public class GeoLocationPointListTest extends AbstractGisTest {
 		assertEpsilonEquals(this.location23.toBounds2D(), this.location23.toBounds2D());
 	}
 
+
+	@Test
+	public void testBoundsAccessors() {
+		Rectangle2d bounds = this.location11.toBounds2D();
+		assertEquals(bounds.getMinX(), this.location11.getBoundsMinX());
+		assertEquals(bounds.getMinY(), this.location11.getBoundsMinY());
+		assertEquals(bounds.getMaxX(), this.location11.getBoundsMaxX());
+		assertEquals(bounds.getMaxY(), this.location11.getBoundsMaxY());
+		assertEquals(bounds.intersects(this.location21.toBounds2D()), this.location21.intersects(bounds));
+	}
+
+	@Test
+	public void testToGeoIdCached() {
+		assertSame(this.location11.toGeoId(), this.location11.toGeoId());
+		assertEquals(this.location11.toGeoId(), this.location12.toGeoId());
+	}
+
 }
@@ -22,6 +22,7 @@ package org.arakhne.afc.gis.location;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.UUID;
@@ -32,6 +33,7 @@ import org.junit.jupiter.api.Test;
 
 import org.arakhne.afc.gis.AbstractGisTest;
 import org.arakhne.afc.math.geometry.d2.d.Point2d;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
 
 /** Unit for for GeoLocation.
  *
@@ -430,4 +432,22 @@ public class GeoLocationPointTest extends AbstractGisTest {
 		assertEpsilonEquals(this.location23.toBounds2D(), this.location23.toBounds2D());
 	}
 
+
+	@Test
+	public void testBoundsAccessors() {
+		Rectangle2d bounds = this.location11.toBounds2D();
+		assertEquals(bounds.getMinX(), this.location11.getBoundsMinX());
+		assertEquals(bounds.getMinY(), this.location11.getBoundsMinY());
+		assertEquals(bounds.getMaxX(), this.location11.getBoundsMaxX());
+		assertEquals(bounds.getMaxY(), this.location11.getBoundsMaxY());
+		assertTrue(this.location11.intersects(bounds));
+		assertEquals(bounds.intersects(this.location13.toBounds2D()), this.location13.intersects(bounds));
+	}
+
+	@Test
+	public void testToGeoIdCached() {
+		assertSame(this.location11.toGeoId(), this.location11.toGeoId());
+		assertEquals(this.location11.toGeoId(), this.location12.toGeoId());
+	}
+
 }
@@ -22,12 +22,23 @@ package org.arakhne.afc.gis.mapelement;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.junit.jupiter.api.Test;
+
 import org.arakhne.afc.attrs.collection.HeapAttributeCollection;
+import org.arakhne.afc.gis.location.GeoLocation;
+import org.arakhne.afc.gis.location.GeoLocationBounds;
+import org.arakhne.afc.gis.location.GeoLocationPointList;
 import org.arakhne.afc.math.geometry.base.d1.Segment1D;
 import org.arakhne.afc.math.geometry.d2.d.Point2d;
 
@@ -247,4 +258,206 @@ public class MapPolylineTest extends AbstractMapComposedElementTest {
 		assertEpsilonEquals(secondPt, sgmt.getLastPoint());
 	}
 
+
+	@Test
+	public void testAddPoints() throws Exception {
+		MapPolyline line = new MapPolyline();
+		double[] xy = new double[] {0, 0, 1, 1, 2, 2, 3, 3};
+		assertEquals(0, line.addPoints(xy, 0, 2));
+		assertEquals(2, line.addPoints(xy, 2, 2));
+		assertEquals(-1, line.addPoints(xy, 4, 0));
+		assertEquals(4, line.getPointCount());
+		assertEquals(1, line.getGroupCount());
+		for (int i = 0; i < 4; ++i) {
+			assertEpsilonEquals(new Point2d(i, i), line.getPointAt(i));
+		}
+		assertThrows(IndexOutOfBoundsException.class, () -> line.addPoints(xy, 3, 2));
+	}
+
+	@Test
+	public void testAddGroupDoubleArray() throws Exception {
+		MapPolyline line = new MapPolyline();
+		assertEquals(0, line.addGroup(new double[] {0, 0, 1, 1}));
+		assertEquals(1, line.getGroupCount());
+		assertEquals(2, line.addGroup(new double[] {5, 5, 6, 6, 7, 7}));
+		assertEquals(2, line.getGroupCount());
+		assertEquals(2, line.getPointCountInGroup(0));
+		assertEquals(3, line.getPointCountInGroup(1));
+		assertEquals(2, line.getFirstPointIndexInGroup(1));
+		assertEpsilonEquals(new Point2d(7, 7), line.getPointAt(4));
+		assertThrows(IllegalArgumentException.class, () -> line.addGroup(new double[] {1, 2, 3}));
+	}
+
+	@Test
+	public void testCapacity() throws Exception {
+		MapPolyline line = new MapPolyline();
+		line.ensureCapacity(100);
+		assertEquals(100, line.getCapacity());
+		for (int i = 0; i < 100; ++i) {
+			line.addPoint(i, i);
+		}
+		assertEquals(100, line.getCapacity());
+		line.addPoint(100, 100);
+		assertTrue(line.getCapacity() > 101);
+		line.removePointAt(0, 0);
+		line.trimToSize();
+		assertEquals(100, line.getCapacity());
+		assertEquals(100, line.getPointCount());
+		assertEpsilonEquals(new Point2d(1, 1), line.getPointAt(0));
+		assertEpsilonEquals(new Point2d(100, 100), line.getPointAt(99));
+		MapComposedElement clone = line.clone();
+		assertEquals(100, clone.getCapacity());
+		assertEpsilonEquals(new Point2d(100, 100), clone.getPointAt(99));
+	}
+
+	@Test
+	public void testCompact() throws Exception {
+		MapPolyline line = new MapPolyline();
+		line.addGroup(new double[] {700000.125, 2100000.5, 700100.25, 2100050.75, 700200.5, 2100000.125});
+		line.addGroup(new double[] {700300, 2100300, 700400.375, 2100400.625});
+		double length = line.getLength();
+		assertFalse(line.isCompact());
+
+		line.compact();
+		assertTrue(line.isCompact());
+		assertEquals(5, line.getPointCount());
+		assertEquals(2, line.getGroupCount());
+		assertEquals(5, line.getCapacity());
+		assertEpsilonEquals(new Point2d(700000.125, 2100000.5), line.getPointAt(0));
+		assertEpsilonEquals(new Point2d(700200.5, 2100000.125), line.getPointAt(0, 2));
+		assertEpsilonEquals(new Point2d(700400.375, 2100400.625), line.getPointAt(1, 1));
+		assertEquals(700000.125, line.getBoundingBox().getMinX(), 1e-3);
+		assertEquals(2100400.625, line.getBoundingBox().getMaxY(), 1e-3);
+		assertEquals(length, line.getLength(), 1e-3);
+		List<Point2d> points = new ArrayList<>();
+		line.points().forEach(points::add);
+		assertEquals(5, points.size());
+		assertEpsilonEquals(new Point2d(700300, 2100300), points.get(3));
+		MapComposedElement clone = line.clone();
+		assertTrue(clone.isCompact());
+		assertEpsilonEquals(new Point2d(700100.25, 2100050.75), clone.getPointAt(1));
+
+		// The points are decoded when they are changed
+		assertFalse(line.setPointAt(1, line.getPointAt(1)));
+		assertTrue(line.isCompact());
+		line.addPoint(700500, 2100500);
+		assertFalse(line.isCompact());
+		assertEquals(6, line.getPointCount());
+		assertEpsilonEquals(new Point2d(700400.375, 2100400.625), line.getPointAt(4));
+		assertEpsilonEquals(new Point2d(700500, 2100500), line.getPointAt(5));
+		assertTrue(clone.isCompact());
+
+		// Origin given by the container
+		clone.compact(700000, 2100000);
+		assertTrue(clone.isCompact());
+		assertEpsilonEquals(new Point2d(700200.5, 2100000.125), clone.getPointAt(2));
+		clone.removeGroupAt(1);
+		assertFalse(clone.isCompact());
+		assertEquals(3, clone.getPointCount());
+
+		MapPolyline empty = new MapPolyline();
+		empty.compact();
+		assertFalse(empty.isCompact());
+		assertEquals(0, empty.getGroupCount());
+	}
+
+	/** Replies the number of bytes in the arrays of primitive types that are referenced by
+	 * the fields of the given object.
+	 */
+	private static long arrayBytes(Object object) throws Exception {
+		long bytes = 0;
+		for (Class<?> type = object.getClass(); type != null; type = type.getSuperclass()) {
+			for (Field field : type.getDeclaredFields()) {
+				if (!Modifier.isStatic(field.getModifiers()) && field.getType().isArray()
+						&& field.getType().getComponentType().isPrimitive()) {
+					field.setAccessible(true);
+					final Object array = field.get(object);
+					if (array != null) {
+						final Class<?> component = field.getType().getComponentType();
+						final int size = component == double.class || component == long.class ? 8 : 4;
+						bytes += (long) size * Array.getLength(array);
+					}
+				}
+			}
+		}
+		return bytes;
+	}
+
+	@Test
+	public void testCompactRetainedStorage() throws Exception {
+		MapComposedElementBuilder builder = new MapComposedElementBuilder();
+		for (int i = 0; i < 1000; ++i) {
+			builder.add(700000. + i, 2100000. + (i % 7));
+		}
+		MapPolyline line = builder.toPolyline();
+		line.trimToSize();
+		long full = arrayBytes(line) + arrayBytes(line.getGeoLocation());
+		assertTrue(full >= 16000);
+
+		line.compact();
+		long compact = arrayBytes(line) + arrayBytes(line.getGeoLocation());
+		assertTrue(2 * compact <= full, compact + " * 2 > " + full);
+	}
+
+	@Test
+	public void testBuilder() throws Exception {
+		MapComposedElementBuilder builder = new MapComposedElementBuilder(2);
+		builder.add(0, 0).add(new double[] {1, 1, 2, 2, 3, 3}, 1, 2);
+		builder.newGroup().newGroup();
+		builder.add(10, 10).add(11, 11);
+		builder.newGroup();
+		assertEquals(5, builder.getPointCount());
+		assertEquals(2, builder.getGroupCount());
+
+		MapPolygon polygon = builder.toPolygon();
+		assertEquals(5, polygon.getPointCount());
+		assertEquals(2, polygon.getGroupCount());
+		assertEquals(5, polygon.getCapacity());
+		assertEquals(3, polygon.getPointCountInGroup(0));
+		assertEquals(2, polygon.getPointCountInGroup(1));
+		assertEpsilonEquals(new Point2d(3, 3), polygon.getPointAt(2));
+		assertEpsilonEquals(new Point2d(10, 10), polygon.getPointAt(3));
+
+		MapPolyline line = builder.toPolyline();
+		assertEquals(5, line.getPointCount());
+		line.addPoint(12, 12);
+		assertEquals(5, polygon.getPointCount());
+
+		builder.clear();
+		assertEquals(0, builder.getGroupCount());
+		assertEquals(0, builder.build(line).getPointCount());
+		assertEquals(0, line.getGroupCount());
+	}
+
+
+	@Test
+	public void testGetGeoLocationCached() throws Exception {
+		MapPolyline line = new MapPolyline();
+		line.addPoint(0, 0);
+		line.addPoint(10, 5);
+		line.addPoint(20, 0);
+		GeoLocation location = line.getGeoLocation();
+		assertSame(location, line.getGeoLocation());
+		assertSame(line.getGeoId(), line.getGeoId());
+		// The cache does not keep a copy of the coordinates
+		assertTrue(location instanceof GeoLocationBounds);
+		GeoLocationPointList points = new GeoLocationPointList(0, 0, 10, 5, 20, 0);
+		assertEquals(points, location);
+		assertEquals(points.toGeoId(), line.getGeoId());
+		assertEquals(points.hashCode(), location.hashCode());
+
+		line.addPoint(30, 5);
+		GeoLocation location2 = line.getGeoLocation();
+		assertNotSame(location, location2);
+		assertEquals(new MapComposedElementBuilder().add(0, 0).add(10, 5).add(20, 0).add(30, 5).toPolyline().getGeoId(),
+				line.getGeoId());
+
+		line.invertPointsIn(0);
+		assertNotSame(location2, line.getGeoLocation());
+
+		MapComposedElement clone = line.clone();
+		assertNotSame(line.getGeoLocation(), clone.getGeoLocation());
+		assertEquals(line.getGeoId(), clone.getGeoId());
+	}
+
 }
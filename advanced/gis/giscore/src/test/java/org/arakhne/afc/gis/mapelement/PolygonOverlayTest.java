@@ -0,0 +1,225 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.mapelement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import org.arakhne.afc.math.geometry.d2.d.Path2d;
+
+/** Unit tests for PolygonOverlay.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+@SuppressWarnings("all")
+public class PolygonOverlayTest {
+
+	private static final double EPSILON = 1e-7;
+
+	private static MapPolygon rectangle(double x1, double y1, double x2, double y2) {
+		return new MapComposedElementBuilder().add(x1, y1).add(x2, y1).add(x2, y2).add(x1, y2).toPolygon();
+	}
+
+	/** Replies the area of the polygon, assuming clockwise exterior rings and counter-clockwise holes.
+	 */
+	private static double area(MapPolygon polygon) {
+		var area = 0.;
+		for (final var group : polygon.groups()) {
+			area -= signedArea(group);
+		}
+		return area;
+	}
+
+	private static double signedArea(MapComposedElement.PointGroup group) {
+		var area = 0.;
+		final var n = group.size();
+		for (var i = 0; i < n; ++i) {
+			final var p = group.get(i);
+			final var q = group.get((i + 1) % n);
+			area += p.getX() * q.getY() - q.getX() * p.getY();
+		}
+		return area / 2.;
+	}
+
+	private static MapPolygon starPolygon(Random rnd, double cx, double cy, double radius, int count) {
+		final var builder = new MapComposedElementBuilder();
+		for (var i = 0; i < count; ++i) {
+			final var angle = 2. * Math.PI * i / count;
+			final var r = radius * (.5 + rnd.nextDouble() / 2.);
+			builder.add(cx + r * Math.cos(angle), cy + r * Math.sin(angle));
+		}
+		return builder.toPolygon();
+	}
+
+	@Test
+	public void overlay_invalid() {
+		final var p = rectangle(0, 0, 1, 1);
+		assertThrows(IllegalArgumentException.class, () -> PolygonOverlay.overlay(p, (MapPolygon) null, OverlayOperation.UNION));
+		assertThrows(IllegalArgumentException.class, () -> PolygonOverlay.overlay(p, p, null));
+	}
+
+	@Test
+	public void overlay_overlappingRectangles() {
+		final var a = rectangle(0, 0, 10, 10);
+		final var b = rectangle(5, 5, 15, 20);
+		assertEquals(25., area(PolygonOverlay.overlay(a, b, OverlayOperation.INTERSECTION)), EPSILON);
+		assertEquals(225., area(PolygonOverlay.overlay(a, b, OverlayOperation.UNION)), EPSILON);
+		assertEquals(75., area(PolygonOverlay.overlay(a, b, OverlayOperation.DIFFERENCE)), EPSILON);
+		assertEquals(125., area(b.overlay(a, OverlayOperation.DIFFERENCE)), EPSILON);
+		assertEquals(200., area(PolygonOverlay.overlay(a, b, OverlayOperation.XOR)), EPSILON);
+
+		final var inter = PolygonOverlay.overlay(a, b, OverlayOperation.INTERSECTION);
+		assertEquals(1, inter.getGroupCount());
+		assertEquals(4, inter.getPointCount());
+		assertTrue(inter.toPath2D().contains(7, 7));
+	}
+
+	@Test
+	public void overlay_disjoint() {
+		final var a = rectangle(0, 0, 10, 10);
+		final var b = rectangle(20, 0, 30, 10);
+		assertEquals(0, PolygonOverlay.overlay(a, b, OverlayOperation.INTERSECTION).getPointCount());
+		assertEquals(200., area(PolygonOverlay.overlay(a, b, OverlayOperation.UNION)), EPSILON);
+		assertEquals(2, PolygonOverlay.overlay(a, b, OverlayOperation.UNION).getGroupCount());
+		assertEquals(100., area(PolygonOverlay.overlay(a, b, OverlayOperation.DIFFERENCE)), EPSILON);
+	}
+
+	@Test
+	public void overlay_sharedEdges() {
+		final var a = rectangle(0, 0, 10, 10);
+		final var b = rectangle(10, 0, 20, 10);
+		final var union = PolygonOverlay.overlay(a, b, OverlayOperation.UNION);
+		assertEquals(200., area(union), EPSILON);
+		assertEquals(1, union.getGroupCount());
+		assertEquals(0., area(PolygonOverlay.overlay(a, b, OverlayOperation.INTERSECTION)), EPSILON);
+
+		// Identical polygons
+		assertEquals(100., area(PolygonOverlay.overlay(a, a, OverlayOperation.INTERSECTION)), EPSILON);
+		assertEquals(100., area(PolygonOverlay.overlay(a, a, OverlayOperation.UNION)), EPSILON);
+		assertEquals(0, PolygonOverlay.overlay(a, a, OverlayOperation.DIFFERENCE).getPointCount());
+		assertEquals(0, PolygonOverlay.overlay(a, a, OverlayOperation.XOR).getPointCount());
+	}
+
+	@Test
+	public void overlay_holes() {
+		final var outer = rectangle(0, 0, 10, 10);
+		final var inner = rectangle(3, 3, 6, 6);
+
+		final var ring = PolygonOverlay.overlay(outer, inner, OverlayOperation.DIFFERENCE);
+		assertEquals(2, ring.getGroupCount());
+		assertEquals(91., area(ring), EPSILON);
+		// Exterior clockwise, hole counter-clockwise
+		assertTrue(signedArea(ring.getGroupAt(0)) < 0.);
+		assertTrue(signedArea(ring.getGroupAt(1)) > 0.);
+
+		// The hole is kept by the intersection
+		final var clip = rectangle(2, 2, 8, 8);
+		final var result = PolygonOverlay.overlay(ring, clip, OverlayOperation.INTERSECTION);
+		assertEquals(2, result.getGroupCount());
+		assertEquals(27., area(result), EPSILON);
+
+		// Filling the hole
+		assertEquals(100., area(PolygonOverlay.overlay(ring, inner, OverlayOperation.UNION)), EPSILON);
+		assertEquals(1, PolygonOverlay.overlay(ring, inner, OverlayOperation.UNION).getGroupCount());
+	}
+
+	@Test
+	public void overlay_vertexOnSplitEdge() {
+		// The vertex (15.5, 12.5) of a is on the edge (17.5, 9.5)-(11.5, 18.5) of b, which is split before
+		// at a rounded point by the edge (14.5, 14.5)-(12, 14.5) of a.
+		final var a = new MapPolygon();
+		a.addGroup(new double[] {18, 8.5, 14.5, 10, 15.5, 12.5, 14.5, 14.5, 12, 14.5, 10.5, 18, 8, 18.5,
+			5.5, 16.5, 4, 14.5, 2.5, 13, .5, 11, 1.5, 8.5, 2.5, 6.5, 2, 4, 4.5, 3, 6, 1.5, 8.5, 3.5, 10.5, 0,
+			13.5, -.5, 14.5, 2.5, 14, 5.5, 16.5, 6.5});
+		final var b = new MapPolygon();
+		b.addGroup(new double[] {17.5, 9.5, 11.5, 18.5, 4, 12.5, 1.5, 4.5, 11, .5});
+		final var areaA = Math.abs(area(a));
+		final var inter = area(PolygonOverlay.overlay(a, b, OverlayOperation.INTERSECTION));
+		final var union = area(PolygonOverlay.overlay(a, b, OverlayOperation.UNION));
+		assertEquals(149.4927828674362, inter, EPSILON);
+		assertEquals(207.2572171325638, union, EPSILON);
+		assertEquals(areaA - inter, area(PolygonOverlay.overlay(a, b, OverlayOperation.DIFFERENCE)), EPSILON);
+		assertEquals(union - inter, area(PolygonOverlay.overlay(a, b, OverlayOperation.XOR)), EPSILON);
+	}
+
+	@Test
+	public void overlay_path() {
+		final var a = new Path2d();
+		a.moveTo(0, 0);
+		a.lineTo(4, 0);
+		a.lineTo(0, 4);
+		a.closePath();
+		final var b = new Path2d();
+		b.moveTo(0, 0);
+		b.lineTo(2, 0);
+		b.lineTo(2, 2);
+		b.lineTo(0, 2);
+		b.closePath();
+		final var inter = PolygonOverlay.overlay(a, b, OverlayOperation.INTERSECTION);
+		assertTrue(inter.contains(1, 1));
+		assertTrue(!inter.contains(3, .5));
+		final var union = PolygonOverlay.overlay(a, b, OverlayOperation.UNION);
+		assertTrue(union.contains(3, .5));
+		assertTrue(union.contains(1.9, 1.9));
+		assertTrue(!union.contains(3, 3));
+	}
+
+	@Test
+	public void overlay_random() {
+		final var rnd = new Random(4521);
+		for (var i = 0; i < 100; ++i) {
+			final var a = starPolygon(rnd, rnd.nextDouble() * 10., rnd.nextDouble() * 10., 10., 5 + rnd.nextInt(40));
+			final var b = starPolygon(rnd, rnd.nextDouble() * 10., rnd.nextDouble() * 10., 10., 5 + rnd.nextInt(40));
+			final var areaA = Math.abs(area(a));
+			final var areaB = Math.abs(area(b));
+			final var inter = area(PolygonOverlay.overlay(a, b, OverlayOperation.INTERSECTION));
+			final var union = area(PolygonOverlay.overlay(a, b, OverlayOperation.UNION));
+			final var diff = area(PolygonOverlay.overlay(a, b, OverlayOperation.DIFFERENCE));
+			final var xor = area(PolygonOverlay.overlay(a, b, OverlayOperation.XOR));
+			assertTrue(inter >= 0.);
+			assertTrue(inter <= Math.min(areaA, areaB) + EPSILON);
+			assertEquals(areaA + areaB - inter, union, EPSILON);
+			assertEquals(areaA - inter, diff, EPSILON);
+			assertEquals(union - inter, xor, EPSILON);
+		}
+	}
+
+	@Test
+	public void overlay_rings() {
+		final List<double[]> result = PolygonOverlay.overlay(
+				List.of(new double[] {0, 0, 2, 0, 2, 2, 0, 2}),
+				List.of(new double[] {1, 1, 3, 1, 3, 3, 1, 3}),
+				OverlayOperation.INTERSECTION);
+		assertEquals(1, result.size());
+		assertEquals(8, result.get(0).length);
+	}
+
+}
@@ -0,0 +1,221 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.mapelement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.arakhne.afc.gis.maplayer.ArrayMapElementLayer;
+import org.arakhne.afc.math.geometry.d2.afp.Segment2afp;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+
+/** Unit tests for SimplificationPyramid.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+@SuppressWarnings("all")
+public class SimplificationPyramidTest {
+
+	private MapPolyline line;
+
+	@BeforeEach
+	public void setUp() {
+		final var builder = new MapComposedElementBuilder();
+		// Zig-zag with decreasing amplitudes
+		builder.add(0, 0).add(1, 8).add(2, 0).add(3, 4).add(4, 0).add(5, 2).add(6, 0).add(7, 1).add(8, 0);
+		builder.newGroup().add(100, 100).add(101, 100.001).add(102, 100);
+		this.line = builder.toPolyline();
+	}
+
+	@Test
+	public void build_invalid() {
+		assertThrows(IllegalArgumentException.class, () -> SimplificationPyramid.build(this.line, 0., 4));
+		assertThrows(IllegalArgumentException.class, () -> SimplificationPyramid.build(this.line, 1., 0));
+		assertThrows(IllegalArgumentException.class, () -> SimplificationPyramid.build(this.line, 1., 128));
+		assertThrows(IllegalArgumentException.class, () -> SimplificationPyramid.build(this.line, 2., 1.));
+	}
+
+	@Test
+	public void getTolerance() {
+		final var pyramid = SimplificationPyramid.build(this.line, .5, 4);
+		assertEquals(5, pyramid.getLevelCount());
+		assertEquals(0., pyramid.getTolerance(0));
+		assertEquals(.5, pyramid.getTolerance(1));
+		assertEquals(1., pyramid.getTolerance(2));
+		assertEquals(4., pyramid.getTolerance(4));
+		assertThrows(IndexOutOfBoundsException.class, () -> pyramid.getTolerance(5));
+	}
+
+	@Test
+	public void selectLevel() {
+		final var pyramid = SimplificationPyramid.build(this.line, .5, 1.5, 3.);
+		assertEquals(0, pyramid.selectLevel(0.));
+		assertEquals(0, pyramid.selectLevel(.4));
+		assertEquals(1, pyramid.selectLevel(.5));
+		assertEquals(1, pyramid.selectLevel(1.));
+		assertEquals(2, pyramid.selectLevel(2.));
+		assertEquals(3, pyramid.selectLevel(3.));
+		assertEquals(3, pyramid.selectLevel(1000.));
+	}
+
+	@Test
+	public void getPointCount() {
+		final var pyramid = SimplificationPyramid.build(this.line, .5, 1.5, 3., 100.);
+		assertEquals(12, pyramid.getPointCount(0));
+		// The middle point of the second group is fused
+		assertEquals(11, pyramid.getPointCount(1));
+		// (6, 0) and (7, 1) are removed
+		assertEquals(9, pyramid.getPointCount(2));
+		assertFalse(pyramid.isPointKept(7, 2));
+		// (4, 0) and (5, 2) are removed
+		assertEquals(7, pyramid.getPointCount(3));
+		assertTrue(pyramid.isPointKept(3, 3));
+		assertFalse(pyramid.isPointKept(5, 3));
+		// Only the ends of the groups
+		assertEquals(4, pyramid.getPointCount(4));
+		assertTrue(pyramid.isPointKept(0, 4));
+		assertTrue(pyramid.isPointKept(8, 4));
+		assertFalse(pyramid.isPointKept(10, 1));
+		assertTrue(pyramid.isPointKept(10, 0));
+	}
+
+	@Test
+	public void getElement() {
+		final var pyramid = SimplificationPyramid.build(this.line, .5, 1.5, 3., 100.);
+		assertSame(this.line, pyramid.getElement(0));
+		final var coarse = pyramid.getElement(4);
+		assertTrue(coarse instanceof MapPolyline);
+		assertSame(coarse, pyramid.getElement(4));
+		assertEquals(2, coarse.getGroupCount());
+		assertEquals(2, coarse.getPointCountInGroup(0));
+		assertEquals(2, coarse.getPointCountInGroup(1));
+		assertEquals(0., coarse.getPointAt(0).getX());
+		assertEquals(8., coarse.getPointAt(1).getX());
+		assertEquals(100., coarse.getPointAt(2).getX());
+		assertEquals(102., coarse.getPointAt(3).getX());
+		assertNull(coarse.getContainer());
+		assertEquals(12, this.line.getPointCount());
+		assertSame(pyramid.getElement(2), pyramid.getElementForTolerance(2.));
+	}
+
+	@Test
+	public void getElement_fusedSplitPoint() {
+		// Douglas-Peucker selects the third point, which is fused with the second one
+		final var polyline = new MapComposedElementBuilder().add(0, 0).add(5, 10).add(5, 10.0000001).add(10, 0).toPolyline();
+		final var pyramid = SimplificationPyramid.build(polyline, .5, 4);
+		assertEquals(3, pyramid.getPointCount(1));
+		assertEquals(3, pyramid.getPointCount(4));
+		assertTrue(pyramid.isPointKept(1, 4));
+		assertFalse(pyramid.isPointKept(2, 1));
+		final var simplified = pyramid.getElement(1);
+		assertEquals(5., simplified.getPointAt(1).getX());
+		assertEquals(10., simplified.getPointAt(1).getY());
+	}
+
+	@Test
+	public void getElement_tolerance() {
+		final var random = new Random(1234);
+		final var builder = new MapComposedElementBuilder();
+		for (var i = 0; i < 500; ++i) {
+			builder.add(i, random.nextDouble() * 10.);
+		}
+		final var polyline = builder.toPolyline();
+		final var pyramid = SimplificationPyramid.build(polyline, .25, 8);
+		var previous = Integer.MAX_VALUE;
+		for (var level = 0; level < pyramid.getLevelCount(); ++level) {
+			final var simplified = pyramid.getElement(level);
+			assertEquals(pyramid.getPointCount(level), simplified.getPointCount());
+			assertTrue(simplified.getPointCount() <= previous);
+			previous = simplified.getPointCount();
+			// Each removed point is near the simplified polyline
+			final var tolerance = pyramid.getTolerance(level);
+			var segment = 0;
+			for (var i = 0; i < polyline.getPointCount(); ++i) {
+				final var p = polyline.getPointAt(i);
+				while (simplified.getPointAt(segment + 1).getX() < p.getX()) {
+					++segment;
+				}
+				final var p1 = simplified.getPointAt(segment);
+				final var p2 = simplified.getPointAt(segment + 1);
+				assertTrue(Segment2afp.calculatesDistanceSegmentPoint(p1.getX(), p1.getY(), p2.getX(), p2.getY(),
+						p.getX(), p.getY()) <= tolerance + 1e-9);
+			}
+		}
+	}
+
+	@Test
+	public void getSimplificationPyramid() {
+		final var pyramid = this.line.getSimplificationPyramid();
+		assertSame(pyramid, this.line.getSimplificationPyramid());
+		assertEquals(SimplificationPyramid.DEFAULT_LEVEL_COUNT + 1, pyramid.getLevelCount());
+		assertEquals(SimplificationPyramid.DEFAULT_BASE_TOLERANCE, pyramid.getTolerance(1));
+
+		final var custom = SimplificationPyramid.build(this.line, .5, 1.5, 3., 100.);
+		this.line.setSimplificationPyramid(custom);
+		assertSame(custom, this.line.getSimplificationPyramid());
+		assertEquals(4, this.line.getSimplifiedElement(1000.).getPointCount());
+		assertThrows(IllegalArgumentException.class,
+				() -> this.line.setSimplificationPyramid(SimplificationPyramid.build(this.line.clone(), 1., 2)));
+
+		this.line.addPoint(9, 9);
+		assertNotSame(custom, this.line.getSimplificationPyramid());
+
+		final var pyramid2 = this.line.getSimplificationPyramid();
+		this.line.invertPointsIn(0);
+		assertNotSame(pyramid2, this.line.getSimplificationPyramid());
+	}
+
+	@Test
+	public void layerIterator() {
+		final var layer = new ArrayMapElementLayer<MapPolyline>();
+		layer.addMapElement(this.line);
+		final var other = new MapComposedElementBuilder().add(60, 60).add(61, 70).add(62, 60).toPolyline();
+		layer.addMapElement(other);
+		this.line.setSimplificationPyramid(SimplificationPyramid.build(this.line, .5, 1.5, 3., 100.));
+
+		var iterator = layer.iterator(new Rectangle2d(-10, -10, 200, 200), 1000.);
+		assertTrue(iterator.hasNext());
+		assertEquals(4, iterator.next().getPointCount());
+		assertTrue(iterator.hasNext());
+		assertEquals(2, iterator.next().getPointCount());
+		assertFalse(iterator.hasNext());
+
+		iterator = layer.iterator(new Rectangle2d(-10, -10, 20, 20), 0.);
+		assertTrue(iterator.hasNext());
+		assertSame(this.line, iterator.next());
+		assertFalse(iterator.hasNext());
+	}
+
+}
@@ -23,6 +23,7 @@ package org.arakhne.afc.gis.maplayer;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.InetAddress;
@@ -40,6 +41,7 @@ import java.util.Map.Entry;
 import java.util.Random;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -47,7 +49,9 @@ import org.junit.jupiter.api.Test;
 import org.arakhne.afc.attrs.attr.AttributeType;
 import org.arakhne.afc.attrs.attr.AttributeValue;
 import org.arakhne.afc.attrs.attr.AttributeValueImpl;
+import org.arakhne.afc.gis.coordinate.MapMetricProjection;
 import org.arakhne.afc.gis.mapelement.MapPolylineStub;
+import org.arakhne.afc.math.geometry.d2.d.Point2d;
 import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
 import org.arakhne.afc.math.geometry.d2.d.Shape2d;
 
@@ -394,4 +398,150 @@ public abstract class AbstractMapElementLayerTest<L extends MapElementLayer<MapP
 		assertTrue(childList.isEmpty());
 	}
 
+	private static List<Point2d> computeReprojectedPoints(Collection<MapPolylineStub> elements) {
+		List<Point2d> points = new ArrayList<>();
+		for (MapPolylineStub element : elements) {
+			for (Point2d point : element.points()) {
+				points.add(MapMetricProjection.FRANCE_LAMBERT_2.convertTo(MapMetricProjection.FRANCE_LAMBERT_93, point));
+			}
+		}
+		return points;
+	}
+
+	private void assertReprojected(L layer, List<MapPolylineStub> elements, List<Point2d> expectedPoints) {
+		assertSame(MapMetricProjection.FRANCE_LAMBERT_93, layer.getElementProjection());
+		Iterator<Point2d> expected = expectedPoints.iterator();
+		Rectangle2d expectedBounds = null;
+		for (MapPolylineStub element : elements) {
+			for (Point2d point : element.points()) {
+				assertEpsilonEquals(expected.next(), point);
+			}
+			if (expectedBounds == null) {
+				expectedBounds = element.getBoundingBox().clone();
+			} else {
+				expectedBounds.setUnion(element.getBoundingBox());
+			}
+		}
+		assertEpsilonEquals(expectedBounds, layer.getBoundingBox());
+		for (MapPolylineStub element : elements) {
+			List<MapPolylineStub> found = new ArrayList<>();
+			layer.iterator(element.getBoundingBox()).forEachRemaining(found::add);
+			assertTrue(found.contains(element));
+		}
+	}
+
+	@Test
+	public void testReproject() {
+		L layer = getLayer();
+		layer.setElementProjection(MapMetricProjection.FRANCE_LAMBERT_2);
+		assertSame(MapMetricProjection.FRANCE_LAMBERT_2, layer.getElementProjection());
+		List<MapPolylineStub> elements = new ArrayList<>(layer.getAllMapElements());
+		List<Point2d> expectedPoints = computeReprojectedPoints(elements);
+		int[] eventCount = new int[1];
+		layer.addLayerListener(new MapLayerAdapter() {
+			@Override
+			public void onMapLayerContentChanged(MapLayerContentEvent event) {
+				++eventCount[0];
+			}
+		});
+
+		layer.reproject(MapMetricProjection.FRANCE_LAMBERT_93);
+
+		assertEquals(1, eventCount[0]);
+		assertReprojected(layer, elements, expectedPoints);
+
+		layer.reproject(MapMetricProjection.FRANCE_LAMBERT_93);
+		assertEquals(1, eventCount[0]);
+	}
+
+	@Test
+	public void testParallelReproject() {
+		L layer = getLayer();
+		layer.setElementProjection(MapMetricProjection.FRANCE_LAMBERT_2);
+		L clone = (L) layer.clone();
+		List<MapPolylineStub> elements = new ArrayList<>(layer.getAllMapElements());
+		List<MapPolylineStub> cloneElements = new ArrayList<>(clone.getAllMapElements());
+		List<Point2d> expectedPoints = computeReprojectedPoints(elements);
+		List<Point2d> expectedClonePoints = computeReprojectedPoints(cloneElements);
+		MultiMapLayer<MapLayer> multiLayer = new MultiMapLayer<>();
+		multiLayer.addMapLayer(clone);
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			MapElementLayer.parallelReproject(pool, List.of(layer, multiLayer), MapMetricProjection.FRANCE_LAMBERT_93);
+		} finally {
+			pool.shutdown();
+		}
+
+		assertReprojected(layer, elements, expectedPoints);
+		assertReprojected(clone, cloneElements, expectedClonePoints);
+	}
+
+	@Test
+	public void testParallelReproject_failure() {
+		L layer = getLayer();
+		layer.setElementProjection(MapMetricProjection.FRANCE_LAMBERT_2);
+		List<MapPolylineStub> elements = new ArrayList<>(layer.getAllMapElements());
+		List<Point2d> expectedPoints = computeReprojectedPoints(elements);
+		int[] eventCount = new int[1];
+		layer.addLayerListener(new MapLayerAdapter() {
+			@Override
+			public void onMapLayerContentChanged(MapLayerContentEvent event) {
+				++eventCount[0];
+			}
+		});
+		ArrayMapElementLayer<MapPolylineStub> failing = new ArrayMapElementLayer<>() {
+			@Override
+			protected void reprojectElements(MapMetricProjection source, MapMetricProjection target) {
+				throw new UnsupportedOperationException();
+			}
+		};
+		failing.setElementProjection(MapMetricProjection.FRANCE_LAMBERT_2);
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			assertThrows(UnsupportedOperationException.class,
+					() -> MapElementLayer.parallelReproject(pool, List.of(failing, layer), MapMetricProjection.FRANCE_LAMBERT_93));
+		} finally {
+			pool.shutdown();
+		}
+
+		assertEquals(1, eventCount[0]);
+		assertReprojected(layer, elements, expectedPoints);
+		assertSame(MapMetricProjection.FRANCE_LAMBERT_2, failing.getElementProjection());
+	}
+
+	@Test
+	public void testCompact() {
+		L layer = getLayer();
+		List<MapPolylineStub> elements = new ArrayList<>(layer.getAllMapElements());
+		List<Point2d> expectedPoints = new ArrayList<>();
+		for (MapPolylineStub element : elements) {
+			element.points().forEach(expectedPoints::add);
+		}
+		int[] eventCount = new int[1];
+		layer.addLayerListener(new MapLayerAdapter() {
+			@Override
+			public void onMapLayerContentChanged(MapLayerContentEvent event) {
+				++eventCount[0];
+			}
+		});
+
+		layer.compact();
+
+		assertEquals(1, eventCount[0]);
+		Iterator<Point2d> expected = expectedPoints.iterator();
+		for (MapPolylineStub element : elements) {
+			assertTrue(element.isCompact());
+			for (Point2d point : element.points()) {
+				Point2d expectedPoint = expected.next();
+				assertEquals(expectedPoint.getX(), point.getX(), 1e-3);
+				assertEquals(expectedPoint.getY(), point.getY(), 1e-3);
+			}
+			List<MapPolylineStub> found = new ArrayList<>();
+			layer.iterator(element.getBoundingBox()).forEachRemaining(found::add);
+			assertTrue(found.contains(element));
+		}
+	}
+
 }
@@ -20,6 +20,16 @@
 
 package org.arakhne.afc.gis.maplayer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
 import org.arakhne.afc.attrs.collection.HeapAttributeCollection;
 import org.arakhne.afc.gis.mapelement.MapPolylineStub;
 import org.arakhne.afc.gis.maplayer.TreeMapElementLayer;
@@ -41,4 +51,38 @@ public class TreeMapElementLayerTest extends AbstractMapElementLayerTest<TreeMap
 		return new TreeMapElementLayer<>(new HeapAttributeCollection(), bounds);
 	}
 
+	@Test
+	public void testPack() {
+		TreeMapElementLayer<MapPolylineStub> layer = getLayer();
+		assertFalse(layer.isPacked());
+		Set<MapPolylineStub> expected = new HashSet<>(getExpectedChildren());
+		Rectangle2d window = getExpectedChildBounds().clone();
+		window.setWidth(window.getWidth() / 2.);
+		Set<MapPolylineStub> expectedInWindow = new HashSet<>();
+		layer.iterator(window).forEachRemaining(expectedInWindow::add);
+
+		layer.pack();
+		assertTrue(layer.isPacked());
+		assertEquals(expected.size(), layer.size());
+		assertEquals(expected, new HashSet<>(layer.getAllMapElements()));
+		Set<MapPolylineStub> inWindow = new HashSet<>();
+		layer.iterator(window).forEachRemaining(inWindow::add);
+		assertEquals(expectedInWindow, inWindow);
+		assertEpsilonEquals(getExpectedChildBounds(), layer.getBoundingBox());
+
+		MapPolylineStub newElement = new MapPolylineStub();
+		assertTrue(layer.addMapElement(newElement));
+		assertFalse(layer.isPacked());
+		expected.add(newElement);
+		assertEquals(expected, new HashSet<>(layer.getAllMapElements()));
+
+		layer.pack();
+		Iterator<MapPolylineStub> iterator = layer.iterator();
+		MapPolylineStub removed = iterator.next();
+		iterator.remove();
+		assertFalse(layer.isPacked());
+		expected.remove(removed);
+		assertEquals(expected, new HashSet<>(layer.getAllMapElements()));
+	}
+
 }
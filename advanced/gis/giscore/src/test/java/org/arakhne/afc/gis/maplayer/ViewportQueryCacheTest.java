@@ -0,0 +1,155 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.arakhne.afc.gis.maplayer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.arakhne.afc.gis.AbstractGisTest;
+import org.arakhne.afc.gis.mapelement.MapPoint;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+
+/** Unit tests for ViewportQueryCache.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+@SuppressWarnings("all")
+public class ViewportQueryCacheTest extends AbstractGisTest {
+
+	private TreeMapElementLayer<MapPoint> layer;
+
+	private List<MapPoint> points;
+
+	private ViewportQueryCache<MapPoint> cache;
+
+	@BeforeEach
+	public void setUp() {
+		final Random rnd = getRandom();
+		this.layer = new TreeMapElementLayer<>(new Rectangle2d(0, 0, 1000, 1000));
+		this.points = new ArrayList<>();
+		for (int i = 0; i < 2000; ++i) {
+			final MapPoint point = new MapPoint(rnd.nextDouble() * 1000., rnd.nextDouble() * 1000.);
+			this.points.add(point);
+		}
+		this.layer.addMapElements(this.points);
+		this.cache = new ViewportQueryCache<>(this.layer, 10.);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.cache.dispose();
+		this.cache = null;
+		this.layer = null;
+		this.points = null;
+	}
+
+	private Set<MapPoint> expected(Rectangle2d bounds) {
+		final Set<MapPoint> expected = new HashSet<>();
+		final Iterator<MapPoint> iterator = this.layer.iterator(bounds);
+		while (iterator.hasNext()) {
+			expected.add(iterator.next());
+		}
+		return expected;
+	}
+
+	@Test
+	public void getElements_hit() {
+		final List<MapPoint> first = this.cache.getElements(new Rectangle2d(101, 202, 300, 200), 0);
+		assertEquals(expected(new Rectangle2d(100, 200, 310, 210)), new HashSet<>(first));
+		assertEquals(first.size(), new HashSet<>(first).size());
+		// Same quantised bounds
+		assertSame(first, this.cache.getElements(new Rectangle2d(103, 205, 300, 200), 0));
+		assertEquals(1, this.cache.getHitCount());
+		assertEquals(1, this.cache.getMissCount());
+		assertEquals(1, this.cache.size());
+	}
+
+	@Test
+	public void getElements_incremental() {
+		this.cache.getElements(new Rectangle2d(100, 200, 300, 200), 0);
+		final List<MapPoint> panned = this.cache.getElements(new Rectangle2d(140, 170, 300, 200), 0);
+		assertEquals(1, this.cache.getIncrementalHitCount());
+		assertEquals(1, this.cache.getMissCount());
+		assertEquals(expected(new Rectangle2d(140, 170, 300, 200)), new HashSet<>(panned));
+		assertEquals(panned.size(), new HashSet<>(panned).size());
+
+		// Another level of detail is not reusing the results
+		final List<MapPoint> coarse = this.cache.getElements(new Rectangle2d(140, 170, 300, 200), 3);
+		assertEquals(2, this.cache.getMissCount());
+		assertEquals(expected(new Rectangle2d(80, 160, 400, 240)), new HashSet<>(coarse));
+	}
+
+	@Test
+	public void getElements_incrementalWidePoint() {
+		// The bounding box of the point is overlapping the panned viewport, but not its geo-location
+		final MapPoint point = new MapPoint(155, 300);
+		point.setPointSize(20);
+		this.layer.addMapElement(point);
+		assertTrue(this.cache.getElements(new Rectangle2d(100, 200, 300, 200), 0).contains(point));
+		final List<MapPoint> panned = this.cache.getElements(new Rectangle2d(160, 200, 300, 200), 0);
+		assertEquals(1, this.cache.getIncrementalHitCount());
+		assertEquals(expected(new Rectangle2d(160, 200, 300, 200)), new HashSet<>(panned));
+		assertFalse(panned.contains(point));
+	}
+
+	@Test
+	public void getElements_invalidation() {
+		final Rectangle2d viewport = new Rectangle2d(100, 200, 300, 200);
+		final int size = this.cache.getElements(viewport, 0).size();
+		final MapPoint point = new MapPoint(250, 250);
+		this.layer.addMapElement(point);
+		assertEquals(0, this.cache.size());
+		final List<MapPoint> elements = this.cache.getElements(viewport, 0);
+		assertEquals(size + 1, elements.size());
+		assertTrue(elements.contains(point));
+		assertThrows(IllegalArgumentException.class, () -> this.cache.getElements(viewport, -1));
+	}
+
+	@Test
+	public void iterator_budget() {
+		final Rectangle2d viewport = new Rectangle2d(100, 200, 300, 200);
+		final Iterator<MapPoint> iterator = this.cache.iterator(viewport, 0, 5);
+		int count = 0;
+		while (iterator.hasNext()) {
+			iterator.next();
+			++count;
+		}
+		assertEquals(5, count);
+	}
+
+}
@@ -0,0 +1,153 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import org.arakhne.afc.gis.AbstractGisTest;
+import org.arakhne.afc.gis.mapelement.MapElement;
+import org.arakhne.afc.gis.mapelement.MapPoint;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+
+/** Unit test for ConcurrentGISTreeSet.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+@SuppressWarnings("all")
+public class ConcurrentGISTreeSetTest extends AbstractGisTest {
+
+	@Test
+	public void addRemove() {
+		final var set = new ConcurrentGISTreeSet<MapElement, MapElementTreeSet<MapElement>>(MapElementTreeSet::new);
+		assertTrue(set.isEmpty());
+		final var p1 = new MapPoint(10, 10);
+		final var p2 = new MapPoint(500, 500);
+		final var p3 = new MapPoint(900, 100);
+		assertTrue(set.add(p1));
+		assertTrue(set.addAll(Arrays.asList(p2, p3)));
+		assertEquals(3, set.size());
+		assertTrue(set.contains(p2));
+		assertEquals(3, set.read(it -> it.size()).intValue());
+		assertSame(p1, set.get(p1.getGeoId()));
+		assertSame(p3, set.read(it -> it.getNearest(880, 120)));
+
+		final var inside = new ArrayList<MapElement>();
+		set.iterator(new Rectangle2d(0, 0, 600, 600)).forEachRemaining(inside::add);
+		assertEquals(2, inside.size());
+		assertTrue(inside.contains(p1));
+		assertTrue(inside.contains(p2));
+
+		assertTrue(set.remove(p2));
+		assertFalse(set.remove(p2));
+		assertEquals(2, set.size());
+		assertNull(set.get(p2.getGeoId()));
+
+		set.clear();
+		assertTrue(set.isEmpty());
+		assertEquals(0, set.read(it -> it.size()).intValue());
+	}
+
+	@Test
+	public void iteratorSnapshot() {
+		final var set = new ConcurrentGISTreeSet<MapElement, MapElementTreeSet<MapElement>>(
+				MapElementTreeSet::new,
+				Arrays.asList(new MapPoint(10, 10), new MapPoint(20, 20)));
+		assertEquals(2, set.size());
+		final var iterator = set.iterator();
+		set.add(new MapPoint(30, 30));
+		var count = 0;
+		while (iterator.hasNext()) {
+			assertNotNull(iterator.next());
+			iterator.remove();
+			++count;
+		}
+		assertEquals(2, count);
+		assertEquals(1, set.size());
+	}
+
+	@Test
+	public void concurrentReaders() throws Exception {
+		final var set = new ConcurrentGISTreeSet<MapElement, MapElementTreeSet<MapElement>>(MapElementTreeSet::new);
+		final var random = getRandom();
+		final var stop = new AtomicBoolean();
+		final var error = new AtomicReference<Throwable>();
+		final var bounds = new Rectangle2d(0, 0, 1000, 1000);
+		final List<Thread> readers = new ArrayList<>();
+		for (var i = 0; i < 4; ++i) {
+			final var reader = new Thread(() -> {
+				try {
+					while (!stop.get()) {
+						// The points are added by pairs, so a consistent state has an even size
+						var count = 0;
+						final var iterator = set.iterator(bounds);
+						while (iterator.hasNext()) {
+							iterator.next();
+							++count;
+						}
+						assertEquals(0, count % 2);
+						assertEquals(0, set.size() % 2);
+					}
+				} catch (Throwable exception) {
+					error.compareAndSet(null, exception);
+				}
+			});
+			readers.add(reader);
+			reader.start();
+		}
+		try {
+			for (var i = 0; i < 500; ++i) {
+				final var p1 = new MapPoint(random.nextDouble() * 1000., random.nextDouble() * 1000.);
+				final var p2 = new MapPoint(random.nextDouble() * 1000., random.nextDouble() * 1000.);
+				set.write(it -> {
+					it.add(p1);
+					it.add(p2);
+				});
+			}
+		} finally {
+			stop.set(true);
+			for (final var reader : readers) {
+				reader.join();
+			}
+		}
+		if (error.get() != null) {
+			throw new AssertionError(error.get());
+		}
+		assertEquals(1000, set.size());
+	}
+
+}
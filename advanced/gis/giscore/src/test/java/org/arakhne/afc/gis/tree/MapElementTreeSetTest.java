@@ -22,11 +22,14 @@ package org.arakhne.afc.gis.tree;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assumptions.assumeFalse;
 
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Random;
 
 import org.junit.jupiter.api.AfterEach;
@@ -36,12 +39,14 @@ import org.junit.jupiter.api.Test;
 import org.arakhne.afc.gis.AbstractGisTest;
 import org.arakhne.afc.gis.TestGISReader;
 import org.arakhne.afc.gis.mapelement.MapElement;
+import org.arakhne.afc.gis.mapelement.MapPoint;
 import org.arakhne.afc.gis.mapelement.MapPolyline;
 import org.arakhne.afc.gis.primitive.GISPrimitive;
 import org.arakhne.afc.io.shape.ShapeFileFormatException;
 import org.arakhne.afc.math.geometry.d2.d.Point2d;
 import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
 import org.arakhne.afc.vmutil.Resources;
+import org.eclipse.xtext.xbase.lib.Pair;
 
 /** Unit test for MapElementTreeSet.
  *
@@ -178,4 +183,80 @@ public class MapElementTreeSetTest extends AbstractGisTest {
         }
 	}
 
+	@Test
+	public void testGetNearestDataCountMaxDistance() {
+		final Random rnd = new Random();
+		final List<MapPoint> points = new ArrayList<>();
+		for (int i = 0; i < 1000; ++i) {
+			points.add(new MapPoint(rnd.nextDouble() * 1000., rnd.nextDouble() * 1000.));
+		}
+		final MapElementTreeSet<MapPoint> test = new MapElementTreeSet<>(points);
+
+		for (int i = 0; i < 50; ++i) {
+			final Point2d p = new Point2d(rnd.nextDouble() * 1200. - 100., rnd.nextDouble() * 1200. - 100.);
+			final List<Double> expected = new ArrayList<>();
+			for (final MapPoint point : points) {
+				final double distance = point.getDistance(p);
+				if (distance <= 50.) {
+					expected.add(distance);
+				}
+			}
+			Collections.sort(expected);
+
+			final List<Pair<MapPoint, Double>> actual = test.getNearestData(p, 5, 50.);
+			assertEquals(Math.min(5, expected.size()), actual.size());
+			for (int j = 0; j < actual.size(); ++j) {
+				assertEpsilonEquals(expected.get(j).doubleValue(), actual.get(j).getValue().doubleValue());
+				assertEpsilonEquals(actual.get(j).getKey().getDistance(p), actual.get(j).getValue().doubleValue());
+			}
+
+			final Pair<MapPoint, Double> nearest = test.getNearestData(p.getX(), p.getY());
+			assertNotNull(nearest);
+			final List<Pair<MapPoint, Double>> all = test.getNearestData(p, 1, Double.POSITIVE_INFINITY);
+			assertEquals(1, all.size());
+			assertEpsilonEquals(all.get(0).getValue().doubleValue(), nearest.getValue().doubleValue());
+		}
+
+		assertTrue(test.getNearestData(new Point2d(-1000., -1000.), 3, 10.).isEmpty());
+		assertTrue(new MapElementTreeSet<MapPoint>().getNearestData(0., 0., 3, 10.).isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> test.getNearestData(0., 0., 0, 10.));
+	}
+
+	@Test
+	public void testGetNearestDataWidePolylines() {
+		final Random rnd = new Random();
+		final List<MapPolyline> polylines = new ArrayList<>();
+		for (int i = 0; i < 500; ++i) {
+			final double width = rnd.nextDouble() * 100.;
+			final MapPolyline polyline = new MapPolyline() {
+				@Override
+				public double getWidth() {
+					return width;
+				}
+			};
+			final double x = rnd.nextDouble() * 1000.;
+			final double y = rnd.nextDouble() * 1000.;
+			polyline.addPoint(x, y);
+			polyline.addPoint(x + rnd.nextDouble() * 20., y + rnd.nextDouble() * 20.);
+			polyline.setWidePolyline(true);
+			polylines.add(polyline);
+		}
+		final MapElementTreeSet<MapPolyline> test = new MapElementTreeSet<>(polylines);
+
+		for (int i = 0; i < 50; ++i) {
+			final Point2d p = new Point2d(rnd.nextDouble() * 1200. - 100., rnd.nextDouble() * 1200. - 100.);
+			final List<Double> expected = new ArrayList<>();
+			for (final MapPolyline polyline : polylines) {
+				expected.add(polyline.getDistance(p));
+			}
+			Collections.sort(expected);
+
+			final List<Pair<MapPolyline, Double>> actual = test.getNearestData(p, 3, Double.POSITIVE_INFINITY);
+			assertEquals(3, actual.size());
+			for (int j = 0; j < actual.size(); ++j) {
+				assertEpsilonEquals(expected.get(j).doubleValue(), actual.get(j).getValue().doubleValue());
+			}
+		}
+	}
+
 }
@@ -0,0 +1,219 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import org.arakhne.afc.gis.AbstractGisTest;
+import org.arakhne.afc.gis.mapelement.MapPoint;
+import org.arakhne.afc.gis.mapelement.MapPolyline;
+import org.arakhne.afc.math.geometry.d2.d.Point2d;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.eclipse.xtext.xbase.lib.Pair;
+
+/** Unit test for PackedMapElementTreeSet.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+@SuppressWarnings("all")
+public class PackedMapElementTreeSetTest extends AbstractGisTest {
+
+	private static List<MapPoint> createPoints(Random rnd, int count) {
+		final List<MapPoint> points = new ArrayList<>();
+		for (int i = 0; i < count; ++i) {
+			points.add(new MapPoint(rnd.nextDouble() * 1000., rnd.nextDouble() * 1000.));
+		}
+		return points;
+	}
+
+	@Test
+	public void testContent() {
+		final List<MapPoint> points = createPoints(getRandom(), 1000);
+		final PackedMapElementTreeSet<MapPoint> test = new PackedMapElementTreeSet<>(points, 4);
+		assertEquals(1000, test.size());
+		assertFalse(test.isEmpty());
+		assertEquals(MapPoint.class, test.getElementType());
+		assertEquals(new HashSet<>(points), new HashSet<>(test));
+		for (int i = 0; i < test.size(); ++i) {
+			final MapPoint point = test.get(i);
+			assertEquals(i, test.indexOf(point));
+			assertTrue(test.contains(point));
+			assertSame(point, test.get(point.getGeoId()));
+			assertSame(point, test.get(point.getGeoLocation()));
+		}
+		final MapPoint outside = new MapPoint(2000., 2000.);
+		assertFalse(test.contains(outside));
+		assertEquals(-1, test.indexOf(outside));
+		assertNull(test.get(outside.getGeoId()));
+		assertThrows(UnsupportedOperationException.class, () -> test.add(outside));
+		assertThrows(UnsupportedOperationException.class, () -> test.remove(points.get(0)));
+		assertThrows(IllegalArgumentException.class, () -> new PackedMapElementTreeSet<>(points, 1));
+	}
+
+	@Test
+	public void testEmpty() {
+		final PackedMapElementTreeSet<MapPoint> test = new PackedMapElementTreeSet<>(Collections.emptyList());
+		assertTrue(test.isEmpty());
+		assertFalse(test.iterator().hasNext());
+		assertFalse(test.iterator(new Rectangle2d(0, 0, 10, 10)).hasNext());
+		assertFalse(test.boundsIterator().hasNext());
+		assertNull(test.getNearest(0., 0.));
+	}
+
+	@Test
+	public void testHilbertOrder() {
+		final MapPoint p1 = new MapPoint(0., 0.);
+		final MapPoint p2 = new MapPoint(0., 1000.);
+		final MapPoint p3 = new MapPoint(1000., 1000.);
+		final MapPoint p4 = new MapPoint(1000., 0.);
+		final List<MapPoint> points = new ArrayList<>();
+		points.add(p3);
+		points.add(p1);
+		points.add(p4);
+		points.add(p2);
+		final PackedMapElementTreeSet<MapPoint> test = new PackedMapElementTreeSet<>(points);
+		// The last two quadrants of the Hilbert curve have indexes with the 32th bit set
+		assertSame(p1, test.get(0));
+		assertSame(p2, test.get(1));
+		assertSame(p3, test.get(2));
+		assertSame(p4, test.get(3));
+	}
+
+	@Test
+	public void testIteratorBounds() {
+		final Random rnd = getRandom();
+		final List<MapPoint> points = createPoints(rnd, 2000);
+		final PackedMapElementTreeSet<MapPoint> test = new PackedMapElementTreeSet<>(points);
+		for (int i = 0; i < 50; ++i) {
+			final Rectangle2d bounds = new Rectangle2d();
+			bounds.setFromCorners(rnd.nextDouble() * 1000., rnd.nextDouble() * 1000.,
+					rnd.nextDouble() * 1000., rnd.nextDouble() * 1000.);
+			final Set<MapPoint> expected = new HashSet<>();
+			for (final MapPoint point : points) {
+				if (bounds.intersects(point.getGeoLocation().toBounds2D())) {
+					expected.add(point);
+				}
+			}
+			final Set<MapPoint> actual = new HashSet<>();
+			test.iterator(bounds).forEachRemaining(actual::add);
+			assertEquals(expected, actual);
+
+			final int budget = rnd.nextInt(20) + 1;
+			final Set<MapPoint> budgeted = new HashSet<>();
+			test.iterator(bounds, budget).forEachRemaining(budgeted::add);
+			assertTrue(budgeted.size() <= budget);
+			assertEquals(expected.isEmpty(), budgeted.isEmpty());
+			assertTrue(expected.containsAll(budgeted));
+		}
+	}
+
+	@Test
+	public void testGetNearestDataCountMaxDistance() {
+		final Random rnd = getRandom();
+		final List<MapPoint> points = createPoints(rnd, 1000);
+		final PackedMapElementTreeSet<MapPoint> test = new PackedMapElementTreeSet<>(points);
+
+		for (int i = 0; i < 50; ++i) {
+			final Point2d p = new Point2d(rnd.nextDouble() * 1200. - 100., rnd.nextDouble() * 1200. - 100.);
+			final List<Double> expected = new ArrayList<>();
+			for (final MapPoint point : points) {
+				final double distance = point.getDistance(p);
+				if (distance <= 50.) {
+					expected.add(distance);
+				}
+			}
+			Collections.sort(expected);
+
+			final List<Pair<MapPoint, Double>> actual = test.getNearestData(p, 5, 50.);
+			assertEquals(Math.min(5, expected.size()), actual.size());
+			for (int j = 0; j < actual.size(); ++j) {
+				assertEpsilonEquals(expected.get(j).doubleValue(), actual.get(j).getValue().doubleValue());
+			}
+
+			double min = Double.POSITIVE_INFINITY;
+			for (final MapPoint point : points) {
+				min = Math.min(min, point.getDistance(p));
+			}
+			assertEpsilonEquals(min, test.getNearestData(p).getValue().doubleValue());
+		}
+
+		assertTrue(test.getNearestData(new Point2d(-1000., -1000.), 3, 10.).isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> test.getNearestData(0., 0., 0, 10.));
+	}
+
+	@Test
+	public void testGetNearestDataWidePolylines() {
+		final Random rnd = getRandom();
+		final List<MapPolyline> polylines = new ArrayList<>();
+		for (int i = 0; i < 500; ++i) {
+			final double width = rnd.nextDouble() * 100.;
+			final MapPolyline polyline = new MapPolyline() {
+				@Override
+				public double getWidth() {
+					return width;
+				}
+			};
+			final double x = rnd.nextDouble() * 1000.;
+			final double y = rnd.nextDouble() * 1000.;
+			polyline.addPoint(x, y);
+			polyline.addPoint(x + rnd.nextDouble() * 20., y + rnd.nextDouble() * 20.);
+			polyline.setWidePolyline(true);
+			polylines.add(polyline);
+		}
+		final PackedMapElementTreeSet<MapPolyline> test = new PackedMapElementTreeSet<>(polylines, 4);
+
+		for (int i = 0; i < 200; ++i) {
+			final Point2d p = new Point2d(rnd.nextDouble() * 1200. - 100., rnd.nextDouble() * 1200. - 100.);
+			final List<Double> expected = new ArrayList<>();
+			for (final MapPolyline polyline : polylines) {
+				expected.add(polyline.getDistance(p));
+			}
+			Collections.sort(expected);
+
+			final List<Pair<MapPolyline, Double>> actual = test.getNearestData(p, 3, Double.POSITIVE_INFINITY);
+			assertEquals(3, actual.size());
+			for (int j = 0; j < actual.size(); ++j) {
+				assertEpsilonEquals(expected.get(j).doubleValue(), actual.get(j).getValue().doubleValue());
+			}
+			assertSame(test.getNearestData(p).getKey(), test.getNearest(p));
+			assertEpsilonEquals(expected.get(0).doubleValue(), test.getNearestData(p).getValue().doubleValue());
+		}
+	}
+
+}
@@ -0,0 +1,190 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import org.arakhne.afc.gis.AbstractGisTest;
+import org.arakhne.afc.gis.mapelement.MapComposedElementBuilder;
+import org.arakhne.afc.gis.mapelement.MapPoint;
+import org.arakhne.afc.gis.mapelement.MapPolygon;
+import org.eclipse.xtext.xbase.lib.Pair;
+
+/** Unit test for SpatialJoin.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+@SuppressWarnings("all")
+public class SpatialJoinTest extends AbstractGisTest {
+
+	private static final double DISTANCE = 20.;
+
+	private static List<MapPoint> createPoints(Random rnd, int count) {
+		final List<MapPoint> points = new ArrayList<>();
+		for (int i = 0; i < count; ++i) {
+			points.add(new MapPoint(rnd.nextDouble() * 1000., rnd.nextDouble() * 1000.));
+		}
+		return points;
+	}
+
+	private static Set<Pair<MapPoint, MapPoint>> expectedPairs(List<MapPoint> left, List<MapPoint> right, double distance) {
+		final Set<Pair<MapPoint, MapPoint>> expected = new HashSet<>();
+		for (final MapPoint l : left) {
+			for (final MapPoint r : right) {
+				if (l.getPoint().getDistance(r.getPoint()) <= distance) {
+					expected.add(new Pair<>(l, r));
+				}
+			}
+		}
+		return expected;
+	}
+
+	private static List<MapPolygon> createSquares(double offset, int count) {
+		final List<MapPolygon> squares = new ArrayList<>();
+		for (int i = 0; i < count; ++i) {
+			for (int j = 0; j < count; ++j) {
+				final double x = offset + i * 10.;
+				final double y = offset + j * 10.;
+				squares.add(new MapComposedElementBuilder().add(x, y).add(x + 10., y)
+						.add(x + 10., y + 10.).add(x, y + 10.).toPolygon());
+			}
+		}
+		return squares;
+	}
+
+	private static void assertQuarterSquare(MapPolygon left, MapPolygon right, MapPolygon overlay) {
+		assertEquals(1, overlay.getGroupCount());
+		assertEquals(4, overlay.getPointCount());
+		assertEquals(5., overlay.getBoundingBox().getWidth(), 1e-10);
+		assertEquals(5., overlay.getBoundingBox().getHeight(), 1e-10);
+		assertTrue(left.getBoundingBox().contains(overlay.getBoundingBox()));
+		assertTrue(right.getBoundingBox().contains(overlay.getBoundingBox()));
+	}
+
+	@Test
+	public void join() {
+		final Random rnd = getRandom();
+		final List<MapPoint> left = createPoints(rnd, 800);
+		final List<MapPoint> right = createPoints(rnd, 1200);
+		final Set<Pair<MapPoint, MapPoint>> expected = expectedPairs(left, right, DISTANCE);
+		assertFalse(expected.isEmpty());
+
+		final MapElementTreeSet<MapPoint> leftTree = new MapElementTreeSet<>(left);
+		final StandardGISTreeSet<MapPoint> rightTree = new StandardGISTreeSet<>();
+		rightTree.addAll(right);
+
+		final List<Pair<MapPoint, MapPoint>> actual = SpatialJoin.join(leftTree, rightTree, DISTANCE,
+				SpatialJoin.withinDistance(DISTANCE));
+		assertEquals(expected.size(), actual.size());
+		assertEquals(expected, new HashSet<>(actual));
+
+		// Bounds only
+		final List<Pair<MapPoint, MapPoint>> candidates = SpatialJoin.join(leftTree, rightTree, DISTANCE, null);
+		assertTrue(candidates.containsAll(expected));
+	}
+
+	@Test
+	public void parallelJoin() {
+		final Random rnd = getRandom();
+		final List<MapPoint> left = createPoints(rnd, 3000);
+		final List<MapPoint> right = createPoints(rnd, 3000);
+		final Set<Pair<MapPoint, MapPoint>> expected = expectedPairs(left, right, DISTANCE);
+
+		final List<Pair<MapPoint, MapPoint>> actual = Collections.synchronizedList(new ArrayList<>());
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			SpatialJoin.parallelJoin(pool, new MapElementTreeSet<>(left), new MapElementTreeSet<>(right), DISTANCE,
+					SpatialJoin.withinDistance(DISTANCE), (l, r) -> actual.add(new Pair<>(l, r)));
+		} finally {
+			pool.shutdown();
+		}
+		assertEquals(expected.size(), actual.size());
+		assertEquals(expected, new HashSet<>(actual));
+	}
+
+	@Test
+	public void nestedLoopJoin() {
+		final Random rnd = getRandom();
+		final List<MapPoint> left = createPoints(rnd, 500);
+		final List<MapPoint> right = createPoints(rnd, 500);
+		final Set<Pair<MapPoint, MapPoint>> expected = expectedPairs(left, right, DISTANCE);
+
+		final List<Pair<MapPoint, MapPoint>> actual = SpatialJoin.join(new PackedMapElementTreeSet<>(left),
+				new MapElementTreeSet<>(right), DISTANCE, SpatialJoin.withinDistance(DISTANCE));
+		assertEquals(expected, new HashSet<>(actual));
+		assertEquals(expected.size(), actual.size());
+
+		assertThrows(IllegalArgumentException.class, () -> SpatialJoin.join(new MapElementTreeSet<>(left),
+				new MapElementTreeSet<>(right), -1., null));
+	}
+
+	@Test
+	public void overlay() {
+		final List<MapPolygon> left = createSquares(0., 5);
+		final List<MapPolygon> right = createSquares(5., 4);
+		final List<Pair<MapPolygon, MapPolygon>> actual = new ArrayList<>();
+		SpatialJoin.overlay(new MapElementTreeSet<>(left), new MapElementTreeSet<>(right),
+				(l, r, overlay) -> {
+					assertQuarterSquare(l, r, overlay);
+					actual.add(new Pair<>(l, r));
+				});
+		// Each square on the right overlaps four squares on the left
+		assertEquals(64, actual.size());
+		assertEquals(64, new HashSet<>(actual).size());
+	}
+
+	@Test
+	public void parallelOverlay() {
+		final List<MapPolygon> left = createSquares(0., 20);
+		final List<MapPolygon> right = createSquares(5., 19);
+		final List<Pair<MapPolygon, MapPolygon>> actual = Collections.synchronizedList(new ArrayList<>());
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			SpatialJoin.parallelOverlay(pool, new MapElementTreeSet<>(left), new MapElementTreeSet<>(right),
+					(l, r, overlay) -> {
+						assertQuarterSquare(l, r, overlay);
+						actual.add(new Pair<>(l, r));
+					});
+		} finally {
+			pool.shutdown();
+		}
+		assertEquals(19 * 19 * 4, actual.size());
+		assertEquals(19 * 19 * 4, new HashSet<>(actual).size());
+	}
+
+}
@@ -25,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assumptions.assumeFalse;
 
@@ -34,9 +35,13 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.Spliterator;
 import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -158,6 +163,159 @@ public class StandardGISTreeSetTest extends AbstractGisTest {
         assertTrue(this.reference.isEmpty());
 	}
 
+	@Test
+	public void testBulkLoad() {
+		final Random rnd = getRandom();
+		final List<GISPrimitive> points = new ArrayList<>();
+		for (int i = 0; i < 2000; ++i) {
+			// Skewed distribution: most of the points are in a small cluster
+			if (i % 10 == 0) {
+				points.add(new MapPoint(rnd.nextDouble() * 10000., rnd.nextDouble() * 10000.));
+			} else {
+				points.add(new MapPoint(5000. + rnd.nextDouble() * 10., 5000. + rnd.nextDouble() * 10.));
+			}
+		}
+		// Duplicate positions
+		for (int i = 0; i < 50; ++i) {
+			points.add(new MapPoint(1234., 5678.));
+		}
+
+		StandardGISTreeSet<GISPrimitive> test = new StandardGISTreeSet<>(points);
+		assertEquals(points.size(), test.size());
+		assertEquals(points.size(), test.computeSize());
+		for (final GISPrimitive p : points) {
+			assertTrue(test.contains(p));
+			// The duplicate points have the same identifier
+			assertEquals(p.getGeoId(), test.get(p.getGeoId()).getGeoId());
+		}
+
+		final Rectangle2d clip = new Rectangle2d(4995., 4995., 8., 8.);
+		final List<GISPrimitive> expected = new ArrayList<>();
+		for (final GISPrimitive p : points) {
+			if (clip.intersects(p.getGeoLocation().toBounds2D())) {
+				expected.add(p);
+			}
+		}
+		int n = 0;
+		for (final GISPrimitive p : test.toIterable(clip)) {
+			assertTrue(expected.contains(p));
+			++n;
+		}
+		assertEquals(expected.size(), n);
+
+		// The tree is still updatable
+		final MapPoint newPoint = new MapPoint(-10., -10.);
+		assertTrue(test.add(newPoint));
+		assertTrue(test.contains(newPoint));
+		assertEquals(points.size() + 1, test.size());
+	}
+
+	@Test
+	public void testBulkLoadWithBounds() {
+		StandardGISTreeSet<GISPrimitive> test = new StandardGISTreeSet<>(this.worldBounds, this.reference);
+		assertEquals(this.reference.size(), test.size());
+		for (final GISPrimitive p : this.reference) {
+			assertSame(p, test.get(p.getGeoId()));
+		}
+
+		test = new StandardGISTreeSet<>(this.worldBounds, new ArrayList<GISPrimitive>());
+		assertTrue(test.isEmpty());
+	}
+
+	@Test
+	public void testIdentifierIndex() {
+		final List<MapPoint> points = new ArrayList<>();
+		for (int i = 0; i < 200; ++i) {
+			points.add(new MapPoint(getRandom().nextDouble() * 1000., getRandom().nextDouble() * 1000.));
+		}
+		StandardGISTreeSet<MapPoint> test = new StandardGISTreeSet<>();
+		test.addAll(points);
+		assertFalse(test.isIdentifierIndexEnabled());
+		assertSame(points.get(5), test.get(points.get(5).getUUID()));
+
+		test.setIdentifierIndexEnabled(true);
+		assertTrue(test.isIdentifierIndexEnabled());
+		for (final MapPoint p : points) {
+			assertSame(p, test.get(p.getUUID()));
+			assertSame(p, test.get(p.getGeoId()));
+		}
+		assertNull(test.get(new MapPoint(-1., -1.).getUUID()));
+
+		assertTrue(test.remove(points.get(0)));
+		assertNull(test.get(points.get(0).getUUID()));
+		assertNull(test.get(points.get(0).getGeoId()));
+
+		final MapPoint newPoint = new MapPoint(-10., -10.);
+		assertTrue(test.add(newPoint));
+		assertSame(newPoint, test.get(newPoint.getUUID()));
+		assertSame(newPoint, test.get(newPoint.getGeoId()));
+
+		final Iterator<MapPoint> iterator = test.iterator();
+		final MapPoint removed = iterator.next();
+		iterator.remove();
+		assertNull(test.get(removed.getUUID()));
+
+		test.clear();
+		assertNull(test.get(points.get(1).getUUID()));
+		assertTrue(test.isIdentifierIndexEnabled());
+	}
+
+	@Test
+	public void testSpliterator() {
+		final Random rnd = getRandom();
+		final List<GISPrimitive> points = new ArrayList<>();
+		for (int i = 0; i < 3000; ++i) {
+			points.add(new MapPoint(rnd.nextDouble() * 1000., rnd.nextDouble() * 1000.));
+		}
+		final StandardGISTreeSet<GISPrimitive> test = new StandardGISTreeSet<>(points);
+
+		final Spliterator<GISPrimitive> spliterator = test.spliterator();
+		assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+		assertEquals(points.size(), spliterator.estimateSize());
+		final Spliterator<GISPrimitive> prefix = spliterator.trySplit();
+		assertNotNull(prefix);
+		assertEquals(points.size(), spliterator.estimateSize() + prefix.estimateSize());
+
+		final List<GISPrimitive> all = test.parallelStream().collect(Collectors.toList());
+		assertEquals(points.size(), all.size());
+		assertEquals(new HashSet<>(points), new HashSet<>(all));
+
+		final Rectangle2d clip = new Rectangle2d(120., 250., 300., 400.);
+		final Set<GISPrimitive> expected = new HashSet<>();
+		test.iterator(clip).forEachRemaining(expected::add);
+		final List<GISPrimitive> actual = test.parallelStream(clip).collect(Collectors.toList());
+		assertEquals(expected.size(), actual.size());
+		assertEquals(expected, new HashSet<>(actual));
+
+		assertEquals(0, test.stream(new Rectangle2d(2000., 2000., 10., 10.)).count());
+	}
+
+	@Test
+	public void testGetIntIndexOf() {
+		final List<GISPrimitive> points = new ArrayList<>();
+		for (int i = 0; i < 500; ++i) {
+			points.add(new MapPoint(getRandom().nextDouble() * 1000., getRandom().nextDouble() * 1000.));
+		}
+		StandardGISTreeSet<GISPrimitive> test = new StandardGISTreeSet<>();
+		test.addAll(points);
+		assertTrue(test.remove(points.get(10)));
+		assertTrue(test.remove(points.get(20)));
+
+		final Iterator<GISPrimitive> iterator = test.getTree().dataDepthFirstIterator();
+		int index = 0;
+		while (iterator.hasNext()) {
+			final GISPrimitive p = iterator.next();
+			assertSame(p, test.get(index));
+			assertEquals(index, test.indexOf(p));
+			++index;
+		}
+		assertEquals(test.size(), index);
+		assertEquals(-1, test.indexOf(points.get(10)));
+		assertEquals(-1, test.indexOf(null));
+		assertThrows(IndexOutOfBoundsException.class, () -> test.get(-1));
+		assertThrows(IndexOutOfBoundsException.class, () -> test.get(test.size()));
+	}
+
 	@Test
 	public void testSize() {
         StandardGISTreeSet<GISPrimitive> test = new StandardGISTreeSet<>(this.worldBounds);
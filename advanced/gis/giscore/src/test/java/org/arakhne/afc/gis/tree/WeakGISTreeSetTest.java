@@ -0,0 +1,85 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.tree;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.arakhne.afc.gis.AbstractGisTest;
+import org.arakhne.afc.gis.mapelement.MapPoint;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+@SuppressWarnings("all")
+public class WeakGISTreeSetTest extends AbstractGisTest {
+
+	@Test
+	public void testIdentifierIndex() {
+		final List<MapPoint> points = new ArrayList<>();
+		for (int i = 0; i < 200; ++i) {
+			points.add(new MapPoint(getRandom().nextDouble() * 1000., getRandom().nextDouble() * 1000.));
+		}
+		WeakGISTreeSet<MapPoint> test = new WeakGISTreeSet<>();
+		test.addAll(points);
+		assertFalse(test.isIdentifierIndexEnabled());
+		assertSame(points.get(5), test.get(points.get(5).getUUID()));
+
+		test.setIdentifierIndexEnabled(true);
+		assertTrue(test.isIdentifierIndexEnabled());
+		for (final MapPoint p : points) {
+			assertSame(p, test.get(p.getUUID()));
+			assertSame(p, test.get(p.getGeoId()));
+		}
+		assertNull(test.get(new MapPoint(-1., -1.).getUUID()));
+
+		assertTrue(test.remove(points.get(0)));
+		assertNull(test.get(points.get(0).getUUID()));
+		assertNull(test.get(points.get(0).getGeoId()));
+
+		final MapPoint newPoint = new MapPoint(-10., -10.);
+		assertTrue(test.add(newPoint));
+		assertSame(newPoint, test.get(newPoint.getUUID()));
+		assertSame(newPoint, test.get(newPoint.getGeoId()));
+
+		final Iterator<MapPoint> iterator = test.iterator();
+		final MapPoint removed = iterator.next();
+		iterator.remove();
+		assertNull(test.get(removed.getUUID()));
+
+		test.clear();
+		assertNull(test.get(points.get(1).getUUID()));
+		assertTrue(test.isIdentifierIndexEnabled());
+	}
+
+}
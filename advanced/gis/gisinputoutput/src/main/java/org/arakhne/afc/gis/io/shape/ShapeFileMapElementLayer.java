@@ -0,0 +1,757 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.io.shape;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import org.arakhne.afc.attrs.collection.AttributeCollection;
+import org.arakhne.afc.gis.coordinate.MapMetricProjection;
+import org.arakhne.afc.gis.mapelement.MapElement;
+import org.arakhne.afc.gis.maplayer.MapElementLayer;
+import org.arakhne.afc.io.shape.ShapeFileFormatException;
+import org.arakhne.afc.io.shape.ShapeFileIndexFilter;
+import org.arakhne.afc.io.shape.ShapeFileIndexReader;
+import org.arakhne.afc.math.geometry.d2.afp.Rectangle2afp;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.arakhne.afc.math.geometry.d2.d.Shape2d;
+import org.arakhne.afc.vmutil.FileSystem;
+import org.arakhne.afc.vmutil.URISchemeType;
+import org.eclipse.xtext.xbase.lib.Pure;
+
+/**
+ * This class represents a read-only layer that contains the map elements
+ * of an ESRI shapefile without keeping their geometries in memory.
+ *
+ * <p>When the layer is built or {@link #reload() reloaded}, the shapefile given as
+ * {@link #getElementGeometrySourceURL() geometry source} is read once. Only the bounds
+ * and the record index of each element are kept, inside a uniform grid that is used
+ * for answering the {@link #iterator(Rectangle2afp) bounded queries}.
+ * The geometries are decoded on demand by seeking into the shapefile with the
+ * help of its index file (".shx"). The decoded elements are kept inside a
+ * size-bounded cache that evicts the least recently used ones. The attributes of
+ * the elements are read lazily from the {@link #getElementAttributeSourceURL()
+ * attribute source}.
+ *
+ * <p>Because of the eviction, two calls to {@link #getMapElementAt(int)} for the same
+ * index may reply two different, but equal, instances.
+ *
+ * <p>The functions that change the content of the layer throw
+ * {@link UnsupportedOperationException}.
+ *
+ * @param <E> is the type of the elements inside this layer.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+public class ShapeFileMapElementLayer<E extends MapElement> extends MapElementLayer<E> implements AutoCloseable {
+
+	/** Default number of decoded elements that are kept in memory.
+	 */
+	public static final int DEFAULT_CACHE_CAPACITY = 1024;
+
+	private static final long serialVersionUID = -3581436213476609425L;
+
+	private static final int ELEMENTS_PER_CELL = 8;
+
+	private static final int MAXIMUM_CELLS_PER_AXIS = 1024;
+
+	private static final float[] NO_BOUNDS = new float[0];
+
+	private static final int[] NO_RECORDS = new int[0];
+
+	private final Class<? extends E> elementType;
+
+	private final int cacheCapacity;
+
+	private final URL indexSource;
+
+	/** Bounds of the entries: {@code [minx, miny, maxx, maxy]} for each entry.
+	 * The values are rounded outward to the float precision.
+	 */
+	private float[] entryBounds = NO_BOUNDS;
+
+	/** Index of the shapefile record of each entry.
+	 */
+	private int[] records = NO_RECORDS;
+
+	private Rectangle2d contentBounds;
+
+	private int columns;
+
+	private int rows;
+
+	private double cellWidth;
+
+	private double cellHeight;
+
+	/** Index of the first entry of each cell in {@link #cellEntries};
+	 * the last value is the total number of references.
+	 */
+	private int[] cellStarts = NO_RECORDS;
+
+	private int[] cellEntries = NO_RECORDS;
+
+	private transient Map<Integer, E> cache;
+
+	private transient RecordTrackingReader reader;
+
+	private transient long hits;
+
+	private transient long misses;
+
+	/** Indicates if the index was built from the geometry source.
+	 */
+	private boolean loaded;
+
+	/** Create a layer on the given shapefile.
+	 *
+	 * <p>The index file is assumed to be next to the shapefile, with the ".shx" extension.
+	 *
+	 * @param shapeFile is the URL of the shapefile.
+	 * @param attributeFile is the URL of the dBase file, or {@code null} if none.
+	 * @param projection is the projection used by the shapefile, or {@code null} for the default.
+	 * @param type is the type of the map elements, or {@code null} for the default types.
+	 * @throws IOException if the shapefile cannot be indexed.
+	 */
+	public ShapeFileMapElementLayer(URL shapeFile, URL attributeFile, MapMetricProjection projection,
+			Class<? extends E> type) throws IOException {
+		this(null, shapeFile, null, attributeFile, projection, type, DEFAULT_CACHE_CAPACITY);
+	}
+
+	/** Create a layer on the given shapefile.
+	 *
+	 * @param id is the unique identifier of this layer, or {@code null} if unknown.
+	 * @param shapeFile is the URL of the shapefile.
+	 * @param indexFile is the URL of the shapefile index, or {@code null} for the ".shx" file next
+	 *     to the shapefile.
+	 * @param attributeFile is the URL of the dBase file, or {@code null} if none.
+	 * @param projection is the projection used by the shapefile, or {@code null} for the default.
+	 * @param type is the type of the map elements, or {@code null} for the default types.
+	 * @param cacheCapacity is the maximal number of decoded elements kept in memory.
+	 * @throws IOException if the shapefile cannot be indexed.
+	 */
+	public ShapeFileMapElementLayer(UUID id, URL shapeFile, URL indexFile, URL attributeFile,
+			MapMetricProjection projection, Class<? extends E> type, int cacheCapacity) throws IOException {
+		super(id, null);
+		if (shapeFile == null || cacheCapacity < 1) {
+			throw new IllegalArgumentException();
+		}
+		this.elementType = type;
+		this.cacheCapacity = cacheCapacity;
+		this.indexSource = indexFile == null
+				? FileSystem.replaceExtension(shapeFile, "." + ShapeFileIndexFilter.EXTENSION_SHX) //$NON-NLS-1$
+				: indexFile;
+		setElementGeometrySource(shapeFile, projection);
+		setElementAttributeSourceURL(attributeFile);
+		reload();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	@Pure
+	public ShapeFileMapElementLayer<E> clone() {
+		final var layer = (ShapeFileMapElementLayer<E>) super.clone();
+		// The index arrays are never changed in place; they are shared.
+		layer.cache = null;
+		layer.reader = null;
+		layer.hits = 0;
+		layer.misses = 0;
+		return layer;
+	}
+
+	/** {@inheritDoc}
+	 *
+	 * <p>The index of the layer is built from the geometry source and its ".shx" file
+	 * when the layer is created; so that the geometry source cannot be changed afterwards.
+	 *
+	 * @throws UnsupportedOperationException if the layer was already loaded.
+	 */
+	@Override
+	public void setElementGeometrySource(URL url, MapMetricProjection mapProjection) {
+		if (this.loaded) {
+			throw new UnsupportedOperationException();
+		}
+		super.setElementGeometrySource(url, mapProjection);
+	}
+
+	/** Rebuild the index of the layer from the current geometry source.
+	 *
+	 * <p>The previously decoded elements are forgotten.
+	 *
+	 * @throws IOException if the shapefile cannot be read.
+	 */
+	public synchronized void reload() throws IOException {
+		close();
+		final var shapeFile = getElementGeometrySourceURL();
+		var bounds = NO_BOUNDS;
+		var recs = NO_RECORDS;
+		var count = 0;
+		Rectangle2d union = null;
+		if (shapeFile != null) {
+			bounds = new float[64 * 4];
+			recs = new int[64];
+			try (var indexer = createReader(shapeFile, false)) {
+				MapElement element;
+				while ((element = indexer.read()) != null) {
+					final var box = element.getBoundingBox();
+					if (box != null) {
+						if (count == recs.length) {
+							final var newSize = count + (count >> 1);
+							recs = Arrays.copyOf(recs, newSize);
+							bounds = Arrays.copyOf(bounds, newSize * 4);
+						}
+						final var j = count * 4;
+						bounds[j] = floor(box.getMinX());
+						bounds[j + 1] = floor(box.getMinY());
+						bounds[j + 2] = ceil(box.getMaxX());
+						bounds[j + 3] = ceil(box.getMaxY());
+						recs[count] = indexer.getLastRecordIndex();
+						++count;
+						if (union == null) {
+							union = box.clone();
+						} else {
+							union.setUnion(box);
+						}
+					}
+				}
+			}
+		}
+		this.entryBounds = Arrays.copyOf(bounds, count * 4);
+		this.records = Arrays.copyOf(recs, count);
+		this.contentBounds = union;
+		this.loaded = true;
+		buildGrid();
+		resetBoundingBox();
+		fireLayerContentChangedEvent();
+	}
+
+	private void buildGrid() {
+		final var count = this.records.length;
+		if (count == 0) {
+			this.columns = 0;
+			this.rows = 0;
+			this.cellStarts = NO_RECORDS;
+			this.cellEntries = NO_RECORDS;
+			return;
+		}
+		final var bounds = this.entryBounds;
+		final var width = this.contentBounds.getWidth();
+		final var height = this.contentBounds.getHeight();
+		final var cells = (int) Math.min(MAXIMUM_CELLS_PER_AXIS,
+				Math.max(1, Math.ceil(Math.sqrt((double) count / ELEMENTS_PER_CELL))));
+		this.columns = cells;
+		this.rows = cells;
+		this.cellWidth = width > 0. ? width / cells : 1.;
+		this.cellHeight = height > 0. ? height / cells : 1.;
+
+		// Compressed rows: count the references of each cell, then fill them.
+		final var starts = new int[cells * cells + 1];
+		for (var i = 0; i < count; ++i) {
+			final var j = i * 4;
+			final var c0 = column(bounds[j]);
+			final var c1 = column(bounds[j + 2]);
+			final var r1 = row(bounds[j + 3]);
+			for (var r = row(bounds[j + 1]); r <= r1; ++r) {
+				for (var c = c0; c <= c1; ++c) {
+					++starts[r * cells + c + 1];
+				}
+			}
+		}
+		for (var i = 1; i < starts.length; ++i) {
+			starts[i] += starts[i - 1];
+		}
+		final var entries = new int[starts[starts.length - 1]];
+		final var cursors = Arrays.copyOf(starts, starts.length - 1);
+		for (var i = 0; i < count; ++i) {
+			final var j = i * 4;
+			final var c0 = column(bounds[j]);
+			final var c1 = column(bounds[j + 2]);
+			final var r1 = row(bounds[j + 3]);
+			for (var r = row(bounds[j + 1]); r <= r1; ++r) {
+				for (var c = c0; c <= c1; ++c) {
+					entries[cursors[r * cells + c]++] = i;
+				}
+			}
+		}
+		this.cellStarts = starts;
+		this.cellEntries = entries;
+	}
+
+	@Pure
+	private int column(double x) {
+		final var c = (int) Math.floor((x - this.contentBounds.getMinX()) / this.cellWidth);
+		return Math.max(0, Math.min(this.columns - 1, c));
+	}
+
+	@Pure
+	private int row(double y) {
+		final var r = (int) Math.floor((y - this.contentBounds.getMinY()) / this.cellHeight);
+		return Math.max(0, Math.min(this.rows - 1, r));
+	}
+
+	@Pure
+	private static float floor(double value) {
+		final var fvalue = (float) value;
+		return fvalue > value ? Math.nextDown(fvalue) : fvalue;
+	}
+
+	@Pure
+	private static float ceil(double value) {
+		final var fvalue = (float) value;
+		return fvalue < value ? Math.nextUp(fvalue) : fvalue;
+	}
+
+	private RecordTrackingReader createReader(URL shapeFile, boolean seek) throws IOException {
+		final ShapeFileIndexReader shxReader = seek ? new ShapeFileIndexReader(openChannel(this.indexSource)) : null;
+		final var newReader = new RecordTrackingReader(openChannel(shapeFile), this.elementType, shxReader,
+				seek ? getElementAttributeSourceURL() : null);
+		if (!seek) {
+			newReader.disableSeek();
+		}
+		final var projection = getElementGeometrySourceProjection();
+		if (projection != null) {
+			newReader.setMapMetricProjection(projection);
+		}
+		return newReader;
+	}
+
+	private static ReadableByteChannel openChannel(URL url) throws IOException {
+		if (URISchemeType.FILE.isURL(url)) {
+			return FileChannel.open(FileSystem.convertURLToFile(url).toPath());
+		}
+		return Channels.newChannel(url.openStream());
+	}
+
+	private Map<Integer, E> getCache() {
+		if (this.cache == null) {
+			final var capacity = this.cacheCapacity;
+			this.cache = new LinkedHashMap<>(Math.min(capacity, DEFAULT_CACHE_CAPACITY), .75f, true) {
+				private static final long serialVersionUID = 2658321410981726593L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Integer, E> eldest) {
+					return size() > capacity;
+				}
+			};
+		}
+		return this.cache;
+	}
+
+	/** Replies the element of the given entry, decoding it if it is not in the cache.
+	 *
+	 * @param entry the index of the entry.
+	 * @return the element.
+	 */
+	@SuppressWarnings("unchecked")
+	private synchronized E load(int entry) {
+		final var elements = getCache();
+		final var key = Integer.valueOf(entry);
+		var element = elements.get(key);
+		if (element != null) {
+			++this.hits;
+			return element;
+		}
+		++this.misses;
+		try {
+			if (this.reader == null) {
+				this.reader = createReader(getElementGeometrySourceURL(), true);
+			}
+			final var record = this.records[entry];
+			this.reader.seek(record);
+			final var decoded = this.reader.read();
+			if (decoded == null || this.reader.getLastRecordIndex() != record) {
+				close();
+				throw new ShapeFileFormatException();
+			}
+			element = this.elementType == null ? (E) decoded : this.elementType.cast(decoded);
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+		element.setContainer(this);
+		elements.put(key, element);
+		return element;
+	}
+
+	/** Close the shapefile that is used for decoding the elements, and forget the decoded elements.
+	 * The shapefile is opened again when an element is needed.
+	 *
+	 * @throws IOException in case of error.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (this.cache != null) {
+			this.cache.clear();
+		}
+		if (this.reader != null) {
+			final var oldReader = this.reader;
+			this.reader = null;
+			oldReader.close();
+		}
+	}
+
+	/** Replies the maximal number of decoded elements that are kept in memory.
+	 *
+	 * @return the capacity of the cache.
+	 */
+	@Pure
+	public int getCacheCapacity() {
+		return this.cacheCapacity;
+	}
+
+	/** Replies the number of decoded elements that are currently kept in memory.
+	 *
+	 * @return the number of cached elements.
+	 */
+	@Pure
+	public synchronized int getCachedElementCount() {
+		return this.cache == null ? 0 : this.cache.size();
+	}
+
+	/** Replies the number of element accesses that were answered from the cache.
+	 *
+	 * @return the number of cache hits.
+	 */
+	@Pure
+	public synchronized long getCacheHitCount() {
+		return this.hits;
+	}
+
+	/** Replies the number of elements that were decoded from the shapefile.
+	 *
+	 * @return the number of cache misses.
+	 */
+	@Pure
+	public synchronized long getCacheMissCount() {
+		return this.misses;
+	}
+
+	@Override
+	public Shape2d<?> getShape() {
+		return getBoundingBox();
+	}
+
+	@Override
+	@Pure
+	protected Rectangle2d calcBounds() {
+		return this.contentBounds == null ? null : this.contentBounds.clone();
+	}
+
+	@Override
+	@Pure
+	public int size() {
+		return this.records.length;
+	}
+
+	@Override
+	@Pure
+	public int getMapElementCount() {
+		return this.records.length;
+	}
+
+	@Override
+	public E getMapElementAt(int index) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException(index + "<0"); //$NON-NLS-1$
+		}
+		if (index >= this.records.length) {
+			throw new IndexOutOfBoundsException(index + ">=" + this.records.length); //$NON-NLS-1$
+		}
+		return load(index);
+	}
+
+	@Override
+	@Pure
+	public List<E> getAllMapElements() {
+		return new ElementList();
+	}
+
+	@Override
+	public boolean addMapElements(Collection<? extends E> elements) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean addMapElement(E element) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean removeMapElement(MapElement element) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean removeAllMapElements() {
+		throw new UnsupportedOperationException();
+	}
+
+	/** {@inheritDoc}
+	 *
+	 * <p>The elements are decoded from the shape file on demand, so that they cannot be
+	 * reprojected; this function always throws {@link UnsupportedOperationException}.
+	 */
+	@Override
+	protected void reprojectElements(MapMetricProjection source, MapMetricProjection target) {
+		throw new UnsupportedOperationException();
+	}
+
+	/** {@inheritDoc}
+	 *
+	 * <p>The elements are decoded from the shape file on demand and they are not kept in memory;
+	 * this function does nothing.
+	 */
+	@Override
+	protected void compactElements(double originX, double originY) {
+		//
+	}
+
+	@Override
+	@Pure
+	public Class<? extends E> getElementType() {
+		return this.elementType;
+	}
+
+	/** Iterates on the elements that intersect the specified bounds.
+	 *
+	 * <p>Only the elements that are candidates according to the index are decoded.
+	 * Because the index stores the bounds with the float precision, the bounds of the
+	 * decoded candidates are checked again.
+	 *
+	 * @param bounds is the rectangle inside which the replied elements must be located
+	 */
+	@Override
+	public Iterator<E> iterator(Rectangle2afp<?, ?, ?, ?, ?, ?> bounds) {
+		return new BoundedElementIterator(bounds);
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return getAllMapElements().iterator();
+	}
+
+	/**
+	 * Reader that remembers the index of the last record it has decoded.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private static class RecordTrackingReader extends GISShapeFileReader {
+
+		private final ShapeFileIndexReader shxReader;
+
+		private int lastRecordIndex = -1;
+
+		RecordTrackingReader(ReadableByteChannel channel, Class<? extends MapElement> type,
+				ShapeFileIndexReader shxReader, URL attributeSource) throws IOException {
+			super(channel, type, null, shxReader, attributeSource);
+			this.shxReader = shxReader;
+		}
+
+		@Pure
+		int getLastRecordIndex() {
+			return this.lastRecordIndex;
+		}
+
+		@Override
+		protected AttributeCollection createAttributeCollection(int elementIndex) {
+			// The element indexes start at 1.
+			this.lastRecordIndex = elementIndex - 1;
+			return super.createAttributeCollection(elementIndex);
+		}
+
+		@Override
+		public void close() throws IOException {
+			super.close();
+			if (this.shxReader != null) {
+				this.shxReader.close();
+			}
+		}
+
+	} /* class RecordTrackingReader */
+
+	/**
+	 * List of the elements, decoded when they are accessed.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private class ElementList extends AbstractList<E> {
+
+		ElementList() {
+			//
+		}
+
+		@Override
+		public E get(int index) {
+			return getMapElementAt(index);
+		}
+
+		@Override
+		public int size() {
+			return ShapeFileMapElementLayer.this.size();
+		}
+
+	} /* class ElementList */
+
+	/**
+	 * Iterator on the elements inside a rectangle, based on the grid index.
+	 *
+	 * <p>An entry that covers several cells is replied only from its reference cell,
+	 * i.e. the first cell of the query window that it covers.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 18.0
+	 */
+	private class BoundedElementIterator implements Iterator<E> {
+
+		private final Rectangle2afp<?, ?, ?, ?, ?, ?> bounds;
+
+		private final double minx;
+
+		private final double miny;
+
+		private final double maxx;
+
+		private final double maxy;
+
+		private final int firstColumn;
+
+		private final int lastColumn;
+
+		private final int firstRow;
+
+		private final int lastRow;
+
+		private int column;
+
+		private int row;
+
+		private int position;
+
+		private int end;
+
+		private E next;
+
+		BoundedElementIterator(Rectangle2afp<?, ?, ?, ?, ?, ?> bounds) {
+			this.bounds = bounds;
+			this.minx = bounds.getMinX();
+			this.miny = bounds.getMinY();
+			this.maxx = bounds.getMaxX();
+			this.maxy = bounds.getMaxY();
+			final var content = ShapeFileMapElementLayer.this.contentBounds;
+			if (content != null && content.intersects(bounds)) {
+				this.firstColumn = column(this.minx);
+				this.lastColumn = column(this.maxx);
+				this.firstRow = row(this.miny);
+				this.lastRow = row(this.maxy);
+				this.column = this.firstColumn;
+				this.row = this.firstRow;
+				startCell();
+				detectNext();
+			} else {
+				this.firstColumn = 0;
+				this.lastColumn = -1;
+				this.firstRow = 0;
+				this.lastRow = -1;
+			}
+		}
+
+		private void startCell() {
+			final var cell = this.row * ShapeFileMapElementLayer.this.columns + this.column;
+			this.position = ShapeFileMapElementLayer.this.cellStarts[cell];
+			this.end = ShapeFileMapElementLayer.this.cellStarts[cell + 1];
+		}
+
+		private void detectNext() {
+			this.next = null;
+			final var bounds = ShapeFileMapElementLayer.this.entryBounds;
+			final var entries = ShapeFileMapElementLayer.this.cellEntries;
+			while (this.row <= this.lastRow) {
+				while (this.position < this.end) {
+					final var entry = entries[this.position++];
+					final var j = entry * 4;
+					if (bounds[j] <= this.maxx && this.minx <= bounds[j + 2]
+							&& bounds[j + 1] <= this.maxy && this.miny <= bounds[j + 3]
+							&& Math.max(column(bounds[j]), this.firstColumn) == this.column
+							&& Math.max(row(bounds[j + 1]), this.firstRow) == this.row) {
+						final var candidate = load(entry);
+						final var candidateBounds = candidate.getBoundingBox();
+						if (candidateBounds != null && candidateBounds.intersects(this.bounds)) {
+							this.next = candidate;
+							return;
+						}
+					}
+				}
+				++this.column;
+				if (this.column > this.lastColumn) {
+					this.column = this.firstColumn;
+					++this.row;
+				}
+				if (this.row <= this.lastRow) {
+					startCell();
+				}
+			}
+		}
+
+		@Override
+		@Pure
+		public boolean hasNext() {
+			return this.next != null;
+		}
+
+		@Override
+		public E next() {
+			final var toReply = this.next;
+			if (toReply == null) {
+				throw new NoSuchElementException();
+			}
+			detectNext();
+			return toReply;
+		}
+
+	} /* class BoundedElementIterator */
+
+}
@@ -0,0 +1,224 @@
+/*
+ * $Id$
+ * This file is a part of the Arakhne Foundation Classes, http://www.arakhne.org/afc
+ *
+ * Copyright (c) 2000-2012 Stephane GALLAND.
+ * Copyright (c) 2005-10, Multiagent Team, Laboratoire Systemes et Transports,
+ *                        Universite de Technologie de Belfort-Montbeliard.
+ * Copyright (c) 2013-2026 The original authors and other contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arakhne.afc.gis.io.shape;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.arakhne.afc.gis.mapelement.MapComposedElement;
+import org.arakhne.afc.gis.mapelement.MapElement;
+import org.arakhne.afc.gis.mapelement.MapPolygon;
+import org.arakhne.afc.math.geometry.d2.d.Rectangle2d;
+import org.arakhne.afc.vmutil.Resources;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 18.0
+ */
+@SuppressWarnings("all")
+public class ShapeFileMapElementLayerTest {
+
+	private static final URL shpUrl = Resources.getResource(ShapeFileMapElementLayerTest.class, "test.shp"); //$NON-NLS-1$
+
+	private static final URL dbfUrl = Resources.getResource(ShapeFileMapElementLayerTest.class, "test.dbf"); //$NON-NLS-1$
+
+	private List<MapPolygon> expected;
+
+	private ShapeFileMapElementLayer<MapPolygon> layer;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		this.expected = new ArrayList<>();
+		try (var reader = new GISShapeFileReader(shpUrl.openStream(), MapPolygon.class)) {
+			MapElement element;
+			while ((element = reader.read()) != null) {
+				this.expected.add((MapPolygon) element);
+			}
+		}
+		this.layer = new ShapeFileMapElementLayer<>(null, shpUrl, null, dbfUrl, null, MapPolygon.class, 4);
+	}
+
+	@AfterEach
+	public void tearDown() throws Exception {
+		this.layer.close();
+		this.layer = null;
+		this.expected = null;
+	}
+
+	private static void assertSameGeometry(MapComposedElement expected, MapComposedElement actual) {
+		assertEquals(expected.getPointCount(), actual.getPointCount());
+		for (var i = 0; i < expected.getPointCount(); ++i) {
+			assertEquals(expected.getPointAt(i), actual.getPointAt(i));
+		}
+	}
+
+	@Test
+	public void size() {
+		assertEquals(21, this.expected.size());
+		assertEquals(21, this.layer.size());
+		assertEquals(21, this.layer.getMapElementCount());
+		assertEquals(0, this.layer.getCachedElementCount());
+	}
+
+	@Test
+	public void getMapElementAt() {
+		for (var i = 0; i < this.expected.size(); ++i) {
+			final var element = this.layer.getMapElementAt(i);
+			assertTrue(element instanceof MapPolygon);
+			assertSame(this.layer, element.getContainer());
+			assertSameGeometry(this.expected.get(i), element);
+		}
+		assertThrows(IndexOutOfBoundsException.class, () -> this.layer.getMapElementAt(21));
+		assertThrows(IndexOutOfBoundsException.class, () -> this.layer.getMapElementAt(-1));
+	}
+
+	@Test
+	public void getMapElementAt_attributes() throws Exception {
+		final var element = this.layer.getMapElementAt(3);
+		assertNotNull(element.getAttributeProvider());
+		assertTrue(element.getAttributeCount() > 0);
+	}
+
+	@Test
+	public void getBoundingBox() {
+		final var expectedBounds = new Rectangle2d();
+		expectedBounds.set(this.expected.get(0).getBoundingBox());
+		for (final var element : this.expected) {
+			expectedBounds.setUnion(element.getBoundingBox());
+		}
+		final var bounds = this.layer.getBoundingBox();
+		assertEquals(expectedBounds.getMinX(), bounds.getMinX(), .1);
+		assertEquals(expectedBounds.getMinY(), bounds.getMinY(), .1);
+		assertEquals(expectedBounds.getMaxX(), bounds.getMaxX(), .1);
+		assertEquals(expectedBounds.getMaxY(), bounds.getMaxY(), .1);
+	}
+
+	@Test
+	public void iterator() {
+		final var iterator = this.layer.iterator();
+		for (final var element : this.expected) {
+			assertTrue(iterator.hasNext());
+			assertSameGeometry(element, iterator.next());
+		}
+		assertFalse(iterator.hasNext());
+	}
+
+	@Test
+	public void iteratorRectangle() {
+		final var windows = new Rectangle2d[] {
+			new Rectangle2d(939000., 2302000., 1000., 2000.),
+			new Rectangle2d(937900., 2300000., 200., 4000.),
+			new Rectangle2d(936000., 2300000., 6000., 9000.),
+			new Rectangle2d(0., 0., 10., 10.),
+		};
+		for (final var window : windows) {
+			final Set<Integer> expectedIndexes = new HashSet<>();
+			for (var i = 0; i < this.expected.size(); ++i) {
+				if (this.expected.get(i).getBoundingBox().intersects(window)) {
+					expectedIndexes.add(i);
+				}
+			}
+			final Set<Integer> actualIndexes = new HashSet<>();
+			final var iterator = this.layer.iterator(window);
+			while (iterator.hasNext()) {
+				final var element = iterator.next();
+				var found = -1;
+				for (var i = 0; found < 0 && i < this.expected.size(); ++i) {
+					if (this.expected.get(i).getBoundingBox().equals(element.getBoundingBox())) {
+						found = i;
+					}
+				}
+				assertTrue(found >= 0);
+				assertTrue(actualIndexes.add(found));
+			}
+			assertEquals(expectedIndexes, actualIndexes);
+		}
+	}
+
+	@Test
+	public void cache() {
+		this.layer.getMapElementAt(0);
+		this.layer.getMapElementAt(1);
+		final var element = this.layer.getMapElementAt(0);
+		assertEquals(1, this.layer.getCacheHitCount());
+		assertEquals(2, this.layer.getCacheMissCount());
+		assertSame(element, this.layer.getMapElementAt(0));
+		for (var i = 2; i < 10; ++i) {
+			this.layer.getMapElementAt(i);
+		}
+		assertEquals(4, this.layer.getCachedElementCount());
+		assertEquals(10, this.layer.getCacheMissCount());
+		assertSameGeometry(element, this.layer.getMapElementAt(0));
+		assertEquals(11, this.layer.getCacheMissCount());
+	}
+
+	@Test
+	public void close() throws Exception {
+		this.layer.getMapElementAt(5);
+		this.layer.close();
+		assertEquals(0, this.layer.getCachedElementCount());
+		assertSameGeometry(this.expected.get(5), this.layer.getMapElementAt(5));
+	}
+
+	@Test
+	public void cloneLayer() throws Exception {
+		this.layer.getMapElementAt(5);
+		final var clone = this.layer.clone();
+		try {
+			assertEquals(0, clone.getCachedElementCount());
+			assertEquals(21, clone.size());
+			assertSameGeometry(this.expected.get(7), clone.getMapElementAt(7));
+		} finally {
+			clone.close();
+		}
+	}
+
+	@Test
+	public void addMapElement() {
+		assertThrows(UnsupportedOperationException.class, () -> this.layer.addMapElement(new MapPolygon()));
+		assertThrows(UnsupportedOperationException.class, () -> this.layer.removeAllMapElements());
+	}
+
+	@Test
+	public void setElementGeometrySource() {
+		assertThrows(UnsupportedOperationException.class, () -> this.layer.setElementGeometrySource(shpUrl, null));
+		assertEquals(shpUrl, this.layer.getElementGeometrySourceURL());
+		assertEquals(21, this.layer.size());
+	}
+
+}
@@ -222,6 +222,7 @@ class StandardRoadConnection implements RoadConnection {
 	 */
 	void setPosition(Point2D<?, ?> position) {
 		this.location = position == null ? null : new SoftReference<>(Point2d.convert(position));
+		this.geolocation = null;
 	}
 
 	/** Compute the angle of the given road segment according
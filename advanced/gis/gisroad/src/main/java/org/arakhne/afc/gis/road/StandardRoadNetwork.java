@@ -25,11 +25,14 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.TreeSet;
 import java.util.UUID;
 
 import org.arakhne.afc.attrs.collection.AttributeCollection;
 import org.arakhne.afc.gis.GISPolylineSet;
+import org.arakhne.afc.gis.coordinate.GISCoordinates;
+import org.arakhne.afc.gis.coordinate.MapMetricProjection;
 import org.arakhne.afc.gis.location.GeoId;
 import org.arakhne.afc.gis.location.GeoLocation;
 import org.arakhne.afc.gis.location.GeoLocationArea;
@@ -593,6 +596,64 @@ public class StandardRoadNetwork extends AbstractBoundedGISElement<GISContainer<
 		return changed;
 	}
 
+	/** Convert the coordinates of the road segments and of the road connections from
+	 * a map projection to another one.
+	 *
+	 * <p>The points of each road segment are converted at once, and the internal data
+	 * structure is rebuilt only once, when all the road segments were converted. The
+	 * topology of the network is unchanged.
+	 *
+	 * @param source the map projection in which the coordinates of the network are expressed.
+	 * @param target the map projection into which the coordinates must be converted.
+	 * @since 18.0
+	 */
+	public void reproject(MapMetricProjection source, MapMetricProjection target) {
+		if (source == null || target == null) {
+			throw new IllegalArgumentException();
+		}
+		if (source == target || this.roadSegments.isEmpty()) {
+			return;
+		}
+
+		// The positions of the connections may differ from the ends of the segments when the
+		// connections were merged, so that they are converted separately.
+		final var connections = new LinkedHashSet<StandardRoadConnection>();
+		for (final var segment : this.roadSegments) {
+			connections.add(segment.getBeginPoint(StandardRoadConnection.class));
+			connections.add(segment.getEndPoint(StandardRoadConnection.class));
+		}
+		connections.remove(null);
+		final var positions = new double[connections.size() * 2];
+		var i = 0;
+		for (final var connection : connections) {
+			final var position = connection.getPoint();
+			positions[i] = position.getX();
+			positions[i + 1] = position.getY();
+			i += 2;
+		}
+		GISCoordinates.convertInterleaved(source, target, positions, 0, connections.size(), null);
+
+		final var segments = new ArrayList<RoadPolyline>(this.roadSegments.size());
+		for (final var segment : this.roadSegments) {
+			segment.reproject(source, target);
+			segments.add(segment);
+		}
+
+		i = 0;
+		for (final var connection : connections) {
+			connection.setPosition(new Point2d(positions[i], positions[i + 1]));
+			i += 2;
+		}
+
+		resetBoundingBox();
+		this.roadSegments = createInternalDataStructure(getBoundingBox());
+		this.roadSegments.addAll(segments);
+
+		for (final var segment : segments) {
+			fireSegmentChanged(segment);
+		}
+	}
+
 	@Override
 	public final RoadConnection mergeRoadConnections(RoadConnection... connections) {
 		return mergeRoadConnections(Arrays.asList(connections));
@@ -205,6 +205,21 @@ public class RoadNetworkLayer extends MapElementLayer<RoadPolyline> {
 		}
 	}
 
+	/** {@inheritDoc}
+	 *
+	 * <p>The road network is reprojected with
+	 * {@link StandardRoadNetwork#reproject(MapMetricProjection, MapMetricProjection)}.
+	 */
+	@Override
+	protected void reprojectElements(MapMetricProjection source, MapMetricProjection target) {
+		this.roadNetwork.removeRoadNetworkListener(this.listener);
+		try {
+			this.roadNetwork.reproject(source, target);
+		} finally {
+			this.roadNetwork.addRoadNetworkListener(this.listener);
+		}
+	}
+
 	@Override
 	@Pure
 	public RoadNetworkLayer clone() {
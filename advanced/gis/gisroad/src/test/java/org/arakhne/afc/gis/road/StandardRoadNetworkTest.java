@@ -40,6 +40,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import org.arakhne.afc.attrs.collection.HeapAttributeCollection;
+import org.arakhne.afc.gis.coordinate.MapMetricProjection;
 import org.arakhne.afc.gis.location.GeoLocationUtil;
 import org.arakhne.afc.gis.road.primitive.RoadNetworkException;
 import org.arakhne.afc.gis.road.primitive.RoadSegment;
@@ -1204,4 +1205,45 @@ public class StandardRoadNetworkTest extends AbstractGisTest {
 		assertTrue(this.network.isRightSidedTrafficDirection());
 	}
 
+	@Test
+	public void testReproject() {
+		List<RoadSegmentStub> segments = Arrays.asList(
+				this.segment1, this.segment2, this.segment3, this.segment4, this.segment5,
+				this.segment6, this.segment7, this.segment8, this.segment9);
+		List<Point2d> expectedPoints = new ArrayList<>();
+		for (RoadSegmentStub segment : segments) {
+			for (Point2d point : segment.points()) {
+				expectedPoints.add(MapMetricProjection.FRANCE_LAMBERT_2.convertTo(MapMetricProjection.FRANCE_LAMBERT_93, point));
+			}
+		}
+		Point2d expectedConnection = MapMetricProjection.FRANCE_LAMBERT_2.convertTo(
+				MapMetricProjection.FRANCE_LAMBERT_93, this.segment2.getBeginPoint().getPoint());
+		StandardRoadConnection connection = this.segment2.getBeginPoint(StandardRoadConnection.class);
+
+		this.network.reproject(MapMetricProjection.FRANCE_LAMBERT_2, MapMetricProjection.FRANCE_LAMBERT_93);
+
+		assertEquals(9, this.network.getSegmentCount());
+		Iterator<Point2d> expected = expectedPoints.iterator();
+		Rectangle2d expectedBounds = null;
+		for (RoadSegmentStub segment : segments) {
+			for (Point2d point : segment.points()) {
+				assertEpsilonEquals(expected.next(), point);
+			}
+			if (expectedBounds == null) {
+				expectedBounds = segment.getBoundingBox().clone();
+			} else {
+				expectedBounds.setUnion(segment.getBoundingBox());
+			}
+			List<RoadSegment> found = new ArrayList<>();
+			this.network.iterator(segment.getBoundingBox()).forEachRemaining(found::add);
+			assertTrue(found.contains(segment));
+		}
+		assertEpsilonEquals(expectedBounds, this.network.getBoundingBox());
+
+		assertSame(connection, this.segment2.getBeginPoint(StandardRoadConnection.class));
+		assertSame(connection, this.segment3.getBeginPoint(StandardRoadConnection.class));
+		assertSame(connection, this.segment9.getEndPoint(StandardRoadConnection.class));
+		assertEpsilonEquals(expectedConnection, connection.getPoint());
+	}
+
 }
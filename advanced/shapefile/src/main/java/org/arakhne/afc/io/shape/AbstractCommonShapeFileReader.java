@@ -38,6 +38,8 @@ import java.net.URL;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.channels.ReadableByteChannel;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
@@ -51,6 +53,8 @@ import org.eclipse.xtext.xbase.lib.Pure;
  *
  * <p>To have a lower memory foot-print, call {@link #disableSeek()}. Indeed,
  * the seek feature forces this reader to maintain a buffer of all the file content.
+ * When the reader is reading a {@link java.nio.channels.FileChannel}, this buffer is
+ * mapped on the file instead of being allocated in the heap.
  *
  * <p>The specification of the ESRI Shape file format is described in
  * <a href="./doc-files/esri_specs_0798.pdf">the July 98 specification document</a>.
@@ -162,7 +166,7 @@ public abstract class AbstractCommonShapeFileReader<E> implements Iterable<E>, A
 	 */
 	@SuppressWarnings("resource")
 	public AbstractCommonShapeFileReader(File file) throws IOException {
-		this(Channels.newChannel(new FileInputStream(file)));
+		this(new FileInputStream(file).getChannel());
 	}
 
 	/** Constructor.
@@ -364,7 +368,18 @@ public abstract class AbstractCommonShapeFileReader<E> implements Iterable<E>, A
 	 * @throws IOException in case of error.
 	 */
 	private void initializeContentBuffer() throws IOException {
-		if (this.seekEnabled) {
+		if (this.seekEnabled && this.stream instanceof FileChannel channel) {
+			// Map the content of the file instead of copying it into the heap.
+			// The content starts just after the header, which may not be at the beginning of the channel
+			final var start = channel.position();
+			final var size = Math.min(this.fileSize - HEADER_BYTES, channel.size() - start);
+			if (size < 0) {
+				throw new EOFException();
+			}
+			this.buffer = channel.map(MapMode.READ_ONLY, start, size);
+			channel.position(start + size);
+			this.bufferPosition = HEADER_BYTES;
+		} else if (this.seekEnabled) {
 			this.buffer = ByteBuffer.allocate(this.fileSize - HEADER_BYTES);
 			final var read = this.stream.read(this.buffer);
 			if (read < 0) {
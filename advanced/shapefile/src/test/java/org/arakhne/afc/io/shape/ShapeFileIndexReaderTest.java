@@ -26,8 +26,14 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -270,6 +276,37 @@ public class ShapeFileIndexReaderTest extends AbstractIoShapeTest {
 		}
 	}
 
+	@Test
+	public void testRead_fileChannelAfterOffset() throws Exception {
+		final File file = File.createTempFile("shx", ".bin"); //$NON-NLS-1$ //$NON-NLS-2$
+		file.deleteOnExit();
+		try (InputStream is = this.resource.openStream(); OutputStream os = new FileOutputStream(file)) {
+			// Data that is stored before the index file
+			os.write(new byte[13]);
+			is.transferTo(os);
+		}
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			channel.position(13);
+			final ShapeFileIndexReader channelReader = new ShapeFileIndexReader(channel);
+			assertEquals(TEST_FILE_RECORD_COUNT, channelReader.getRecordCount());
+
+			ShapeFileIndexRecord obj = channelReader.read();
+			assertNotNull(obj);
+			assertEquals(0, obj.getRecordIndex());
+			assertEquals(100, obj.getOffsetInFile());
+			assertEquals(128, obj.getRecordContentLength());
+
+			channelReader.seek(2);
+			obj = channelReader.read();
+			assertNotNull(obj);
+			assertEquals(2, obj.getRecordIndex());
+			assertEquals(420, obj.getOffsetInFile());
+			assertEquals(128, obj.getRecordContentLength());
+		} finally {
+			file.delete();
+		}
+	}
+
 	@Test
 	public void testSeek_seekdisabled() throws Exception {
 		this.reader.disableSeek();